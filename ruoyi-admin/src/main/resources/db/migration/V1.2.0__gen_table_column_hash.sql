@@ -0,0 +1,7 @@
+-- V1.2.0: 代码生成表结构指纹
+-- 记录导入/同步时数据库列结构的指纹，批量同步时结构未变化的表直接跳过
+
+ALTER TABLE gen_table
+    ADD COLUMN IF NOT EXISTS column_hash VARCHAR(32) DEFAULT NULL;
+
+COMMENT ON COLUMN gen_table.column_hash IS '表结构指纹';
@@ -0,0 +1,36 @@
+-- V1.2.1: 部门层级闭包表
+-- 每个部门与其自身及所有上级部门各占一行，部门及以下的数据权限、子部门查询
+-- 通过 ancestor_id 索引关联，替代对 ancestors 字符串的逐行匹配
+
+CREATE TABLE IF NOT EXISTS sys_dept_closure (
+    ancestor_id   BIGINT  NOT NULL,
+    descendant_id BIGINT  NOT NULL,
+    depth         INT     NOT NULL DEFAULT 0,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sys_dept_closure_descendant ON sys_dept_closure (descendant_id);
+
+COMMENT ON TABLE sys_dept_closure IS '部门层级闭包表';
+COMMENT ON COLUMN sys_dept_closure.ancestor_id IS '上级部门ID（含自身）';
+COMMENT ON COLUMN sys_dept_closure.descendant_id IS '下级部门ID';
+COMMENT ON COLUMN sys_dept_closure.depth IS '层级距离（自身为0）';
+
+-- 回填：自身
+INSERT INTO sys_dept_closure (ancestor_id, descendant_id, depth)
+SELECT dept_id, dept_id, 0
+FROM sys_dept
+WHERE del_flag = '0'
+ON CONFLICT (ancestor_id, descendant_id) DO NOTHING;
+
+-- 回填：由 ancestors 拆出所有上级（根节点 0 不入表）
+INSERT INTO sys_dept_closure (ancestor_id, descendant_id, depth)
+SELECT a.ancestor::BIGINT,
+       d.dept_id,
+       cardinality(string_to_array(d.ancestors, ',')) - a.ord + 1
+FROM sys_dept d
+         CROSS JOIN LATERAL unnest(string_to_array(d.ancestors, ',')) WITH ORDINALITY AS a(ancestor, ord)
+WHERE d.del_flag = '0'
+  AND a.ancestor <> ''
+  AND a.ancestor <> '0'
+ON CONFLICT (ancestor_id, descendant_id) DO NOTHING;
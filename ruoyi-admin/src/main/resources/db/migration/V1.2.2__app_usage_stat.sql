@@ -0,0 +1,47 @@
+-- V1.2.2: 应用用量汇总表
+-- 对话用量按 小时(H) / 天(D) 两级预聚合，应用统计接口只读取本表，
+-- 不再在请求时扫描 km_chat_session / km_chat_message 明细
+
+CREATE TABLE IF NOT EXISTS km_app_usage_stat (
+    id               BIGINT       NOT NULL,
+    app_id           BIGINT       NOT NULL,
+    stat_level       CHAR(1)      NOT NULL,
+    stat_time        TIMESTAMP    NOT NULL,
+    session_count    BIGINT       DEFAULT 0,
+    message_count    BIGINT       DEFAULT 0,
+    token_count      BIGINT       DEFAULT 0,
+    latency_total_ms BIGINT       DEFAULT 0,
+    latency_count    BIGINT       DEFAULT 0,
+    update_time      TIMESTAMP    DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_km_app_usage_stat UNIQUE (app_id, stat_level, stat_time)
+);
+
+COMMENT ON TABLE km_app_usage_stat IS '应用用量汇总表';
+COMMENT ON COLUMN km_app_usage_stat.stat_level IS '汇总粒度: H=小时, D=天';
+COMMENT ON COLUMN km_app_usage_stat.stat_time IS '统计时间桶起点';
+COMMENT ON COLUMN km_app_usage_stat.session_count IS '新增会话数';
+COMMENT ON COLUMN km_app_usage_stat.message_count IS '提问次数(用户消息数)';
+COMMENT ON COLUMN km_app_usage_stat.token_count IS 'Tokens 总数';
+COMMENT ON COLUMN km_app_usage_stat.latency_total_ms IS '响应耗时累计(毫秒)';
+COMMENT ON COLUMN km_app_usage_stat.latency_count IS '响应耗时样本数';
+
+-- 历史数据回填 (历史 token 与耗时无明细，记为 0；已存在的统计桶不覆盖)
+INSERT INTO km_app_usage_stat (id, app_id, stat_level, stat_time, session_count, message_count, update_time)
+SELECT row_number() OVER () AS id, t.app_id, t.stat_level, t.stat_time,
+       SUM(t.session_count), SUM(t.message_count), now()
+FROM (
+    SELECT s.app_id, lv.stat_level, date_trunc(lv.unit, s.create_time) AS stat_time,
+           1 AS session_count, 0 AS message_count
+    FROM km_chat_session s
+    CROSS JOIN (VALUES ('H', 'hour'), ('D', 'day')) AS lv(stat_level, unit)
+    UNION ALL
+    SELECT s.app_id, lv.stat_level, date_trunc(lv.unit, m.create_time) AS stat_time,
+           0 AS session_count, 1 AS message_count
+    FROM km_chat_message m
+    JOIN km_chat_session s ON s.session_id = m.session_id
+    CROSS JOIN (VALUES ('H', 'hour'), ('D', 'day')) AS lv(stat_level, unit)
+    WHERE m.role = 'user'
+) t
+GROUP BY t.app_id, t.stat_level, t.stat_time
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,72 @@
+package org.dromara.test;
+
+import org.dromara.ai.domain.KmAppUsageStat;
+import org.dromara.ai.mapper.KmAppUsageStatMapper;
+import org.dromara.ai.service.impl.KmAppStatServiceImpl;
+import org.dromara.ai.task.AppStatFlushTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 应用用量汇总定时刷新单元测试
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("应用用量汇总定时刷新单元测试")
+public class AppStatFlushUnitTest {
+
+    @DisplayName("测试 启动后注册定时刷新，无需停机即可写入汇总表")
+    @Test
+    public void testFlushWithoutShutdown() {
+        KmAppUsageStatMapper mapper = mock(KmAppUsageStatMapper.class);
+        List<KmAppUsageStat> written = new ArrayList<>();
+        when(mapper.upsertBatch(anyList())).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return written.size();
+        });
+        KmAppStatServiceImpl statService = new KmAppStatServiceImpl(mapper);
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        AppStatFlushTask task = new AppStatFlushTask(statService, executor);
+
+        task.run(null);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).scheduleWithFixedDelay(captor.capture(),
+            eq(AppStatFlushTask.FLUSH_INTERVAL_SECONDS), eq(AppStatFlushTask.FLUSH_INTERVAL_SECONDS), eq(TimeUnit.SECONDS));
+
+        statService.recordChatTurn(1L, true, 100L, 20L);
+        statService.recordChatTurn(1L, false, 50L, 40L);
+        // 模拟定时器到期，不调用 destroy
+        captor.getValue().run();
+
+        verify(mapper, times(1)).upsertBatch(anyList());
+        Assertions.assertEquals(2, written.size());
+        for (KmAppUsageStat row : written) {
+            Assertions.assertEquals(1L, row.getAppId());
+            Assertions.assertEquals(1L, row.getSessionCount());
+            Assertions.assertEquals(2L, row.getMessageCount());
+            Assertions.assertEquals(150L, row.getTokenCount());
+            Assertions.assertEquals(60L, row.getLatencyTotalMs());
+        }
+
+        // 计数器已清零，再次刷新不重复写入
+        captor.getValue().run();
+        verify(mapper, times(1)).upsertBatch(any());
+    }
+
+}
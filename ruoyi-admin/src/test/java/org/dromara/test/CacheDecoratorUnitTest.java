@@ -0,0 +1,67 @@
+package org.dromara.test;
+
+import org.dromara.common.redis.manager.CaffeineCacheDecorator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RMap;
+import org.redisson.spring.cache.NullValue;
+import org.springframework.cache.Cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+/**
+ * 二级缓存装饰器单元测试
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("二级缓存装饰器单元测试")
+public class CacheDecoratorUnitTest {
+
+    @SuppressWarnings("unchecked")
+    @DisplayName("测试 批量获取时 redis 中缓存的 null 还原为 null，本地缓存不写入占位对象")
+    @Test
+    public void testGetAllCachedNull() {
+        RMap<Object, Object> map = mock(RMap.class);
+        Map<Object, Object> stored = new HashMap<>();
+        // 不存在的数据以 redisson 的 NullValue 缓存
+        stored.put(1L, NullValue.INSTANCE);
+        stored.put(2L, "oss-2");
+        when(map.getAll(anySet())).thenReturn(stored);
+        Cache redisCache = mock(Cache.class);
+        when(redisCache.getNativeCache()).thenReturn(map);
+        CaffeineCacheDecorator decorator = new CaffeineCacheDecorator("sys_oss", redisCache,
+            new CaffeineCacheDecorator.LocalCacheConfig(100, 60000, 0), null);
+
+        Map<Object, Object> result = decorator.getAll(List.of(1L, 2L, 3L));
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertTrue(result.containsKey(1L));
+        Assertions.assertNull(result.get(1L));
+        Assertions.assertEquals("oss-2", result.get(2L));
+        Assertions.assertFalse(result.containsKey(3L));
+
+        // 本地缓存命中，仍返回 null 而非占位对象
+        Cache.ValueWrapper wrapper = decorator.get(1L);
+        Assertions.assertNotNull(wrapper);
+        Assertions.assertNull(wrapper.get());
+        Assertions.assertNull(decorator.get(1L, String.class));
+        Assertions.assertEquals("oss-2", decorator.get(2L, String.class));
+        verify(redisCache, never()).get(any());
+
+        Map<Object, Object> again = decorator.getAll(List.of(1L, 2L));
+        Assertions.assertEquals(result.get(1L), again.get(1L));
+        Assertions.assertEquals(result.get(2L), again.get(2L));
+        verify(map, times(1)).getAll(anySet());
+    }
+
+}
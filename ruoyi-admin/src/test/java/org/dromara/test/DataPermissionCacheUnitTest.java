@@ -0,0 +1,161 @@
+package org.dromara.test;
+
+import cn.dev33.satoken.context.mock.SaTokenContextMockUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import org.dromara.common.core.domain.dto.RoleDTO;
+import org.dromara.common.core.domain.model.LoginUser;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.mybatis.annotation.DataColumn;
+import org.dromara.common.mybatis.annotation.DataPermission;
+import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
+import org.dromara.common.satoken.utils.LoginHelper;
+import org.junit.jupiter.api.*;
+import org.mockito.MockedStatic;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * 数据权限过滤条件缓存单元测试
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("数据权限过滤条件缓存单元测试")
+public class DataPermissionCacheUnitTest {
+
+    private static final int ITERATIONS = 2000;
+
+    private static DataPermission dataPermission;
+
+    private MockedStatic<LoginHelper> loginHelper;
+
+    /**
+     * 模拟 mapper 上的数据权限注解
+     */
+    interface DemoMapper {
+
+        @DataPermission({
+            @DataColumn(key = "deptName", value = "dept_id"),
+            @DataColumn(key = "userName", value = "create_by")
+        })
+        void selectList();
+    }
+
+    @BeforeAll
+    public static void init() throws NoSuchMethodException {
+        try {
+            SpringUtils.getBeanFactory();
+        } catch (Exception e) {
+            // 非 spring 环境下提供空的 BeanFactory，模板中不调用 bean
+            new SpringUtil().postProcessBeanFactory(new DefaultListableBeanFactory());
+        }
+        dataPermission = DemoMapper.class.getMethod("selectList").getAnnotation(DataPermission.class);
+    }
+
+    @BeforeEach
+    public void mockLogin() {
+        loginHelper = mockStatic(LoginHelper.class);
+        loginHelper.when(LoginHelper::isSuperAdmin).thenReturn(false);
+        PlusDataPermissionHandler.clearFilterCache();
+    }
+
+    @AfterEach
+    public void closeMock() {
+        loginHelper.close();
+    }
+
+    @DisplayName("测试 相同用户与注解复用已解析的过滤条件，清空后重新解析")
+    @Test
+    public void testCacheHit() {
+        PlusDataPermissionHandler handler = new PlusDataPermissionHandler();
+        LoginUser user = user(2L, 103L, "3");
+        LoginUser other = user(3L, 105L, "3");
+        SaTokenContextMockUtil.setMockContext(() -> {
+            Expression first = filter(handler, user);
+            Expression second = filter(handler, user);
+            Assertions.assertSame(first, second);
+            Assertions.assertEquals("dept_id = 103", first.toString().trim());
+
+            // 不同部门不共用缓存
+            Expression otherFilter = filter(handler, other);
+            Assertions.assertNotSame(first, otherFilter);
+            Assertions.assertEquals("dept_id = 105", otherFilter.toString().trim());
+
+            PlusDataPermissionHandler.clearFilterCache();
+            Expression reparsed = filter(handler, user);
+            Assertions.assertNotSame(first, reparsed);
+            Assertions.assertEquals(first.toString(), reparsed.toString());
+        });
+    }
+
+    @DisplayName("测试 缓存命中后跳过 SpEL 求值与 SQL 解析 (输出耗时对比，不作断言)")
+    @Test
+    public void testCacheTiming() {
+        PlusDataPermissionHandler handler = new PlusDataPermissionHandler();
+        // 多角色时模板求值与解析的开销更明显
+        LoginUser user = user(2L, 103L, "3", "5", "6");
+        SaTokenContextMockUtil.setMockContext(() -> {
+            // 预热
+            for (int i = 0; i < ITERATIONS; i++) {
+                PlusDataPermissionHandler.clearFilterCache();
+                filter(handler, user);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                PlusDataPermissionHandler.clearFilterCache();
+                filter(handler, user);
+            }
+            long uncached = System.nanoTime() - start;
+
+            Expression expected = filter(handler, user);
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                Assertions.assertSame(expected, filter(handler, user));
+            }
+            long cached = System.nanoTime() - start;
+
+            // 耗时受运行环境负载影响，只输出供参考
+            System.out.printf("数据权限过滤条件 未缓存 %d ns/op, 缓存命中 %d ns/op%n",
+                uncached / ITERATIONS, cached / ITERATIONS);
+        });
+    }
+
+    /**
+     * 按 mapper 拦截器的调用方式获取过滤条件 (每次执行前设置注解，执行后由处理器清除)
+     */
+    private static Expression filter(PlusDataPermissionHandler handler, LoginUser user) {
+        DataPermissionHelper.setPermission(dataPermission);
+        DataPermissionHelper.setVariable("user", user);
+        Expression segment = handler.getSqlSegment(null, true);
+        Assertions.assertInstanceOf(ParenthesedExpressionList.class, segment);
+        return ((ParenthesedExpressionList<?>) segment).get(0);
+    }
+
+    private static LoginUser user(Long userId, Long deptId, String... dataScopes) {
+        LoginUser user = new LoginUser();
+        user.setUserId(userId);
+        user.setDeptId(deptId);
+        user.setMenuPermission(Set.of());
+        List<RoleDTO> roles = new ArrayList<>();
+        for (int i = 0; i < dataScopes.length; i++) {
+            RoleDTO role = new RoleDTO();
+            role.setRoleId(10L + i);
+            role.setDataScope(dataScopes[i]);
+            roles.add(role);
+        }
+        user.setRoles(roles);
+        return user;
+    }
+
+}
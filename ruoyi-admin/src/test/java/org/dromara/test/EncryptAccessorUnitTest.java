@@ -0,0 +1,174 @@
+package org.dromara.test;
+
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.plugin.Invocation;
+import org.dromara.common.core.constant.Constants;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.encrypt.annotation.EncryptField;
+import org.dromara.common.encrypt.core.EncryptContext;
+import org.dromara.common.encrypt.core.EncryptFieldAccessor;
+import org.dromara.common.encrypt.core.EncryptorManager;
+import org.dromara.common.encrypt.enumd.AlgorithmType;
+import org.dromara.common.encrypt.enumd.EncodeType;
+import org.dromara.common.encrypt.interceptor.MybatisDecryptInterceptor;
+import org.dromara.common.encrypt.properties.EncryptorProperties;
+import org.dromara.demo.domain.TestDemoEncrypt;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 加密字段访问器单元测试
+ * <p>
+ * 以原反射读写 + 按注解构建加密上下文的处理方式为基准，校验预生成的 MethodHandle 访问器与并行解密结果一致
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("加密字段访问器单元测试")
+public class EncryptAccessorUnitTest {
+
+    private static EncryptorProperties properties;
+
+    private static EncryptorManager encryptorManager;
+
+    @BeforeAll
+    public static void init() {
+        properties = new EncryptorProperties();
+        properties.setEnable(true);
+        properties.setAlgorithm(AlgorithmType.BASE64);
+        properties.setEncode(EncodeType.BASE64);
+        encryptorManager = new EncryptorManager("org.dromara.demo.domain", properties);
+    }
+
+    @DisplayName("测试 访问器加解密与反射方式结果一致")
+    @Test
+    public void testSameAsReflection() throws Throwable {
+        List<EncryptFieldAccessor> accessors = encryptorManager.getFieldAccessors(TestDemoEncrypt.class);
+        Assertions.assertEquals(2, accessors.size());
+        Assertions.assertEquals(encryptorManager.getFieldCache(TestDemoEncrypt.class).size(), accessors.size());
+
+        String[][] samples = {{"key-1", "value-1"}, {"中文键", "中文值"}, {null, ""}, {"", null}};
+        for (String[] sample : samples) {
+            TestDemoEncrypt byAccessor = row(sample[0], sample[1]);
+            TestDemoEncrypt byReflection = row(sample[0], sample[1]);
+            for (EncryptFieldAccessor accessor : accessors) {
+                accessor.encrypt(byAccessor);
+            }
+            reflectEncrypt(byReflection);
+
+            // AES 为确定性加密，结果完全一致；RSA 带随机填充，只校验可互相解密
+            Assertions.assertEquals(byReflection.getValue(), byAccessor.getValue());
+            assertEncrypted(sample[0], byAccessor.getTestKey());
+            assertEncrypted(sample[1], byAccessor.getValue());
+
+            // 已加密的值不重复加密
+            String encryptedKey = byAccessor.getTestKey();
+            for (EncryptFieldAccessor accessor : accessors) {
+                accessor.encrypt(byAccessor);
+            }
+            Assertions.assertEquals(encryptedKey, byAccessor.getTestKey());
+
+            // 交叉解密
+            reflectDecrypt(byAccessor);
+            for (EncryptFieldAccessor accessor : accessors) {
+                accessor.decrypt(byReflection);
+            }
+            Assertions.assertEquals(sample[0], byAccessor.getTestKey());
+            Assertions.assertEquals(sample[1], byAccessor.getValue());
+            Assertions.assertEquals(sample[0], byReflection.getTestKey());
+            Assertions.assertEquals(sample[1], byReflection.getValue());
+
+            // 未加密的值保持不变
+            for (EncryptFieldAccessor accessor : accessors) {
+                accessor.decrypt(byReflection);
+            }
+            Assertions.assertEquals(sample[0], byReflection.getTestKey());
+            Assertions.assertEquals(sample[1], byReflection.getValue());
+        }
+    }
+
+    @DisplayName("测试 结果集解密 (串行与超过阈值的并行) 与反射方式结果一致")
+    @Test
+    public void testDecryptInterceptor() throws Throwable {
+        MybatisDecryptInterceptor interceptor = new MybatisDecryptInterceptor(encryptorManager);
+        for (int size : new int[]{10, 2500}) {
+            List<TestDemoEncrypt> rows = new ArrayList<>(size);
+            List<TestDemoEncrypt> expected = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String key = i % 7 == 0 ? null : "key-" + i;
+                TestDemoEncrypt row = row(key, "value-" + i);
+                reflectEncrypt(row);
+                rows.add(row);
+                TestDemoEncrypt copy = row(row.getTestKey(), row.getValue());
+                reflectDecrypt(copy);
+                expected.add(copy);
+            }
+
+            Invocation invocation = mock(Invocation.class);
+            when(invocation.getTarget()).thenReturn(mock(ResultSetHandler.class));
+            when(invocation.proceed()).thenReturn(rows);
+            Assertions.assertSame(rows, interceptor.intercept(invocation));
+
+            for (int i = 0; i < size; i++) {
+                Assertions.assertEquals(expected.get(i).getTestKey(), rows.get(i).getTestKey());
+                Assertions.assertEquals(expected.get(i).getValue(), rows.get(i).getValue());
+                Assertions.assertEquals("value-" + i, rows.get(i).getValue());
+            }
+        }
+    }
+
+    private static TestDemoEncrypt row(String testKey, String value) {
+        TestDemoEncrypt row = new TestDemoEncrypt();
+        row.setTestKey(testKey);
+        row.setValue(value);
+        return row;
+    }
+
+    private static void assertEncrypted(String plain, String encrypted) {
+        if (plain == null) {
+            Assertions.assertNull(encrypted);
+        } else {
+            Assertions.assertTrue(StringUtils.startsWith(encrypted, Constants.ENCRYPT_HEADER), encrypted);
+        }
+    }
+
+    /**
+     * 原入参加密方式：反射读写，每个字段按注解构建加密上下文
+     */
+    private static void reflectEncrypt(Object target) throws IllegalAccessException {
+        for (Field field : encryptorManager.getFieldCache(target.getClass())) {
+            String value = (String) field.get(target);
+            field.set(target, value == null ? null : encryptorManager.encrypt(value, context(field)));
+        }
+    }
+
+    /**
+     * 原出参解密方式
+     */
+    private static void reflectDecrypt(Object target) throws IllegalAccessException {
+        for (Field field : encryptorManager.getFieldCache(target.getClass())) {
+            String value = (String) field.get(target);
+            field.set(target, value == null ? null : encryptorManager.decrypt(value, context(field)));
+        }
+    }
+
+    private static EncryptContext context(Field field) {
+        EncryptField encryptField = field.getAnnotation(EncryptField.class);
+        EncryptContext encryptContext = new EncryptContext();
+        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? properties.getAlgorithm() : encryptField.algorithm());
+        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? properties.getEncode() : encryptField.encode());
+        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? properties.getPassword() : encryptField.password());
+        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? properties.getPrivateKey() : encryptField.privateKey());
+        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? properties.getPublicKey() : encryptField.publicKey());
+        return encryptContext;
+    }
+
+}
@@ -0,0 +1,223 @@
+package org.dromara.test;
+
+import org.dromara.common.ratelimiter.config.properties.RateLimiterProperties;
+import org.dromara.common.ratelimiter.core.HybridRateLimiter;
+import org.dromara.common.ratelimiter.enums.LimitType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 本地令牌桶 + redis 对账限流器单元测试 (redis 限流器以内存额度模拟)
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("本地令牌桶限流器单元测试")
+public class HybridRateLimiterUnitTest {
+
+    private static final String KEY = "rate_limit:test";
+
+    /**
+     * 限流周期 1 秒，预取令牌有效期 100 毫秒
+     */
+    private static final int INTERVAL = 1;
+
+    private static final long LEASE_MILLIS = 100;
+
+    private static final long REJECT_CACHE_MILLIS = 50;
+
+    @DisplayName("测试 持续请求时批次从 1 翻倍至上限，批次内不访问 redis")
+    @Test
+    public void testLeaseBatch() {
+        FakeRemoteLimiter limiter = new FakeRemoteLimiter(1000);
+        // rate 100 → 批次上限为 min(maxLease 20, 100 / 10) = 10
+        for (int i = 0; i < 25; i++) {
+            Assertions.assertTrue(limiter.tryAcquire(KEY, LimitType.DEFAULT, 100, INTERVAL, 0) >= 0);
+        }
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 8L, 10L), limiter.calls);
+
+        Assertions.assertEquals(9, limiter.tryAcquire(KEY, LimitType.DEFAULT, 100, INTERVAL, 0));
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 8L, 10L, 10L), limiter.calls);
+    }
+
+    @DisplayName("测试 预取令牌超过有效期 (限流周期的 1/10) 后作废，按实际使用数重新预取")
+    @Test
+    public void testLeaseExpire() throws InterruptedException {
+        FakeRemoteLimiter limiter = new FakeRemoteLimiter(1000);
+        for (int i = 0; i < 15; i++) {
+            limiter.tryAcquire(KEY, LimitType.DEFAULT, 100, INTERVAL, 0);
+        }
+        Assertions.assertEquals(9, limiter.tryAcquire(KEY, LimitType.DEFAULT, 100, INTERVAL, 0));
+
+        Thread.sleep(LEASE_MILLIS + 50);
+        // 剩余 9 个令牌已过期，上一批次只用了 1 个，本次只预取 1 个
+        Assertions.assertEquals(0, limiter.tryAcquire(KEY, LimitType.DEFAULT, 100, INTERVAL, 0));
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 8L, 10L, 1L), limiter.calls);
+        Assertions.assertEquals(974, limiter.remaining);
+    }
+
+    @DisplayName("测试 剩余额度不足一个批次时退回单个获取")
+    @Test
+    public void testFallbackToSingle() {
+        FakeRemoteLimiter limiter = new FakeRemoteLimiter(4);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(limiter.tryAcquire(KEY, LimitType.DEFAULT, 100, INTERVAL, 0) >= 0);
+        }
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 1L), limiter.calls);
+        Assertions.assertEquals(0, limiter.remaining);
+        Assertions.assertEquals(-1, limiter.tryAcquire(KEY, LimitType.DEFAULT, 100, INTERVAL, 0));
+    }
+
+    @DisplayName("测试 redis 拒绝后短时间内本地直接拒绝，过期后重新访问 redis")
+    @Test
+    public void testRejectCache() throws InterruptedException {
+        FakeRemoteLimiter limiter = new FakeRemoteLimiter(0);
+        Assertions.assertEquals(-1, limiter.tryAcquire(KEY, LimitType.IP, 100, INTERVAL, 0));
+        Assertions.assertEquals(1, limiter.calls.size());
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(-1, limiter.tryAcquire(KEY, LimitType.IP, 100, INTERVAL, 0));
+        }
+        Assertions.assertEquals(1, limiter.calls.size());
+
+        Thread.sleep(REJECT_CACHE_MILLIS + 50);
+        limiter.remaining = 1;
+        Assertions.assertEquals(0, limiter.tryAcquire(KEY, LimitType.IP, 100, INTERVAL, 0));
+        Assertions.assertEquals(List.of(1L, 1L), limiter.calls);
+    }
+
+    @DisplayName("测试 限流次数小于预取粒度时每次只预取 1 个令牌")
+    @Test
+    public void testSmallRate() {
+        FakeRemoteLimiter limiter = new FakeRemoteLimiter(5);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(0, limiter.tryAcquire(KEY, LimitType.DEFAULT, 5, INTERVAL, 0));
+        }
+        Assertions.assertEquals(-1, limiter.tryAcquire(KEY, LimitType.DEFAULT, 5, INTERVAL, 0));
+        Assertions.assertEquals(List.of(1L, 1L, 1L, 1L, 1L, 1L), limiter.calls);
+    }
+
+    @DisplayName("测试 单周期内全局放行数不超过 限流次数 + 实例数 × 批次")
+    @Test
+    public void testClusterBound() {
+        int rate = 200;
+        // 批次为 min(maxLease 20, 200 / 10) = 20
+        int lease = 20;
+        long[] quota = {Long.MAX_VALUE};
+        FakeRemoteLimiter[] nodes = cluster(4, quota);
+        // 上一周期末每个实例的批次均已增长到上限，且最后一个批次只用掉 1 个
+        for (FakeRemoteLimiter node : nodes) {
+            while (node.calls.isEmpty() || node.calls.get(node.calls.size() - 1) != lease) {
+                node.tryAcquire(KEY, LimitType.DEFAULT, rate, INTERVAL, 0);
+            }
+        }
+        // redis 进入新周期，额度恢复
+        quota[0] = rate;
+        int passed = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (nodes[i % nodes.length].tryAcquire(KEY, LimitType.DEFAULT, rate, INTERVAL, 0) >= 0) {
+                passed++;
+            }
+        }
+        Assertions.assertEquals(0, quota[0]);
+        Assertions.assertTrue(passed <= rate + nodes.length * lease, "放行数 " + passed);
+    }
+
+    @DisplayName("测试 多实例稀疏请求低于限流次数时不被拒绝，随后的突发请求可用完剩余额度")
+    @Test
+    public void testSparseClusterTraffic() throws InterruptedException {
+        int rate = 100;
+        long[] quota = {rate};
+        FakeRemoteLimiter[] nodes = cluster(10, quota);
+        // 每个实例的请求间隔均超过预取令牌有效期，共 80 次请求，低于限流次数
+        for (int round = 0; round < 8; round++) {
+            for (FakeRemoteLimiter node : nodes) {
+                Assertions.assertEquals(0, node.tryAcquire(KEY, LimitType.DEFAULT, rate, INTERVAL, 0));
+            }
+            Thread.sleep(LEASE_MILLIS + 20);
+        }
+        for (FakeRemoteLimiter node : nodes) {
+            Assertions.assertTrue(node.calls.stream().allMatch(permits -> permits == 1L), node.calls.toString());
+        }
+        Assertions.assertEquals(20, quota[0]);
+
+        // 单个实例突发请求，剩余额度全部可用
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertTrue(nodes[0].tryAcquire(KEY, LimitType.DEFAULT, rate, INTERVAL, 0) >= 0);
+        }
+        Assertions.assertEquals(0, quota[0]);
+        Assertions.assertEquals(-1, nodes[0].tryAcquire(KEY, LimitType.DEFAULT, rate, INTERVAL, 0));
+    }
+
+    @DisplayName("测试 实例限流只使用本地令牌桶，不访问 redis")
+    @Test
+    public void testClusterTypeLocalOnly() {
+        FakeRemoteLimiter limiter = new FakeRemoteLimiter(1000);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(limiter.tryAcquire(KEY, LimitType.CLUSTER, 3, 10, 0) >= 0);
+        }
+        Assertions.assertEquals(-1, limiter.tryAcquire(KEY, LimitType.CLUSTER, 3, 10, 0));
+        Assertions.assertTrue(limiter.calls.isEmpty());
+    }
+
+    /**
+     * 共享同一 redis 额度的多个实例
+     */
+    private static FakeRemoteLimiter[] cluster(int size, long[] quota) {
+        FakeRemoteLimiter[] nodes = new FakeRemoteLimiter[size];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new FakeRemoteLimiter(0) {
+                @Override
+                protected boolean tryAcquireRemote(String key, int rate, int rateInterval, int timeout, long permits) {
+                    calls.add(permits);
+                    if (quota[0] < permits) {
+                        return false;
+                    }
+                    quota[0] -= permits;
+                    return true;
+                }
+            };
+        }
+        return nodes;
+    }
+
+    private static RateLimiterProperties properties() {
+        RateLimiterProperties properties = new RateLimiterProperties();
+        properties.setMaxLease(20);
+        properties.setRejectCacheMillis(REJECT_CACHE_MILLIS);
+        return properties;
+    }
+
+    /**
+     * 以内存额度代替 redis 限流器，记录每次访问 redis 的令牌数
+     */
+    private static class FakeRemoteLimiter extends HybridRateLimiter {
+
+        final List<Long> calls = new ArrayList<>();
+
+        long remaining;
+
+        FakeRemoteLimiter(long remaining) {
+            super(properties(), null);
+            this.remaining = remaining;
+        }
+
+        @Override
+        protected boolean tryAcquireRemote(String key, int rate, int rateInterval, int timeout, long permits) {
+            calls.add(permits);
+            if (remaining < permits) {
+                return false;
+            }
+            remaining -= permits;
+            return true;
+        }
+    }
+
+}
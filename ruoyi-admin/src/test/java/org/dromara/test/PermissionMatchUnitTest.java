@@ -0,0 +1,147 @@
+package org.dromara.test;
+
+import cn.dev33.satoken.strategy.SaStrategy;
+import org.dromara.common.satoken.core.service.CompiledPermissionList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * 预编译权限列表匹配单元测试
+ * <p>
+ * 以 sa-token 默认的 hasElement (StpUtil 权限校验使用的匹配逻辑) 为基准，校验大权限集合下结果一致
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("预编译权限列表匹配单元测试")
+public class PermissionMatchUnitTest {
+
+    private static final String[] ACTIONS = {"list", "query", "add", "edit", "remove", "export"};
+
+    private static final int QUERIES = 20000;
+
+    @DisplayName("测试 大权限集合下与 sa-token 默认匹配结果一致")
+    @Test
+    public void testSameAsDefaultMatching() {
+        List<String> permissions = permissions();
+        CompiledPermissionList compiled = CompiledPermissionList.of(new LinkedHashSet<>(permissions));
+        BiFunction<List<String>, String, Boolean> defaultMatch = defaultHasElement();
+
+        int granted = 0;
+        for (String query : queries(permissions)) {
+            boolean expected = defaultMatch.apply(permissions, query);
+            Assertions.assertEquals(expected, compiled.matches(query), query);
+            if (expected) {
+                granted++;
+            }
+        }
+        // 命中与未命中均有覆盖
+        Assertions.assertTrue(granted > 0 && granted < QUERIES);
+        Assertions.assertEquals(permissions.size(), compiled.size());
+    }
+
+    @DisplayName("测试 通配符边界情况")
+    @Test
+    public void testWildcardEdgeCases() {
+        List<String> permissions = List.of("system:user:*", "*:dict:list", "monitor:*:query", "tool:gen:*:preview", "exact:code");
+        CompiledPermissionList compiled = CompiledPermissionList.of(permissions);
+        BiFunction<List<String>, String, Boolean> defaultMatch = defaultHasElement();
+        List<String> queries = List.of("system:user:", "system:user", "system:user:list", "system:user:*",
+            "system:role:list", "x:dict:list", ":dict:list", "dict:list", "monitor::query", "monitor:online:query",
+            "monitor:online:list", "tool:gen:a:preview", "tool:gen::preview", "tool:gen:preview", "exact:code",
+            "exact:codes", "", "*");
+        for (String query : queries) {
+            Assertions.assertEquals(defaultMatch.apply(permissions, query), compiled.matches(query), query);
+        }
+
+        CompiledPermissionList all = CompiledPermissionList.of(List.of("a:b", "*"));
+        Assertions.assertTrue(all.matches("any:thing"));
+        Assertions.assertFalse(CompiledPermissionList.EMPTY.matches("a:b"));
+        Assertions.assertFalse(compiled.matches(null));
+    }
+
+    @DisplayName("测试 大权限集合匹配耗时对比 (输出耗时对比，不作断言)")
+    @Test
+    public void testMatchTiming() {
+        List<String> permissions = permissions();
+        CompiledPermissionList compiled = CompiledPermissionList.of(new LinkedHashSet<>(permissions));
+        BiFunction<List<String>, String, Boolean> defaultMatch = defaultHasElement();
+        List<String> queries = queries(permissions);
+
+        // 预热
+        int sink = 0;
+        for (String query : queries) {
+            sink += defaultMatch.apply(permissions, query) ? 1 : 0;
+            sink += compiled.matches(query) ? 1 : 0;
+        }
+
+        long start = System.nanoTime();
+        for (String query : queries) {
+            sink += defaultMatch.apply(permissions, query) ? 1 : 0;
+        }
+        long defaultNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (String query : queries) {
+            sink += compiled.matches(query) ? 1 : 0;
+        }
+        long compiledNanos = System.nanoTime() - start;
+
+        // 耗时受运行环境负载影响，只输出供参考
+        System.out.printf("权限数 %d, 默认匹配 %d ns/op, 预编译匹配 %d ns/op (%d)%n", permissions.size(),
+            defaultNanos / QUERIES, compiledNanos / QUERIES, sink);
+    }
+
+    /**
+     * sa-token 默认的列表匹配逻辑，传入普通 List 时不会走预编译分支
+     */
+    private static BiFunction<List<String>, String, Boolean> defaultHasElement() {
+        return (list, element) -> SaStrategy.instance.hasElement.apply(new ArrayList<>(list), element);
+    }
+
+    /**
+     * 约 6000 个精确权限码，外加若干末尾通配与中间通配权限
+     */
+    private static List<String> permissions() {
+        List<String> permissions = new ArrayList<>();
+        for (int m = 0; m < 50; m++) {
+            for (int r = 0; r < 20; r++) {
+                for (String action : ACTIONS) {
+                    permissions.add("m" + m + ":r" + r + ":" + action);
+                }
+            }
+        }
+        permissions.add("m60:*");
+        permissions.add("m61:r3:*");
+        permissions.add("m62:r1*");
+        permissions.add("*:r99:export");
+        permissions.add("m63:*:query");
+        permissions.add("m64:*:r*:list");
+        return permissions;
+    }
+
+    private static List<String> queries(List<String> permissions) {
+        Random random = new Random(42);
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            switch (random.nextInt(4)) {
+                case 0 -> queries.add(permissions.get(random.nextInt(permissions.size())));
+                case 1 -> queries.add("m" + random.nextInt(70) + ":r" + random.nextInt(100) + ":"
+                    + ACTIONS[random.nextInt(ACTIONS.length)]);
+                case 2 -> queries.add("m" + (60 + random.nextInt(6)) + ":" + (random.nextBoolean() ? "r" : "x")
+                    + random.nextInt(20) + (random.nextBoolean() ? ":r" + random.nextInt(5) : "")
+                    + ":" + ACTIONS[random.nextInt(ACTIONS.length)]);
+                default -> queries.add("m" + random.nextInt(70) + (random.nextBoolean() ? ":" : ""));
+            }
+        }
+        return queries;
+    }
+
+}
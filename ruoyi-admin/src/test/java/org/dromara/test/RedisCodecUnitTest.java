@@ -0,0 +1,188 @@
+package org.dromara.test;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.dromara.common.core.domain.dto.PostDTO;
+import org.dromara.common.core.domain.dto.RoleDTO;
+import org.dromara.common.core.domain.model.LoginUser;
+import org.dromara.common.redis.codec.CodecFormat;
+import org.dromara.common.redis.codec.MigratingJacksonCodec;
+import org.junit.jupiter.api.*;
+import org.redisson.codec.TypedJsonJacksonCodec;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Redis 可迁移编解码器单元测试 (smile 与 json 对比)
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("Redis 可迁移编解码器单元测试")
+public class RedisCodecUnitTest {
+
+    private static final int ITERATIONS = 5000;
+
+    private static MigratingJacksonCodec jsonCodec;
+
+    private static MigratingJacksonCodec smileCodec;
+
+    @BeforeAll
+    public static void init() {
+        // 与 RedisConfig 相同的 jackson 配置
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new JavaTimeModule());
+        om.setTimeZone(TimeZone.getDefault());
+        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        TypedJsonJacksonCodec json = new TypedJsonJacksonCodec(Object.class, om);
+        TypedJsonJacksonCodec smile = new TypedJsonJacksonCodec(Object.class, om.copyWith(new SmileFactory()));
+        jsonCodec = new MigratingJacksonCodec(json, smile, CodecFormat.JSON);
+        smileCodec = new MigratingJacksonCodec(json, smile, CodecFormat.SMILE);
+    }
+
+    @DisplayName("测试 两种格式写入的数据均可由任一编解码器读取")
+    @Test
+    public void testCrossFormatRead() throws IOException {
+        LoginUser user = loginUser();
+        byte[] json = encode(jsonCodec, user);
+        byte[] smile = encode(smileCodec, user);
+
+        Assertions.assertEquals((byte) '{', json[0]);
+        Assertions.assertEquals((byte) ':', smile[0]);
+        Assertions.assertEquals(user, decode(jsonCodec, smile));
+        Assertions.assertEquals(user, decode(smileCodec, json));
+        Assertions.assertEquals(user, decode(smileCodec, smile));
+    }
+
+    @DisplayName("测试 按类加载器复制后保留写入格式并可正常读写")
+    @Test
+    public void testCopy() throws IOException {
+        MigratingJacksonCodec copy = new MigratingJacksonCodec(getClass().getClassLoader(), smileCodec);
+        LoginUser user = loginUser();
+
+        Assertions.assertEquals(CodecFormat.SMILE, copy.getFormat());
+        Assertions.assertSame(getClass().getClassLoader(), copy.getClassLoader());
+        byte[] bytes = encode(copy, user);
+        Assertions.assertArrayEquals(encode(smileCodec, user), bytes);
+        Assertions.assertEquals(user, decode(jsonCodec, bytes));
+    }
+
+    @DisplayName("测试 LoginUser 类负载下 smile 与 json 的体积与耗时对比")
+    @Test
+    public void testSmileVsJson() throws IOException {
+        LoginUser user = loginUser();
+        byte[] json = encode(jsonCodec, user);
+        byte[] smile = encode(smileCodec, user);
+
+        // 预热
+        measure(jsonCodec, user);
+        measure(smileCodec, user);
+        long[] jsonNanos = measure(jsonCodec, user);
+        long[] smileNanos = measure(smileCodec, user);
+
+        System.out.printf("LoginUser json %d bytes, 编码 %d ns/op, 解码 %d ns/op%n",
+            json.length, jsonNanos[0] / ITERATIONS, jsonNanos[1] / ITERATIONS);
+        System.out.printf("LoginUser smile %d bytes, 编码 %d ns/op, 解码 %d ns/op%n",
+            smile.length, smileNanos[0] / ITERATIONS, smileNanos[1] / ITERATIONS);
+        Assertions.assertTrue(smile.length < json.length,
+            "smile " + smile.length + " bytes 应小于 json " + json.length + " bytes");
+    }
+
+    /**
+     * @return 编码与解码的总耗时 (纳秒)
+     */
+    private static long[] measure(MigratingJacksonCodec codec, LoginUser user) throws IOException {
+        long start = System.nanoTime();
+        byte[] bytes = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = encode(codec, user);
+        }
+        long encodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Assertions.assertNotNull(decode(codec, bytes));
+        }
+        return new long[]{encodeNanos, System.nanoTime() - start};
+    }
+
+    private static byte[] encode(MigratingJacksonCodec codec, Object value) throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(value);
+        try {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static Object decode(MigratingJacksonCodec codec, byte[] bytes) throws IOException {
+        ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+        try {
+            return codec.getValueDecoder().decode(buf, null);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * 与会话中保存的登录用户规模相当：数百个菜单权限、多个角色与岗位
+     */
+    private static LoginUser loginUser() {
+        LoginUser user = new LoginUser();
+        user.setUserId(1L);
+        user.setDeptId(103L);
+        user.setDeptName("研发部门");
+        user.setDeptCategory("dev");
+        user.setToken("eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9.demo");
+        user.setUserType("sys_user");
+        user.setLoginTime(1772409600000L);
+        user.setExpireTime(1772496000000L);
+        user.setIpaddr("127.0.0.1");
+        user.setLoginLocation("内网IP");
+        user.setBrowser("Chrome 120");
+        user.setOs("Windows 10");
+        user.setUsername("admin");
+        user.setNickname("管理员");
+        user.setClientKey("e5cd7e4891bf95d1d19206ce24a7b32e");
+        user.setDeviceType("pc");
+        Set<String> menuPermission = new HashSet<>();
+        String[] actions = {"list", "query", "add", "edit", "remove", "export"};
+        for (int m = 0; m < 60; m++) {
+            for (String action : actions) {
+                menuPermission.add("module" + m + ":resource:" + action);
+            }
+        }
+        user.setMenuPermission(menuPermission);
+        user.setRolePermission(new HashSet<>(List.of("admin", "common", "auditor")));
+        List<RoleDTO> roles = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RoleDTO role = new RoleDTO();
+            role.setRoleId(10L + i);
+            role.setRoleName("角色" + i);
+            role.setRoleKey("role" + i);
+            role.setDataScope(String.valueOf(i + 1));
+            roles.add(role);
+        }
+        user.setRoles(roles);
+        PostDTO post = new PostDTO();
+        post.setPostId(1L);
+        post.setDeptId(103L);
+        post.setPostCode("ceo");
+        post.setPostName("董事长");
+        post.setPostCategory("manager");
+        user.setPosts(new ArrayList<>(List.of(post)));
+        return user;
+    }
+
+}
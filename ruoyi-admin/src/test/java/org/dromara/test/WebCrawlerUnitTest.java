@@ -0,0 +1,209 @@
+package org.dromara.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.dromara.ai.config.KmCrawlerProperties;
+import org.dromara.ai.service.etl.WebCrawler;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 网页爬取器单元测试 (JDK HttpServer 本地桩服务器)
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Tag("dev")
+@Tag("local")
+@DisplayName("网页爬取器单元测试")
+public class WebCrawlerUnitTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private String base;
+
+    private WebCrawler crawler;
+
+    /**
+     * 按请求路径统计的完整响应次数
+     */
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverExecutor);
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+        String offSite = "http://localhost:" + server.getAddress().getPort();
+
+        server.createContext("/etag", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            respond(exchange, "<html><head><title>etag</title></head><body>cached body</body></html>");
+        });
+        server.createContext("/slow", exchange -> {
+            int current = active.incrementAndGet();
+            maxActive.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            respond(exchange, "<html><body>slow</body></html>");
+        });
+        server.createContext("/a", exchange -> respond(exchange, page("/b", offSite + "/x", "/file.pdf", "/a#top")));
+        server.createContext("/b", exchange -> respond(exchange, page("/c")));
+        server.createContext("/c", exchange -> respond(exchange, page("/d")));
+        server.createContext("/d", exchange -> respond(exchange, page()));
+        server.createContext("/x", exchange -> respond(exchange, page()));
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        if (crawler != null) {
+            crawler.destroy();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @DisplayName("测试 缓存过期后携带 ETag 条件请求，304 时沿用缓存内容")
+    @Test
+    public void testConditionalGet() {
+        KmCrawlerProperties properties = properties();
+        // 新鲜期为 0，第二次抓取必定发起条件请求
+        properties.setFreshSeconds(0);
+        crawler = new WebCrawler(properties);
+
+        WebCrawler.WebPage first = crawler.fetch(base + "/etag");
+        WebCrawler.WebPage second = crawler.fetch(base + "/etag");
+
+        Assertions.assertEquals(1, hitCount("/etag"));
+        Assertions.assertEquals(1, notModified.get());
+        Assertions.assertEquals(ETAG, first.etag());
+        Assertions.assertEquals("etag", second.title());
+        Assertions.assertEquals(first.content(), second.content());
+        Assertions.assertTrue(second.fetchedAt() >= first.fetchedAt());
+    }
+
+    @DisplayName("测试 新鲜期内直接复用缓存，不访问源站")
+    @Test
+    public void testFreshCache() {
+        crawler = new WebCrawler(properties());
+
+        crawler.fetch(base + "/etag");
+        crawler.fetch(base + "/etag#anchor");
+
+        Assertions.assertEquals(1, hitCount("/etag"));
+        Assertions.assertEquals(0, notModified.get());
+    }
+
+    @DisplayName("测试 同一站点并发数不超过上限")
+    @Test
+    public void testPerHostConcurrencyCap() {
+        KmCrawlerProperties properties = properties();
+        properties.setMaxConnectionsPerHost(2);
+        crawler = new WebCrawler(properties);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<WebCrawler.WebPage>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String url = base + "/slow?i=" + i;
+                futures.add(CompletableFuture.supplyAsync(() -> crawler.fetch(url), callers));
+            }
+            futures.forEach(CompletableFuture::join);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        Assertions.assertEquals(8, hitCount("/slow"));
+        Assertions.assertEquals(2, maxActive.get());
+    }
+
+    @DisplayName("测试 链接发现只跟随同站点网页链接，并受深度限制")
+    @Test
+    public void testDiscoverSameSiteAndDepth() {
+        crawler = new WebCrawler(properties());
+
+        List<String> links = crawler.discover(List.of(base + "/a"), 2, 100);
+
+        // 站外链接、非网页资源与锚点均不收录；深度 2 只抓取 a、b 两层
+        Assertions.assertEquals(List.of(base + "/a", base + "/b", base + "/c"), links);
+        Assertions.assertEquals(0, hitCount("/x"));
+        Assertions.assertEquals(0, hitCount("/c"));
+        Assertions.assertEquals(0, hitCount("/d"));
+    }
+
+    @DisplayName("测试 链接发现深度不超过配置上限，深度 0 只返回种子")
+    @Test
+    public void testDiscoverDepthLimit() {
+        KmCrawlerProperties properties = properties();
+        properties.setMaxDepth(1);
+        crawler = new WebCrawler(properties);
+
+        Assertions.assertEquals(List.of(base + "/a", base + "/b"), crawler.discover(List.of(base + "/a"), 5, 100));
+        Assertions.assertEquals(List.of(base + "/a"), crawler.discover(List.of(base + "/a"), 0, 100));
+        Assertions.assertEquals(0, hitCount("/b"));
+    }
+
+    private static KmCrawlerProperties properties() {
+        KmCrawlerProperties properties = new KmCrawlerProperties();
+        properties.setRequestDelayMs(0);
+        properties.setConnectTimeoutMs(2000);
+        properties.setReadTimeoutMs(5000);
+        return properties;
+    }
+
+    private int hitCount(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private void respond(HttpExchange exchange, String html) throws IOException {
+        hits.computeIfAbsent(exchange.getHttpContext().getPath(), k -> new AtomicInteger()).incrementAndGet();
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String page(String... hrefs) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (String href : hrefs) {
+            html.append("<a href=\"").append(href).append("\">link</a>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+}
@@ -27,4 +27,9 @@ public interface CacheConstants {
      */
     String PWD_ERR_CNT_KEY = "pwd_err_cnt:";
 
+    /**
+     * 导入错误报告 redis key
+     */
+    String IMPORT_ERROR_KEY = "import_error:";
+
 }
@@ -3,13 +3,16 @@ package org.dromara.common.core.constant;
 /**
  * 缓存组名称常量
  * <p>
- * key 格式为 cacheNames#ttl#maxIdleTime#maxSize
+ * key 格式为 cacheNames#ttl#maxIdleTime#maxSize#localSize#localTtl#localRefresh
  * <p>
  * ttl 过期时间 如果设置为0则不过期 默认为0
  * maxIdleTime 最大空闲时间 根据LRU算法清理空闲数据 如果设置为0则不检测 默认为0
  * maxSize 组最大长度 根据LRU算法清理溢出数据 如果设置为0则无限长 默认为0
+ * localSize 本地一级缓存容量(集合按元素数计) 默认取 maxSize，为0时取1000
+ * localTtl 本地一级缓存过期时间 默认取5分钟与 ttl、maxIdleTime 中的较小者
+ * localRefresh 本地一级缓存写入后提前刷新时间 默认不刷新
  * <p>
- * 例子: test#60s、test#0#60s、test#0#1m#1000、test#1h#0#500
+ * 例子: test#60s、test#0#60s、test#0#1m#1000、test#1h#0#500、test#0#0#0#5000#1h#10m
  *
  * @author Lion Li
  */
@@ -23,33 +26,23 @@ public interface CacheNames {
     /**
      * 系统配置
      */
-    String SYS_CONFIG = "sys_config";
+    String SYS_CONFIG = "sys_config#0#0#0#1000#1h#10m";
 
     /**
      * 数据字典
      */
-    String SYS_DICT = "sys_dict";
+    String SYS_DICT = "sys_dict#0#0#0#20000#1h#10m";
 
     /**
      * 数据字典类型
      */
-    String SYS_DICT_TYPE = "sys_dict_type";
+    String SYS_DICT_TYPE = "sys_dict_type#0#0#0#1000#1h#10m";
 
     /**
      * 客户端
      */
     String SYS_CLIENT = GlobalConstants.GLOBAL_REDIS_KEY + "sys_client#30d";
 
-    /**
-     * 用户账户
-     */
-    String SYS_USER_NAME = "sys_user_name#30d";
-
-    /**
-     * 用户名称
-     */
-    String SYS_NICKNAME = "sys_nickname#30d";
-
     /**
      * 部门
      */
@@ -73,7 +66,7 @@ public interface CacheNames {
     /**
      * OSS配置
      */
-    String SYS_OSS_CONFIG = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss_config";
+    String SYS_OSS_CONFIG = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss_config#0#0#0#100#1h#10m";
 
     /**
      * 在线用户
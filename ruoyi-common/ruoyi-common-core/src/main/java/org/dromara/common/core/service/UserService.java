@@ -92,6 +92,30 @@ public interface UserService {
      */
     List<UserDTO> selectUsersByPostIds(List<Long> postIds);
 
+    /**
+     * 通过角色ID查询用户ID，按角色分组
+     *
+     * @param roleIds 角色ids
+     * @return Map，其中 key 为角色ID，value 为该角色下的用户ID (不过滤用户状态)
+     */
+    Map<Long, List<Long>> selectUserIdsGroupByRoleIds(List<Long> roleIds);
+
+    /**
+     * 通过部门ID查询正常状态的用户ID，按部门分组
+     *
+     * @param deptIds 部门ids
+     * @return Map，其中 key 为部门ID，value 为该部门下的用户ID
+     */
+    Map<Long, List<Long>> selectUserIdsGroupByDeptIds(List<Long> deptIds);
+
+    /**
+     * 通过岗位ID查询用户ID，按岗位分组
+     *
+     * @param postIds 岗位ids
+     * @return Map，其中 key 为岗位ID，value 为该岗位下的用户ID (不过滤用户状态)
+     */
+    Map<Long, List<Long>> selectUserIdsGroupByPostIds(List<Long> postIds);
+
     /**
      * 根据用户 ID 列表查询用户名称映射关系
      *
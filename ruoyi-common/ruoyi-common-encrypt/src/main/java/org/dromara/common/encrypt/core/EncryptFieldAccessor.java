@@ -0,0 +1,111 @@
+package org.dromara.common.encrypt.core;
+
+import lombok.Getter;
+import org.dromara.common.core.constant.Constants;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.encrypt.annotation.EncryptField;
+import org.dromara.common.encrypt.enumd.AlgorithmType;
+import org.dromara.common.encrypt.enumd.EncodeType;
+import org.dromara.common.encrypt.properties.EncryptorProperties;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.function.Function;
+
+/**
+ * 加密字段访问器
+ * <p>
+ * 扫描实体时按字段预先生成读写句柄并合并注解与全局配置得到加密上下文，
+ * 加密执行者在首次使用时解析并缓存在字段上，处理每一行数据时不再读取注解、构建上下文或查找加密执行者。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public final class EncryptFieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(String.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+
+    /**
+     * 字段
+     */
+    @Getter
+    private final Field field;
+
+    /**
+     * 加密上下文
+     */
+    @Getter
+    private final EncryptContext context;
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final Function<EncryptContext, IEncryptor> resolver;
+    private volatile IEncryptor encryptor;
+
+    /**
+     * @param field      加密字段 (已设置可访问)
+     * @param defaults   全局默认配置
+     * @param resolver   加密执行者解析函数
+     */
+    EncryptFieldAccessor(Field field, EncryptorProperties defaults, Function<EncryptContext, IEncryptor> resolver) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.field = field;
+        this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        this.context = buildContext(field.getAnnotation(EncryptField.class), defaults);
+        this.resolver = resolver;
+    }
+
+    /**
+     * 加密对象上的字段值 (已加密的值不重复加密)
+     *
+     * @param target 实体对象
+     */
+    public void encrypt(Object target) throws Throwable {
+        String value = (String) getter.invokeExact(target);
+        if (value == null || StringUtils.startsWith(value, Constants.ENCRYPT_HEADER)) {
+            return;
+        }
+        String encrypt = encryptor().encrypt(value, context.getEncode());
+        setter.invokeExact(target, Constants.ENCRYPT_HEADER + encrypt);
+    }
+
+    /**
+     * 解密对象上的字段值 (未加密的值保持不变)
+     *
+     * @param target 实体对象
+     */
+    public void decrypt(Object target) throws Throwable {
+        String value = (String) getter.invokeExact(target);
+        if (!StringUtils.startsWith(value, Constants.ENCRYPT_HEADER)) {
+            return;
+        }
+        String decrypt = encryptor().decrypt(StringUtils.removeStart(value, Constants.ENCRYPT_HEADER));
+        setter.invokeExact(target, decrypt);
+    }
+
+    /**
+     * 加密执行者 (首次使用时解析，配置错误时在使用处报错而非启动时)
+     */
+    private IEncryptor encryptor() {
+        IEncryptor current = encryptor;
+        if (current == null) {
+            current = resolver.apply(context);
+            encryptor = current;
+        }
+        return current;
+    }
+
+    private static EncryptContext buildContext(EncryptField encryptField, EncryptorProperties defaults) {
+        EncryptContext encryptContext = new EncryptContext();
+        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? defaults.getAlgorithm() : encryptField.algorithm());
+        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? defaults.getEncode() : encryptField.encode());
+        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? defaults.getPassword() : encryptField.password());
+        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? defaults.getPrivateKey() : encryptField.privateKey());
+        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? defaults.getPublicKey() : encryptField.publicKey());
+        return encryptContext;
+    }
+}
@@ -9,6 +9,7 @@ import org.dromara.common.core.constant.Constants;
 import org.dromara.common.core.utils.ObjectUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.encrypt.annotation.EncryptField;
+import org.dromara.common.encrypt.properties.EncryptorProperties;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -18,10 +19,7 @@ import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -45,12 +43,24 @@ public class EncryptorManager {
      */
     Map<Class<?>, Set<Field>> fieldCache = new ConcurrentHashMap<>();
 
+    /**
+     * 类加密字段访问器缓存
+     */
+    Map<Class<?>, List<EncryptFieldAccessor>> accessorCache = new ConcurrentHashMap<>();
+
+    /**
+     * 全局默认加密配置
+     */
+    private EncryptorProperties defaultProperties;
+
     /**
      * 构造方法传入类加密字段缓存
      *
      * @param typeAliasesPackage 实体类包
+     * @param defaultProperties  全局默认加密配置
      */
-    public EncryptorManager(String typeAliasesPackage) {
+    public EncryptorManager(String typeAliasesPackage, EncryptorProperties defaultProperties) {
+        this.defaultProperties = defaultProperties;
         scanEncryptClasses(typeAliasesPackage);
     }
 
@@ -62,6 +72,13 @@ public class EncryptorManager {
         return ObjectUtils.notNullGetter(fieldCache, f -> f.get(sourceClazz));
     }
 
+    /**
+     * 获取类加密字段访问器 (不含加密字段的类返回 null)
+     */
+    public List<EncryptFieldAccessor> getFieldAccessors(Class<?> sourceClazz) {
+        return accessorCache.get(sourceClazz);
+    }
+
     /**
      * 注册加密执行者到缓存
      *
@@ -134,6 +151,11 @@ public class EncryptorManager {
                     Set<Field> encryptFieldSet = getEncryptFieldSetFromClazz(clazz);
                     if (CollUtil.isNotEmpty(encryptFieldSet)) {
                         fieldCache.put(clazz, encryptFieldSet);
+                        List<EncryptFieldAccessor> accessors = new ArrayList<>(encryptFieldSet.size());
+                        for (Field field : encryptFieldSet) {
+                            accessors.add(new EncryptFieldAccessor(field, defaultProperties, this::registAndGetEncryptor));
+                        }
+                        accessorCache.put(clazz, List.copyOf(accessors));
                     }
                 }
             }
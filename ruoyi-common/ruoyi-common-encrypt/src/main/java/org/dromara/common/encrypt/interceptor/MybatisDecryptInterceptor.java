@@ -1,24 +1,22 @@
 package org.dromara.common.encrypt.interceptor;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.ObjectUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.plugin.*;
-import org.dromara.common.core.utils.StringUtils;
-import org.dromara.common.encrypt.annotation.EncryptField;
-import org.dromara.common.encrypt.core.EncryptContext;
+import org.dromara.common.encrypt.core.EncryptFieldAccessor;
 import org.dromara.common.encrypt.core.EncryptorManager;
-import org.dromara.common.encrypt.enumd.AlgorithmType;
-import org.dromara.common.encrypt.enumd.EncodeType;
-import org.dromara.common.encrypt.properties.EncryptorProperties;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 出参解密拦截器
@@ -35,17 +33,24 @@ import java.util.*;
 @AllArgsConstructor
 public class MybatisDecryptInterceptor implements Interceptor {
 
+    /**
+     * 结果集行数达到该值时并行解密
+     */
+    private static final int PARALLEL_THRESHOLD = 1000;
+
+    /**
+     * ResultSetHandler 实现类的 parameterHandler 读取句柄缓存 (不存在该字段的类为空)
+     */
+    private static final Map<Class<?>, Optional<MethodHandle>> PARAMETER_HANDLER_GETTERS = new ConcurrentHashMap<>();
+
     private final EncryptorManager encryptorManager;
-    private final EncryptorProperties defaultProperties;
 
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         // 开始进行参数解密
         ResultSetHandler resultSetHandler = (ResultSetHandler) invocation.getTarget();
-        Field parameterHandlerField = resultSetHandler.getClass().getDeclaredField("parameterHandler");
-        parameterHandlerField.setAccessible(true);
-        Object target = parameterHandlerField.get(resultSetHandler);
-        if (target instanceof ParameterHandler parameterHandler) {
+        Optional<MethodHandle> getter = PARAMETER_HANDLER_GETTERS.computeIfAbsent(resultSetHandler.getClass(), MybatisDecryptInterceptor::findParameterHandlerGetter);
+        if (getter.isPresent() && getter.get().invokeExact((Object) resultSetHandler) instanceof ParameterHandler parameterHandler) {
             Object parameterObject = parameterHandler.getParameterObject();
             if (ObjectUtil.isNotNull(parameterObject) && !(parameterObject instanceof String)) {
                 this.decryptHandler(parameterObject);
@@ -79,45 +84,45 @@ public class MybatisDecryptInterceptor implements Interceptor {
             }
             // 判断第一个元素是否含有注解。如果没有直接返回，提高效率
             Object firstItem = list.get(0);
-            if (ObjectUtil.isNull(firstItem) || CollUtil.isEmpty(encryptorManager.getFieldCache(firstItem.getClass()))) {
+            if (ObjectUtil.isNull(firstItem) || CollUtil.isEmpty(encryptorManager.getFieldAccessors(firstItem.getClass()))) {
                 return;
             }
-            list.forEach(this::decryptHandler);
+            // 行数较多时解密 (CPU 密集且行之间互不影响) 并行执行
+            if (list.size() >= PARALLEL_THRESHOLD) {
+                list.parallelStream().forEach(this::decryptHandler);
+            } else {
+                list.forEach(this::decryptHandler);
+            }
             return;
         }
         // 不在缓存中的类,就是没有加密注解的类(当然也有可能是typeAliasesPackage写错)
-        Set<Field> fields = encryptorManager.getFieldCache(sourceObject.getClass());
-        if(ObjectUtil.isNull(fields)){
+        List<EncryptFieldAccessor> accessors = encryptorManager.getFieldAccessors(sourceObject.getClass());
+        if(ObjectUtil.isNull(accessors)){
             return;
         }
         try {
-            for (Field field : fields) {
-                field.set(sourceObject, this.decryptField(Convert.toStr(field.get(sourceObject)), field));
+            for (EncryptFieldAccessor accessor : accessors) {
+                accessor.decrypt(sourceObject);
             }
-        } catch (Exception e) {
+        } catch (Throwable e) {
             log.error("处理解密字段时出错", e);
         }
     }
 
     /**
-     * 字段值进行加密。通过字段的批注注册新的加密算法
-     *
-     * @param value 待加密的值
-     * @param field 待加密字段
-     * @return 加密后结果
+     * 查找 parameterHandler 字段并生成读取句柄
      */
-    private String decryptField(String value, Field field) {
-        if (ObjectUtil.isNull(value)) {
-            return null;
+    private static Optional<MethodHandle> findParameterHandlerGetter(Class<?> clazz) {
+        try {
+            Field field = clazz.getDeclaredField("parameterHandler");
+            field.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+            return Optional.of(getter);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            log.warn("{} 无法读取 parameterHandler, 跳过入参解密", clazz.getName());
+            return Optional.empty();
         }
-        EncryptField encryptField = field.getAnnotation(EncryptField.class);
-        EncryptContext encryptContext = new EncryptContext();
-        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? defaultProperties.getAlgorithm() : encryptField.algorithm());
-        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? defaultProperties.getEncode() : encryptField.encode());
-        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? defaultProperties.getPassword() : encryptField.password());
-        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? defaultProperties.getPrivateKey() : encryptField.privateKey());
-        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? defaultProperties.getPublicKey() : encryptField.publicKey());
-        return this.encryptorManager.decrypt(value, encryptContext);
     }
 
     @Override
@@ -14,6 +14,7 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.file.FileUtils;
 import org.dromara.common.excel.convert.ExcelBigNumberConvert;
@@ -28,15 +29,22 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Excel相关处理
  *
  * @author Lion Li
  */
+@Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ExcelUtil {
 
+    /**
+     * 单个工作表最大写入行数 (xlsx 上限为 1048576 行，含表头)
+     */
+    private static final int MAX_SHEET_ROWS = 1_000_000;
+
     /**
      * 同步导入(适用于小数据量)
      *
@@ -242,6 +250,72 @@ public class ExcelUtil {
         exportExcel(headType, os, null, consumer);
     }
 
+    /**
+     * 分批流式导出excel
+     * <p>
+     * 按批次拉取数据并立即写出，内存占用只与单批大小相关，适合数据量较大的导出。
+     * 数据源应使用键集分页 (如 id &gt; 上一批最后一条的 id)，避免深分页的 offset 扫描。
+     *
+     * @param sheetName 工作表的名称
+     * @param clazz     实体类
+     * @param response  响应体
+     * @param nextBatch 根据上一批最后一条数据查询下一批 (首批传入 null，返回空集合时结束)
+     */
+    public static <T> void exportExcelByBatch(String sheetName, Class<T> clazz, HttpServletResponse response,
+                                              Function<T, List<T>> nextBatch) {
+        try {
+            resetResponse(sheetName, response);
+            ServletOutputStream os = response.getOutputStream();
+            exportExcelByBatch(sheetName, clazz, os, nextBatch);
+        } catch (IOException e) {
+            throw new RuntimeException("导出Excel异常");
+        }
+    }
+
+    /**
+     * 分批流式导出excel
+     * <p>
+     * 单个工作表超过 {@link #MAX_SHEET_ROWS} 行时自动续写到新的工作表
+     *
+     * @param sheetName 工作表的名称
+     * @param clazz     实体类
+     * @param os        输出流
+     * @param nextBatch 根据上一批最后一条数据查询下一批 (首批传入 null，返回空集合时结束)
+     */
+    public static <T> void exportExcelByBatch(String sheetName, Class<T> clazz, OutputStream os,
+                                              Function<T, List<T>> nextBatch) {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        try (ExcelWriter writer = FastExcel.write(os, clazz)
+            .autoCloseStream(false)
+            // 自动适配
+            .registerWriteHandler(new LongestMatchColumnWidthStyleStrategy())
+            // 大数值自动转换 防止失真
+            .registerConverter(new ExcelBigNumberConvert())
+            .registerWriteHandler(new DataWriteHandler(clazz))
+            .build()) {
+            int sheetNo = 0;
+            long sheetRows = 0;
+            WriteSheet sheet = FastExcel.writerSheet(sheetNo, sheetName).build();
+            T last = null;
+            List<T> batch;
+            while (CollUtil.isNotEmpty(batch = nextBatch.apply(last))) {
+                if (sheetRows + batch.size() > MAX_SHEET_ROWS) {
+                    sheetNo++;
+                    sheetRows = 0;
+                    sheet = FastExcel.writerSheet(sheetNo, sheetName + "_" + (sheetNo + 1)).build();
+                }
+                // 字典等转换器在写出时逐批执行
+                writer.write(batch, sheet);
+                sheetRows += batch.size();
+                total += batch.size();
+                last = batch.get(batch.size() - 1);
+                log.debug("分批导出[{}]进度: 已写出 {} 行", sheetName, total);
+            }
+        }
+        log.info("分批导出[{}]完成: 共 {} 行, 耗时 {} ms", sheetName, total, System.currentTimeMillis() - start);
+    }
+
     /**
      * 单表多数据模板导出 模板格式为 {.属性}
      *
@@ -1,9 +1,12 @@
 package org.dromara.common.log.aspect;
 
-import cn.hutool.core.lang.Dict;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -173,30 +176,23 @@ public class LogAspect {
         if (ArrayUtil.isEmpty(paramsArray)) {
             return params.toString();
         }
-        String[] exclude = ArrayUtil.addAll(excludeParamNames, EXCLUDE_PROPERTIES);
+        List<String> exclude = Arrays.asList(ArrayUtil.addAll(excludeParamNames, EXCLUDE_PROPERTIES));
+        ObjectMapper objectMapper = JsonUtils.getObjectMapper();
         for (Object o : paramsArray) {
             if (ObjectUtil.isNotNull(o) && !isFilterObject(o)) {
-                String str = "";
-                if (o instanceof List<?> list) {
-                    List<Dict> list1 = new ArrayList<>();
-                    for (Object obj : list) {
-                        String str1 = JsonUtils.toJsonString(obj);
-                        Dict dict = JsonUtils.parseMap(str1);
-                        if (MapUtil.isNotEmpty(dict)) {
-                            MapUtil.removeAny(dict, exclude);
-                            list1.add(dict);
+                // 直接转换为 JSON 树后移除排除字段，避免序列化后再解析
+                JsonNode node = objectMapper.valueToTree(o);
+                if (node instanceof ArrayNode array) {
+                    // 对象元素移除排除字段，标量元素 (如删除接口的 id 数组) 原样保留
+                    for (JsonNode item : array) {
+                        if (item instanceof ObjectNode obj) {
+                            obj.remove(exclude);
                         }
                     }
-                    str = JsonUtils.toJsonString(list1);
-                } else {
-                    str = JsonUtils.toJsonString(o);
-                    Dict dict = JsonUtils.parseMap(str);
-                    if (MapUtil.isNotEmpty(dict)) {
-                        MapUtil.removeAny(dict, exclude);
-                        str = JsonUtils.toJsonString(dict);
-                    }
+                } else if (node instanceof ObjectNode obj) {
+                    obj.remove(exclude);
                 }
-                params.add(str);
+                params.add(node.toString());
             }
         }
         return params.toString();
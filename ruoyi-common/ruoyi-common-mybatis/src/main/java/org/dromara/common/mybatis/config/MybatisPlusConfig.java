@@ -13,11 +13,15 @@ import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.mybatis.aspect.DataPermissionPointcutAdvisor;
 import org.dromara.common.mybatis.handler.InjectionMetaObjectHandler;
 import org.dromara.common.mybatis.handler.MybatisExceptionHandler;
+import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
 import org.dromara.common.mybatis.handler.PlusPostInitTableInfoHandler;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
 import org.dromara.common.mybatis.interceptor.PlusDataPermissionInterceptor;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.Role;
@@ -62,6 +66,15 @@ public class MybatisPlusConfig {
         return new DataPermissionPointcutAdvisor();
     }
 
+    /**
+     * 订阅数据权限过滤条件缓存失效通知
+     */
+    @Bean
+    public ApplicationRunner dataPermissionFilterCacheSubscriber() {
+        return args -> RedisUtils.subscribe(DataPermissionHelper.FILTER_CACHE_TOPIC, String.class,
+            msg -> PlusDataPermissionHandler.clearFilterCache());
+    }
+
     /**
      * 分页插件，自动识别数据库类型
      */
@@ -14,6 +14,8 @@ import org.dromara.common.mybatis.helper.DataPermissionHelper;
  * - {@code user}: 当前登录用户信息，参考 {@link LoginUser}
  * 内置服务：
  * - {@code sdss}: 系统数据权限服务，参考 ISysDataScopeService
+ * 内置表：
+ * - {@code sys_dept_closure}: 部门层级闭包表，部门及以下权限通过子查询关联，不再展开部门ID列表
  * 如需扩展数据，可以通过 {@link DataPermissionHelper} 进行操作
  * 如需扩展服务，可以通过 ISysDataScopeService 自行编写
  * </p>
@@ -43,7 +45,7 @@ public enum DataScopeType {
     /**
      * 部门及以下数据权限
      */
-    DEPT_AND_CHILD("4", " #{#deptName} IN ( #{@sdss.getDeptAndChild( #user.deptId )} )", " 1 = 0 "),
+    DEPT_AND_CHILD("4", " #{#deptName} IN ( SELECT descendant_id FROM sys_dept_closure WHERE ancestor_id = #{#user.deptId} ) ", " 1 = 0 "),
 
     /**
      * 仅本人数据权限
@@ -53,7 +55,7 @@ public enum DataScopeType {
     /**
      * 部门及以下或本人数据权限
      */
-    DEPT_AND_CHILD_OR_SELF("6", " #{#deptName} IN ( #{@sdss.getDeptAndChild( #user.deptId )} ) OR #{#userName} = #{#user.userId} ", " 1 = 0 ");
+    DEPT_AND_CHILD_OR_SELF("6", " #{#deptName} IN ( SELECT descendant_id FROM sys_dept_closure WHERE ancestor_id = #{#user.deptId} ) OR #{#userName} = #{#user.userId} ", " 1 = 0 ");
 
     private final String code;
 
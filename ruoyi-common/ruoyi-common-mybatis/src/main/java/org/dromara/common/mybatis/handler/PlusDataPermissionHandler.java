@@ -2,6 +2,8 @@ package org.dromara.common.mybatis.handler;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
@@ -26,7 +28,9 @@ import org.springframework.expression.common.TemplateParserContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -48,6 +52,19 @@ public class PlusDataPermissionHandler {
      */
     private final BeanResolver beanResolver = new BeanFactoryResolver(SpringUtils.getBeanFactory());
 
+    /**
+     * 过滤条件缓存 (兜底过期时间用于覆盖未挂钩的数据变更)
+     */
+    private static final Cache<FilterCacheKey, Optional<Expression>> FILTER_CACHE = Caffeine.newBuilder()
+        .maximumSize(10000)
+        .expireAfterWrite(Duration.ofMinutes(10))
+        .build();
+
+    /**
+     * 缓存版本号
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
     /**
      * 获取数据过滤条件的 SQL 片段
      *
@@ -70,11 +87,10 @@ public class PlusDataPermissionHandler {
                 return where;
             }
             // 构造数据过滤条件的 SQL 片段
-            String dataFilterSql = buildDataFilter(dataPermission, isSelect);
-            if (StringUtils.isBlank(dataFilterSql)) {
+            Expression expression = getFilterExpression(dataPermission, isSelect);
+            if (ObjectUtil.isNull(expression)) {
                 return where;
             }
-            Expression expression = CCJSqlParserUtil.parseExpression(dataFilterSql);
             // 数据权限使用单独的括号 防止与其他条件冲突
             ParenthesedExpressionList<Expression> parenthesis = new ParenthesedExpressionList<>(expression);
             if (ObjectUtil.isNotNull(where)) {
@@ -89,6 +105,76 @@ public class PlusDataPermissionHandler {
         }
     }
 
+    /**
+     * 获取数据过滤条件表达式
+     * <p>
+     * 过滤条件只取决于权限注解、用户、部门与角色，相同组合直接复用已解析的表达式，
+     * 跳过 SpEL 求值与 SQL 解析。上下文中设置了自定义变量时不走缓存。
+     * 缓存的表达式在多个线程间共享，只允许包装引用，不可修改。
+     *
+     * @param dataPermission 数据权限注解
+     * @param isSelect       是否为查询语句
+     * @return 过滤条件表达式，无需过滤时返回 null
+     */
+    private Expression getFilterExpression(DataPermission dataPermission, boolean isSelect) throws JSQLParserException {
+        FilterCacheKey key = buildCacheKey(dataPermission, isSelect);
+        if (ObjectUtil.isNull(key)) {
+            return parseDataFilter(dataPermission, isSelect);
+        }
+        Optional<Expression> cached = FILTER_CACHE.getIfPresent(key);
+        if (cached == null) {
+            cached = Optional.ofNullable(parseDataFilter(dataPermission, isSelect));
+            FILTER_CACHE.put(key, cached);
+        }
+        return cached.orElse(null);
+    }
+
+    private Expression parseDataFilter(DataPermission dataPermission, boolean isSelect) throws JSQLParserException {
+        String dataFilterSql = buildDataFilter(dataPermission, isSelect);
+        if (StringUtils.isBlank(dataFilterSql)) {
+            return null;
+        }
+        return CCJSqlParserUtil.parseExpression(dataFilterSql);
+    }
+
+    /**
+     * 构建缓存键，无法确定结果时返回 null
+     */
+    private FilterCacheKey buildCacheKey(DataPermission dataPermission, boolean isSelect) {
+        Map<String, Object> variables = DataPermissionHelper.getContext();
+        if (variables.size() != 1) {
+            return null;
+        }
+        LoginUser user = DataPermissionHelper.getVariable("user");
+        if (ObjectUtil.isNull(user) || ObjectUtil.isNull(user.getRoles())) {
+            return null;
+        }
+        StringBuilder roles = new StringBuilder();
+        for (RoleDTO role : user.getRoles()) {
+            roles.append(role.getRoleId()).append(':').append(role.getDataScope()).append(',');
+        }
+        // 权限标识符命中情况会改变过滤条件
+        StringBuilder ignored = new StringBuilder();
+        for (DataColumn dataColumn : dataPermission.value()) {
+            boolean ignore = StringUtils.isNotBlank(dataColumn.permission())
+                && CollUtil.contains(user.getMenuPermission(), dataColumn.permission());
+            ignored.append(ignore ? '1' : '0');
+        }
+        return new FilterCacheKey(GENERATION.get(), dataPermission, isSelect, user.getUserId(), user.getDeptId(),
+            roles.toString(), ignored.toString());
+    }
+
+    /**
+     * 清空本节点的过滤条件缓存
+     * <p>
+     * 部门层级或角色自定义数据范围变更后调用（见 {@link DataPermissionHelper#clearFilterCache()}）。
+     * 先递增版本号，清空前已在计算中的结果会写入旧版本的键，不会被再次命中。
+     */
+    public static void clearFilterCache() {
+        GENERATION.incrementAndGet();
+        FILTER_CACHE.invalidateAll();
+    }
+
     /**
      * 构建数据过滤条件的 SQL 语句
      *
@@ -198,6 +284,13 @@ public class PlusDataPermissionHandler {
         return getDataPermission() == null;
     }
 
+    /**
+     * 过滤条件缓存键
+     */
+    private record FilterCacheKey(long generation, DataPermission dataPermission, boolean isSelect,
+                                  Long userId, Long deptId, String roles, String ignoredColumns) {
+    }
+
     /**
      * 对所有null变量找不到的变量返回默认值
      */
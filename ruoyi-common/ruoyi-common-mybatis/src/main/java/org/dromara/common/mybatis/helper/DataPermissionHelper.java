@@ -10,6 +10,10 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dromara.common.core.utils.reflect.ReflectUtils;
 import org.dromara.common.mybatis.annotation.DataPermission;
+import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +32,11 @@ public class DataPermissionHelper {
 
     private static final String DATA_PERMISSION_KEY = "data:permission";
 
+    /**
+     * 过滤条件缓存失效通知频道
+     */
+    public static final String FILTER_CACHE_TOPIC = "global:data_permission:filter_invalidate";
+
     private static final ThreadLocal<Stack<Integer>> REENTRANT_IGNORE = ThreadLocal.withInitial(Stack::new);
 
     private static final ThreadLocal<DataPermission> PERMISSION_CACHE = new ThreadLocal<>();
@@ -99,6 +108,29 @@ public class DataPermissionHelper {
         throw new NullPointerException("data permission context type exception");
     }
 
+    /**
+     * 清空所有节点的数据权限过滤条件缓存
+     * <p>
+     * 部门层级、角色自定义数据范围变更时调用，存在事务时在提交后执行
+     */
+    public static void clearFilterCache() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishClearFilterCache();
+                }
+            });
+        } else {
+            publishClearFilterCache();
+        }
+    }
+
+    private static void publishClearFilterCache() {
+        RedisUtils.publish(FILTER_CACHE_TOPIC, String.valueOf(System.currentTimeMillis()),
+            msg -> PlusDataPermissionHandler.clearFilterCache());
+    }
+
     private static IgnoreStrategy getIgnoreStrategy() {
         Object ignoreStrategyLocal = ReflectUtils.getStaticFieldValue(ReflectUtils.getField(InterceptorIgnoreHelper.class, "IGNORE_STRATEGY_LOCAL"));
         if (ignoreStrategyLocal instanceof ThreadLocal<?> IGNORE_STRATEGY_LOCAL) {
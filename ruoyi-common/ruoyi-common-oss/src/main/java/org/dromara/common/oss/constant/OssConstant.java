@@ -17,6 +17,16 @@ public interface OssConstant {
      */
     String DEFAULT_CONFIG_KEY = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:default_config";
 
+    /**
+     * 配置变更通知主题 (消息为变更的配置key，{@link #ALL_CONFIG} 表示全部及默认配置)
+     */
+    String CONFIG_CHANGE_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:config_changed";
+
+    /**
+     * 全部配置
+     */
+    String ALL_CONFIG = "*";
+
     /**
      * 预览列表资源开关Key
      */
@@ -8,7 +8,6 @@ import org.dromara.common.oss.constant.OssConstant;
 import org.dromara.common.oss.core.OssClient;
 import org.dromara.common.oss.exception.OssException;
 import org.dromara.common.oss.properties.OssProperties;
-import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.redis.utils.RedisUtils;
 
 import java.util.Map;
@@ -17,52 +16,155 @@ import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 文件上传Factory
+ * <p>
+ * 客户端按配置key缓存，仅在配置变更通知 ({@link OssConstant#CONFIG_CHANGE_TOPIC}) 到达后重新解析配置，
+ * 常规获取实例只需一次 Map 读取；另每分钟与二级缓存中的配置比对一次，兜底丢失的变更通知
  *
  * @author Lion Li
  */
 @Slf4j
 public class OssFactory {
 
-    private static final Map<String, OssClient> CLIENT_CACHE = new ConcurrentHashMap<>();
+    /**
+     * 缓存配置的校验间隔 订阅断线重连期间可能丢失变更通知 超过间隔后与二级缓存中的配置比对一次
+     */
+    private static final long VERIFY_INTERVAL_MILLIS = 60_000L;
+
+    private static final Map<String, CachedClient> CLIENT_CACHE = new ConcurrentHashMap<>();
     private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final String CONFIG_CACHE_NAME = StringUtils.substringBefore(CacheNames.SYS_OSS_CONFIG, "#");
+
+    /**
+     * 默认配置key 与客户端缓存一样只在锁内写入 变更通知同样在锁内清理 避免旧值覆盖清理结果
+     */
+    private static volatile CachedDefaultKey defaultConfigKey;
+    private static volatile boolean subscribed = false;
 
     /**
      * 获取默认实例
      */
     public static OssClient instance() {
-        // 获取redis 默认类型
-        String configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
-        if (StringUtils.isEmpty(configKey)) {
-            throw new OssException("文件存储服务类型无法找到!");
+        subscribe();
+        CachedDefaultKey cached = defaultConfigKey;
+        if (cached == null || isExpired(cached.checkedAt())) {
+            cached = loadDefaultConfigKey(cached);
         }
-        return instance(configKey);
+        return instance(cached.configKey());
     }
 
     /**
      * 根据类型获取实例
      */
     public static OssClient instance(String configKey) {
-        String json = CacheUtils.get(CacheNames.SYS_OSS_CONFIG, configKey);
-        if (json == null) {
-            throw new OssException("系统异常, '" + configKey + "'配置信息不存在!");
+        subscribe();
+        CachedClient cached = CLIENT_CACHE.get(configKey);
+        if (cached != null && !isExpired(cached.checkedAt())) {
+            return cached.client();
         }
-        OssProperties properties = JsonUtils.parseObject(json, OssProperties.class);
-        OssClient client = CLIENT_CACHE.get(configKey);
-        // 客户端不存在或配置不相同则重新构建
-        if (client == null || !client.checkPropertiesSame(properties)) {
-            LOCK.lock();
-            try {
-                client = CLIENT_CACHE.get(configKey);
-                if (client == null || !client.checkPropertiesSame(properties)) {
-                    CLIENT_CACHE.put(configKey, new OssClient(configKey, properties));
-                    log.info("创建OSS实例 key => {}", configKey);
-                    return CLIENT_CACHE.get(configKey);
-                }
-            } finally {
-                LOCK.unlock();
+        LOCK.lock();
+        try {
+            cached = CLIENT_CACHE.get(configKey);
+            if (cached != null && !isExpired(cached.checkedAt())) {
+                return cached.client();
+            }
+            // 直接读取二级缓存 避免变更通知先于一级缓存失效通知到达时读到旧配置
+            String json = RedisUtils.getCacheMapValue(CONFIG_CACHE_NAME, configKey);
+            if (json == null) {
+                CLIENT_CACHE.remove(configKey);
+                throw new OssException("系统异常, '" + configKey + "'配置信息不存在!");
+            }
+            long now = System.currentTimeMillis();
+            if (cached != null && json.equals(cached.configJson())) {
+                // 配置未变化 仅刷新校验时间
+                CLIENT_CACHE.put(configKey, new CachedClient(cached.client(), json, now));
+                return cached.client();
             }
+            if (cached != null) {
+                log.warn("OSS配置与缓存不一致(可能丢失变更通知) 重新创建实例 key => {}", configKey);
+            }
+            OssProperties properties = JsonUtils.parseObject(json, OssProperties.class);
+            OssClient client = new OssClient(configKey, properties);
+            log.info("创建OSS实例 key => {}", configKey);
+            CLIENT_CACHE.put(configKey, new CachedClient(client, json, now));
+            return client;
+        } finally {
+            LOCK.unlock();
         }
-        return client;
+    }
+
+    /**
+     * 通知所有节点配置已变更
+     *
+     * @param configKey 配置key，{@link OssConstant#ALL_CONFIG} 表示全部及默认配置
+     */
+    public static void publishConfigChanged(String configKey) {
+        RedisUtils.publish(OssConstant.CONFIG_CHANGE_TOPIC, configKey, OssFactory::onConfigChanged);
+    }
+
+    private static CachedDefaultKey loadDefaultConfigKey(CachedDefaultKey expected) {
+        LOCK.lock();
+        try {
+            CachedDefaultKey cached = defaultConfigKey;
+            if (cached != null && cached != expected && !isExpired(cached.checkedAt())) {
+                return cached;
+            }
+            // 获取redis 默认类型
+            String configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
+            if (StringUtils.isEmpty(configKey)) {
+                defaultConfigKey = null;
+                throw new OssException("文件存储服务类型无法找到!");
+            }
+            cached = new CachedDefaultKey(configKey, System.currentTimeMillis());
+            defaultConfigKey = cached;
+            return cached;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static void onConfigChanged(String configKey) {
+        LOCK.lock();
+        try {
+            defaultConfigKey = null;
+            if (OssConstant.ALL_CONFIG.equals(configKey)) {
+                CLIENT_CACHE.clear();
+            } else {
+                CLIENT_CACHE.remove(configKey);
+            }
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static boolean isExpired(long checkedAt) {
+        return System.currentTimeMillis() - checkedAt > VERIFY_INTERVAL_MILLIS;
+    }
+
+    private static void subscribe() {
+        if (subscribed) {
+            return;
+        }
+        LOCK.lock();
+        try {
+            if (!subscribed) {
+                RedisUtils.subscribe(OssConstant.CONFIG_CHANGE_TOPIC, String.class, OssFactory::onConfigChanged);
+                subscribed = true;
+            }
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * 缓存的客户端及创建时使用的配置
+     */
+    private record CachedClient(OssClient client, String configJson, long checkedAt) {
+    }
+
+    /**
+     * 缓存的默认配置key
+     */
+    private record CachedDefaultKey(String configKey, long checkedAt) {
     }
 
 }
@@ -1,5 +1,6 @@
 package org.dromara.common.ratelimiter.aspectj;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
@@ -12,9 +13,9 @@ import org.dromara.common.core.utils.ServletUtils;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.ratelimiter.annotation.RateLimiter;
+import org.dromara.common.ratelimiter.core.HybridRateLimiter;
 import org.dromara.common.ratelimiter.enums.LimitType;
 import org.dromara.common.redis.utils.RedisUtils;
-import org.redisson.api.RateType;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.core.DefaultParameterNameDiscoverer;
@@ -23,9 +24,13 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 限流处理
@@ -34,12 +39,16 @@ import java.lang.reflect.Method;
  */
 @Slf4j
 @Aspect
+@RequiredArgsConstructor
 public class RateLimiterAspect {
 
+    private final HybridRateLimiter hybridRateLimiter;
+
     /**
-     * 定义spel表达式解析器
+     * 定义spel表达式解析器 (热点表达式编译为字节码)
      */
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, RateLimiterAspect.class.getClassLoader()));
     /**
      * 定义spel解析模版
      */
@@ -48,7 +57,12 @@ public class RateLimiterAspect {
      * 方法参数解析器
      */
     private final ParameterNameDiscoverer pnd = new DefaultParameterNameDiscoverer();
+    /**
+     * 已解析的限流key表达式，按方法缓存，避免每次请求重新解析
+     */
+    private final Map<Method, Expression> expressionCache = new ConcurrentHashMap<>();
 
+    private BeanFactoryResolver beanFactoryResolver;
 
     @Before("@annotation(rateLimiter)")
     public void doBefore(JoinPoint point, RateLimiter rateLimiter) {
@@ -57,11 +71,7 @@ public class RateLimiterAspect {
         int timeout = rateLimiter.timeout();
         try {
             String combineKey = getCombineKey(rateLimiter, point);
-            RateType rateType = RateType.OVERALL;
-            if (rateLimiter.limitType() == LimitType.CLUSTER) {
-                rateType = RateType.PER_CLIENT;
-            }
-            long number = RedisUtils.rateLimiter(combineKey, rateType, count, time, timeout);
+            long number = hybridRateLimiter.tryAcquire(combineKey, rateLimiter.limitType(), count, time, timeout);
             if (number == -1) {
                 String message = rateLimiter.message();
                 if (StringUtils.startsWith(message, "{") && StringUtils.endsWith(message, "}")) {
@@ -69,7 +79,7 @@ public class RateLimiterAspect {
                 }
                 throw new ServiceException(message);
             }
-            log.info("限制令牌 => {}, 剩余令牌 => {}, 缓存key => '{}'", count, number, combineKey);
+            log.debug("限制令牌 => {}, 本地剩余令牌 => {}, 缓存key => '{}'", count, number, combineKey);
         } catch (Exception e) {
             if (e instanceof ServiceException) {
                 throw e;
@@ -88,14 +98,15 @@ public class RateLimiterAspect {
             Object[] args = point.getArgs();
             MethodBasedEvaluationContext context =
                 new MethodBasedEvaluationContext(null, targetMethod, args, pnd);
-            context.setBeanResolver(new BeanFactoryResolver(SpringUtils.getBeanFactory()));
-            Expression expression;
-            if (StringUtils.startsWith(key, parserContext.getExpressionPrefix())
-                && StringUtils.endsWith(key, parserContext.getExpressionSuffix())) {
-                expression = parser.parseExpression(key, parserContext);
-            } else {
-                expression = parser.parseExpression(key);
-            }
+            context.setBeanResolver(getBeanFactoryResolver());
+            String expressionString = key;
+            Expression expression = expressionCache.computeIfAbsent(targetMethod, m -> {
+                if (StringUtils.startsWith(expressionString, parserContext.getExpressionPrefix())
+                    && StringUtils.endsWith(expressionString, parserContext.getExpressionSuffix())) {
+                    return parser.parseExpression(expressionString, parserContext);
+                }
+                return parser.parseExpression(expressionString);
+            });
             key = expression.getValue(context, String.class);
         }
         StringBuilder stringBuffer = new StringBuilder(GlobalConstants.RATE_LIMIT_KEY);
@@ -109,4 +120,11 @@ public class RateLimiterAspect {
         }
         return stringBuffer.append(key).toString();
     }
+
+    private BeanFactoryResolver getBeanFactoryResolver() {
+        if (beanFactoryResolver == null) {
+            beanFactoryResolver = new BeanFactoryResolver(SpringUtils.getBeanFactory());
+        }
+        return beanFactoryResolver;
+    }
 }
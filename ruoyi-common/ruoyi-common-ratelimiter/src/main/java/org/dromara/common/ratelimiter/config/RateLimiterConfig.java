@@ -1,7 +1,12 @@
 package org.dromara.common.ratelimiter.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.dromara.common.ratelimiter.aspectj.RateLimiterAspect;
+import org.dromara.common.ratelimiter.config.properties.RateLimiterProperties;
+import org.dromara.common.ratelimiter.core.HybridRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.RedisConfiguration;
 
@@ -10,11 +15,18 @@ import org.springframework.data.redis.connection.RedisConfiguration;
  * @date 2023/1/18
  */
 @AutoConfiguration(after = RedisConfiguration.class)
+@EnableConfigurationProperties(RateLimiterProperties.class)
 public class RateLimiterConfig {
 
     @Bean
-    public RateLimiterAspect rateLimiterAspect() {
-        return new RateLimiterAspect();
+    public HybridRateLimiter hybridRateLimiter(RateLimiterProperties rateLimiterProperties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new HybridRateLimiter(rateLimiterProperties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public RateLimiterAspect rateLimiterAspect(HybridRateLimiter hybridRateLimiter) {
+        return new RateLimiterAspect(hybridRateLimiter);
     }
 
 }
@@ -0,0 +1,39 @@
+package org.dromara.common.ratelimiter.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 限流 配置属性
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limiter")
+public class RateLimiterProperties {
+
+    /**
+     * 是否启用本地令牌桶，关闭后每次请求都访问 redis
+     */
+    private boolean localEnabled = true;
+
+    /**
+     * 单次从 redis 预取的最大令牌数 (实际不超过限流次数的十分之一，至少为 1)
+     * <p>
+     * 批次从 1 个令牌开始，请求持续时逐步翻倍至该值；
+     * 上一周期末预取的令牌可延续到本周期初使用，每个实例在任一周期内最多超出限流次数一个批次
+     */
+    private int maxLease = 20;
+
+    /**
+     * redis 拒绝后本地直接拒绝的时间 (毫秒)
+     */
+    private long rejectCacheMillis = 1000;
+
+    /**
+     * 本地令牌桶最大数量
+     */
+    private long maximumSize = 100_000;
+
+}
@@ -0,0 +1,298 @@
+package org.dromara.common.ratelimiter.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.ratelimiter.config.properties.RateLimiterProperties;
+import org.dromara.common.ratelimiter.enums.LimitType;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.redisson.api.RateType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地令牌桶 + redis 对账的限流器
+ * <p>
+ * 全局限流 (DEFAULT / IP) 的本地桶按批次从 redis 限流器预取令牌，令牌用完或超过有效期 (限流周期的 1/10) 后再预取，
+ * 批次按本地近期的请求量调整：从 1 个令牌开始，有效期内用完才翻倍，过期未用完则缩小为上一批次实际使用数；
+ * redis 拒绝后在短时间内本地直接拒绝，避免被拒请求反复访问 redis。
+ * 实例限流 (CLUSTER) 本身只限制当前实例，直接使用本地令牌桶，不访问 redis。
+ * 限流次数较少时 (少于预取粒度) 每次只预取 1 个令牌，与原逐次访问 redis 的精度一致。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+public class HybridRateLimiter {
+
+    /**
+     * 单次预取不超过限流次数的比例 (1/N)，多实例间均匀分配额度；预取令牌的有效期同为限流周期的 1/N
+     */
+    private static final int LEASE_DIVISOR = 10;
+
+    private final RateLimiterProperties properties;
+
+    private final long rejectCacheNanos;
+
+    private final Cache<String, Bucket> buckets;
+
+    /**
+     * 拒绝计数，key 为限流类型，按本地拒绝与 redis 拒绝区分
+     */
+    private final Map<LimitType, Counter> localRejected = new EnumMap<>(LimitType.class);
+
+    private final Map<LimitType, Counter> redisRejected = new EnumMap<>(LimitType.class);
+
+    private final Counter redisLease;
+
+    public HybridRateLimiter(RateLimiterProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rejectCacheNanos = TimeUnit.MILLISECONDS.toNanos(properties.getRejectCacheMillis());
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            // 空闲超过一个限流周期后，本地令牌已全部过期或补满，可直接丢弃
+            .expireAfter(new Expiry<String, Bucket>() {
+                @Override
+                public long expireAfterCreate(String key, Bucket value, long currentTime) {
+                    return value.idleNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Bucket value, long currentTime, long currentDuration) {
+                    return value.idleNanos();
+                }
+
+                @Override
+                public long expireAfterRead(String key, Bucket value, long currentTime, long currentDuration) {
+                    return value.idleNanos();
+                }
+            })
+            .build();
+        for (LimitType limitType : LimitType.values()) {
+            localRejected.put(limitType, counter(meterRegistry, "rate.limiter.rejected", limitType, "local"));
+            redisRejected.put(limitType, counter(meterRegistry, "rate.limiter.rejected", limitType, "redis"));
+        }
+        this.redisLease = meterRegistry == null ? null : Counter.builder("rate.limiter.redis.lease")
+            .description("限流从 redis 预取令牌的次数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 获取一个令牌
+     *
+     * @param key          限流key
+     * @param limitType    限流类型
+     * @param rate         限流次数
+     * @param rateInterval 限流时间 (秒)
+     * @param timeout      redis 限流策略存活时间 (秒)
+     * @return 本地剩余令牌数，-1 表示被限流
+     */
+    public long tryAcquire(String key, LimitType limitType, int rate, int rateInterval, int timeout) {
+        if (!properties.isLocalEnabled()) {
+            RateType rateType = limitType == LimitType.CLUSTER ? RateType.PER_CLIENT : RateType.OVERALL;
+            long number = RedisUtils.rateLimiter(key, rateType, rate, rateInterval, timeout);
+            if (number == -1) {
+                increment(redisRejected.get(limitType));
+            }
+            return number;
+        }
+        Bucket bucket = buckets.get(key, k -> limitType == LimitType.CLUSTER
+            ? new TokenBucket(rate, rateInterval)
+            : new LeasedBucket(k, rate, rateInterval, timeout));
+        return bucket.tryAcquire(limitType);
+    }
+
+    /**
+     * 从 redis 限流器获取令牌
+     *
+     * @param permits 获取的令牌数
+     * @return 是否获取成功
+     */
+    protected boolean tryAcquireRemote(String key, int rate, int rateInterval, int timeout, long permits) {
+        return RedisUtils.tryAcquireRateLimiter(key, RateType.OVERALL, rate, rateInterval, timeout, permits);
+    }
+
+    private void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, LimitType limitType, String source) {
+        if (meterRegistry == null) {
+            return null;
+        }
+        return Counter.builder(name)
+            .description("限流拒绝次数")
+            .tag("type", limitType.name())
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 本地令牌桶
+     */
+    private interface Bucket {
+
+        long tryAcquire(LimitType limitType);
+
+        long idleNanos();
+    }
+
+    /**
+     * 从 redis 预取令牌的本地桶
+     * <p>
+     * 预取的令牌只在限流周期的 1/10 内有效，超期未用完的令牌作废。redis 按批次扣减额度，为避免稀疏请求每次作废大半批次
+     * 而提前耗尽额度，批次从 1 个令牌开始，只在有效期内用完 (持续有请求) 时翻倍，过期时缩小为该批次实际使用数。
+     * redis 保证任一周期内发出的令牌不超过限流次数，
+     * 但上一周期末预取的令牌可在本周期开始后的有效期内继续使用，因此任一周期内全局放行数的上限为
+     * 限流次数 + 实例数 × 预取批次 (批次不超过限流次数的 1/10 且不超过 maxLease)，且超出部分只会出现在有效期内。
+     */
+    private class LeasedBucket implements Bucket {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final String key;
+
+        private final int rate;
+
+        private final int rateInterval;
+
+        private final int timeout;
+
+        private final int leaseSize;
+
+        private final long intervalNanos;
+
+        private final long leaseNanos;
+
+        private long permits;
+
+        /**
+         * 上一次预取的令牌数
+         */
+        private long leased;
+
+        private long leaseExpireAt;
+
+        private long rejectUntil;
+
+        LeasedBucket(String key, int rate, int rateInterval, int timeout) {
+            this.key = key;
+            this.rate = rate;
+            this.rateInterval = rateInterval;
+            this.timeout = timeout;
+            this.leaseSize = Math.max(1, Math.min(properties.getMaxLease(), rate / LEASE_DIVISOR));
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(rateInterval);
+            this.leaseNanos = intervalNanos / LEASE_DIVISOR;
+            // nanoTime 可能为负数，时间点均以当前时间初始化
+            this.leaseExpireAt = System.nanoTime();
+            this.rejectUntil = this.leaseExpireAt;
+        }
+
+        @Override
+        public long tryAcquire(LimitType limitType) {
+            // 使用 ReentrantLock 而非 synchronized，访问 redis 时不固定虚拟线程的载体线程
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                if (permits > 0 && now - leaseExpireAt < 0) {
+                    return --permits;
+                }
+                if (now - rejectUntil < 0) {
+                    increment(localRejected.get(limitType));
+                    return -1L;
+                }
+                // 同一 key 的并发请求在此排队，只由一个请求访问 redis
+                long lease = nextLease(now);
+                increment(redisLease);
+                boolean granted = tryAcquireRemote(key, rate, rateInterval, timeout, lease);
+                if (!granted && lease > 1) {
+                    // 剩余额度不足一个批次时退回单个获取
+                    lease = 1;
+                    increment(redisLease);
+                    granted = tryAcquireRemote(key, rate, rateInterval, timeout, lease);
+                }
+                if (!granted) {
+                    permits = 0;
+                    leased = 0;
+                    rejectUntil = now + rejectCacheNanos;
+                    increment(redisRejected.get(limitType));
+                    return -1L;
+                }
+                permits = lease - 1;
+                leased = lease;
+                leaseExpireAt = now + leaseNanos;
+                return permits;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 按上一批次的使用情况确定本次预取数
+         */
+        private long nextLease(long now) {
+            if (now - leaseExpireAt < 0) {
+                // 有效期内用完，请求持续，批次翻倍
+                return Math.max(1, Math.min(leaseSize, leased * 2));
+            }
+            // 已过期，按上一批次实际使用数预取，稀疏请求每次只预取 1 个令牌
+            return Math.max(1, leased - permits);
+        }
+
+        @Override
+        public long idleNanos() {
+            return Math.max(intervalNanos, rejectCacheNanos);
+        }
+    }
+
+    /**
+     * 实例内令牌桶，按限流次数与限流时间匀速补充
+     */
+    private class TokenBucket implements Bucket {
+
+        private final int capacity;
+
+        private final long intervalNanos;
+
+        private final double tokensPerNano;
+
+        private double tokens;
+
+        private long lastRefill;
+
+        TokenBucket(int rate, int rateInterval) {
+            this.capacity = rate;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(rateInterval);
+            this.tokensPerNano = (double) rate / intervalNanos;
+            this.tokens = rate;
+            this.lastRefill = System.nanoTime();
+        }
+
+        @Override
+        public synchronized long tryAcquire(LimitType limitType) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens < 1) {
+                increment(localRejected.get(limitType));
+                return -1L;
+            }
+            tokens -= 1;
+            return (long) tokens;
+        }
+
+        @Override
+        public long idleNanos() {
+            return intervalNanos;
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package org.dromara.common.redis.codec;
+
+/**
+ * Redis 值序列化格式
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public enum CodecFormat {
+
+    /**
+     * 带类型信息的 json (文本，兼容历史数据)
+     */
+    JSON,
+
+    /**
+     * 带类型信息的 smile (二进制 json，体积更小、解析更快)
+     */
+    SMILE
+
+}
@@ -0,0 +1,72 @@
+package org.dromara.common.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.codec.TypedJsonJacksonCodec;
+
+/**
+ * 可迁移的 Jackson 编解码器
+ * <p>
+ * 按配置的格式写入，读取时根据 smile 头 (":)\n"，第 4 字节为版本信息) 自动识别 smile 与 json，
+ * 因此可以先全量部署再切换写入格式，切换期间新旧数据均可正常读取。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public class MigratingJacksonCodec extends BaseCodec {
+
+    private final TypedJsonJacksonCodec jsonCodec;
+    private final TypedJsonJacksonCodec smileCodec;
+    private final CodecFormat format;
+
+    private final Decoder<Object> decoder = (buf, state) -> isSmile(buf)
+        ? smileCodec.getValueDecoder().decode(buf, state)
+        : jsonCodec.getValueDecoder().decode(buf, state);
+
+    public MigratingJacksonCodec(TypedJsonJacksonCodec jsonCodec, TypedJsonJacksonCodec smileCodec, CodecFormat format) {
+        this.jsonCodec = jsonCodec;
+        this.smileCodec = smileCodec;
+        this.format = format;
+    }
+
+    /**
+     * 供 Redisson 按指定类加载器复制编解码器 (BaseCodec.copy) 使用
+     */
+    public MigratingJacksonCodec(ClassLoader classLoader, MigratingJacksonCodec codec) {
+        this(new TypedJsonJacksonCodec(classLoader, codec.jsonCodec),
+            new TypedJsonJacksonCodec(classLoader, codec.smileCodec),
+            codec.format);
+    }
+
+    public CodecFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return format == CodecFormat.SMILE ? smileCodec.getValueEncoder() : jsonCodec.getValueEncoder();
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return jsonCodec.getClassLoader();
+    }
+
+    /**
+     * smile 数据以 ':' ')' '\n' 开头，json 不可能以 ':' 开头
+     */
+    private static boolean isSmile(ByteBuf buf) {
+        int index = buf.readerIndex();
+        return buf.readableBytes() >= 4
+            && buf.getByte(index) == ':'
+            && buf.getByte(index + 1) == ')'
+            && buf.getByte(index + 2) == '\n';
+    }
+}
@@ -0,0 +1,69 @@
+package org.dromara.common.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.dromara.common.redis.config.properties.RedissonProperties.CodecConfig;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.redisson.codec.TypedJsonJacksonCodec;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Redis 编解码器注册表
+ * <p>
+ * 全局默认格式与按缓存名称指定的格式均由 {@link CodecConfig} 配置，
+ * key 统一使用字符串，值使用 {@link MigratingJacksonCodec} (读取时兼容 json 与 smile)。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RedisCodecs {
+
+    private static final Map<CodecFormat, Codec> CODECS = new EnumMap<>(CodecFormat.class);
+
+    private static CodecConfig config = new CodecConfig();
+
+    /**
+     * 初始化编解码器
+     *
+     * @param codecConfig  序列化配置
+     * @param objectMapper json 序列化配置 (smile 复用同一配置)
+     */
+    public static synchronized void init(CodecConfig codecConfig, ObjectMapper objectMapper) {
+        TypedJsonJacksonCodec jsonCodec = new TypedJsonJacksonCodec(Object.class, objectMapper);
+        TypedJsonJacksonCodec smileCodec = new TypedJsonJacksonCodec(Object.class, objectMapper.copyWith(new SmileFactory()));
+        for (CodecFormat format : CodecFormat.values()) {
+            MigratingJacksonCodec codec = new MigratingJacksonCodec(jsonCodec, smileCodec, format);
+            // 组合序列化 key 使用 String 内容使用可迁移的 jackson 格式
+            CODECS.put(format, new CompositeCodec(StringCodec.INSTANCE, codec, codec));
+        }
+        config = codecConfig;
+    }
+
+    /**
+     * 全局默认编解码器
+     */
+    public static Codec getDefault() {
+        return CODECS.get(config.getFormat());
+    }
+
+    /**
+     * 获取缓存单独指定的编解码器
+     *
+     * @param cacheName 缓存名称
+     * @return 未单独指定或与默认格式相同时返回 null (使用客户端默认编解码器)
+     */
+    public static Codec forCache(String cacheName) {
+        CodecFormat format = config.getCaches().get(cacheName);
+        if (format == null || format == config.getFormat()) {
+            return null;
+        }
+        return CODECS.get(format);
+    }
+}
@@ -2,10 +2,14 @@ package org.dromara.common.redis.config.properties;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.dromara.common.redis.codec.CodecFormat;
 import org.redisson.config.ReadMode;
 import org.redisson.config.SubscriptionMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Redisson 配置属性
  *
@@ -40,6 +44,27 @@ public class RedissonProperties {
      */
     private ClusterServersConfig clusterServersConfig;
 
+    /**
+     * 序列化配置
+     */
+    private CodecConfig codec = new CodecConfig();
+
+    @Data
+    @NoArgsConstructor
+    public static class CodecConfig {
+
+        /**
+         * 默认写入格式 (读取时自动识别 json 与 smile，需所有节点升级后再切换)
+         */
+        private CodecFormat format = CodecFormat.JSON;
+
+        /**
+         * 按缓存名称指定写入格式
+         */
+        private Map<String, CodecFormat> caches = new HashMap<>();
+
+    }
+
     @Data
     @NoArgsConstructor
     public static class SingleServerConfig {
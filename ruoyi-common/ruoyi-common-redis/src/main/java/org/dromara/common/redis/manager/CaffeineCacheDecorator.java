@@ -1,26 +1,61 @@
 package org.dromara.common.redis.manager;
 
-import org.dromara.common.core.utils.SpringUtils;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.redisson.api.RMap;
 import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
  * Cache 装饰器模式(用于扩展 Caffeine 一级缓存)
+ * <p>
+ * 每个缓存名称独立持有一份 Caffeine 实例 (容量、过期、提前刷新按 {@link LocalCacheConfig} 配置)，
+ * 写入与删除时除清理本地外，还通过 {@link PlusSpringCacheManager} 广播给其他节点清理。
  *
  * @author LionLi
  */
 public class CaffeineCacheDecorator implements Cache {
 
-    private static final com.github.benmanes.caffeine.cache.Cache<Object, Object>
-        CAFFEINE = SpringUtils.getBean("caffeine");
-
     private final String name;
     private final Cache cache;
+    private final PlusSpringCacheManager manager;
+    private final LoadingCache<String, LocalEntry> local;
 
-    public CaffeineCacheDecorator(String name, Cache cache) {
+    public CaffeineCacheDecorator(String name, Cache cache, LocalCacheConfig config, PlusSpringCacheManager manager) {
         this.name = name;
         this.cache = cache;
+        this.manager = manager;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumWeight(config.maxWeight())
+            .expireAfterWrite(Duration.ofMillis(config.ttl()))
+            .recordStats();
+        if (config.refresh() > 0 && config.refresh() < config.ttl()) {
+            // 热点数据到期前在后台从 Redis 刷新，读取方不阻塞
+            builder.refreshAfterWrite(Duration.ofMillis(config.refresh()));
+        }
+        this.local = builder
+            .weigher((String k, LocalEntry v) -> v.weight())
+            .build(new CacheLoader<>() {
+                @Override
+                public LocalEntry load(String key) {
+                    // 仅通过 get(key, mappingFunction) 加载，不存在直接加载入口
+                    return null;
+                }
+
+                @Override
+                public LocalEntry reload(String key, LocalEntry oldValue) {
+                    return LocalEntry.of(oldValue.key(), cache.get(oldValue.key()));
+                }
+            });
     }
 
     @Override
@@ -34,32 +69,94 @@ public class CaffeineCacheDecorator implements Cache {
     }
 
     public String getUniqueKey(Object key) {
-        return name + ":" + key;
+        return String.valueOf(key);
+    }
+
+    /**
+     * 本地缓存统计 (命中、未命中、淘汰等)
+     */
+    public CacheStats getLocalStats() {
+        return local.stats();
+    }
+
+    /**
+     * 本地缓存条目数
+     */
+    public long getLocalSize() {
+        return local.estimatedSize();
     }
 
     @Override
     public ValueWrapper get(Object key) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key));
-        return (ValueWrapper) o;
+        LocalEntry entry = local.get(getUniqueKey(key), k -> LocalEntry.of(key, cache.get(key)));
+        return entry != null ? entry.wrapper() : null;
+    }
+
+    /**
+     * 批量获取 (先查本地缓存，未命中的 key 一次性从 Redis 读取并写入本地缓存)
+     *
+     * @param keys 缓存 key 集合
+     * @return key 与缓存值映射 (不存在的 key 不包含在内)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        Map<String, Object> misses = new LinkedHashMap<>();
+        for (Object key : keys) {
+            String uniqueKey = getUniqueKey(key);
+            LocalEntry entry = local.getIfPresent(uniqueKey);
+            if (entry != null) {
+                result.put(key, entry.wrapper().get());
+            } else {
+                misses.put(uniqueKey, key);
+            }
+        }
+        if (misses.isEmpty() || !(cache.getNativeCache() instanceof RMap<?, ?> map)) {
+            misses.values().forEach(key -> {
+                ValueWrapper wrapper = get(key);
+                if (wrapper != null) {
+                    result.put(key, wrapper.get());
+                }
+            });
+            return result;
+        }
+        // map key 使用字符串编码，按字符串形式回查原始 key
+        Map<Object, Object> loaded = ((RMap<Object, Object>) map).getAll(new LinkedHashSet<>(misses.values()));
+        loaded.forEach((k, v) -> {
+            String uniqueKey = getUniqueKey(k);
+            Object key = misses.get(uniqueKey);
+            if (key == null) {
+                return;
+            }
+            Object value = fromStoreValue(v);
+            local.put(uniqueKey, new LocalEntry(key, new SimpleValueWrapper(value)));
+            result.put(key, value);
+        });
+        return result;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Class<T> type) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key, type));
-        return (T) o;
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
     }
 
     @Override
     public void put(Object key, Object value) {
-        CAFFEINE.invalidate(getUniqueKey(key));
         cache.put(key, value);
+        invalidateAndBroadcast(key);
     }
 
     @Override
     public ValueWrapper putIfAbsent(Object key, Object value) {
-        CAFFEINE.invalidate(getUniqueKey(key));
-        return cache.putIfAbsent(key, value);
+        ValueWrapper wrapper = cache.putIfAbsent(key, value);
+        invalidateAndBroadcast(key);
+        return wrapper;
     }
 
     @Override
@@ -70,28 +167,94 @@ public class CaffeineCacheDecorator implements Cache {
     @Override
     public boolean evictIfPresent(Object key) {
         boolean b = cache.evictIfPresent(key);
-        if (b) {
-            CAFFEINE.invalidate(getUniqueKey(key));
-        }
+        // 二级缓存中不存在时本地也可能存在旧值 始终清理
+        invalidateAndBroadcast(key);
         return b;
     }
 
     @Override
     public void clear() {
-        CAFFEINE.invalidateAll();
         cache.clear();
+        local.invalidateAll();
+        manager.publishInvalidation(name, null);
     }
 
     @Override
     public boolean invalidate() {
-        return cache.invalidate();
+        boolean b = cache.invalidate();
+        local.invalidateAll();
+        manager.publishInvalidation(name, null);
+        return b;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Callable<T> valueLoader) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key, valueLoader));
-        return (T) o;
+        LocalEntry entry = local.get(getUniqueKey(key), k -> {
+            T value = cache.get(key, valueLoader);
+            return LocalEntry.of(key, new SimpleValueWrapper(value));
+        });
+        return entry != null ? (T) entry.wrapper().get() : null;
+    }
+
+    /**
+     * 清理本地缓存 (收到其他节点的失效通知时调用)
+     *
+     * @param uniqueKey 缓存 key，为 null 时清空整个本地缓存
+     */
+    void invalidateLocal(String uniqueKey) {
+        if (uniqueKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(uniqueKey);
+        }
+    }
+
+    /**
+     * 直接读取 RMap 时缓存的 null 以占位对象存储 (redisson 的 NullValue 实现了 ValueWrapper)，需还原为 null
+     */
+    private static Object fromStoreValue(Object value) {
+        if (value instanceof ValueWrapper wrapper) {
+            return wrapper.get();
+        }
+        return value;
+    }
+
+    private void invalidateAndBroadcast(Object key) {
+        String uniqueKey = getUniqueKey(key);
+        local.invalidate(uniqueKey);
+        manager.publishInvalidation(name, uniqueKey);
+    }
+
+    /**
+     * 本地缓存配置
+     *
+     * @param maxWeight 最大权重 (普通值计 1，集合/Map 按元素数计)
+     * @param ttl       写入后过期时间 (毫秒)
+     * @param refresh   写入后提前刷新时间 (毫秒)，0 表示不刷新
+     */
+    public record LocalCacheConfig(long maxWeight, long ttl, long refresh) {
+    }
+
+    /**
+     * 本地缓存条目 (保留原始 key 用于后台刷新)
+     */
+    private record LocalEntry(Object key, ValueWrapper wrapper) {
+
+        static LocalEntry of(Object key, ValueWrapper wrapper) {
+            return wrapper == null ? null : new LocalEntry(key, wrapper);
+        }
+
+        int weight() {
+            Object value = wrapper.get();
+            if (value instanceof Collection<?> c) {
+                return Math.max(1, c.size());
+            }
+            if (value instanceof Map<?, ?> m) {
+                return Math.max(1, m.size());
+            }
+            return 1;
+        }
     }
 
 }
@@ -15,9 +15,14 @@
  */
 package org.dromara.common.redis.manager;
 
+import cn.hutool.core.util.IdUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.redis.codec.RedisCodecs;
+import org.dromara.common.redis.manager.CaffeineCacheDecorator.LocalCacheConfig;
 import org.dromara.common.redis.utils.RedisUtils;
 import org.redisson.api.RMap;
 import org.redisson.api.RMapCache;
+import org.redisson.client.codec.Codec;
 import org.redisson.spring.cache.CacheConfig;
 import org.redisson.spring.cache.RedissonCache;
 import org.springframework.boot.convert.DurationStyle;
@@ -31,6 +36,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A {@link org.springframework.cache.CacheManager} implementation
@@ -38,13 +44,37 @@ import java.util.concurrent.ConcurrentMap;
  * <p>
  * 修改 RedissonSpringCacheManager 源码
  * 重写 cacheName 处理方法 支持多参数
+ * 每个缓存独立配置 Caffeine 一级缓存，写入/删除时通过 Redis 主题通知所有节点清理一级缓存
  *
  * @author Nikita Koksharov
  *
  */
+@Slf4j
 @SuppressWarnings("unchecked")
 public class PlusSpringCacheManager implements CacheManager {
 
+    /**
+     * 一级缓存失效通知主题
+     */
+    public static final String LOCAL_INVALIDATE_TOPIC = "global:cache:local_invalidate";
+
+    /**
+     * 一级缓存默认容量
+     */
+    private static final long DEFAULT_LOCAL_SIZE = 1000;
+
+    /**
+     * 一级缓存默认过期时间 (依赖失效通知保证一致，过期时间仅作为通知丢失时的兜底)
+     */
+    private static final long DEFAULT_LOCAL_TTL = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * 当前节点标识 忽略自身发出的通知
+     */
+    private static final String NODE_ID = IdUtil.fastSimpleUUID();
+
+    private volatile boolean subscribed = false;
+
     private boolean dynamic = true;
 
     private boolean allowNullValues = true;
@@ -53,6 +83,7 @@ public class PlusSpringCacheManager implements CacheManager {
 
     Map<String, CacheConfig> configMap = new ConcurrentHashMap<>();
     ConcurrentMap<String, Cache> instanceMap = new ConcurrentHashMap<>();
+    ConcurrentMap<String, CaffeineCacheDecorator> localMap = new ConcurrentHashMap<>();
 
     /**
      * Creates CacheManager supplied by Redisson instance
@@ -145,18 +176,94 @@ public class PlusSpringCacheManager implements CacheManager {
         if (array.length > 3) {
             config.setMaxSize(Integer.parseInt(array[3]));
         }
+        LocalCacheConfig localConfig = createLocalConfig(config, array);
 
+        subscribeInvalidation();
         if (config.getMaxIdleTime() == 0 && config.getTTL() == 0 && config.getMaxSize() == 0) {
-            return createMap(name, config);
+            return createMap(name, config, localConfig);
+        }
+
+        return createMapCache(name, config, localConfig);
+    }
+
+    /**
+     * 一级缓存配置
+     * <p>
+     * cacheName#ttl#maxIdleTime#maxSize#localSize#localTtl#localRefresh
+     * 未指定时: 容量取 maxSize (为0取默认值)，过期时间取 5 分钟与 ttl、maxIdleTime 中的较小者，不提前刷新
+     */
+    private LocalCacheConfig createLocalConfig(CacheConfig config, String[] array) {
+        long size = config.getMaxSize() > 0 ? config.getMaxSize() : DEFAULT_LOCAL_SIZE;
+        long ttl = DEFAULT_LOCAL_TTL;
+        if (config.getTTL() > 0) {
+            ttl = Math.min(ttl, config.getTTL());
         }
+        if (config.getMaxIdleTime() > 0) {
+            ttl = Math.min(ttl, config.getMaxIdleTime());
+        }
+        long refresh = 0;
+        if (array.length > 4) {
+            size = Long.parseLong(array[4]);
+        }
+        if (array.length > 5) {
+            ttl = DurationStyle.detectAndParse(array[5]).toMillis();
+        }
+        if (array.length > 6) {
+            refresh = DurationStyle.detectAndParse(array[6]).toMillis();
+        }
+        return new LocalCacheConfig(size, ttl, refresh);
+    }
+
+    /**
+     * 通知所有节点清理一级缓存
+     *
+     * @param name      缓存名称
+     * @param uniqueKey 缓存 key，为 null 时清空整个缓存
+     */
+    void publishInvalidation(String name, String uniqueKey) {
+        String msg = NODE_ID + "|" + name + "|" + (uniqueKey == null ? "1|" : "0|" + uniqueKey);
+        try {
+            RedisUtils.publish(LOCAL_INVALIDATE_TOPIC, msg);
+        } catch (Exception e) {
+            log.warn("一级缓存失效通知发送失败 cache: {}", name, e);
+        }
+    }
+
+    private void subscribeInvalidation() {
+        if (subscribed) {
+            return;
+        }
+        synchronized (this) {
+            if (subscribed) {
+                return;
+            }
+            RedisUtils.subscribe(LOCAL_INVALIDATE_TOPIC, String.class, msg -> {
+                String[] parts = msg.split("\\|", 4);
+                if (parts.length < 4 || NODE_ID.equals(parts[0])) {
+                    return;
+                }
+                CaffeineCacheDecorator cache = localMap.get(parts[1]);
+                if (cache != null) {
+                    cache.invalidateLocal("1".equals(parts[2]) ? null : parts[3]);
+                }
+            });
+            subscribed = true;
+        }
+    }
 
-        return createMapCache(name, config);
+    /**
+     * 各缓存的一级缓存实例 (用于统计监控)
+     */
+    public Map<String, CaffeineCacheDecorator> getLocalCaches() {
+        return Collections.unmodifiableMap(localMap);
     }
 
-    private Cache createMap(String name, CacheConfig config) {
-        RMap<Object, Object> map = RedisUtils.getClient().getMap(name);
+    private Cache createMap(String name, CacheConfig config, LocalCacheConfig localConfig) {
+        Codec codec = RedisCodecs.forCache(name);
+        RMap<Object, Object> map = codec == null
+            ? RedisUtils.getClient().getMap(name) : RedisUtils.getClient().getMap(name, codec);
 
-        Cache cache = new CaffeineCacheDecorator(name, new RedissonCache(map, allowNullValues));
+        Cache cache = createLocalCache(name, new RedissonCache(map, allowNullValues), localConfig);
         if (transactionAware) {
             cache = new TransactionAwareCacheDecorator(cache);
         }
@@ -167,10 +274,12 @@ public class PlusSpringCacheManager implements CacheManager {
         return cache;
     }
 
-    private Cache createMapCache(String name, CacheConfig config) {
-        RMapCache<Object, Object> map = RedisUtils.getClient().getMapCache(name);
+    private Cache createMapCache(String name, CacheConfig config, LocalCacheConfig localConfig) {
+        Codec codec = RedisCodecs.forCache(name);
+        RMapCache<Object, Object> map = codec == null
+            ? RedisUtils.getClient().getMapCache(name) : RedisUtils.getClient().getMapCache(name, codec);
 
-        Cache cache = new CaffeineCacheDecorator(name, new RedissonCache(map, config, allowNullValues));
+        Cache cache = createLocalCache(name, new RedissonCache(map, config, allowNullValues), localConfig);
         if (transactionAware) {
             cache = new TransactionAwareCacheDecorator(cache);
         }
@@ -183,6 +292,10 @@ public class PlusSpringCacheManager implements CacheManager {
         return cache;
     }
 
+    private Cache createLocalCache(String name, Cache cache, LocalCacheConfig localConfig) {
+        return localMap.computeIfAbsent(name, k -> new CaffeineCacheDecorator(name, cache, localConfig, this));
+    }
+
     @Override
     public Collection<String> getCacheNames() {
         return Collections.unmodifiableSet(configMap.keySet());
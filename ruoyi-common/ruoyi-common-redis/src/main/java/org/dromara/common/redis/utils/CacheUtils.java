@@ -3,8 +3,14 @@ package org.dromara.common.redis.utils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.redis.manager.CaffeineCacheDecorator;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * 缓存操作工具类
@@ -28,6 +34,35 @@ public class CacheUtils {
         return wrapper != null ? (T) wrapper.get() : null;
     }
 
+    /**
+     * 批量获取缓存值 (一级缓存未命中的 key 合并为一次 Redis 读取)
+     *
+     * @param cacheNames 缓存组名称
+     * @param keys       缓存key集合
+     * @return key 与缓存值映射 (不存在的 key 不包含在内)
+     */
+    public static <K, T> Map<K, T> getAll(String cacheNames, Collection<K> keys) {
+        Map<K, T> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        Cache cache = CACHE_MANAGER.getCache(cacheNames);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof CaffeineCacheDecorator decorator) {
+            decorator.getAll(keys).forEach((k, v) -> result.put((K) k, (T) v));
+            return result;
+        }
+        for (K key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null) {
+                result.put(key, (T) wrapper.get());
+            }
+        }
+        return result;
+    }
+
     /**
      * 保存缓存值
      *
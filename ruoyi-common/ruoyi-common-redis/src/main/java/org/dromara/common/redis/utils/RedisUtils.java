@@ -7,10 +7,7 @@ import org.redisson.api.*;
 import org.redisson.api.options.KeysScanOptions;
 
 import java.time.Duration;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -60,6 +57,23 @@ public class RedisUtils {
         }
     }
 
+    /**
+     * 限流 (一次获取多个令牌，用于本地预取)
+     *
+     * @param key          限流key
+     * @param rateType     限流类型
+     * @param rate         速率
+     * @param rateInterval 速率间隔
+     * @param timeout      超时时间
+     * @param permits      获取的令牌数
+     * @return 是否获取成功
+     */
+    public static boolean tryAcquireRateLimiter(String key, RateType rateType, int rate, int rateInterval, int timeout, long permits) {
+        RRateLimiter rateLimiter = CLIENT.getRateLimiter(key);
+        rateLimiter.trySetRate(rateType, rate, Duration.ofSeconds(rateInterval), Duration.ofSeconds(timeout));
+        return rateLimiter.tryAcquire(permits);
+    }
+
     /**
      * 获取客户端实例
      */
@@ -222,6 +236,55 @@ public class RedisUtils {
         return rBucket.get();
     }
 
+    /**
+     * 批量获得缓存的基本对象 (单次网络往返)
+     *
+     * @param keys 缓存键值集合
+     * @return 键值与数据映射 (不存在的键不包含在内)
+     */
+    public static <T> Map<String, T> getCacheObjects(final Collection<String> keys) {
+        Map<String, T> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        RBatch batch = CLIENT.createBatch();
+        Map<String, RFuture<T>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            RBucketAsync<T> bucket = batch.getBucket(key);
+            futures.put(key, bucket.getAsync());
+        }
+        batch.execute();
+        futures.forEach((key, future) -> {
+            T value = future.toCompletableFuture().join();
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 批量缓存基本对象 (单次网络往返)
+     *
+     * @param values   键值与数据映射
+     * @param duration 有效时间，为 null 时永不过期
+     */
+    public static <T> void setCacheObjects(final Map<String, T> values, final Duration duration) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        RBatch batch = CLIENT.createBatch();
+        values.forEach((key, value) -> {
+            RBucketAsync<T> bucket = batch.getBucket(key);
+            if (duration == null) {
+                bucket.setAsync(value);
+            } else {
+                bucket.setAsync(value, duration);
+            }
+        });
+        batch.execute();
+    }
+
     /**
      * 获得key剩余存活时间
      *
@@ -349,6 +412,65 @@ public class RedisUtils {
         return rSet.add(data);
     }
 
+    /**
+     * 向多个Set追加同一数据并刷新有效时间 (单次网络往返)
+     *
+     * @param keys     缓存的键值集合
+     * @param data     待缓存的数据
+     * @param duration 有效时间
+     */
+    public static <T> void addCacheSets(final Collection<String> keys, final T data, final Duration duration) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        RBatch batch = CLIENT.createBatch();
+        for (String key : keys) {
+            RSetAsync<T> rSet = batch.getSet(key);
+            rSet.addAsync(data);
+            rSet.expireAsync(duration);
+        }
+        batch.execute();
+    }
+
+    /**
+     * 删除缓存Set中的数据
+     *
+     * @param key  缓存的键值
+     * @param data 待删除的数据
+     * @return 是否删除
+     */
+    public static <T> boolean removeCacheSet(final String key, final T data) {
+        RSet<T> rSet = CLIENT.getSet(key);
+        return rSet.remove(data);
+    }
+
+    /**
+     * 批量获得缓存的set (单次网络往返)
+     *
+     * @param keys 缓存的key集合
+     * @return 键值与set映射 (不存在的键不包含在内)
+     */
+    public static <T> Map<String, Set<T>> getCacheSets(final Collection<String> keys) {
+        Map<String, Set<T>> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        RBatch batch = CLIENT.createBatch();
+        Map<String, RFuture<Set<T>>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            RSetAsync<T> rSet = batch.getSet(key);
+            futures.put(key, rSet.readAllAsync());
+        }
+        batch.execute();
+        futures.forEach((key, future) -> {
+            Set<T> value = future.toCompletableFuture().join();
+            if (value != null && !value.isEmpty()) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
     /**
      * 注册Set监听器
      * <p>
@@ -484,6 +606,34 @@ public class RedisUtils {
         return rMap.getAll(hKeys);
     }
 
+    /**
+     * 批量获取多个Hash中的同名字段 (单次网络往返)
+     *
+     * @param keys Redis键集合
+     * @param hKey Hash键
+     * @return Redis键与字段值映射 (不存在的不包含在内)
+     */
+    public static <T> Map<String, T> getCacheMapValues(final Collection<String> keys, final String hKey) {
+        Map<String, T> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        RBatch batch = CLIENT.createBatch();
+        Map<String, RFuture<T>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            RMapAsync<String, T> rMap = batch.getMap(key);
+            futures.put(key, rMap.getAsync(hKey));
+        }
+        batch.execute();
+        futures.forEach((key, future) -> {
+            T value = future.toCompletableFuture().join();
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
     /**
      * 设置原子值
      *
@@ -4,8 +4,10 @@ import cn.dev33.satoken.dao.SaTokenDao;
 import cn.dev33.satoken.jwt.StpLogicJwtForSimple;
 import cn.dev33.satoken.stp.StpInterface;
 import cn.dev33.satoken.stp.StpLogic;
+import cn.dev33.satoken.strategy.SaStrategy;
 import org.dromara.common.core.factory.YmlPropertySourceFactory;
 import org.dromara.common.satoken.core.dao.PlusSaTokenDao;
+import org.dromara.common.satoken.core.service.CompiledPermissionList;
 import org.dromara.common.satoken.core.service.SaPermissionImpl;
 import org.dromara.common.satoken.handler.SaTokenExceptionHandler;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -32,6 +34,10 @@ public class SaTokenConfig {
      */
     @Bean
     public StpInterface stpInterface() {
+        // 预编译的权限列表走快速匹配，其余列表 (如角色) 保持框架默认逻辑
+        var defaultHasElement = SaStrategy.instance.hasElement;
+        SaStrategy.instance.hasElement = (list, element) -> list instanceof CompiledPermissionList compiled
+            ? compiled.matches(element) : defaultHasElement.apply(list, element);
         return new SaPermissionImpl();
     }
 
@@ -0,0 +1,114 @@
+package org.dromara.common.satoken.core.service;
+
+import cn.dev33.satoken.util.SaFoxUtil;
+
+import java.util.*;
+
+/**
+ * 预编译的权限列表
+ * <p>
+ * 构建时将权限码拆分为精确匹配集合、仅末尾带 * 的前缀集合与其他通配符模式，
+ * 校验时依次做哈希查找、按前缀长度查找，最后才对少量复杂模式做通配符匹配，
+ * 匹配语义与 {@link SaFoxUtil#vagueMatch(String, String)} 保持一致。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public final class CompiledPermissionList extends AbstractList<String> implements RandomAccess {
+
+    public static final CompiledPermissionList EMPTY = new CompiledPermissionList(Collections.emptyList());
+
+    private static final String WILDCARD = "*";
+
+    private final String[] elements;
+    private final Set<String> exact;
+    private final Set<String> prefixes;
+    private final int[] prefixLengths;
+    private final String[] patterns;
+    private final boolean matchAll;
+
+    private CompiledPermissionList(Collection<String> permissions) {
+        this.elements = permissions.toArray(new String[0]);
+        Set<String> exactSet = new HashSet<>(Math.max(16, elements.length * 4 / 3 + 1));
+        Set<String> prefixSet = new HashSet<>();
+        List<String> patternList = new ArrayList<>();
+        boolean all = false;
+        for (String permission : elements) {
+            if (permission == null) {
+                continue;
+            }
+            exactSet.add(permission);
+            int index = permission.indexOf('*');
+            if (index < 0) {
+                continue;
+            }
+            if (WILDCARD.equals(permission)) {
+                all = true;
+            } else if (index == permission.length() - 1) {
+                prefixSet.add(permission.substring(0, index));
+            } else {
+                patternList.add(permission);
+            }
+        }
+        this.exact = exactSet;
+        this.prefixes = prefixSet;
+        this.prefixLengths = prefixSet.stream().mapToInt(String::length).distinct().sorted().toArray();
+        this.patterns = patternList.toArray(new String[0]);
+        this.matchAll = all;
+    }
+
+    /**
+     * 编译权限列表
+     *
+     * @param permissions 权限码集合
+     */
+    public static CompiledPermissionList of(Collection<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return EMPTY;
+        }
+        return new CompiledPermissionList(permissions);
+    }
+
+    /**
+     * 判断是否拥有指定权限
+     *
+     * @param permission 需要校验的权限码
+     */
+    public boolean matches(String permission) {
+        if (permission == null) {
+            return false;
+        }
+        if (matchAll || exact.contains(permission)) {
+            return true;
+        }
+        for (int length : prefixLengths) {
+            if (length > permission.length()) {
+                break;
+            }
+            if (prefixes.contains(permission.substring(0, length))) {
+                return true;
+            }
+        }
+        for (String pattern : patterns) {
+            if (SaFoxUtil.vagueMatch(pattern, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String s && exact.contains(s);
+    }
+}
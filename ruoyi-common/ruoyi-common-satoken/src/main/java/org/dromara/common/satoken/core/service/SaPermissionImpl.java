@@ -3,6 +3,8 @@ package org.dromara.common.satoken.core.service;
 import cn.dev33.satoken.stp.StpInterface;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.dromara.common.core.domain.model.LoginUser;
 import org.dromara.common.core.enums.UserType;
 import org.dromara.common.core.exception.ServiceException;
@@ -13,6 +15,7 @@ import org.dromara.common.satoken.utils.LoginHelper;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * sa-token 权限管理实现类
@@ -21,6 +24,14 @@ import java.util.List;
  */
 public class SaPermissionImpl implements StpInterface {
 
+    /**
+     * 登录用户菜单权限的预编译结果 (按权限集合实例弱引用缓存，会话重新加载后自动重建)
+     */
+    private static final Cache<Set<String>, CompiledPermissionList> COMPILED = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(10000)
+        .build();
+
     /**
      * 获取菜单权限列表
      */
@@ -31,7 +42,7 @@ public class SaPermissionImpl implements StpInterface {
             PermissionService permissionService = getPermissionService();
             if (ObjectUtil.isNotNull(permissionService)) {
                 List<String> list = StringUtils.splitList(loginId.toString(), ":");
-                return new ArrayList<>(permissionService.getMenuPermission(Long.parseLong(list.get(1))));
+                return CompiledPermissionList.of(permissionService.getMenuPermission(Long.parseLong(list.get(1))));
             } else {
                 throw new ServiceException("PermissionService 实现类不存在");
             }
@@ -42,9 +53,9 @@ public class SaPermissionImpl implements StpInterface {
         }
         if (CollUtil.isNotEmpty(loginUser.getMenuPermission())) {
             // SYS_USER 默认返回权限
-            return new ArrayList<>(loginUser.getMenuPermission());
+            return COMPILED.get(loginUser.getMenuPermission(), CompiledPermissionList::of);
         } else {
-            return new ArrayList<>();
+            return CompiledPermissionList.EMPTY;
         }
     }
 
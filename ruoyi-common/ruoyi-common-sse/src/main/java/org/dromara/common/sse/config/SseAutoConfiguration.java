@@ -19,8 +19,8 @@ import org.springframework.context.annotation.Bean;
 public class SseAutoConfiguration {
 
     @Bean
-    public SseEmitterManager sseEmitterManager() {
-        return new SseEmitterManager();
+    public SseEmitterManager sseEmitterManager(SseProperties sseProperties) {
+        return new SseEmitterManager(sseProperties);
     }
 
     @Bean
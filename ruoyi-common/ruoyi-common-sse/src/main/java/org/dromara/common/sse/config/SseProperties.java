@@ -18,4 +18,19 @@ public class SseProperties {
      * 路径
      */
     private String path;
+
+    /**
+     * 单个连接待发送消息队列容量，积压超过容量视为慢连接并关闭
+     */
+    private Integer queueCapacity = 256;
+
+    /**
+     * 单次写出最长耗时 (毫秒)，巡检时发现超过后关闭连接
+     */
+    private Integer sendTimeLimit = 10000;
+
+    /**
+     * 消息写出线程数，为空时取 cpu 核心数 * 2
+     */
+    private Integer writerThreads;
 }
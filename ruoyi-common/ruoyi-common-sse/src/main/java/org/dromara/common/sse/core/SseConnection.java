@@ -0,0 +1,209 @@
+package org.dromara.common.sse.core;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 单个 SSE 连接
+ * <p>
+ * 消息先放入有界队列，由写出线程池异步写出，同一连接同一时刻只有一个线程在写；
+ * 队列写满或单次写出超时说明客户端消费过慢，直接关闭连接，避免拖慢其他连接和调用方线程。
+ * 写出进行中关闭连接时不等待写出结束 (emitter 写出与完成共用一把锁)，由写出线程结束后完成 emitter。
+ * 队列中存放已构建好的事件帧 ({@link #frame})，同一消息的所有连接共用一份。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+public class SseConnection {
+
+    @Getter
+    private final Long userId;
+
+    @Getter
+    private final String token;
+
+    @Getter
+    private final SseEmitter emitter;
+
+    private final Queue<Set<DataWithMediaType>> queue;
+
+    private final Executor executor;
+
+    /**
+     * 连接关闭后的回调，用于从连接索引中移除
+     */
+    private final Consumer<SseConnection> closeHandler;
+
+    /**
+     * 是否已提交写出任务
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * 当前写出开始时间，0 表示未在写出
+     */
+    private volatile long writeStartedAt;
+
+    /**
+     * 当前写出线程
+     */
+    private volatile Thread writer;
+
+    public SseConnection(Long userId, String token, SseEmitter emitter, int capacity,
+                         Executor executor, Consumer<SseConnection> closeHandler) {
+        this.userId = userId;
+        this.token = token;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = executor;
+        this.closeHandler = closeHandler;
+    }
+
+    /**
+     * 构建事件帧
+     *
+     * @param builder 事件
+     * @return 可在多个连接间共用的事件帧
+     */
+    public static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * 消息入队，不阻塞调用方
+     *
+     * @param frame 事件帧
+     * @return 是否入队成功，失败时连接已关闭
+     */
+    public boolean offer(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queue.offer(frame)) {
+            log.warn("SSE连接消息积压超过上限，关闭连接 userId={}", userId);
+            close();
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * 是否没有待发送的消息
+     */
+    public boolean isIdle() {
+        return queue.isEmpty();
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * 单次写出是否超过时限 (写出阻塞在慢客户端上)
+     *
+     * @param sendTimeLimit 时限 (毫秒)
+     */
+    public boolean isWriteTimeout(long sendTimeLimit) {
+        long startedAt = writeStartedAt;
+        return startedAt != 0 && System.currentTimeMillis() - startedAt > sendTimeLimit;
+    }
+
+    /**
+     * 发送最后一条消息后关闭连接 (在调用方线程同步发送)
+     *
+     * @param frame 事件帧
+     */
+    public void close(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            emitter.send(frame);
+        } catch (Exception ignore) {
+        }
+        close();
+    }
+
+    /**
+     * 关闭连接，丢弃未发送的消息
+     * <p>
+     * 写出进行中时中断写出线程，emitter 由写出线程结束后完成，调用方不阻塞在慢连接上
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        queue.clear();
+        closeHandler.accept(this);
+        if (draining.get()) {
+            Thread thread = writer;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        } else {
+            complete();
+        }
+    }
+
+    private void complete() {
+        try {
+            emitter.complete();
+        } catch (Exception ignore) {
+            // 忽略重复关闭异常
+        }
+    }
+
+    private void schedule() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            close();
+        }
+    }
+
+    private void drain() {
+        writer = Thread.currentThread();
+        try {
+            Set<DataWithMediaType> frame;
+            while (!closed.get() && (frame = queue.poll()) != null) {
+                writeStartedAt = System.currentTimeMillis();
+                emitter.send(frame);
+                writeStartedAt = 0;
+            }
+        } catch (Exception e) {
+            close();
+        } finally {
+            writeStartedAt = 0;
+            writer = null;
+            // 清除关闭时设置的中断标记，不影响线程池后续任务
+            Thread.interrupted();
+            draining.set(false);
+        }
+        if (closed.get()) {
+            // 写出期间被关闭，由写出线程完成 emitter
+            complete();
+        } else if (!queue.isEmpty()) {
+            // 释放标记期间可能有新消息入队
+            schedule();
+        }
+    }
+
+}
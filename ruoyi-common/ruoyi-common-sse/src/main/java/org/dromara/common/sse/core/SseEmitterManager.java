@@ -1,25 +1,31 @@
 package org.dromara.common.sse.core;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.ObjectUtil;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.sse.config.SseProperties;
 import org.dromara.common.sse.dto.SseMessageDto;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 
 /**
  * 管理 Server-Sent Events (SSE) 连接
+ * <p>
+ * 本节点按用户维护连接索引，并在 redis 中登记用户所在节点 (在线登记)；
+ * 指定用户的消息只发布到持有该用户连接的节点频道，群发消息仍走全局频道。
+ * 消息写出经每个连接的有界队列异步完成，发送与心跳均不阻塞调用线程。
  *
  * @author Lion Li
  */
@@ -31,12 +37,43 @@ public class SseEmitterManager {
      */
     private final static String SSE_TOPIC = "global:sse";
 
-    private final static Map<Long, Map<String, SseEmitter>> USER_TOKEN_EMITTERS = new ConcurrentHashMap<>();
+    /**
+     * 用户在线登记 key 前缀，value 为持有该用户连接的节点集合
+     */
+    private final static String SSE_PRESENCE_KEY = "global:sse:presence:";
+
+    /**
+     * 心跳间隔 (秒)
+     */
+    private final static long HEARTBEAT_SECONDS = 60L;
+
+    /**
+     * 在线登记有效期，心跳时续期，节点宕机后自然过期
+     */
+    private final static Duration PRESENCE_TTL = Duration.ofSeconds(HEARTBEAT_SECONDS * 3);
+
+    /**
+     * 在线登记单批续期数量
+     */
+    private final static int PRESENCE_BATCH_SIZE = 1000;
 
-    public SseEmitterManager() {
+    /**
+     * 当前节点标识
+     */
+    private final static String NODE_ID = IdUtil.fastSimpleUUID();
+
+    private final static Map<Long, Map<String, SseConnection>> USER_TOKEN_EMITTERS = new ConcurrentHashMap<>();
+
+    private final SseProperties properties;
+
+    private final ExecutorService writeExecutor;
+
+    public SseEmitterManager(SseProperties properties) {
+        this.properties = properties;
+        this.writeExecutor = createWriteExecutor(properties);
         // 定时执行 SSE 心跳检测
         SpringUtils.getBean(ScheduledExecutorService.class)
-            .scheduleWithFixedDelay(this::sseMonitor, 60L, 60L, TimeUnit.SECONDS);
+            .scheduleWithFixedDelay(this::sseMonitor, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
     }
 
     /**
@@ -47,47 +84,36 @@ public class SseEmitterManager {
      * @return 返回一个 SseEmitter 实例，客户端可以通过该实例接收 SSE 事件
      */
     public SseEmitter connect(Long userId, String token) {
-        // 从 USER_TOKEN_EMITTERS 中获取或创建当前用户的 SseEmitter 映射表（ConcurrentHashMap）
-        // 每个用户可以有多个 SSE 连接，通过 token 进行区分
-        Map<String, SseEmitter> emitters = USER_TOKEN_EMITTERS.computeIfAbsent(userId, k -> new ConcurrentHashMap<>());
-
-        // 关闭已存在的SseEmitter，防止超过最大连接数
-        SseEmitter oldEmitter = emitters.remove(token);
-        if (oldEmitter != null) {
-            oldEmitter.complete();
-        }
-
         // 创建一个新的 SseEmitter 实例，超时时间设置为一天 避免连接之后直接关闭浏览器导致连接停滞
         SseEmitter emitter = new SseEmitter(86400000L);
+        SseConnection connection = new SseConnection(userId, token, emitter,
+            properties.getQueueCapacity(), writeExecutor, this::release);
 
-        emitters.put(token, emitter);
-
-        // 当 emitter 完成、超时或发生错误时，从映射表中移除对应的 token
-        emitter.onCompletion(() -> {
-            SseEmitter remove = emitters.remove(token);
-            if (remove != null) {
-                remove.complete();
-            }
-        });
-        emitter.onTimeout(() -> {
-            SseEmitter remove = emitters.remove(token);
-            if (remove != null) {
-                remove.complete();
-            }
-        });
-        emitter.onError((e) -> {
-            SseEmitter remove = emitters.remove(token);
-            if (remove != null) {
-                remove.complete();
+        // 每个用户可以有多个 SSE 连接，通过 token 进行区分；与移除空用户同在 compute 中完成，避免并发丢失连接
+        SseConnection[] old = new SseConnection[1];
+        USER_TOKEN_EMITTERS.compute(userId, (k, emitters) -> {
+            if (emitters == null) {
+                emitters = new ConcurrentHashMap<>();
             }
+            old[0] = emitters.put(token, connection);
+            return emitters;
         });
+        // 关闭已存在的连接，防止超过最大连接数
+        if (old[0] != null) {
+            old[0].close();
+        }
+
+        // 当 emitter 完成、超时或发生错误时，从映射表中移除对应的连接
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
 
+        // 向客户端发送一条连接成功的事件
+        connection.offer(SseConnection.frame(SseEmitter.event().comment("connected")));
         try {
-            // 向客户端发送一条连接成功的事件
-            emitter.send(SseEmitter.event().comment("connected"));
-        } catch (IOException e) {
-            // 如果发送消息失败，则从映射表中移除 emitter
-            emitters.remove(token);
+            RedisUtils.addCacheSets(List.of(SSE_PRESENCE_KEY + userId), NODE_ID, PRESENCE_TTL);
+        } catch (Exception e) {
+            log.warn("SSE在线登记失败 userId={} {}", userId, e.getMessage());
         }
         return emitter;
     }
@@ -102,65 +128,74 @@ public class SseEmitterManager {
         if (userId == null || token == null) {
             return;
         }
-        Map<String, SseEmitter> emitters = USER_TOKEN_EMITTERS.get(userId);
-        if (MapUtil.isNotEmpty(emitters)) {
+        Map<String, SseConnection> emitters = USER_TOKEN_EMITTERS.get(userId);
+        SseConnection connection = emitters == null ? null : emitters.get(token);
+        if (connection != null) {
+            connection.close(SseConnection.frame(SseEmitter.event().comment("disconnected")));
+        }
+    }
+
+    /**
+     * 连接关闭后从索引中移除，用户在本节点已无连接时注销在线登记
+     */
+    private void release(SseConnection connection) {
+        Long userId = connection.getUserId();
+        boolean[] offline = new boolean[1];
+        USER_TOKEN_EMITTERS.computeIfPresent(userId, (k, emitters) -> {
+            emitters.remove(connection.getToken(), connection);
+            offline[0] = emitters.isEmpty();
+            return offline[0] ? null : emitters;
+        });
+        if (offline[0]) {
             try {
-                SseEmitter sseEmitter = emitters.get(token);
-                sseEmitter.send(SseEmitter.event().comment("disconnected"));
-                sseEmitter.complete();
-            } catch (Exception ignore) {
+                RedisUtils.removeCacheSet(SSE_PRESENCE_KEY + userId, NODE_ID);
+                // 注销期间用户重新连接，补回登记
+                if (USER_TOKEN_EMITTERS.containsKey(userId)) {
+                    RedisUtils.addCacheSets(List.of(SSE_PRESENCE_KEY + userId), NODE_ID, PRESENCE_TTL);
+                }
+            } catch (Exception e) {
+                log.warn("SSE在线注销失败 userId={} {}", userId, e.getMessage());
             }
-            emitters.remove(token);
-        } else {
-            USER_TOKEN_EMITTERS.remove(userId);
         }
     }
 
     /**
-     * SSE 心跳检测，关闭无效连接
+     * SSE 心跳检测，关闭无效连接并续期在线登记
+     * <p>
+     * 心跳只入队不直接写出，写出失败或积压的连接由连接自身关闭；单次写出超时的连接在此关闭，
+     * 避免阻塞在慢客户端上的写出长期占用写出线程；续期按批次一次网络往返完成
      */
     public void sseMonitor() {
-        final SseEmitter.SseEventBuilder heartbeat = SseEmitter.event().comment("heartbeat");
-        // 记录需要移除的用户ID
-        List<Long> toRemoveUsers = new ArrayList<>();
-
-        USER_TOKEN_EMITTERS.forEach((userId, emitterMap) -> {
-            if (CollUtil.isEmpty(emitterMap)) {
-                toRemoveUsers.add(userId);
-                return;
+        final Set<DataWithMediaType> heartbeat = SseConnection.frame(SseEmitter.event().comment("heartbeat"));
+        final long sendTimeLimit = properties.getSendTimeLimit();
+        USER_TOKEN_EMITTERS.values().forEach(emitters -> emitters.values().forEach(connection -> {
+            if (connection.isWriteTimeout(sendTimeLimit)) {
+                log.warn("SSE连接单次写出超过 {}ms，关闭连接 userId={}", sendTimeLimit, connection.getUserId());
+                connection.close();
+            } else if (connection.isIdle()) {
+                // 有消息待发送的连接无需额外心跳
+                connection.offer(heartbeat);
             }
+        }));
 
-            emitterMap.entrySet().removeIf(entry -> {
-                try {
-                    entry.getValue().send(heartbeat);
-                    return false;
-                } catch (Exception ex) {
-                    try {
-                        entry.getValue().complete();
-                    } catch (Exception ignore) {
-                        // 忽略重复关闭异常
-                    }
-                    return true; // 发送失败 → 移除该连接
-                }
-            });
-
-            // 移除空连接用户
-            if (emitterMap.isEmpty()) {
-                toRemoveUsers.add(userId);
+        List<String> keys = USER_TOKEN_EMITTERS.keySet().stream().map(userId -> SSE_PRESENCE_KEY + userId).toList();
+        for (List<String> batch : ListUtil.partition(keys, PRESENCE_BATCH_SIZE)) {
+            try {
+                RedisUtils.addCacheSets(batch, NODE_ID, PRESENCE_TTL);
+            } catch (Exception e) {
+                log.warn("SSE在线登记续期失败 {}", e.getMessage());
             }
-        });
-
-        // 循环结束后统一清理空用户，避免并发修改异常
-        toRemoveUsers.forEach(USER_TOKEN_EMITTERS::remove);
+        }
     }
 
     /**
-     * 订阅SSE消息主题，并提供一个消费者函数来处理接收到的消息
+     * 订阅SSE消息主题 (全局频道与当前节点频道)，并提供一个消费者函数来处理接收到的消息
      *
      * @param consumer 处理SSE消息的消费者函数
      */
     public void subscribeMessage(Consumer<SseMessageDto> consumer) {
         RedisUtils.subscribe(SSE_TOPIC, SseMessageDto.class, consumer);
+        RedisUtils.subscribe(nodeTopic(NODE_ID), SseMessageDto.class, consumer);
     }
 
     /**
@@ -170,22 +205,19 @@ public class SseEmitterManager {
      * @param message 要发送的消息内容
      */
     public void sendMessage(Long userId, String message) {
-        Map<String, SseEmitter> emitters = USER_TOKEN_EMITTERS.get(userId);
-        if (MapUtil.isNotEmpty(emitters)) {
-            for (Map.Entry<String, SseEmitter> entry : emitters.entrySet()) {
-                try {
-                    entry.getValue().send(SseEmitter.event()
-                        .name("message")
-                        .data(message));
-                } catch (Exception e) {
-                    SseEmitter remove = emitters.remove(entry.getKey());
-                    if (remove != null) {
-                        remove.complete();
-                    }
-                }
-            }
-        } else {
-            USER_TOKEN_EMITTERS.remove(userId);
+        sendFrame(userId, messageFrame(message));
+    }
+
+    /**
+     * 向指定的用户会话批量发送同一消息，事件帧只构建一次
+     *
+     * @param userIds 要发送消息的用户id集合
+     * @param message 要发送的消息内容
+     */
+    public void sendMessage(Collection<Long> userIds, String message) {
+        Set<DataWithMediaType> frame = messageFrame(message);
+        for (Long userId : userIds) {
+            sendFrame(userId, frame);
         }
     }
 
@@ -195,24 +227,37 @@ public class SseEmitterManager {
      * @param message 要发送的消息内容
      */
     public void sendMessage(String message) {
-        for (Long userId : USER_TOKEN_EMITTERS.keySet()) {
-            sendMessage(userId, message);
-        }
+        Set<DataWithMediaType> frame = messageFrame(message);
+        USER_TOKEN_EMITTERS.values().forEach(emitters -> emitters.values().forEach(connection -> connection.offer(frame)));
     }
 
     /**
      * 发布SSE订阅消息
+     * <p>
+     * 按在线登记将用户分组到节点：本节点用户直接发送，其他节点只发布到对应节点频道，离线用户不发布；
+     * 在线登记不可用时退回全局频道
      *
      * @param sseMessageDto 要发布的SSE消息对象
      */
     public void publishMessage(SseMessageDto sseMessageDto) {
-        SseMessageDto broadcastMessage = new SseMessageDto();
-        broadcastMessage.setMessage(sseMessageDto.getMessage());
-        broadcastMessage.setUserIds(sseMessageDto.getUserIds());
-        RedisUtils.publish(SSE_TOPIC, broadcastMessage, consumer -> {
-            log.info("SSE发送主题订阅消息topic:{} session keys:{} message:{}",
-                SSE_TOPIC, sseMessageDto.getUserIds(), sseMessageDto.getMessage());
-        });
+        List<Long> userIds = sseMessageDto.getUserIds();
+        if (CollUtil.isEmpty(userIds)) {
+            publishAll(sseMessageDto.getMessage());
+            return;
+        }
+        Map<String, List<Long>> nodeUsers;
+        try {
+            nodeUsers = groupByNode(userIds);
+        } catch (Exception e) {
+            log.warn("SSE在线登记查询失败，改为全局发布 {}", e.getMessage());
+            publish(SSE_TOPIC, userIds, sseMessageDto.getMessage());
+            return;
+        }
+        List<Long> localUsers = nodeUsers.remove(NODE_ID);
+        nodeUsers.forEach((nodeId, nodeUserIds) -> publish(nodeTopic(nodeId), nodeUserIds, sseMessageDto.getMessage()));
+        if (CollUtil.isNotEmpty(localUsers)) {
+            sendMessage(localUsers, sseMessageDto.getMessage());
+        }
     }
 
     /**
@@ -227,4 +272,63 @@ public class SseEmitterManager {
             log.info("SSE发送主题订阅消息topic:{} message:{}", SSE_TOPIC, message);
         });
     }
+
+    /**
+     * 停止消息写出线程池
+     */
+    @PreDestroy
+    public void destroy() {
+        writeExecutor.shutdownNow();
+    }
+
+    private void sendFrame(Long userId, Set<DataWithMediaType> frame) {
+        Map<String, SseConnection> emitters = USER_TOKEN_EMITTERS.get(userId);
+        if (emitters != null) {
+            emitters.values().forEach(connection -> connection.offer(frame));
+        }
+    }
+
+    private void publish(String topic, List<Long> userIds, String message) {
+        SseMessageDto broadcastMessage = new SseMessageDto();
+        broadcastMessage.setMessage(message);
+        broadcastMessage.setUserIds(userIds);
+        RedisUtils.publish(topic, broadcastMessage, consumer -> {
+            log.info("SSE发送主题订阅消息topic:{} session keys:{} message:{}", topic, userIds, message);
+        });
+    }
+
+    /**
+     * 按在线登记将用户分组到所在节点 (一个用户可能同时在多个节点)
+     */
+    private Map<String, List<Long>> groupByNode(List<Long> userIds) {
+        Map<String, Long> keyMap = new LinkedHashMap<>(userIds.size() * 4 / 3 + 1);
+        userIds.forEach(userId -> keyMap.put(SSE_PRESENCE_KEY + userId, userId));
+        Map<String, Set<String>> presence = RedisUtils.getCacheSets(keyMap.keySet());
+        Map<String, List<Long>> nodeUsers = new HashMap<>();
+        presence.forEach((key, nodeIds) -> {
+            Long userId = keyMap.get(key);
+            nodeIds.forEach(nodeId -> nodeUsers.computeIfAbsent(nodeId, k -> new ArrayList<>()).add(userId));
+        });
+        return nodeUsers;
+    }
+
+    private static String nodeTopic(String nodeId) {
+        return SSE_TOPIC + ":" + nodeId;
+    }
+
+    private static Set<DataWithMediaType> messageFrame(String message) {
+        return SseConnection.frame(SseEmitter.event().name("message").data(message));
+    }
+
+    private static ExecutorService createWriteExecutor(SseProperties properties) {
+        int threads = ObjectUtil.defaultIfNull(properties.getWriterThreads(), Runtime.getRuntime().availableProcessors() * 2);
+        BasicThreadFactory.Builder builder = new BasicThreadFactory.Builder().daemon(true);
+        if (SpringUtils.isVirtual()) {
+            builder.namingPattern("virtual-sse-writer-%d").wrappedFactory(new VirtualThreadTaskExecutor().getVirtualThreadFactory());
+        } else {
+            builder.namingPattern("sse-writer-%d");
+        }
+        // 每个连接同一时刻最多一个待执行任务，任务队列长度不超过连接数
+        return Executors.newFixedThreadPool(threads, builder.build());
+    }
 }
@@ -31,9 +31,7 @@ public class SseTopicListener implements ApplicationRunner, Ordered {
             log.info("SSE主题订阅收到消息session keys={} message={}", message.getUserIds(), message.getMessage());
             // 如果key不为空就按照key发消息 如果为空就群发
             if (CollUtil.isNotEmpty(message.getUserIds())) {
-                message.getUserIds().forEach(key -> {
-                    sseEmitterManager.sendMessage(key, message.getMessage());
-                });
+                sseEmitterManager.sendMessage(message.getUserIds(), message.getMessage());
             } else {
                 sseEmitterManager.sendMessage(message.getMessage());
             }
@@ -2,6 +2,10 @@ package org.dromara.common.translation.core;
 
 import org.dromara.common.translation.annotation.TranslationType;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * 翻译接口 (实现类需标注 {@link TranslationType} 注解标明翻译类型)
  *
@@ -17,4 +21,19 @@ public interface TranslationInterface<T> {
      * @return 返回键对应的值
      */
     T translation(Object key, String other);
+
+    /**
+     * 批量翻译 (序列化集合时一次性解析全部键，实现类可覆盖为批量查询)
+     *
+     * @param keys  需要被翻译的键(均不为空且已去重)
+     * @param other 其他参数
+     * @return 键与翻译值的映射 (未包含的键将回退为逐个翻译)
+     */
+    default Map<Object, T> translationBatch(Collection<Object> keys, String other) {
+        Map<Object, T> result = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            result.put(key, translation(key, other));
+        }
+        return result;
+    }
 }
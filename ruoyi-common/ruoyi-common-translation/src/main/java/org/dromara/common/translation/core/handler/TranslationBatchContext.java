@@ -0,0 +1,135 @@
+package org.dromara.common.translation.core.handler;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.core.utils.reflect.ReflectUtils;
+import org.dromara.common.translation.annotation.Translation;
+import org.dromara.common.translation.core.TranslationInterface;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 批量翻译上下文
+ * <p>
+ * 序列化集合中的第一个元素时，预先扫描整个集合所有 {@link Translation} 字段，
+ * 按 (翻译类型, other) 分组后每组调用一次 {@link TranslationInterface#translationBatch}，
+ * 后续元素直接从结果中取值。上下文保存在本次序列化的 {@link SerializerProvider} 属性中，序列化结束即释放。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+final class TranslationBatchContext {
+
+    /**
+     * 未命中批量结果
+     */
+    static final Object MISS = new Object();
+
+    /**
+     * 各类型的翻译字段 (不含翻译字段的类型为空列表)
+     */
+    private static final Map<Class<?>, List<TransField>> FIELD_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 已预处理的集合 (按引用判断)
+     */
+    private final Set<Object> prepared = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * 分组翻译结果
+     */
+    private final Map<GroupKey, Map<Object, Object>> results = new HashMap<>();
+
+    private TranslationBatchContext() {
+    }
+
+    /**
+     * 从批量结果中查找翻译值
+     *
+     * @return 命中时返回翻译结果 (可能为 null)，不在集合中或未命中时返回 {@link #MISS}
+     */
+    static Object lookup(JsonGenerator gen, SerializerProvider provider, Translation translation, Object value) {
+        JsonStreamContext parent = gen.getOutputContext().getParent();
+        if (parent == null || !parent.inArray() || !(parent.getCurrentValue() instanceof Collection<?> items) || items.size() < 2) {
+            return MISS;
+        }
+        TranslationBatchContext context = (TranslationBatchContext) provider.getAttribute(TranslationBatchContext.class);
+        if (context == null) {
+            context = new TranslationBatchContext();
+            provider.setAttribute(TranslationBatchContext.class, context);
+        }
+        if (context.prepared.add(items)) {
+            try {
+                context.prepare(items);
+            } catch (Exception e) {
+                // 预处理失败时保持逐个翻译
+                log.error("批量翻译预处理异常，type: {}", translation.type(), e);
+            }
+        }
+        Map<Object, Object> resolved = context.results.get(new GroupKey(translation.type(), translation.other()));
+        if (resolved == null || !resolved.containsKey(value)) {
+            return MISS;
+        }
+        return resolved.get(value);
+    }
+
+    private void prepare(Collection<?> items) {
+        Map<GroupKey, Set<Object>> keys = new HashMap<>();
+        for (Object item : items) {
+            if (item == null) {
+                continue;
+            }
+            for (TransField field : getFields(item.getClass())) {
+                Object key = ReflectUtils.invokeGetter(item, field.property());
+                if (ObjectUtil.isNotNull(key)) {
+                    keys.computeIfAbsent(field.group(), k -> new HashSet<>()).add(key);
+                }
+            }
+        }
+        keys.forEach((group, groupKeys) -> {
+            TranslationInterface<?> trans = TranslationHandler.TRANSLATION_MAPPER.get(group.type());
+            if (trans == null) {
+                return;
+            }
+            try {
+                Map<Object, ?> resolved = trans.translationBatch(groupKeys, group.other());
+                results.computeIfAbsent(group, k -> new HashMap<>()).putAll(resolved);
+            } catch (Exception e) {
+                // 批量失败时保持逐个翻译
+                log.error("批量翻译处理异常，type: {}, size: {}", group.type(), groupKeys.size(), e);
+            }
+        });
+    }
+
+    private static List<TransField> getFields(Class<?> clazz) {
+        return FIELD_CACHE.computeIfAbsent(clazz, c -> {
+            List<TransField> list = new ArrayList<>();
+            for (Class<?> k = c; k != null && k != Object.class; k = k.getSuperclass()) {
+                for (Field field : k.getDeclaredFields()) {
+                    Translation translation = field.getAnnotation(Translation.class);
+                    if (translation == null || Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    // 设置了映射字段时，翻译键取映射字段的值
+                    String property = StringUtils.isNotBlank(translation.mapper()) ? translation.mapper() : field.getName();
+                    list.add(new TransField(property, new GroupKey(translation.type(), translation.other())));
+                }
+            }
+            return list.isEmpty() ? Collections.emptyList() : List.copyOf(list);
+        });
+    }
+
+    private record GroupKey(String type, String other) {
+    }
+
+    private record TransField(String property, GroupKey group) {
+    }
+}
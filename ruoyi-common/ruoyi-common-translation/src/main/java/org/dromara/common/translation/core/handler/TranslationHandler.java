@@ -47,7 +47,11 @@ public class TranslationHandler extends JsonSerializer<Object> implements Contex
                 return;
             }
             try {
-                Object result = trans.translation(value, translation.other());
+                // 集合元素优先使用批量翻译结果
+                Object result = TranslationBatchContext.lookup(gen, serializers, translation, value);
+                if (result == TranslationBatchContext.MISS) {
+                    result = trans.translation(value, translation.other());
+                }
                 gen.writeObject(result);
             } catch (Exception e) {
                 log.error("翻译处理异常，type: {}, value: {}", translation.type(), value, e);
@@ -6,6 +6,9 @@ import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * 部门翻译实现
  *
@@ -26,4 +29,10 @@ public class DeptNameTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        Map<Long, String> names = deptService.selectDeptNamesByIds(TranslationKeys.collectIds(keys));
+        return TranslationKeys.joinByKey(keys, names);
+    }
 }
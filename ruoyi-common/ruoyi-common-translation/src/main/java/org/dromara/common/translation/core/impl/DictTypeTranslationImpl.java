@@ -7,6 +7,12 @@ import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * 字典翻译实现
  *
@@ -25,4 +31,22 @@ public class DictTypeTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        Map<Object, String> result = new HashMap<>(keys.size());
+        if (StringUtils.isBlank(other)) {
+            return result;
+        }
+        // 同一字典类型只取一次字典数据
+        Map<String, String> labels = dictService.getAllDictByDictType(other);
+        for (Object key : keys) {
+            if (key instanceof String dictValue) {
+                result.put(key, Arrays.stream(dictValue.split(DictService.SEPARATOR))
+                    .map(v -> labels.getOrDefault(v, StringUtils.EMPTY))
+                    .collect(Collectors.joining(DictService.SEPARATOR)));
+            }
+        }
+        return result;
+    }
 }
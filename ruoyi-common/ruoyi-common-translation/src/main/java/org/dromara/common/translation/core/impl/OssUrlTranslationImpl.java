@@ -1,11 +1,18 @@
 package org.dromara.common.translation.core.impl;
 
 import lombok.AllArgsConstructor;
+import org.dromara.common.core.domain.dto.OssDTO;
 import org.dromara.common.core.service.OssService;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * OSS翻译实现
  *
@@ -26,4 +33,12 @@ public class OssUrlTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        List<Long> ids = TranslationKeys.collectIds(keys);
+        List<OssDTO> list = ossService.selectByIds(StringUtils.joinComma(ids));
+        Map<Long, String> urls = StreamUtils.toMap(list, OssDTO::getOssId, OssDTO::getUrl);
+        return TranslationKeys.joinByKey(keys, urls);
+    }
 }
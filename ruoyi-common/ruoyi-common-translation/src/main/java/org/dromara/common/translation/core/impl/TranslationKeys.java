@@ -0,0 +1,59 @@
+package org.dromara.common.translation.core.impl;
+
+import cn.hutool.core.convert.Convert;
+import org.dromara.common.core.utils.StringUtils;
+
+import java.util.*;
+
+/**
+ * 批量翻译键处理 (ID 或逗号分隔的 ID 串)
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+final class TranslationKeys {
+
+    private TranslationKeys() {
+    }
+
+    /**
+     * 汇总所有键中的 ID (去重)
+     */
+    static List<Long> collectIds(Collection<Object> keys) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object key : keys) {
+            ids.addAll(splitIds(key));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * 按键拼接 ID 对应的值 (逗号分隔，缺失的 ID 跳过)
+     */
+    static Map<Object, String> joinByKey(Collection<Object> keys, Map<Long, String> values) {
+        Map<Object, String> result = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            if (!(key instanceof Long) && !(key instanceof String)) {
+                continue;
+            }
+            List<String> list = new ArrayList<>();
+            for (Long id : splitIds(key)) {
+                String value = values.get(id);
+                if (StringUtils.isNotBlank(value)) {
+                    list.add(value);
+                }
+            }
+            result.put(key, StringUtils.joinComma(list));
+        }
+        return result;
+    }
+
+    private static List<Long> splitIds(Object key) {
+        if (key instanceof Long id) {
+            return List.of(id);
+        } else if (key instanceof String str) {
+            return StringUtils.splitTo(str, Convert::toLong);
+        }
+        return List.of();
+    }
+}
@@ -1,6 +1,7 @@
 package org.dromara.common.web.config;
 
 import jakarta.servlet.DispatcherType;
+import org.dromara.common.web.config.properties.RepeatableProperties;
 import org.dromara.common.web.config.properties.XssProperties;
 import org.dromara.common.web.filter.RepeatableFilter;
 import org.dromara.common.web.filter.XssFilter;
@@ -17,7 +18,7 @@ import org.springframework.context.annotation.Bean;
  * @author Lion Li
  */
 @AutoConfiguration
-@EnableConfigurationProperties(XssProperties.class)
+@EnableConfigurationProperties({XssProperties.class, RepeatableProperties.class})
 public class FilterConfig {
 
     @Bean
@@ -34,8 +35,8 @@ public class FilterConfig {
 
     @Bean
     @FilterRegistration(name = "repeatableFilter", urlPatterns = "/*")
-    public RepeatableFilter repeatableFilter() {
-        return new RepeatableFilter();
+    public RepeatableFilter repeatableFilter(RepeatableProperties repeatableProperties) {
+        return new RepeatableFilter(repeatableProperties);
     }
 
 }
@@ -0,0 +1,30 @@
+package org.dromara.common.web.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 可重复读取请求体 配置属性
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Data
+@ConfigurationProperties(prefix = "repeatable")
+public class RepeatableProperties {
+
+    /**
+     * 缓存请求体的最大大小，超过时不缓存 (请求体只能读取一次)
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+    /**
+     * 排除路径
+     */
+    private List<String> excludeUrls = new ArrayList<>();
+
+}
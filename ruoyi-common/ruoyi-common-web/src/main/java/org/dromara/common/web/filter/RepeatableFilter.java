@@ -3,16 +3,28 @@ package org.dromara.common.web.filter;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.web.config.properties.RepeatableProperties;
 import org.springframework.http.MediaType;
 
 import java.io.IOException;
 
 /**
  * Repeatable 过滤器
+ * <p>
+ * 仅对大小不超过限制且未排除的 json 请求包装，请求体在首次读取时缓存；
+ * 未知长度 (chunked) 的请求体无法预先判断大小，先按上限读取，超出上限时不缓存，
+ * 将已读取的部分与剩余请求体依次原样传递，与已知长度超过上限的请求一致。
  *
  * @author ruoyi
  */
 public class RepeatableFilter implements Filter {
+
+    private final RepeatableProperties properties;
+
+    public RepeatableFilter(RepeatableProperties properties) {
+        this.properties = properties;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
 
@@ -22,9 +34,15 @@ public class RepeatableFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
         throws IOException, ServletException {
         ServletRequest requestWrapper = null;
-        if (request instanceof HttpServletRequest
-            && StringUtils.startsWithIgnoreCase(request.getContentType(), MediaType.APPLICATION_JSON_VALUE)) {
-            requestWrapper = new RepeatedlyRequestWrapper((HttpServletRequest) request, response);
+        if (request instanceof HttpServletRequest httpRequest
+            && StringUtils.startsWithIgnoreCase(request.getContentType(), MediaType.APPLICATION_JSON_VALUE)
+            && isRepeatable(httpRequest)) {
+            RepeatedlyRequestWrapper repeatedlyRequest = new RepeatedlyRequestWrapper(httpRequest, response, properties.getMaxBodySize().toBytes());
+            if (httpRequest.getContentLengthLong() < 0 && !repeatedlyRequest.bufferBody()) {
+                requestWrapper = repeatedlyRequest.unbufferedRequest();
+            } else {
+                requestWrapper = repeatedlyRequest;
+            }
         }
         if (null == requestWrapper) {
             chain.doFilter(request, response);
@@ -33,6 +51,16 @@ public class RepeatableFilter implements Filter {
         }
     }
 
+    /**
+     * 是否需要缓存请求体 (未知长度的请求体按上限读取后再判断)
+     */
+    private boolean isRepeatable(HttpServletRequest request) {
+        if (request.getContentLengthLong() > properties.getMaxBodySize().toBytes()) {
+            return false;
+        }
+        return !StringUtils.matches(request.getServletPath(), properties.getExcludeUrls());
+    }
+
     @Override
     public void destroy() {
 
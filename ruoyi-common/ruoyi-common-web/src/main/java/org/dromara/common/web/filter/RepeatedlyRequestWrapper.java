@@ -1,6 +1,5 @@
 package org.dromara.common.web.filter;
 
-import cn.hutool.core.io.IoUtil;
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.ServletResponse;
@@ -8,54 +7,61 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import org.dromara.common.core.constant.Constants;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 构建可重复读取inputStream的request
+ * <p>
+ * 请求体在首次读取时才缓存，未读取请求体的请求不产生拷贝；
+ * 超过上限的请求体不缓存，通过 {@link #unbufferedRequest()} 原样传递给后续处理。
  *
  * @author ruoyi
  */
 public class RepeatedlyRequestWrapper extends HttpServletRequestWrapper {
-    private final byte[] body;
+    private final int maxBodySize;
+    private byte[] body;
 
-    public RepeatedlyRequestWrapper(HttpServletRequest request, ServletResponse response) throws IOException {
+    public RepeatedlyRequestWrapper(HttpServletRequest request, ServletResponse response, long maxBodySize) throws IOException {
         super(request);
+        this.maxBodySize = (int) Math.min(maxBodySize, Integer.MAX_VALUE - 8);
         request.setCharacterEncoding(Constants.UTF8);
         response.setCharacterEncoding(Constants.UTF8);
-
-        body = IoUtil.readBytes(request.getInputStream(), false);
     }
 
     @Override
     public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(getInputStream()));
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        final ByteArrayInputStream bais = new ByteArrayInputStream(body);
+        final byte[] bytes = getBody();
+        final ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
         return new ServletInputStream() {
             @Override
             public int read() throws IOException {
                 return bais.read();
             }
 
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return bais.read(b, off, len);
+            }
+
             @Override
             public int available() throws IOException {
-                return body.length;
+                return bais.available();
             }
 
             @Override
             public boolean isFinished() {
-                return false;
+                return bais.available() == 0;
             }
 
             @Override
             public boolean isReady() {
-                return false;
+                return true;
             }
 
             @Override
@@ -64,4 +70,108 @@ public class RepeatedlyRequestWrapper extends HttpServletRequestWrapper {
             }
         };
     }
+
+    /**
+     * 获取请求体 (首次调用时读取并缓存)
+     */
+    public byte[] getBody() throws IOException {
+        if (!bufferBody()) {
+            throw new IOException("请求体超过上限 " + maxBodySize + " 字节");
+        }
+        return body;
+    }
+
+    /**
+     * 读取并缓存请求体，最多读取上限 + 1 字节
+     *
+     * @return 请求体是否未超过上限
+     */
+    public boolean bufferBody() throws IOException {
+        if (body == null) {
+            body = readBody();
+        }
+        return body.length <= maxBodySize;
+    }
+
+    /**
+     * 请求体超过上限时使用：先返回已读取的部分，再继续读取剩余请求体，不缓存、不可重复读取
+     */
+    public HttpServletRequest unbufferedRequest() {
+        HttpServletRequest request = (HttpServletRequest) getRequest();
+        byte[] prefix = body;
+        return new HttpServletRequestWrapper(request) {
+            private ServletInputStream stream;
+
+            @Override
+            public BufferedReader getReader() throws IOException {
+                return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public ServletInputStream getInputStream() throws IOException {
+                if (stream == null) {
+                    stream = new ReplayInputStream(prefix, request.getInputStream());
+                }
+                return stream;
+            }
+        };
+    }
+
+    /**
+     * 按 Content-Length 一次分配读取，上游过滤器改写过请求体导致长度不一致时读取剩余部分；
+     * 未知长度 (chunked) 或长度不一致时读取量均不超过上限 + 1 字节
+     */
+    private byte[] readBody() throws IOException {
+        InputStream in = super.getInputStream();
+        int length = getRequest().getContentLength();
+        byte[] bytes = in.readNBytes(length < 0 ? maxBodySize + 1 : Math.min(length, maxBodySize + 1));
+        byte[] rest = in.readNBytes(maxBodySize + 1 - bytes.length);
+        if (rest.length == 0) {
+            return bytes;
+        }
+        byte[] merged = new byte[bytes.length + rest.length];
+        System.arraycopy(bytes, 0, merged, 0, bytes.length);
+        System.arraycopy(rest, 0, merged, bytes.length, rest.length);
+        return merged;
+    }
+
+    /**
+     * 先返回已读取的前缀，再读取原请求体的剩余部分
+     */
+    private static class ReplayInputStream extends ServletInputStream {
+
+        private final ServletInputStream origin;
+
+        private final SequenceInputStream in;
+
+        ReplayInputStream(byte[] prefix, ServletInputStream origin) {
+            this.origin = origin;
+            this.in = new SequenceInputStream(new ByteArrayInputStream(prefix), origin);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return origin.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package org.dromara.common.web.filter;
+
+import cn.hutool.http.HtmlUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * JSON XSS 过滤输入流
+ * <p>
+ * 读取时通过 Jackson 逐个 token 解析原始请求体并重新写出，只对字段名与字符串值做 HTML 标签清理，
+ * 每次按需生成一段输出，不在内存中保留完整的请求体。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+class XssJsonInputStream extends ServletInputStream {
+
+    /**
+     * 每段输出的目标大小 (字节)
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    private final JsonParser parser;
+    private final JsonGenerator generator;
+    private final ChunkBuffer buffer = new ChunkBuffer();
+    private int pos;
+    private boolean eof;
+
+    XssJsonInputStream(InputStream in, JsonFactory factory) throws IOException {
+        this.parser = factory.createParser(in);
+        this.generator = factory.createGenerator(buffer, JsonEncoding.UTF8);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return buffer.array()[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.size() - pos);
+        System.arraycopy(buffer.array(), pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return buffer.size() - pos;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return eof && pos >= buffer.size();
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+    }
+
+    @Override
+    public void close() throws IOException {
+        eof = true;
+        parser.close();
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        while (pos >= buffer.size()) {
+            if (eof) {
+                return false;
+            }
+            fill();
+        }
+        return true;
+    }
+
+    /**
+     * 继续解析直到生成约一段输出或读到末尾
+     */
+    private void fill() throws IOException {
+        buffer.reset();
+        pos = 0;
+        while (buffer.size() + generator.getOutputBuffered() < CHUNK_SIZE) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                eof = true;
+                generator.close();
+                parser.close();
+                return;
+            }
+            switch (token) {
+                case FIELD_NAME -> generator.writeFieldName(clean(parser.currentName()));
+                case VALUE_STRING -> generator.writeString(clean(parser.getText()));
+                // 数字按原始精度写出
+                default -> generator.copyCurrentEventExact(parser);
+            }
+        }
+        generator.flush();
+    }
+
+    private static String clean(String value) {
+        // 不含标签起始符时无需走正则
+        return value.indexOf('<') < 0 ? value : HtmlUtil.cleanHtmlTag(value);
+    }
+
+    /**
+     * 可复用底层数组的输出缓冲
+     */
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+
+        ChunkBuffer() {
+            super(CHUNK_SIZE * 2);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -52,8 +52,8 @@ public class WebSocketConfig {
     }
 
     @Bean
-    public WebSocketHandler webSocketHandler() {
-        return new PlusWebSocketHandler();
+    public WebSocketHandler webSocketHandler(WebSocketProperties webSocketProperties) {
+        return new PlusWebSocketHandler(webSocketProperties);
     }
 
     @Bean
@@ -23,4 +23,19 @@ public class WebSocketProperties {
      *  设置访问源地址
      */
     private String allowedOrigins;
+
+    /**
+     * 单次写出最长耗时 (毫秒)，巡检时发现超过后关闭会话
+     */
+    private Integer sendTimeLimit = 10000;
+
+    /**
+     * 单个会话待发送消息队列容量，积压超过容量视为慢连接并关闭会话
+     */
+    private Integer queueCapacity = 256;
+
+    /**
+     * 消息写出线程数，为空时取 cpu 核心数 * 2
+     */
+    private Integer writerThreads;
 }
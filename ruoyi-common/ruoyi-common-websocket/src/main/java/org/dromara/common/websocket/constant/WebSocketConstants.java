@@ -17,6 +17,11 @@ public interface WebSocketConstants {
      */
     String WEB_SOCKET_TOPIC = "global:websocket";
 
+    /**
+     * 用户在线登记 key 前缀，value 为持有该用户会话的节点集合
+     */
+    String WEB_SOCKET_PRESENCE_KEY = "global:websocket:presence:";
+
     /**
      * 前端心跳检查的命令
      */
@@ -0,0 +1,143 @@
+package org.dromara.common.websocket.core;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单个 WebSocket 会话的写出队列
+ * <p>
+ * 消息先放入有界队列，由写出线程池异步写出，同一会话同一时刻只有一个线程在写，最多占用一个待执行任务；
+ * 队列写满或单次写出超时说明客户端消费过慢，直接关闭会话，避免拖慢其他会话和调用方线程。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+public class WebSocketConnection {
+
+    @Getter
+    private final Long sessionKey;
+
+    @Getter
+    private final WebSocketSession session;
+
+    private final Queue<WebSocketMessage<?>> queue;
+
+    private final Executor executor;
+
+    /**
+     * 是否已提交写出任务
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * 当前写出开始时间，0 表示未在写出
+     */
+    private volatile long writeStartedAt;
+
+    public WebSocketConnection(Long sessionKey, WebSocketSession session, int capacity, Executor executor) {
+        this.sessionKey = sessionKey;
+        this.session = session;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = executor;
+    }
+
+    /**
+     * 消息入队，不阻塞调用方
+     *
+     * @param message 消息 (可在多个会话间共用)
+     * @return 是否入队成功，失败时会话已关闭
+     */
+    public boolean offer(WebSocketMessage<?> message) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!session.isOpen()) {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+            return false;
+        }
+        if (!queue.offer(message)) {
+            log.warn("WebSocket会话消息积压超过上限，关闭会话 sessionKey={}", sessionKey);
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * 单次写出是否超过时限 (写出阻塞在慢客户端上)
+     *
+     * @param sendTimeLimit 时限 (毫秒)
+     */
+    public boolean isWriteTimeout(long sendTimeLimit) {
+        long startedAt = writeStartedAt;
+        return startedAt != 0 && System.currentTimeMillis() - startedAt > sendTimeLimit;
+    }
+
+    public boolean isClosed() {
+        return closed.get() || !session.isOpen();
+    }
+
+    /**
+     * 关闭会话，丢弃未发送的消息
+     *
+     * @param status 关闭状态
+     */
+    public void close(CloseStatus status) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        queue.clear();
+        try {
+            session.close(status);
+        } catch (Exception ignore) {
+            // 忽略重复关闭异常
+        }
+    }
+
+    private void schedule() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            close(CloseStatus.SERVICE_OVERLOAD);
+        }
+    }
+
+    private void drain() {
+        try {
+            WebSocketMessage<?> message;
+            while (!closed.get() && (message = queue.poll()) != null) {
+                writeStartedAt = System.currentTimeMillis();
+                session.sendMessage(message);
+                writeStartedAt = 0;
+            }
+        } catch (Exception e) {
+            log.warn("[send] session({}) 发送消息异常，关闭会话 {}", session.getId(), e.getMessage());
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            writeStartedAt = 0;
+            draining.set(false);
+        }
+        // 释放标记期间可能有新消息入队
+        if (!closed.get() && !queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+}
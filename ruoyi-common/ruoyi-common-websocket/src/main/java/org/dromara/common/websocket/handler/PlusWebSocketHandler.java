@@ -1,16 +1,27 @@
 package org.dromara.common.websocket.handler;
 
 import cn.hutool.core.util.ObjectUtil;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.dromara.common.core.domain.model.LoginUser;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.websocket.config.properties.WebSocketProperties;
+import org.dromara.common.websocket.core.WebSocketConnection;
 import org.dromara.common.websocket.dto.WebSocketMessageDto;
 import org.dromara.common.websocket.holder.WebSocketSessionHolder;
 import org.dromara.common.websocket.utils.WebSocketUtils;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.dromara.common.websocket.constant.WebSocketConstants.LOGIN_USER_KEY;
 
@@ -22,6 +33,28 @@ import static org.dromara.common.websocket.constant.WebSocketConstants.LOGIN_USE
 @Slf4j
 public class PlusWebSocketHandler extends AbstractWebSocketHandler {
 
+    /**
+     * 会话巡检间隔 (秒)：续期在线登记、清理已关闭及写出超时的会话
+     */
+    private static final long MONITOR_SECONDS = 60L;
+
+    private final WebSocketProperties webSocketProperties;
+
+    /**
+     * 消息写出线程池，各会话写出队列共用
+     */
+    private final ExecutorService writeExecutor;
+
+    private final ScheduledFuture<?> monitorFuture;
+
+    public PlusWebSocketHandler(WebSocketProperties webSocketProperties) {
+        this.webSocketProperties = webSocketProperties;
+        this.writeExecutor = createWriteExecutor(webSocketProperties);
+        this.monitorFuture = SpringUtils.getBean(ScheduledExecutorService.class)
+            .scheduleWithFixedDelay(() -> WebSocketSessionHolder.refreshPresence(webSocketProperties.getSendTimeLimit()),
+                MONITOR_SECONDS, MONITOR_SECONDS, TimeUnit.SECONDS);
+    }
+
     /**
      * 连接成功后
      */
@@ -33,7 +66,10 @@ public class PlusWebSocketHandler extends AbstractWebSocketHandler {
             log.info("[connect] invalid token received. sessionId: {}", session.getId());
             return;
         }
-        WebSocketSessionHolder.addSession(loginUser.getUserId(), session);
+        // 消息经会话的有界写出队列异步写出，积压超限或写出超时关闭会话
+        WebSocketConnection connection = new WebSocketConnection(loginUser.getUserId(), session,
+            webSocketProperties.getQueueCapacity(), writeExecutor);
+        WebSocketSessionHolder.addSession(loginUser.getUserId(), connection);
         log.info("[connect] sessionId: {},userId:{},userType:{}", session.getId(), loginUser.getUserId(), loginUser.getUserType());
     }
 
@@ -77,7 +113,14 @@ public class PlusWebSocketHandler extends AbstractWebSocketHandler {
      */
     @Override
     protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
-        WebSocketUtils.sendPongMessage(session);
+        // 与推送消息共用同一个写出队列，避免并发写出
+        LoginUser loginUser = (LoginUser) session.getAttributes().get(LOGIN_USER_KEY);
+        WebSocketConnection connection = ObjectUtil.isNull(loginUser) ? null : WebSocketSessionHolder.getConnection(loginUser.getUserId());
+        if (connection != null && connection.getSession().getId().equals(session.getId())) {
+            connection.offer(new PongMessage());
+        } else {
+            WebSocketUtils.sendPongMessage(session);
+        }
     }
 
     /**
@@ -105,7 +148,7 @@ public class PlusWebSocketHandler extends AbstractWebSocketHandler {
             log.info("[disconnect] invalid token received. sessionId: {}", session.getId());
             return;
         }
-        WebSocketSessionHolder.removeSession(loginUser.getUserId());
+        WebSocketSessionHolder.removeSession(loginUser.getUserId(), session);
         log.info("[disconnect] sessionId: {},userId:{},userType:{}", session.getId(), loginUser.getUserId(), loginUser.getUserType());
     }
 
@@ -119,4 +162,25 @@ public class PlusWebSocketHandler extends AbstractWebSocketHandler {
         return false;
     }
 
+    /**
+     * 停止会话巡检与消息写出线程池
+     */
+    @PreDestroy
+    public void destroy() {
+        monitorFuture.cancel(false);
+        writeExecutor.shutdownNow();
+    }
+
+    private static ExecutorService createWriteExecutor(WebSocketProperties properties) {
+        int threads = ObjectUtil.defaultIfNull(properties.getWriterThreads(), Runtime.getRuntime().availableProcessors() * 2);
+        BasicThreadFactory.Builder builder = new BasicThreadFactory.Builder().daemon(true);
+        if (SpringUtils.isVirtual()) {
+            builder.namingPattern("virtual-websocket-writer-%d").wrappedFactory(new VirtualThreadTaskExecutor().getVirtualThreadFactory());
+        } else {
+            builder.namingPattern("websocket-writer-%d");
+        }
+        // 每个会话同一时刻最多一个待执行任务，任务队列长度不超过会话数
+        return Executors.newFixedThreadPool(threads, builder.build());
+    }
+
 }
@@ -1,33 +1,63 @@
 package org.dromara.common.websocket.holder;
 
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.util.IdUtil;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.websocket.core.WebSocketConnection;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.util.Map;
-import java.util.Set;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static org.dromara.common.websocket.constant.WebSocketConstants.WEB_SOCKET_PRESENCE_KEY;
+
 /**
  * WebSocketSession 用于保存当前所有在线的会话信息
+ * <p>
+ * 同时在 redis 中登记用户所在节点 (在线登记)，用于将消息只发布到持有该用户会话的节点
  *
  * @author zendwang
  */
+@Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class WebSocketSessionHolder {
 
-    private static final Map<Long, WebSocketSession> USER_SESSION_MAP = new ConcurrentHashMap<>();
+    /**
+     * 当前节点标识
+     */
+    public static final String NODE_ID = IdUtil.fastSimpleUUID();
+
+    /**
+     * 在线登记有效期，定时续期，节点宕机后自然过期
+     */
+    public static final Duration PRESENCE_TTL = Duration.ofMinutes(3);
+
+    /**
+     * 在线登记单批续期数量
+     */
+    private static final int PRESENCE_BATCH_SIZE = 1000;
+
+    private static final Map<Long, WebSocketConnection> USER_SESSION_MAP = new ConcurrentHashMap<>();
 
     /**
      * 将WebSocket会话添加到用户会话Map中
      *
      * @param sessionKey 会话键，用于检索会话
-     * @param session    要添加的WebSocket会话
+     * @param connection 要添加的WebSocket会话写出队列
      */
-    public static void addSession(Long sessionKey, WebSocketSession session) {
-        removeSession(sessionKey);
-        USER_SESSION_MAP.put(sessionKey, session);
+    public static void addSession(Long sessionKey, WebSocketConnection connection) {
+        WebSocketConnection old = USER_SESSION_MAP.put(sessionKey, connection);
+        closeSession(old);
+        try {
+            RedisUtils.addCacheSets(List.of(WEB_SOCKET_PRESENCE_KEY + sessionKey), NODE_ID, PRESENCE_TTL);
+        } catch (Exception e) {
+            log.warn("WebSocket在线登记失败 sessionKey={} {}", sessionKey, e.getMessage());
+        }
     }
 
     /**
@@ -36,10 +66,22 @@ public class WebSocketSessionHolder {
      * @param sessionKey 要移除的会话键
      */
     public static void removeSession(Long sessionKey) {
-        WebSocketSession session = USER_SESSION_MAP.remove(sessionKey);
-        try {
-            session.close(CloseStatus.BAD_DATA);
-        } catch (Exception ignored) {
+        WebSocketConnection connection = USER_SESSION_MAP.remove(sessionKey);
+        closeSession(connection);
+        unregister(sessionKey);
+    }
+
+    /**
+     * 仅当会话键当前对应的是指定会话时移除，避免旧会话关闭时误删同一用户的新会话
+     *
+     * @param sessionKey 要移除的会话键
+     * @param session    已关闭的WebSocket会话
+     */
+    public static void removeSession(Long sessionKey, WebSocketSession session) {
+        WebSocketConnection current = USER_SESSION_MAP.get(sessionKey);
+        if (current != null && current.getSession().getId().equals(session.getId()) && USER_SESSION_MAP.remove(sessionKey, current)) {
+            closeSession(current);
+            unregister(sessionKey);
         }
     }
 
@@ -50,6 +92,17 @@ public class WebSocketSessionHolder {
      * @return 与给定会话键对应的WebSocket会话，如果不存在则返回null
      */
     public static WebSocketSession getSessions(Long sessionKey) {
+        WebSocketConnection connection = USER_SESSION_MAP.get(sessionKey);
+        return connection == null ? null : connection.getSession();
+    }
+
+    /**
+     * 根据会话键获取WebSocket会话写出队列
+     *
+     * @param sessionKey 要获取的会话键
+     * @return 与给定会话键对应的写出队列，如果不存在则返回null
+     */
+    public static WebSocketConnection getConnection(Long sessionKey) {
         return USER_SESSION_MAP.get(sessionKey);
     }
 
@@ -71,4 +124,65 @@ public class WebSocketSessionHolder {
     public static Boolean existSession(Long sessionKey) {
         return USER_SESSION_MAP.containsKey(sessionKey);
     }
+
+    /**
+     * 批量续期本节点全部会话的在线登记，并清理已关闭及写出超时的会话
+     *
+     * @param sendTimeLimit 单次写出时限 (毫秒)
+     */
+    public static void refreshPresence(long sendTimeLimit) {
+        for (WebSocketConnection connection : USER_SESSION_MAP.values()) {
+            if (connection.isWriteTimeout(sendTimeLimit)) {
+                log.warn("WebSocket会话写出超时，关闭会话 sessionKey={}", connection.getSessionKey());
+                connection.close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+            if (connection.isClosed() && USER_SESSION_MAP.remove(connection.getSessionKey(), connection)) {
+                unregister(connection.getSessionKey());
+            }
+        }
+        List<String> keys = USER_SESSION_MAP.keySet().stream().map(key -> WEB_SOCKET_PRESENCE_KEY + key).toList();
+        for (List<String> batch : ListUtil.partition(keys, PRESENCE_BATCH_SIZE)) {
+            try {
+                RedisUtils.addCacheSets(batch, NODE_ID, PRESENCE_TTL);
+            } catch (Exception e) {
+                log.warn("WebSocket在线登记续期失败 {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 按在线登记将会话键分组到所在节点
+     *
+     * @param sessionKeys 会话键
+     * @return key 为节点标识，value 为该节点持有的会话键 (离线的会话键不包含在内)
+     */
+    public static Map<String, List<Long>> groupByNode(Collection<Long> sessionKeys) {
+        Map<String, Long> keyMap = new LinkedHashMap<>(sessionKeys.size() * 4 / 3 + 1);
+        sessionKeys.forEach(sessionKey -> keyMap.put(WEB_SOCKET_PRESENCE_KEY + sessionKey, sessionKey));
+        Map<String, Set<String>> presence = RedisUtils.getCacheSets(keyMap.keySet());
+        Map<String, List<Long>> nodeKeys = new HashMap<>();
+        presence.forEach((key, nodeIds) -> {
+            Long sessionKey = keyMap.get(key);
+            nodeIds.forEach(nodeId -> nodeKeys.computeIfAbsent(nodeId, k -> new ArrayList<>()).add(sessionKey));
+        });
+        return nodeKeys;
+    }
+
+    private static void closeSession(WebSocketConnection connection) {
+        if (connection != null) {
+            connection.close(CloseStatus.BAD_DATA);
+        }
+    }
+
+    private static void unregister(Long sessionKey) {
+        try {
+            RedisUtils.removeCacheSet(WEB_SOCKET_PRESENCE_KEY + sessionKey, NODE_ID);
+            // 注销期间用户重新连接，补回登记
+            if (USER_SESSION_MAP.containsKey(sessionKey)) {
+                RedisUtils.addCacheSets(List.of(WEB_SOCKET_PRESENCE_KEY + sessionKey), NODE_ID, PRESENCE_TTL);
+            }
+        } catch (Exception e) {
+            log.warn("WebSocket在线注销失败 sessionKey={} {}", sessionKey, e.getMessage());
+        }
+    }
 }
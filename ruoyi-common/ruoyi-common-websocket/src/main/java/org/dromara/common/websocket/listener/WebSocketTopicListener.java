@@ -29,15 +29,9 @@ public class WebSocketTopicListener implements ApplicationRunner, Ordered {
             log.info("WebSocket主题订阅收到消息session keys={} message={}", message.getSessionKeys(), message.getMessage());
             // 如果key不为空就按照key发消息 如果为空就群发
             if (CollUtil.isNotEmpty(message.getSessionKeys())) {
-                message.getSessionKeys().forEach(key -> {
-                    if (WebSocketSessionHolder.existSession(key)) {
-                        WebSocketUtils.sendMessage(key, message.getMessage());
-                    }
-                });
+                WebSocketUtils.sendMessage(message.getSessionKeys(), message.getMessage());
             } else {
-                WebSocketSessionHolder.getSessionsAll().forEach(key -> {
-                    WebSocketUtils.sendMessage(key, message.getMessage());
-                });
+                WebSocketUtils.sendMessage(WebSocketSessionHolder.getSessionsAll(), message.getMessage());
             }
         });
         log.info("初始化WebSocket主题订阅监听器成功");
@@ -5,6 +5,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.websocket.core.WebSocketConnection;
 import org.dromara.common.websocket.dto.WebSocketMessageDto;
 import org.dromara.common.websocket.holder.WebSocketSessionHolder;
 import org.springframework.web.socket.PongMessage;
@@ -14,7 +15,9 @@ import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static org.dromara.common.websocket.constant.WebSocketConstants.WEB_SOCKET_TOPIC;
@@ -35,44 +38,79 @@ public class WebSocketUtils {
      * @param message    要发送的消息内容
      */
     public static void sendMessage(Long sessionKey, String message) {
-        WebSocketSession session = WebSocketSessionHolder.getSessions(sessionKey);
-        sendMessage(session, message);
+        WebSocketConnection connection = WebSocketSessionHolder.getConnection(sessionKey);
+        if (connection == null) {
+            log.warn("[send] session会话已经关闭");
+            return;
+        }
+        connection.offer(new TextMessage(message));
+    }
+
+    /**
+     * 向指定的WebSocket会话批量发送同一消息
+     * <p>
+     * 消息只构建一次并放入各会话的有界写出队列，由写出线程池异步写出，不阻塞调用方
+     *
+     * @param sessionKeys 要发送消息的用户id集合
+     * @param message     要发送的消息内容
+     */
+    public static void sendMessage(Collection<Long> sessionKeys, String message) {
+        TextMessage textMessage = new TextMessage(message);
+        for (Long sessionKey : sessionKeys) {
+            WebSocketConnection connection = WebSocketSessionHolder.getConnection(sessionKey);
+            if (connection != null) {
+                connection.offer(textMessage);
+            }
+        }
     }
 
     /**
-     * 订阅WebSocket消息主题，并提供一个消费者函数来处理接收到的消息
+     * 订阅WebSocket消息主题 (全局频道与当前节点频道)，并提供一个消费者函数来处理接收到的消息
      *
      * @param consumer 处理WebSocket消息的消费者函数
      */
     public static void subscribeMessage(Consumer<WebSocketMessageDto> consumer) {
         RedisUtils.subscribe(WEB_SOCKET_TOPIC, WebSocketMessageDto.class, consumer);
+        RedisUtils.subscribe(nodeTopic(WebSocketSessionHolder.NODE_ID), WebSocketMessageDto.class, consumer);
     }
 
     /**
      * 发布WebSocket订阅消息
+     * <p>
+     * 当前服务内session直接发送；其余按在线登记只发布到持有该session的节点频道，离线的不发布；
+     * 在线登记不可用时退回全局频道
      *
      * @param webSocketMessage 要发布的WebSocket消息对象
      */
     public static void publishMessage(WebSocketMessageDto webSocketMessage) {
+        List<Long> localSessionKeys = new ArrayList<>();
         List<Long> unsentSessionKeys = new ArrayList<>();
-        // 当前服务内session,直接发送消息
         for (Long sessionKey : webSocketMessage.getSessionKeys()) {
             if (WebSocketSessionHolder.existSession(sessionKey)) {
-                WebSocketUtils.sendMessage(sessionKey, webSocketMessage.getMessage());
-                continue;
+                localSessionKeys.add(sessionKey);
+            } else {
+                unsentSessionKeys.add(sessionKey);
             }
-            unsentSessionKeys.add(sessionKey);
+        }
+        // 当前服务内session,直接发送消息
+        if (CollUtil.isNotEmpty(localSessionKeys)) {
+            sendMessage(localSessionKeys, webSocketMessage.getMessage());
         }
         // 不在当前服务内session,发布订阅消息
-        if (CollUtil.isNotEmpty(unsentSessionKeys)) {
-            WebSocketMessageDto broadcastMessage = new WebSocketMessageDto();
-            broadcastMessage.setMessage(webSocketMessage.getMessage());
-            broadcastMessage.setSessionKeys(unsentSessionKeys);
-            RedisUtils.publish(WEB_SOCKET_TOPIC, broadcastMessage, consumer -> {
-                log.info(" WebSocket发送主题订阅消息topic:{} session keys:{} message:{}",
-                    WEB_SOCKET_TOPIC, unsentSessionKeys, webSocketMessage.getMessage());
-            });
+        if (CollUtil.isEmpty(unsentSessionKeys)) {
+            return;
+        }
+        Map<String, List<Long>> nodeKeys;
+        try {
+            nodeKeys = WebSocketSessionHolder.groupByNode(unsentSessionKeys);
+        } catch (Exception e) {
+            log.warn("WebSocket在线登记查询失败，改为全局发布 {}", e.getMessage());
+            publish(WEB_SOCKET_TOPIC, unsentSessionKeys, webSocketMessage.getMessage());
+            return;
         }
+        // 本节点的登记已在上面直接发送过
+        nodeKeys.remove(WebSocketSessionHolder.NODE_ID);
+        nodeKeys.forEach((nodeId, sessionKeys) -> publish(nodeTopic(nodeId), sessionKeys, webSocketMessage.getMessage()));
     }
 
     /**
@@ -108,12 +146,12 @@ public class WebSocketUtils {
     }
 
     /**
-     * 向指定的WebSocket会话发送WebSocket消息对象
+     * 向指定的WebSocket会话直接发送WebSocket消息对象 (仅用于未登记写出队列的会话)
      *
      * @param session WebSocket会话
      * @param message 要发送的WebSocket消息对象
      */
-    private synchronized static void sendMessage(WebSocketSession session, WebSocketMessage<?> message) {
+    private static void sendMessage(WebSocketSession session, WebSocketMessage<?> message) {
         if (session == null || !session.isOpen()) {
             log.warn("[send] session会话已经关闭");
         } else {
@@ -124,4 +162,17 @@ public class WebSocketUtils {
             }
         }
     }
+
+    private static void publish(String topic, List<Long> sessionKeys, String message) {
+        WebSocketMessageDto broadcastMessage = new WebSocketMessageDto();
+        broadcastMessage.setMessage(message);
+        broadcastMessage.setSessionKeys(sessionKeys);
+        RedisUtils.publish(topic, broadcastMessage, consumer -> {
+            log.info(" WebSocket发送主题订阅消息topic:{} session keys:{} message:{}", topic, sessionKeys, message);
+        });
+    }
+
+    private static String nodeTopic(String nodeId) {
+        return WEB_SOCKET_TOPIC + ":" + nodeId;
+    }
 }
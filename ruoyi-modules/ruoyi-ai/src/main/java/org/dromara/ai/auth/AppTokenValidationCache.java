@@ -0,0 +1,184 @@
+package org.dromara.ai.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.domain.vo.ChatSessionTokenInfo;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 嵌入对话 Token 校验缓存
+ * <p>
+ * 本地缓存 App Token 的校验结果（含不存在、停用、应用未公开等否定结果）及 Session Token 的解析结果，
+ * 公开对话挂件的请求不再每次查库、拆分域名白名单和解析 JWT。
+ * Token 或应用变更时通过 Redis 主题广播失效消息，集群内各节点同步清理本地条目。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+@Component
+public class AppTokenValidationCache implements ApplicationRunner {
+
+    /**
+     * 失效广播主题
+     */
+    private static final String INVALIDATE_TOPIC = "km:app_token:invalidate";
+
+    private static final String PREFIX_TOKEN = "T:";
+    private static final String PREFIX_APP = "A:";
+
+    /**
+     * 有效结果缓存时间
+     */
+    private static final long VALID_TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    /**
+     * 否定结果缓存时间（较短，避免误判长期生效）
+     */
+    private static final long INVALID_TTL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Cache<String, TokenEntry> tokenCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfter(new Expiry<String, TokenEntry>() {
+                @Override
+                public long expireAfterCreate(String key, TokenEntry value, long currentTime) {
+                    return value.valid() ? VALID_TTL_NANOS : INVALID_TTL_NANOS;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, TokenEntry value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, TokenEntry value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    private final Cache<String, Optional<ChatSessionTokenInfo>> sessionCache = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .build();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        RedisUtils.subscribe(INVALIDATE_TOPIC, String.class, this::handleInvalidate);
+        log.info("初始化App Token校验缓存失效订阅成功");
+    }
+
+    /**
+     * 获取 App Token 校验结果，未命中时由 loader 加载
+     */
+    public TokenEntry getToken(String token, Function<String, TokenEntry> loader) {
+        return tokenCache.get(token, loader);
+    }
+
+    /**
+     * 获取 Session Token 解析结果，未命中时由 loader 解析（解析失败缓存为空）
+     */
+    public Optional<ChatSessionTokenInfo> getSession(String sessionToken,
+            Function<String, Optional<ChatSessionTokenInfo>> loader) {
+        return sessionCache.get(sessionToken, loader);
+    }
+
+    /**
+     * 广播失效指定 Token 的缓存
+     */
+    public void evictToken(Long tokenId) {
+        if (tokenId != null) {
+            RedisUtils.publish(INVALIDATE_TOPIC, PREFIX_TOKEN + tokenId, this::handleInvalidate);
+        }
+    }
+
+    /**
+     * 广播失效指定应用下所有 Token 的缓存
+     */
+    public void evictApp(Long appId) {
+        if (appId != null) {
+            RedisUtils.publish(INVALIDATE_TOPIC, PREFIX_APP + appId, this::handleInvalidate);
+        }
+    }
+
+    private void handleInvalidate(String message) {
+        try {
+            if (message.startsWith(PREFIX_TOKEN)) {
+                Long tokenId = Long.valueOf(message.substring(PREFIX_TOKEN.length()));
+                tokenCache.asMap().values().removeIf(e -> Objects.equals(e.tokenId(), tokenId));
+            } else if (message.startsWith(PREFIX_APP)) {
+                Long appId = Long.valueOf(message.substring(PREFIX_APP.length()));
+                tokenCache.asMap().values().removeIf(e -> Objects.equals(e.appId(), appId));
+            }
+        } catch (Exception e) {
+            log.warn("App Token缓存失效消息处理失败: {}", message, e);
+        }
+    }
+
+    /**
+     * App Token 校验结果
+     *
+     * @param tokenId        Token ID (Token 不存在时为空)
+     * @param appId          应用ID
+     * @param valid          Token 与应用状态是否有效
+     * @param expiresAt      过期时间 (空为永久)
+     * @param allowedOrigins 预处理后的域名白名单 (空为不限制)
+     */
+    public record TokenEntry(Long tokenId, Long appId, boolean valid, LocalDateTime expiresAt,
+            String[] allowedOrigins) {
+
+        public static TokenEntry invalid(Long tokenId, Long appId) {
+            return new TokenEntry(tokenId, appId, false, null, null);
+        }
+
+        public static TokenEntry of(Long tokenId, Long appId, LocalDateTime expiresAt, String allowedOrigins) {
+            return new TokenEntry(tokenId, appId, true, expiresAt, compileOrigins(allowedOrigins));
+        }
+
+        public boolean isExpired() {
+            return expiresAt != null && expiresAt.isBefore(LocalDateTime.now());
+        }
+
+        /**
+         * 来源域名是否在白名单内 (包含匹配)
+         */
+        public boolean matchesOrigin(String origin) {
+            if (allowedOrigins == null) {
+                return true;
+            }
+            if (StringUtils.isBlank(origin)) {
+                return false;
+            }
+            for (String allowed : allowedOrigins) {
+                if (origin.contains(allowed)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String[] compileOrigins(String allowedOrigins) {
+            if (StringUtils.isBlank(allowedOrigins) || "*".equals(allowedOrigins.trim())) {
+                return null;
+            }
+            return Arrays.stream(allowedOrigins.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotBlank)
+                    .toArray(String[]::new);
+        }
+    }
+}
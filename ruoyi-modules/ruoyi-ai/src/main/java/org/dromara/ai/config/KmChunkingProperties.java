@@ -27,4 +27,10 @@ public class KmChunkingProperties {
      * 默认 20，可被数据集级别配置覆盖
      */
     private int childChunkOverlap = 20;
+
+    /**
+     * 批量写入单批行数
+     * 默认 500，作用于切片、问题、问题关联及向量的批量入库，避免单条SQL参数过多
+     */
+    private int insertBatchSize = 500;
 }
@@ -0,0 +1,68 @@
+package org.dromara.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 网页爬取配置属性
+ * 绑定 application.yml 中的 km.crawler 配置项，控制网页链接数据集的抓取并发与礼貌策略
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "km.crawler")
+public class KmCrawlerProperties {
+
+    /**
+     * 请求 User-Agent
+     */
+    private String userAgent = "Mozilla/5.0 (compatible; KMatrixBot/1.0)";
+
+    /**
+     * 单个站点最大并发请求数
+     */
+    private int maxConnectionsPerHost = 4;
+
+    /**
+     * 同一站点两次请求的最小间隔（毫秒）
+     */
+    private long requestDelayMs = 200;
+
+    /**
+     * 连接超时（毫秒）
+     */
+    private int connectTimeoutMs = 5000;
+
+    /**
+     * 读取超时（毫秒）
+     */
+    private int readTimeoutMs = 15000;
+
+    /**
+     * 单个页面最大读取字节数，超出部分丢弃
+     */
+    private int maxBodyBytes = 10 * 1024 * 1024;
+
+    /**
+     * 链接发现线程数（所有站点共享，单站点仍受 maxConnectionsPerHost 限制）
+     */
+    private int crawlThreads = 16;
+
+    /**
+     * 链接跟随最大深度上限
+     */
+    private int maxDepth = 3;
+
+    /**
+     * 单次链接跟随最多收录的页面数
+     */
+    private int maxPages = 2000;
+
+    /**
+     * 页面缓存新鲜期（秒），期内直接复用抓取结果，过期后以条件请求重新校验
+     */
+    private int freshSeconds = 600;
+}
@@ -149,7 +149,8 @@ public class KmDocumentController extends BaseController {
     @PostMapping("/batchCreateWebLink")
     public R<List<KmDocumentVo>> batchCreateWebLink(
             @Validated @RequestBody org.dromara.ai.domain.bo.BatchWebLinkBo bo) {
-        return R.ok(documentService.batchCreateWebLinkDocument(bo.getDatasetId(), bo.getUrls()));
+        return R.ok(documentService.batchCreateWebLinkDocument(bo.getDatasetId(), bo.getUrls(),
+                bo.getMaxDepth(), bo.getMaxPages()));
     }
 
     /**
@@ -283,6 +284,15 @@ public class KmDocumentController extends BaseController {
         return R.ok(documentService.previewChunks(bo));
     }
 
+    /**
+     * 分页预览分块 (分块预览流程第二步 - 分页版本)
+     */
+    @SaCheckPermission("ai:document:query")
+    @PostMapping("/previewChunks/page")
+    public TableDataInfo<ChunkPreviewVo> pagePreviewChunks(@RequestBody ChunkPreviewBo bo, PageQuery pageQuery) {
+        return documentService.pagePreviewChunks(bo, pageQuery);
+    }
+
     /**
      * 批量预览分块 (分块预览流程第二步 - 批量版本)
      */
@@ -0,0 +1,84 @@
+package org.dromara.ai.domain;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 应用用量汇总对象 km_app_usage_stat
+ * 按小时/天两个粒度预聚合对话用量，统计接口只读取本表
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Data
+@TableName("km_app_usage_stat")
+public class KmAppUsageStat implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 汇总粒度: 小时
+     */
+    public static final String LEVEL_HOUR = "H";
+
+    /**
+     * 汇总粒度: 天
+     */
+    public static final String LEVEL_DAY = "D";
+
+    /**
+     * ID
+     */
+    @TableId
+    private Long id;
+
+    /**
+     * 应用ID
+     */
+    private Long appId;
+
+    /**
+     * 汇总粒度 (H=小时, D=天)
+     */
+    private String statLevel;
+
+    /**
+     * 统计时间桶起点 (整点或零点)
+     */
+    private Date statTime;
+
+    /**
+     * 新增会话数
+     */
+    private Long sessionCount;
+
+    /**
+     * 提问次数 (用户消息数)
+     */
+    private Long messageCount;
+
+    /**
+     * Tokens 总数
+     */
+    private Long tokenCount;
+
+    /**
+     * 响应耗时累计 (毫秒)
+     */
+    private Long latencyTotalMs;
+
+    /**
+     * 响应耗时样本数
+     */
+    private Long latencyCount;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+
+}
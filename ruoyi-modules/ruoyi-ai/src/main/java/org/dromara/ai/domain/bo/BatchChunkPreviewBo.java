@@ -45,4 +45,9 @@ public class BatchChunkPreviewBo implements Serializable {
      * 重叠大小 (可选)
      */
     private Integer overlap;
+
+    /**
+     * 每个文件最多返回的分块数 (可选，为空返回全部；完整结果可通过分页预览获取)
+     */
+    private Integer maxChunksPerFile;
 }
@@ -25,4 +25,14 @@ public class BatchWebLinkBo {
      */
     @NotEmpty(message = "{ai.val.url.list_required}")
     private List<String> urls;
+
+    /**
+     * 链接跟随深度 (可选，为空或0时只抓取给定链接，大于0时收录同站点链接)
+     */
+    private Integer maxDepth;
+
+    /**
+     * 链接跟随最多收录页面数 (可选，受 km.crawler.max-pages 限制)
+     */
+    private Integer maxPages;
 }
@@ -35,6 +35,11 @@ public class KmAppStatisticsVo implements Serializable {
      */
     private Long tokensTotal;
 
+    /**
+     * 平均响应耗时 (毫秒)
+     */
+    private Long avgLatencyMs;
+
     /**
      * 用户满意度 (点赞/点踩)
      */
@@ -0,0 +1,38 @@
+package org.dromara.ai.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.dromara.ai.domain.KmAppUsageStat;
+
+import java.util.List;
+
+/**
+ * 应用用量汇总Mapper接口
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public interface KmAppUsageStatMapper extends BaseMapper<KmAppUsageStat> {
+
+    /**
+     * 批量累加用量 (同一批次内 app_id + stat_level + stat_time 必须唯一)
+     */
+    @Insert("<script>" +
+            "INSERT INTO km_app_usage_stat (id, app_id, stat_level, stat_time, session_count, message_count, " +
+            "token_count, latency_total_ms, latency_count, update_time) VALUES " +
+            "<foreach collection='stats' item='s' separator=','>" +
+            "(#{s.id}, #{s.appId}, #{s.statLevel}, #{s.statTime}, #{s.sessionCount}, #{s.messageCount}, " +
+            "#{s.tokenCount}, #{s.latencyTotalMs}, #{s.latencyCount}, #{s.updateTime})" +
+            "</foreach> " +
+            "ON CONFLICT (app_id, stat_level, stat_time) DO UPDATE SET " +
+            "session_count = km_app_usage_stat.session_count + EXCLUDED.session_count, " +
+            "message_count = km_app_usage_stat.message_count + EXCLUDED.message_count, " +
+            "token_count = km_app_usage_stat.token_count + EXCLUDED.token_count, " +
+            "latency_total_ms = km_app_usage_stat.latency_total_ms + EXCLUDED.latency_total_ms, " +
+            "latency_count = km_app_usage_stat.latency_count + EXCLUDED.latency_count, " +
+            "update_time = EXCLUDED.update_time" +
+            "</script>")
+    int upsertBatch(@Param("stats") List<KmAppUsageStat> stats);
+
+}
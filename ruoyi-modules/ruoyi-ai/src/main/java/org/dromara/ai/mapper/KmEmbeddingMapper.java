@@ -47,6 +47,17 @@ public interface KmEmbeddingMapper extends BaseMapper<KmEmbedding> {
         @Delete("DELETE FROM km_embedding WHERE source_id = #{sourceId} AND source_type = #{sourceType}")
         int deleteBySource(@Param("sourceId") Long sourceId, @Param("sourceType") Integer sourceType);
 
+        /**
+         * 根据源ID列表和源类型批量删除向量
+         */
+        @Delete("<script>" +
+                        "DELETE FROM km_embedding WHERE source_type = #{sourceType} AND source_id IN " +
+                        "<foreach collection='sourceIds' item='id' open='(' separator=',' close=')'>" +
+                        "#{id}" +
+                        "</foreach>" +
+                        "</script>")
+        int deleteBySourceIds(@Param("sourceIds") List<Long> sourceIds, @Param("sourceType") Integer sourceType);
+
         /**
          * 根据知识库ID删除所有向量
          */
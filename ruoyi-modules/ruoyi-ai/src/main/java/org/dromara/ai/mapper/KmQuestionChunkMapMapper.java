@@ -3,6 +3,7 @@ package org.dromara.ai.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import java.util.Map;
 import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -36,6 +37,41 @@ public interface KmQuestionChunkMapMapper extends BaseMapper<KmQuestionChunkMap>
     @Delete("DELETE FROM km_question_chunk_map WHERE question_id = #{questionId}")
     int deleteByQuestionId(@Param("questionId") Long questionId);
 
+    /**
+     * 根据问题ID列表批量删除关联
+     */
+    @Delete("<script>" +
+            "DELETE FROM km_question_chunk_map " +
+            "WHERE question_id IN " +
+            "<foreach collection='questionIds' item='id' open='(' separator=',' close=')'>" +
+            "#{id}" +
+            "</foreach>" +
+            "</script>")
+    int deleteByQuestionIds(@Param("questionIds") List<Long> questionIds);
+
+    /**
+     * 批量插入关联 (多值INSERT，调用方负责控制单批行数)
+     */
+    @Insert("<script>" +
+            "INSERT INTO km_question_chunk_map (id, question_id, chunk_id) VALUES " +
+            "<foreach collection='maps' item='m' separator=','>" +
+            "(#{m.id}, #{m.questionId}, #{m.chunkId})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("maps") List<KmQuestionChunkMap> maps);
+
+    /**
+     * 根据问题ID及分块ID列表查询已存在关联的分块ID
+     */
+    @Select("<script>" +
+            "SELECT chunk_id FROM km_question_chunk_map " +
+            "WHERE question_id = #{questionId} AND chunk_id IN " +
+            "<foreach collection='chunkIds' item='id' open='(' separator=',' close=')'>" +
+            "#{id}" +
+            "</foreach>" +
+            "</script>")
+    List<Long> selectLinkedChunkIds(@Param("questionId") Long questionId, @Param("chunkIds") List<Long> chunkIds);
+
     /**
      * 根据分块ID删除关联
      */
@@ -79,7 +79,7 @@ public interface IKmAppService {
      * 获取应用统计数据
      *
      * @param appId  应用ID
-     * @param period 统计周期 (7d, 30d, 90d)
+     * @param period 统计周期 (24h, 7d, 30d, 90d)
      * @return 统计数据
      */
     KmAppStatisticsVo getAppStatistics(Long appId, String period);
@@ -0,0 +1,37 @@
+package org.dromara.ai.service;
+
+import org.dromara.ai.domain.vo.KmAppStatisticsVo;
+
+/**
+ * 应用用量统计服务接口
+ * 对话轮次先在内存中按 (应用, 小时) 累加，再定时刷入小时/天汇总表
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public interface IKmAppStatService {
+
+    /**
+     * 记录一轮对话用量 (仅写内存缓冲，不访问数据库)
+     *
+     * @param appId      应用ID
+     * @param newSession 是否为新建会话
+     * @param tokens     本轮消耗的 token 数
+     * @param latencyMs  本轮响应耗时(毫秒)
+     */
+    void recordChatTurn(Long appId, boolean newSession, long tokens, long latencyMs);
+
+    /**
+     * 将内存缓冲中的用量刷入汇总表
+     */
+    void flush();
+
+    /**
+     * 基于汇总表获取应用统计数据
+     *
+     * @param appId  应用ID
+     * @param period 统计周期 (24h, 7d, 30d, 90d, 其他为全部)
+     * @return 统计数据
+     */
+    KmAppStatisticsVo getStatistics(Long appId, String period);
+}
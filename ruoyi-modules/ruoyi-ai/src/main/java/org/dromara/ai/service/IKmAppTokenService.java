@@ -52,6 +52,13 @@ public interface IKmAppTokenService {
      */
     Long validateToken(String token, String origin);
 
+    /**
+     * 失效应用下所有Token的校验缓存（应用状态或公开访问开关变更时调用）
+     *
+     * @param appId 应用ID
+     */
+    void evictAppCache(Long appId);
+
     /**
      * 刷新Token（重新生成token值）
      *
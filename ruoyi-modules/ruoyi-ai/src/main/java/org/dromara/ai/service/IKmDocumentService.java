@@ -118,6 +118,18 @@ public interface IKmDocumentService {
          */
         List<KmDocumentVo> batchCreateWebLinkDocument(Long datasetId, List<String> urls);
 
+        /**
+         * 批量创建网页链接文档，并可选收录同站点链接
+         *
+         * @param datasetId 数据集ID
+         * @param urls      网页URL列表
+         * @param maxDepth  链接跟随深度 (为空或0时不跟随)
+         * @param maxPages  最多收录页面数 (可选)
+         * @return 文档信息列表 (仅包含给定链接，跟随发现的链接在后台创建)
+         */
+        List<KmDocumentVo> batchCreateWebLinkDocument(Long datasetId, List<String> urls, Integer maxDepth,
+                        Integer maxPages);
+
         /**
          * 分页查询文档列表
          *
@@ -219,6 +231,15 @@ public interface IKmDocumentService {
          */
         List<ChunkPreviewVo> previewChunks(ChunkPreviewBo bo);
 
+        /**
+         * 分页分块预览 (大文件分块较多时按页返回)
+         *
+         * @param bo        分块预览请求
+         * @param pageQuery 分页参数
+         * @return 分块预览分页结果
+         */
+        TableDataInfo<ChunkPreviewVo> pagePreviewChunks(ChunkPreviewBo bo, PageQuery pageQuery);
+
         /**
          * 批量分块预览 (分块预览流程第二步 - 批量版本)
          *
@@ -37,6 +37,16 @@ public interface IKmEtlService {
      */
     void processDocumentAsync(Long documentId, List<ChunkResult> chunks);
 
+    /**
+     * 从网页链接文档出发收录同站点链接 (异步)
+     * 新发现的链接创建为文档后，与种子文档一起进入 ETL 处理
+     *
+     * @param seedDocumentIds 种子网页链接文档ID
+     * @param maxDepth        链接跟随深度
+     * @param maxPages        最多收录页面数
+     */
+    void crawlWebLinksAsync(List<Long> seedDocumentIds, int maxDepth, int maxPages);
+
     /**
      * 解析文档内容
      *
@@ -0,0 +1,132 @@
+package org.dromara.ai.service.etl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.DocumentParser;
+import dev.langchain4j.data.document.parser.apache.tika.ApacheTikaDocumentParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 文件解析文本缓存
+ * <p>
+ * 分块预览时用户会反复调整分块大小、分隔符，解析结果只与文件本身有关，
+ * 按 (路径, 修改时间, 大小) 缓存 Tika 解析出的文本，避免每次预览都重新解析。
+ * 小文本常驻内存（按字符数限制总量），大文本落盘为同目录下的 {@value #SPILL_SUFFIX} 文件，
+ * 缓存中只保留文件引用，临时文件清理时一并删除。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+@Component
+public class DocumentTextCache {
+
+    /**
+     * 落盘文件后缀
+     */
+    public static final String SPILL_SUFFIX = ".parsed.txt";
+
+    /**
+     * 超过该字符数的文本落盘保存
+     */
+    private static final int SPILL_THRESHOLD_CHARS = 2 * 1024 * 1024;
+
+    /**
+     * 内存中缓存文本的总字符数上限
+     */
+    private static final long MAX_CACHED_CHARS = 64L * 1024 * 1024;
+
+    private final DocumentParser documentParser = new ApacheTikaDocumentParser();
+
+    private final Cache<String, ParsedText> cache = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_CHARS)
+            .weigher((String key, ParsedText value) -> value.weight())
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    /**
+     * 获取文件解析后的文本 (命中缓存时不再解析)
+     *
+     * @param filePath 文件路径
+     * @return 文本内容
+     */
+    public String getText(String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            throw new RuntimeException("文件不存在: " + filePath);
+        }
+        String key = file.getAbsolutePath() + "|" + file.lastModified() + "|" + file.length();
+        return cache.get(key, k -> load(file)).text();
+    }
+
+    /**
+     * 删除文件对应的落盘文本 (临时文件清理时调用)
+     */
+    public static void deleteSpill(String filePath) {
+        try {
+            Files.deleteIfExists(Path.of(filePath + SPILL_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Failed to delete parsed text spill: {}", filePath, e);
+        }
+    }
+
+    private ParsedText load(File file) {
+        // 进程重启后，仍可复用上次落盘且未过期的解析结果
+        Path spill = Path.of(file.getAbsolutePath() + SPILL_SUFFIX);
+        if (Files.exists(spill) && spill.toFile().lastModified() >= file.lastModified()) {
+            return new ParsedText(null, spill);
+        }
+
+        String text;
+        try (InputStream is = new FileInputStream(file)) {
+            Document doc = documentParser.parse(is);
+            text = doc.text();
+        } catch (Exception e) {
+            log.error("Failed to parse file: {}", file.getPath(), e);
+            throw new RuntimeException("文件解析失败: " + e.getMessage());
+        }
+
+        if (text != null && text.length() > SPILL_THRESHOLD_CHARS) {
+            try {
+                Files.writeString(spill, text, StandardCharsets.UTF_8);
+                log.info("Parsed text spilled to disk: {}, chars={}", spill, text.length());
+                return new ParsedText(null, spill);
+            } catch (IOException e) {
+                log.warn("Failed to spill parsed text, keep in memory: {}", spill, e);
+            }
+        }
+        return new ParsedText(text, null);
+    }
+
+    /**
+     * 解析结果 (内存文本与落盘文件二选一)
+     */
+    private record ParsedText(String content, Path spillFile) {
+
+        String text() {
+            if (spillFile == null) {
+                return content;
+            }
+            try {
+                return Files.readString(spillFile, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("读取解析缓存失败: " + e.getMessage());
+            }
+        }
+
+        int weight() {
+            return content != null ? Math.max(content.length(), 1) : 1;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package org.dromara.ai.service.etl;
+
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.CharsetUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.config.KmCrawlerProperties;
+import org.dromara.common.core.utils.StringUtils;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
+
+/**
+ * 网页爬取器
+ * <p>
+ * 所有网页链接文档共用一个 HttpClient 连接池；按站点限制并发数与请求间隔，
+ * 多个异步 ETL 任务同时抓取同一站点时也不会压垮源站。
+ * 抓取结果按 URL 缓存，新鲜期内直接复用，过期后携带 ETag / Last-Modified 发起条件请求，
+ * 源站返回 304 时沿用缓存内容。HTML 由 Jsoup 直接从响应流解析，超过上限的部分不再读取。
+ * <p>
+ * 仅依赖 {@link KmCrawlerProperties}，可直接 new 出来对接本地桩服务器使用。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+@Component
+public class WebCrawler {
+
+    /**
+     * 页面缓存中正文总字符数上限
+     */
+    private static final long MAX_CACHED_CHARS = 32L * 1024 * 1024;
+
+    /**
+     * 链接跟随时跳过的非网页资源
+     */
+    private static final Pattern BINARY_RESOURCE = Pattern.compile(
+            ".*\\.(pdf|zip|rar|7z|gz|tar|exe|dmg|apk|jpg|jpeg|png|gif|webp|svg|ico|bmp|mp3|mp4|avi|mov|css|js|woff2?|ttf)$",
+            Pattern.CASE_INSENSITIVE);
+
+    private final KmCrawlerProperties properties;
+    private final HttpClient httpClient;
+    private final ExecutorService crawlExecutor;
+    private final Map<String, HostGate> hostGates = new ConcurrentHashMap<>();
+    private final Cache<String, WebPage> pageCache = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_CHARS)
+            .weigher((String url, WebPage page) -> Math.max(page.content().length(), 1))
+            .expireAfterWrite(Duration.ofHours(6))
+            .build();
+
+    public WebCrawler(KmCrawlerProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.crawlExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getCrawlThreads()),
+                ThreadUtil.newNamedThreadFactory("web-crawler-", true));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        crawlExecutor.shutdownNow();
+    }
+
+    /**
+     * 抓取单个网页
+     *
+     * @param url 网页链接
+     * @return 网页内容
+     */
+    public WebPage fetch(String url) {
+        String key = normalizeUrl(url);
+        if (key == null) {
+            throw new RuntimeException("无效的网页链接: " + url);
+        }
+        URI uri = toUri(key);
+
+        WebPage cached = pageCache.getIfPresent(key);
+        if (cached != null && System.currentTimeMillis() - cached.fetchedAt() < properties.getFreshSeconds() * 1000L) {
+            return cached;
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(properties.getReadTimeoutMs()))
+                .header("User-Agent", properties.getUserAgent())
+                .header("Accept", "text/html,application/xhtml+xml,text/plain;q=0.9,*/*;q=0.5")
+                .GET();
+        if (cached != null) {
+            if (cached.etag() != null) {
+                builder.header("If-None-Match", cached.etag());
+            }
+            if (cached.lastModified() != null) {
+                builder.header("If-Modified-Since", cached.lastModified());
+            }
+        }
+
+        HostGate gate = hostGates.computeIfAbsent(uri.getHost().toLowerCase(Locale.ROOT),
+                host -> new HostGate(properties.getMaxConnectionsPerHost(), properties.getRequestDelayMs()));
+        try {
+            gate.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("网页爬取被中断: " + url);
+        }
+        try {
+            log.info("Crawling web page: {}", url);
+            HttpResponse<InputStream> response = httpClient.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (status == 304 && cached != null) {
+                    log.debug("Web page not modified: {}", url);
+                    WebPage page = cached.revalidated(System.currentTimeMillis());
+                    pageCache.put(key, page);
+                    return page;
+                }
+                if (status < 200 || status >= 300) {
+                    throw new RuntimeException("网页爬取失败: HTTP " + status);
+                }
+                WebPage page = parse(url, response, new LimitedInputStream(body, properties.getMaxBodyBytes()));
+                pageCache.put(key, page);
+                return page;
+            }
+        } catch (IOException e) {
+            log.error("Failed to crawl web page: {}", url, e);
+            throw new RuntimeException("网页爬取失败: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("网页爬取被中断: " + url);
+        } finally {
+            gate.release();
+        }
+    }
+
+    /**
+     * 从种子链接出发按层抓取，收集同站点链接
+     * <p>
+     * 深度 0 只返回种子本身；每层页面并发抓取（仍受单站点并发与间隔限制），
+     * 抓取结果进入缓存，后续 ETL 处理同一链接时直接复用。
+     *
+     * @param seedUrls 种子链接
+     * @param maxDepth 最大深度（不超过 km.crawler.max-depth）
+     * @param maxPages 最多收录页面数（不超过 km.crawler.max-pages）
+     * @return 去重后的链接列表（含种子，按发现顺序）
+     */
+    public List<String> discover(Collection<String> seedUrls, int maxDepth, int maxPages) {
+        int depthLimit = Math.max(0, Math.min(maxDepth, properties.getMaxDepth()));
+        int pageLimit = Math.max(1, Math.min(maxPages, properties.getMaxPages()));
+
+        Set<String> visited = new LinkedHashSet<>();
+        Set<String> sites = new HashSet<>();
+        List<String> frontier = new ArrayList<>();
+        for (String seed : seedUrls) {
+            String url = normalizeUrl(seed);
+            if (url != null && visited.size() < pageLimit && visited.add(url)) {
+                frontier.add(url);
+                sites.add(toUri(url).getHost().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        for (int depth = 0; depth < depthLimit && !frontier.isEmpty() && visited.size() < pageLimit; depth++) {
+            List<CompletableFuture<WebPage>> futures = new ArrayList<>(frontier.size());
+            for (String url : frontier) {
+                futures.add(CompletableFuture.supplyAsync(() -> fetch(url), crawlExecutor)
+                        .exceptionally(e -> {
+                            log.warn("Skip link while discovering: {}, {}", url, e.getMessage());
+                            return null;
+                        }));
+            }
+
+            List<String> next = new ArrayList<>();
+            for (CompletableFuture<WebPage> future : futures) {
+                WebPage page = future.join();
+                if (page == null) {
+                    continue;
+                }
+                for (String link : page.links()) {
+                    if (visited.size() >= pageLimit) {
+                        break;
+                    }
+                    String url = normalizeUrl(link);
+                    if (url == null || BINARY_RESOURCE.matcher(toUri(url).getPath()).matches()) {
+                        continue;
+                    }
+                    if (sites.contains(toUri(url).getHost().toLowerCase(Locale.ROOT)) && visited.add(url)) {
+                        next.add(url);
+                    }
+                }
+            }
+            log.info("Discovered {} links at depth {}, total {}", next.size(), depth + 1, visited.size());
+            frontier = next;
+        }
+        return new ArrayList<>(visited);
+    }
+
+    /**
+     * 规范化链接：仅保留 http/https，去除锚点
+     *
+     * @return 规范化后的链接，无效时返回 null
+     */
+    public static String normalizeUrl(String url) {
+        if (StringUtils.isBlank(url)) {
+            return null;
+        }
+        String value = url.trim();
+        int hash = value.indexOf('#');
+        if (hash >= 0) {
+            value = value.substring(0, hash);
+        }
+        URI uri = toUri(value);
+        return uri != null ? uri.normalize().toString() : null;
+    }
+
+    private static URI toUri(String url) {
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme) || uri.getHost() == null) {
+                return null;
+            }
+            return uri;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private WebPage parse(String url, HttpResponse<InputStream> response, InputStream body) throws IOException {
+        String contentType = response.headers().firstValue("Content-Type").orElse("text/html");
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        String charset = extractCharset(contentType);
+        long now = System.currentTimeMillis();
+
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/plain")) {
+            String text = new String(body.readAllBytes(), CharsetUtil.parse(charset, StandardCharsets.UTF_8));
+            return new WebPage(url, url, text, List.of(), etag, lastModified, now);
+        }
+        if (!type.contains("html") && !type.contains("xml")) {
+            throw new RuntimeException("不支持的网页内容类型: " + contentType);
+        }
+
+        // Jsoup 边读边解析，未声明编码时由页面 meta 探测
+        org.jsoup.nodes.Document doc = Jsoup.parse(body, charset, response.uri().toString());
+
+        String title = doc.title();
+        if (title == null || title.isBlank()) {
+            title = url;
+        }
+        List<String> links = doc.select("a[href]").stream()
+                .map(a -> a.absUrl("href"))
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .toList();
+
+        // 提取正文内容 (移除 script, style 等标签)
+        doc.select("script, style, nav, footer, header").remove();
+        Element docBody = doc.body();
+        String content = docBody != null ? docBody.text() : "";
+
+        return new WebPage(url, title, content, links, etag, lastModified, now);
+    }
+
+    private static String extractCharset(String contentType) {
+        for (String part : contentType.split(";")) {
+            String value = part.trim();
+            if (value.regionMatches(true, 0, "charset=", 0, 8)) {
+                return StringUtils.strip(value.substring(8).trim(), "\"'");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 网页内容
+     *
+     * @param url          请求链接
+     * @param title        标题
+     * @param content      正文文本
+     * @param links        页面内的绝对链接
+     * @param etag         ETag 响应头
+     * @param lastModified Last-Modified 响应头
+     * @param fetchedAt    最近一次抓取/校验时间
+     */
+    public record WebPage(String url, String title, String content, List<String> links,
+                          String etag, String lastModified, long fetchedAt) {
+
+        WebPage revalidated(long time) {
+            return new WebPage(url, title, content, links, etag, lastModified, time);
+        }
+    }
+
+    /**
+     * 站点闸门：限制并发数，并保证相邻请求的最小间隔
+     */
+    private static class HostGate {
+
+        private final Semaphore permits;
+        private final long delayMs;
+        private long nextSlot;
+
+        HostGate(int maxConnections, long delayMs) {
+            this.permits = new Semaphore(Math.max(1, maxConnections), true);
+            this.delayMs = Math.max(0, delayMs);
+        }
+
+        void acquire() throws InterruptedException {
+            permits.acquire();
+            long wait;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                long slot = Math.max(now, nextSlot);
+                nextSlot = slot + delayMs;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+    }
+
+    /**
+     * 限制读取字节数的输入流，超出上限后视为读到末尾
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+    }
+}
@@ -11,11 +11,8 @@ import org.dromara.ai.domain.KmDocument;
 import org.dromara.ai.domain.KmDocumentChunk;
 import org.dromara.ai.domain.bo.ChunkResult;
 import org.dromara.ai.service.IKmChunkingConfigService;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +34,7 @@ public class WebLinkEtlHandler implements EtlHandler {
 
     private final ChildChunkSplitter childChunkSplitter;
     private final IKmChunkingConfigService chunkingConfigService;
+    private final WebCrawler webCrawler;
 
     @Override
     public String getProcessType() {
@@ -54,9 +52,9 @@ public class WebLinkEtlHandler implements EtlHandler {
         }
 
         // 2. 爬取网页内容
-        WebPageContent webContent = crawlWebPage(url);
-        String content = webContent.content;
-        String title = webContent.title;
+        WebCrawler.WebPage webPage = webCrawler.fetch(url);
+        String content = webPage.content();
+        String title = webPage.title();
 
         if (content == null || content.isBlank()) {
             throw new RuntimeException("网页内容为空");
@@ -114,50 +112,6 @@ public class WebLinkEtlHandler implements EtlHandler {
         return results;
     }
 
-    /**
-     * 网页内容
-     */
-    private static class WebPageContent {
-        String title;
-        String content;
-
-        WebPageContent(String title, String content) {
-            this.title = title;
-            this.content = content;
-        }
-    }
-
-    /**
-     * 爬取网页内容
-     */
-    private WebPageContent crawlWebPage(String url) {
-        try {
-            log.info("Crawling web page: {}", url);
-
-            // 使用 Jsoup 爬取网页
-            org.jsoup.nodes.Document doc = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .timeout(10000)
-                    .get();
-
-            // 提取 title
-            String title = doc.title();
-            if (title == null || title.isBlank()) {
-                title = url;
-            }
-
-            // 提取正文内容 (移除 script, style 等标签)
-            doc.select("script, style, nav, footer, header").remove();
-            Element body = doc.body();
-            String content = body != null ? body.text() : "";
-
-            return new WebPageContent(title, content);
-        } catch (IOException e) {
-            log.error("Failed to crawl web page: {}", url, e);
-            throw new RuntimeException("网页爬取失败: " + e.getMessage());
-        }
-    }
-
     private List<String> splitText(String text, int chunkSize, int overlap) {
         var splitter = DocumentSplitters.recursive(chunkSize, overlap);
         Document doc = Document.from(text);
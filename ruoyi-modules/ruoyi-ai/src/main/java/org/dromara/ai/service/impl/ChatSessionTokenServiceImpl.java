@@ -5,6 +5,7 @@ import cn.hutool.jwt.JWTUtil;
 import cn.hutool.jwt.JWTValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.auth.AppTokenValidationCache;
 import org.dromara.ai.domain.vo.ChatSessionTokenInfo;
 import org.dromara.ai.enums.ChatUserType;
 import org.dromara.ai.service.IChatSessionTokenService;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
+import java.util.Optional;
 
 /**
  * 对话 Session Token 服务实现
@@ -27,6 +29,7 @@ import java.util.Date;
 public class ChatSessionTokenServiceImpl implements IChatSessionTokenService {
 
     private final IKmAppTokenService appTokenService;
+    private final AppTokenValidationCache validationCache;
 
     /**
      * JWT 密钥，复用 Sa-Token 配置
@@ -63,6 +66,23 @@ public class ChatSessionTokenServiceImpl implements IChatSessionTokenService {
 
     @Override
     public ChatSessionTokenInfo parseToken(String sessionToken) {
+        if (sessionToken == null) {
+            return null;
+        }
+        // 解析结果只取决于 Token 本身，缓存后仅需复核过期时间
+        ChatSessionTokenInfo info = validationCache.getSession(sessionToken,
+                token -> Optional.ofNullable(doParseToken(token))).orElse(null);
+        if (info != null && info.getExpireTime() != null && info.getExpireTime() < System.currentTimeMillis()) {
+            log.warn("Session Token 已过期");
+            return null;
+        }
+        return info;
+    }
+
+    /**
+     * 解析并校验 JWT（签名、过期时间）
+     */
+    private ChatSessionTokenInfo doParseToken(String sessionToken) {
         try {
             JWT jwt = JWTUtil.parseToken(sessionToken);
 
@@ -3,7 +3,6 @@ package org.dromara.ai.service.impl;
 import org.dromara.common.core.utils.MessageUtils;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -17,6 +16,7 @@ import org.dromara.ai.domain.vo.KmAppVo;
 import org.dromara.ai.domain.vo.config.AppSnapshot;
 import org.dromara.ai.mapper.*;
 import org.dromara.ai.service.IKmAppService;
+import org.dromara.ai.service.IKmAppStatService;
 import org.dromara.ai.workflow.core.WorkflowConfig;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.StringUtils;
@@ -29,7 +29,6 @@ import org.dromara.ai.service.IKmAppTokenService;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -47,8 +46,7 @@ public class KmAppServiceImpl implements IKmAppService {
     private final KmAppVersionMapper versionMapper;
     private final KmAppKnowledgeMapper appKnowledgeMapper;
     private final IKmAppTokenService appTokenService;
-    private final KmChatSessionMapper chatSessionMapper;
-    private final KmChatMessageMapper chatMessageMapper;
+    private final IKmAppStatService appStatService;
 
     /**
      * 查询AI应用
@@ -149,6 +147,7 @@ public class KmAppServiceImpl implements IKmAppService {
         boolean flag = baseMapper.updateById(update) > 0;
         if (flag) {
             saveKnowledgeMapping(update.getAppId(), bo.getKnowledgeIds());
+            appTokenService.evictAppCache(update.getAppId());
         }
         return flag;
     }
@@ -197,7 +196,9 @@ public class KmAppServiceImpl implements IKmAppService {
         appKnowledgeMapper.delete(new LambdaQueryWrapper<KmAppKnowledge>().in(KmAppKnowledge::getAppId, ids));
         versionMapper.delete(new LambdaQueryWrapper<KmAppVersion>().in(KmAppVersion::getAppId, ids));
 
-        return baseMapper.deleteByIds(ids) > 0;
+        boolean flag = baseMapper.deleteByIds(ids) > 0;
+        ids.forEach(appTokenService::evictAppCache);
+        return flag;
     }
 
     /**
@@ -298,7 +299,9 @@ public class KmAppServiceImpl implements IKmAppService {
         KmApp app = new KmApp();
         app.setAppId(appId);
         app.setPublicAccess(publicAccess);
-        return baseMapper.updateById(app) > 0;
+        boolean flag = baseMapper.updateById(app) > 0;
+        appTokenService.evictAppCache(appId);
+        return flag;
     }
 
     /**
@@ -306,67 +309,8 @@ public class KmAppServiceImpl implements IKmAppService {
      */
     @Override
     public KmAppStatisticsVo getAppStatistics(Long appId, String period) {
-        if (appId == null) {
-            return new KmAppStatisticsVo();
-        }
-
-        // 计算时间范围
-        Date startTime = calculateStartTime(period);
-
-        // 统计数据
-        KmAppStatisticsVo stats = new KmAppStatisticsVo();
-
-        // 1. 用户总数 (基于会话去重)
-        // SELECT COUNT(DISTINCT user_id) FROM km_chat_session WHERE app_id = ? AND
-        // create_time >= ?
-        // 这里暂时简化为查询会话数，实际应关联用户
-        long userCount = chatSessionMapper.selectCount(
-                new LambdaQueryWrapper<KmChatSession>()
-                        .eq(KmChatSession::getAppId, appId)
-                        .ge(startTime != null, KmChatSession::getCreateTime, startTime));
-        stats.setUserCount(userCount);
-        stats.setUserCountDelta(0L); // 暂不计算环比
-
-        // 2. 提问次数 (消息数)
-        // 由于 KmChatMessage 没有 appId，需要关联 KmChatSession
-        // 简化: 先查出该应用下的所有会话ID, 再查消息数
-        // 注意:这里如果会话很多可能有性能问题, 理想情况应该在 Message 表冗余 appId 或使用 JOIN
-        // 这里暂时使用 EXISTS 子查询 (MyBatis-Plus apply)
-        long questionCount = chatMessageMapper.selectCount(
-                new LambdaQueryWrapper<KmChatMessage>()
-                        .eq(KmChatMessage::getRole, "user") // 只统计用户提问
-                        .apply("session_id IN (SELECT session_id FROM km_chat_session WHERE app_id = {0}" +
-                                (startTime != null ? " AND create_time >= {1}" : "") + ")",
-                                appId, startTime));
-        stats.setQuestionCount(questionCount);
-
-        // 3. Tokens 总数 (需要消息表有 tokens 字段，假设有)
-        // 暂且置为 0，需确认 KmChatMessage 是否有 tokens 字段
-        stats.setTokensTotal(0L);
-
-        // 4. 用户满意度
-        KmAppStatisticsVo.Satisfaction satisfaction = new KmAppStatisticsVo.Satisfaction();
-        satisfaction.setLike(0L);
-        satisfaction.setDislike(0L);
-        stats.setSatisfaction(satisfaction);
-
-        // 5. 模拟趋势数据 (后续对接真实数据)
-        stats.setUserTrend(new HashMap<>());
-        stats.setQuestionTrend(new HashMap<>());
-
-        return stats;
-    }
-
-    private Date calculateStartTime(String period) {
-        Date now = new Date();
-        if ("7d".equals(period)) {
-            return DateUtil.offsetDay(now, -7);
-        } else if ("30d".equals(period)) {
-            return DateUtil.offsetDay(now, -30);
-        } else if ("90d".equals(period)) {
-            return DateUtil.offsetDay(now, -90);
-        }
-        return null; // 全部
+        // 统计数据全部来自预聚合的用量汇总表，不再扫描会话/消息明细
+        return appStatService.getStatistics(appId, period);
     }
 
     /**
@@ -0,0 +1,258 @@
+package org.dromara.ai.service.impl;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.domain.KmAppUsageStat;
+import org.dromara.ai.domain.vo.KmAppStatisticsVo;
+import org.dromara.ai.mapper.KmAppUsageStatMapper;
+import org.dromara.ai.service.IKmAppStatService;
+import org.dromara.ai.util.BatchUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 应用用量统计服务实现
+ * <p>
+ * 写路径: 对话轮次只累加内存计数器；定时任务调用 {@link #flush()} 以
+ * INSERT ... ON CONFLICT 累加方式写入小时、天两级汇总，多节点各自累加互不覆盖。
+ * 读路径: 统计接口只读取汇总表，单应用 90 天最多 90 行。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class KmAppStatServiceImpl implements IKmAppStatService {
+
+    /**
+     * 单条 upsert 语句的最大行数
+     */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final KmAppUsageStatMapper usageStatMapper;
+
+    /**
+     * 内存缓冲: (应用ID, 小时桶起点) -> 计数器
+     */
+    private final Map<UsageKey, UsageCounter> buffer = new ConcurrentHashMap<>();
+
+    /**
+     * 上次落库失败的汇总行，下次刷新时合并重试 (仅在 flush 锁内访问)
+     */
+    private final Map<String, KmAppUsageStat> pendingRows = new LinkedHashMap<>();
+
+    @Override
+    public void recordChatTurn(Long appId, boolean newSession, long tokens, long latencyMs) {
+        if (appId == null) {
+            return;
+        }
+        long hourStart = DateUtil.beginOfHour(new Date()).getTime();
+        UsageCounter counter = buffer.computeIfAbsent(new UsageKey(appId, hourStart), k -> new UsageCounter());
+        if (newSession) {
+            counter.sessions.increment();
+        }
+        counter.messages.increment();
+        if (tokens > 0) {
+            counter.tokens.add(tokens);
+        }
+        if (latencyMs >= 0) {
+            counter.latencyTotal.add(latencyMs);
+            counter.latencyCount.increment();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        Date now = new Date();
+        long currentHour = DateUtil.beginOfHour(now).getTime();
+
+        // 1. 取出各计数器增量 (sumThenReset 不丢失并发写入，只会落入本次或下次刷新)
+        Map<String, KmAppUsageStat> rows = new LinkedHashMap<>(pendingRows);
+        pendingRows.clear();
+        for (Map.Entry<UsageKey, UsageCounter> entry : buffer.entrySet()) {
+            UsageKey key = entry.getKey();
+            long[] values = entry.getValue().drain();
+            if (isEmpty(values)) {
+                // 已过去的小时桶不会再有写入，清理掉
+                if (key.hourStart() < currentHour) {
+                    buffer.remove(key, entry.getValue());
+                }
+                continue;
+            }
+            mergeRow(rows, key.appId(), KmAppUsageStat.LEVEL_HOUR, new Date(key.hourStart()), values, now);
+            mergeRow(rows, key.appId(), KmAppUsageStat.LEVEL_DAY, DateUtil.beginOfDay(new Date(key.hourStart())),
+                    values, now);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // 2. 分批累加写入，失败的批次留待下次重试
+        List<KmAppUsageStat> rowList = new ArrayList<>(rows.values());
+        BatchUtils.consumeInBatches(rowList, FLUSH_BATCH_SIZE, batch -> {
+            try {
+                usageStatMapper.upsertBatch(batch);
+            } catch (Exception e) {
+                log.error("应用用量汇总落库失败，{} 行将在下次刷新时重试", batch.size(), e);
+                batch.forEach(row -> pendingRows.put(rowKey(row.getAppId(), row.getStatLevel(), row.getStatTime()), row));
+            }
+        });
+        log.debug("应用用量汇总已刷新: rows={}, pending={}", rowList.size(), pendingRows.size());
+    }
+
+    /**
+     * 停机前刷出内存中的用量
+     */
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    @Override
+    public KmAppStatisticsVo getStatistics(Long appId, String period) {
+        KmAppStatisticsVo stats = new KmAppStatisticsVo();
+        KmAppStatisticsVo.Satisfaction satisfaction = new KmAppStatisticsVo.Satisfaction();
+        satisfaction.setLike(0L);
+        satisfaction.setDislike(0L);
+        stats.setSatisfaction(satisfaction);
+        if (appId == null) {
+            return stats;
+        }
+
+        // 1. 确定汇总粒度与时间窗口 (当前窗口 [startTime, now]，上个窗口 [prevStartTime, startTime))
+        Date now = new Date();
+        String level = KmAppUsageStat.LEVEL_DAY;
+        String pattern = "yyyy-MM-dd";
+        Date startTime = null;
+        Date prevStartTime = null;
+        if ("24h".equals(period)) {
+            level = KmAppUsageStat.LEVEL_HOUR;
+            pattern = "yyyy-MM-dd HH:00";
+            startTime = DateUtil.beginOfHour(DateUtil.offsetHour(now, -23));
+            prevStartTime = DateUtil.offsetHour(startTime, -24);
+        } else {
+            int days = switch (period == null ? "" : period) {
+                case "7d" -> 7;
+                case "30d" -> 30;
+                case "90d" -> 90;
+                default -> 0;
+            };
+            if (days > 0) {
+                startTime = DateUtil.beginOfDay(DateUtil.offsetDay(now, -(days - 1)));
+                prevStartTime = DateUtil.offsetDay(startTime, -days);
+            }
+        }
+
+        // 2. 读取汇总行
+        List<KmAppUsageStat> rows = usageStatMapper.selectList(new LambdaQueryWrapper<KmAppUsageStat>()
+                .eq(KmAppUsageStat::getAppId, appId)
+                .eq(KmAppUsageStat::getStatLevel, level)
+                .ge(prevStartTime != null, KmAppUsageStat::getStatTime, prevStartTime)
+                .orderByAsc(KmAppUsageStat::getStatTime));
+
+        // 3. 汇总当前窗口，并与上个窗口比较
+        long sessions = 0, prevSessions = 0, messages = 0, tokens = 0, latencyTotal = 0, latencyCount = 0;
+        Map<String, Long> userTrend = new LinkedHashMap<>();
+        Map<String, Long> questionTrend = new LinkedHashMap<>();
+        for (KmAppUsageStat row : rows) {
+            if (startTime != null && row.getStatTime().before(startTime)) {
+                prevSessions += nvl(row.getSessionCount());
+                continue;
+            }
+            sessions += nvl(row.getSessionCount());
+            messages += nvl(row.getMessageCount());
+            tokens += nvl(row.getTokenCount());
+            latencyTotal += nvl(row.getLatencyTotalMs());
+            latencyCount += nvl(row.getLatencyCount());
+            String bucket = DateUtil.format(row.getStatTime(), pattern);
+            userTrend.merge(bucket, nvl(row.getSessionCount()), Long::sum);
+            questionTrend.merge(bucket, nvl(row.getMessageCount()), Long::sum);
+        }
+
+        stats.setUserCount(sessions);
+        stats.setUserCountDelta(startTime != null ? sessions - prevSessions : 0L);
+        stats.setQuestionCount(messages);
+        stats.setTokensTotal(tokens);
+        stats.setAvgLatencyMs(latencyCount > 0 ? latencyTotal / latencyCount : 0L);
+        stats.setUserTrend(userTrend);
+        stats.setQuestionTrend(questionTrend);
+        return stats;
+    }
+
+    private void mergeRow(Map<String, KmAppUsageStat> rows, Long appId, String level, Date statTime, long[] values,
+            Date now) {
+        KmAppUsageStat row = rows.computeIfAbsent(rowKey(appId, level, statTime), k -> {
+            KmAppUsageStat stat = new KmAppUsageStat();
+            stat.setId(IdUtil.getSnowflakeNextId());
+            stat.setAppId(appId);
+            stat.setStatLevel(level);
+            stat.setStatTime(statTime);
+            stat.setSessionCount(0L);
+            stat.setMessageCount(0L);
+            stat.setTokenCount(0L);
+            stat.setLatencyTotalMs(0L);
+            stat.setLatencyCount(0L);
+            return stat;
+        });
+        row.setSessionCount(row.getSessionCount() + values[0]);
+        row.setMessageCount(row.getMessageCount() + values[1]);
+        row.setTokenCount(row.getTokenCount() + values[2]);
+        row.setLatencyTotalMs(row.getLatencyTotalMs() + values[3]);
+        row.setLatencyCount(row.getLatencyCount() + values[4]);
+        row.setUpdateTime(now);
+    }
+
+    private static String rowKey(Long appId, String level, Date statTime) {
+        return appId + ":" + level + ":" + statTime.getTime();
+    }
+
+    private static boolean isEmpty(long[] values) {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long nvl(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * 缓冲键: 应用 + 小时桶
+     */
+    private record UsageKey(Long appId, long hourStart) {
+    }
+
+    /**
+     * 单个小时桶的累加计数器
+     */
+    private static class UsageCounter {
+        private final LongAdder sessions = new LongAdder();
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder tokens = new LongAdder();
+        private final LongAdder latencyTotal = new LongAdder();
+        private final LongAdder latencyCount = new LongAdder();
+
+        /**
+         * 取出并清零: [会话, 消息, token, 耗时累计, 耗时样本]
+         */
+        long[] drain() {
+            return new long[] { sessions.sumThenReset(), messages.sumThenReset(), tokens.sumThenReset(),
+                    latencyTotal.sumThenReset(), latencyCount.sumThenReset() };
+        }
+    }
+}
@@ -4,6 +4,8 @@ import cn.hutool.core.util.IdUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.auth.AppTokenValidationCache;
+import org.dromara.ai.auth.AppTokenValidationCache.TokenEntry;
 import org.dromara.ai.domain.KmApp;
 import org.dromara.ai.domain.KmAppToken;
 import org.dromara.ai.domain.bo.KmAppTokenBo;
@@ -15,7 +17,6 @@ import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -31,6 +32,7 @@ public class KmAppTokenServiceImpl implements IKmAppTokenService {
 
     private final KmAppTokenMapper baseMapper;
     private final KmAppMapper appMapper;
+    private final AppTokenValidationCache validationCache;
 
     @Override
     public KmAppTokenVo queryByToken(String token) {
@@ -67,7 +69,9 @@ public class KmAppTokenServiceImpl implements IKmAppTokenService {
     @Override
     public Boolean updateToken(KmAppTokenBo bo) {
         KmAppToken token = MapstructUtils.convert(bo, KmAppToken.class);
-        return baseMapper.updateById(token) > 0;
+        boolean flag = baseMapper.updateById(token) > 0;
+        validationCache.evictToken(token.getTokenId());
+        return flag;
     }
 
     @Override
@@ -75,7 +79,9 @@ public class KmAppTokenServiceImpl implements IKmAppTokenService {
         KmAppToken token = new KmAppToken();
         token.setTokenId(tokenId);
         token.setDelFlag("1");
-        return baseMapper.updateById(token) > 0;
+        boolean flag = baseMapper.updateById(token) > 0;
+        validationCache.evictToken(tokenId);
+        return flag;
     }
 
     @Override
@@ -84,57 +90,65 @@ public class KmAppTokenServiceImpl implements IKmAppTokenService {
             return null;
         }
 
+        // Token 与应用状态走本地缓存，变更时广播失效
+        TokenEntry entry = validationCache.getToken(token, this::loadTokenEntry);
+        if (!entry.valid()) {
+            return null;
+        }
+
+        // 检查过期时间
+        if (entry.isExpired()) {
+            log.warn("App Token已过期: {}", token);
+            return null;
+        }
+
+        // 检查来源域名
+        if (!entry.matchesOrigin(origin)) {
+            if (StringUtils.isBlank(origin)) {
+                log.warn("App Token域名校验失败: 缺少Origin");
+            } else {
+                log.warn("App Token域名校验失败: {} 不在白名单 {}", origin, String.join(",", entry.allowedOrigins()));
+            }
+            return null;
+        }
+
+        return entry.appId();
+    }
+
+    @Override
+    public void evictAppCache(Long appId) {
+        validationCache.evictApp(appId);
+    }
+
+    /**
+     * 加载 Token 校验结果（仅在缓存未命中时访问数据库）
+     */
+    private TokenEntry loadTokenEntry(String token) {
         KmAppTokenVo tokenVo = queryByToken(token);
         if (tokenVo == null) {
             log.warn("App Token不存在: {}", token);
-            return null;
+            return TokenEntry.invalid(null, null);
         }
 
         // 检查状态
         if (!"1".equals(tokenVo.getStatus())) {
             log.warn("App Token已停用: {}", token);
-            return null;
+            return TokenEntry.invalid(tokenVo.getTokenId(), tokenVo.getAppId());
         }
 
         // 检查公开访问开关
         KmApp app = appMapper.selectById(tokenVo.getAppId());
         if (app == null) {
             log.warn("App Token关联的应用不存在: appId={}", tokenVo.getAppId());
-            return null;
+            return TokenEntry.invalid(tokenVo.getTokenId(), tokenVo.getAppId());
         }
         if (!"1".equals(app.getPublicAccess())) {
             log.warn("应用未开启公开访问，App Token认证被拒绝: appId={}", tokenVo.getAppId());
-            return null;
-        }
-
-        // 检查过期时间
-        if (tokenVo.getExpiresAt() != null && tokenVo.getExpiresAt().isBefore(LocalDateTime.now())) {
-            log.warn("App Token已过期: {}", token);
-            return null;
-        }
-
-        // 检查来源域名
-        String allowedOrigins = tokenVo.getAllowedOrigins();
-        if (StringUtils.isNotBlank(allowedOrigins) && !"*".equals(allowedOrigins)) {
-            if (StringUtils.isBlank(origin)) {
-                log.warn("App Token域名校验失败: 缺少Origin");
-                return null;
-            }
-            String[] origins = allowedOrigins.split(",");
-            boolean matched = false;
-            for (String o : origins) {
-                if (origin.contains(o.trim())) {
-                    matched = true;
-                    break;
-                }
-            }
-            if (!matched) {
-                log.warn("App Token域名校验失败: {} 不在白名单 {}", origin, allowedOrigins);
-                return null;
-            }
+            return TokenEntry.invalid(tokenVo.getTokenId(), tokenVo.getAppId());
         }
 
-        return tokenVo.getAppId();
+        return TokenEntry.of(tokenVo.getTokenId(), tokenVo.getAppId(), tokenVo.getExpiresAt(),
+                tokenVo.getAllowedOrigins());
     }
 
     @Override
@@ -147,6 +161,7 @@ public class KmAppTokenServiceImpl implements IKmAppTokenService {
         // 重新生成Token值
         token.setToken(IdUtil.fastSimpleUUID().substring(0, 32));
         baseMapper.updateById(token);
+        validationCache.evictToken(tokenId);
         return baseMapper.selectVoById(tokenId);
     }
 
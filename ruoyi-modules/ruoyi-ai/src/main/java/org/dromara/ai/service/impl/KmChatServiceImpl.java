@@ -35,6 +35,7 @@ import org.dromara.ai.mapper.KmModelMapper;
 import org.dromara.ai.mapper.KmModelProviderMapper;
 import org.dromara.ai.mapper.KmNodeExecutionMapper;
 import org.dromara.ai.service.IKmAppService;
+import org.dromara.ai.service.IKmAppStatService;
 import org.dromara.ai.service.IKmChatService;
 import org.dromara.ai.workflow.WorkflowExecutor;
 import org.dromara.ai.util.ModelBuilder;
@@ -69,6 +70,7 @@ public class KmChatServiceImpl implements IKmChatService {
     private final KmModelMapper modelMapper;
     private final KmModelProviderMapper providerMapper;
     private final IKmAppService appService;
+    private final IKmAppStatService appStatService;
     private final KmNodeExecutionMapper executionMapper;
     private final WorkflowExecutor workflowExecutor;
     private final ModelBuilder modelBuilder;
@@ -132,6 +134,7 @@ public class KmChatServiceImpl implements IKmChatService {
 
         // 异步处理对话
         CompletableFuture.runAsync(() -> {
+            long turnStart = System.currentTimeMillis();
             try {
                 // 1. 调试模式处理
                 if (Boolean.TRUE.equals(bo.getDebug())) {
@@ -185,6 +188,11 @@ public class KmChatServiceImpl implements IKmChatService {
                             saveMessage(sessionId, "assistant", aiResponse, instanceId, effectiveUserId);
                         }
 
+                        // 记录用量（内存累加，定时刷入汇总表）
+                        long totalTokens = result.get("totalTokens") instanceof Number n ? n.longValue() : 0L;
+                        appStatService.recordChatTurn(app.getAppId(), isNewSession, totalTokens,
+                                System.currentTimeMillis() - turnStart);
+
                         // 异步生成标题（仅在首次对话时）
                         if (isNewSession && aiResponse != null) {
                             KmModel model = loadModel(app.getModelId());
@@ -242,6 +250,7 @@ public class KmChatServiceImpl implements IKmChatService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public String chat(KmChatSendBo bo) {
+        long turnStart = System.currentTimeMillis();
         // 1. 加载应用和模型配置
         KmAppVo app = loadApp(bo.getAppId());
         KmModel model = loadModel(app.getModelId());
@@ -280,6 +289,11 @@ public class KmChatServiceImpl implements IKmChatService {
         // 8. 保存AI响应
         saveMessage(sessionId, "assistant", aiResponse, userId);
 
+        // 9. 记录用量（内存累加，定时刷入汇总表）
+        Integer totalTokens = tokenUsage != null ? tokenUsage.totalTokenCount() : null;
+        appStatService.recordChatTurn(bo.getAppId(), bo.getSessionId() == null,
+                totalTokens != null ? totalTokens : 0L, System.currentTimeMillis() - turnStart);
+
         return aiResponse;
     }
 
@@ -4,9 +4,9 @@ import cn.hutool.core.io.FileUtil;
 import cn.hutool.crypto.digest.DigestUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.langchain4j.data.document.Document;
-import dev.langchain4j.data.document.DocumentParser;
-import dev.langchain4j.data.document.parser.apache.tika.ApacheTikaDocumentParser;
 import dev.langchain4j.data.document.splitter.DocumentSplitters;
 import dev.langchain4j.data.segment.TextSegment;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +29,9 @@ import org.dromara.ai.service.IKmEtlService;
 import org.dromara.ai.service.IKmQuestionService;
 import org.dromara.ai.service.IKmTempFileService;
 import org.dromara.ai.service.ILocalFileService;
+import org.dromara.ai.service.etl.DocumentTextCache;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
@@ -39,20 +42,26 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import org.springframework.http.MediaType;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 文档服务实现
@@ -73,6 +82,31 @@ public class KmDocumentServiceImpl implements IKmDocumentService {
     private final IKmEtlService etlService;
     private final IKmQuestionService questionService;
     private final IKmTempFileService tempFileService;
+    private final DocumentTextCache documentTextCache;
+
+    /**
+     * 分页预览默认每页条数
+     */
+    private static final int PREVIEW_PAGE_SIZE = 100;
+
+    /**
+     * 批量预览线程池 (Tika 解析较耗CPU，限制并发数)
+     */
+    private final ExecutorService previewExecutor = createPreviewExecutor();
+
+    /**
+     * 分块结果缓存占用内存上限 (字节)
+     */
+    private static final long MAX_PREVIEW_CHUNK_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * 分块结果短期缓存，分页翻页时复用；按分块文本估算的字节数限制总量
+     */
+    private final Cache<String, List<String>> previewChunkCache = Caffeine.newBuilder()
+            .maximumWeight(MAX_PREVIEW_CHUNK_BYTES)
+            .weigher((String key, List<String> chunks) -> weighChunks(chunks))
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -343,6 +377,13 @@ public class KmDocumentServiceImpl implements IKmDocumentService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public List<KmDocumentVo> batchCreateWebLinkDocument(Long datasetId, List<String> urls) {
+        return batchCreateWebLinkDocument(datasetId, urls, null, null);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<KmDocumentVo> batchCreateWebLinkDocument(Long datasetId, List<String> urls, Integer maxDepth,
+            Integer maxPages) {
         // 0. 获取知识库ID
         KmDataset dataset = datasetMapper.selectById(datasetId);
         if (dataset == null) {
@@ -375,6 +416,12 @@ public class KmDocumentServiceImpl implements IKmDocumentService {
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
+                if (maxDepth != null && maxDepth > 0) {
+                    // 链接跟随: 先发现同站点链接再统一处理，种子页面的抓取结果会被复用
+                    etlService.crawlWebLinksAsync(docIds, maxDepth,
+                            maxPages != null && maxPages > 0 ? maxPages : Integer.MAX_VALUE);
+                    return;
+                }
                 for (Long docId : docIds) {
                     etlService.processDocumentAsync(docId, null);
                 }
@@ -571,46 +618,8 @@ public class KmDocumentServiceImpl implements IKmDocumentService {
     @Override
     public List<ChunkPreviewVo> previewChunks(ChunkPreviewBo bo) {
         try {
-            // 1. 获取临时文件路径
-            String tempPath = tempFileService.getTempFilePath(bo.getTempFileId());
-            if (tempPath == null) {
-                throw new RuntimeException("临时文件不存在");
-            }
-
-            // 2. 解析文件内容
-            String content = parseFileContent(tempPath);
-            if (content == null || content.isBlank()) {
-                throw new RuntimeException("文件内容为空");
-            }
-
-            // 3. 根据策略进行分块
-            List<String> chunks;
-            if ("AUTO".equals(bo.getChunkStrategy())) {
-                // 自动分块: 使用默认配置
-                int chunkSize = bo.getChunkSize() != null ? bo.getChunkSize() : 500;
-                int overlap = bo.getOverlap() != null ? bo.getOverlap() : 50;
-                chunks = splitTextRecursive(content, chunkSize, overlap);
-            } else if ("CUSTOM".equals(bo.getChunkStrategy())) {
-                // 自定义分块: 根据分隔符分割
-                if (bo.getSeparators() == null || bo.getSeparators().isEmpty()) {
-                    throw new RuntimeException("自定义分块需要指定分隔符");
-                }
-                String separator = bo.getSeparators().get(0); // 使用第一个分隔符
-                chunks = splitByCustomSeparator(content, separator);
-            } else {
-                throw new RuntimeException("不支持的分块策略: " + bo.getChunkStrategy());
-            }
-
-            // 4. 转换为预览VO
-            List<ChunkPreviewVo> result = new ArrayList<>();
-            for (int i = 0; i < chunks.size(); i++) {
-                ChunkPreviewVo vo = new ChunkPreviewVo();
-                vo.setChunkId("chunk_" + i);
-                vo.setContent(chunks.get(i));
-                vo.setIndex(i);
-                result.add(vo);
-            }
-
+            List<String> chunks = resolvePreviewChunks(bo);
+            List<ChunkPreviewVo> result = toPreviewVos(chunks, 0, chunks.size());
             log.info("Generated {} chunks for tempFileId: {}", result.size(), bo.getTempFileId());
             return result;
         } catch (Exception e) {
@@ -619,51 +628,134 @@ public class KmDocumentServiceImpl implements IKmDocumentService {
         }
     }
 
+    @Override
+    public TableDataInfo<ChunkPreviewVo> pagePreviewChunks(ChunkPreviewBo bo, PageQuery pageQuery) {
+        List<String> chunks;
+        try {
+            chunks = resolvePreviewChunks(bo);
+        } catch (Exception e) {
+            log.error("Failed to preview chunks", e);
+            throw new RuntimeException("分块预览失败: " + e.getMessage());
+        }
+        int pageNum = pageQuery.getPageNum() != null && pageQuery.getPageNum() > 0 ? pageQuery.getPageNum() : 1;
+        int pageSize = pageQuery.getPageSize() != null && pageQuery.getPageSize() > 0
+                ? pageQuery.getPageSize() : PREVIEW_PAGE_SIZE;
+        long from = Math.min((long) (pageNum - 1) * pageSize, chunks.size());
+        long to = Math.min(from + pageSize, chunks.size());
+        return new TableDataInfo<>(toPreviewVos(chunks, (int) from, (int) to), chunks.size());
+    }
+
     @Override
     public Map<Long, List<ChunkPreviewVo>> batchPreviewChunks(BatchChunkPreviewBo bo) {
-        Map<Long, List<ChunkPreviewVo>> resultMap = new HashMap<>();
+        Map<Long, CompletableFuture<List<ChunkPreviewVo>>> futures = new LinkedHashMap<>();
+        Integer maxChunks = bo.getMaxChunksPerFile();
 
+        // 各文件互不依赖，在有界线程池中并发解析、分块
         for (Long tempFileId : bo.getTempFileIds()) {
-            try {
-                // 为每个文件创建单独的预览请求
-                ChunkPreviewBo singleBo = new ChunkPreviewBo();
-                singleBo.setTempFileId(tempFileId);
-                singleBo.setChunkStrategy(bo.getChunkStrategy());
-                singleBo.setSeparators(bo.getSeparators());
-                singleBo.setChunkSize(bo.getChunkSize());
-                singleBo.setOverlap(bo.getOverlap());
-
-                // 调用单文件预览方法
-                List<ChunkPreviewVo> chunks = previewChunks(singleBo);
-                resultMap.put(tempFileId, chunks);
-
+            ChunkPreviewBo singleBo = new ChunkPreviewBo();
+            singleBo.setTempFileId(tempFileId);
+            singleBo.setChunkStrategy(bo.getChunkStrategy());
+            singleBo.setSeparators(bo.getSeparators());
+            singleBo.setChunkSize(bo.getChunkSize());
+            singleBo.setOverlap(bo.getOverlap());
+
+            futures.put(tempFileId, CompletableFuture.supplyAsync(() -> {
+                List<String> chunks = resolvePreviewChunks(singleBo);
+                int limit = maxChunks != null && maxChunks > 0 ? Math.min(maxChunks, chunks.size()) : chunks.size();
                 log.info("Batch preview: generated {} chunks for tempFileId: {}", chunks.size(), tempFileId);
+                return toPreviewVos(chunks, 0, limit);
+            }, previewExecutor));
+        }
+
+        Map<Long, List<ChunkPreviewVo>> resultMap = new LinkedHashMap<>();
+        futures.forEach((tempFileId, future) -> {
+            try {
+                resultMap.put(tempFileId, future.join());
             } catch (Exception e) {
                 log.error("Failed to preview chunks for tempFileId: {}", tempFileId, e);
                 // 单个文件失败不影响其他文件,记录空列表
                 resultMap.put(tempFileId, new ArrayList<>());
             }
-        }
+        });
 
         log.info("Batch preview completed for {} files", bo.getTempFileIds().size());
         return resultMap;
     }
 
+    @PreDestroy
+    public void shutdownPreviewExecutor() {
+        previewExecutor.shutdownNow();
+    }
+
+    private static ExecutorService createPreviewExecutor() {
+        BasicThreadFactory.Builder builder = new BasicThreadFactory.Builder().daemon(true);
+        if (SpringUtils.isVirtual()) {
+            builder.namingPattern("virtual-km-preview-%d").wrappedFactory(new VirtualThreadTaskExecutor().getVirtualThreadFactory());
+        } else {
+            builder.namingPattern("km-preview-%d");
+        }
+        return Executors.newFixedThreadPool(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), builder.build());
+    }
+
     /**
-     * 解析文件内容
+     * 解析并分块 (分块结果按文件+分块参数短暂缓存，翻页时不重复分块)
      */
-    private String parseFileContent(String filePath) {
-        try {
-            File file = new File(filePath);
-            try (FileInputStream fis = new FileInputStream(file)) {
-                DocumentParser parser = new ApacheTikaDocumentParser();
-                Document doc = parser.parse(fis);
-                return doc.text();
+    private List<String> resolvePreviewChunks(ChunkPreviewBo bo) {
+        // 1. 获取临时文件路径
+        String tempPath = tempFileService.getTempFilePath(bo.getTempFileId());
+        if (tempPath == null) {
+            throw new RuntimeException("临时文件不存在");
+        }
+
+        String separator = bo.getSeparators() != null && !bo.getSeparators().isEmpty()
+                ? bo.getSeparators().get(0) : null;
+        String cacheKey = StringUtils.joinWith("|", tempPath, bo.getChunkStrategy(), bo.getChunkSize(),
+                bo.getOverlap(), separator);
+        return previewChunkCache.get(cacheKey, k -> {
+            // 2. 解析文件内容
+            String content = parseFileContent(tempPath);
+            if (content == null || content.isBlank()) {
+                throw new RuntimeException("文件内容为空");
             }
-        } catch (Exception e) {
-            log.error("Failed to parse file: {}", filePath, e);
-            throw new RuntimeException("文件解析失败: " + e.getMessage());
+
+            // 3. 根据策略进行分块
+            if ("AUTO".equals(bo.getChunkStrategy())) {
+                // 自动分块: 使用默认配置
+                int chunkSize = bo.getChunkSize() != null ? bo.getChunkSize() : 500;
+                int overlap = bo.getOverlap() != null ? bo.getOverlap() : 50;
+                return splitTextRecursive(content, chunkSize, overlap);
+            } else if ("CUSTOM".equals(bo.getChunkStrategy())) {
+                // 自定义分块: 根据分隔符分割 (使用第一个分隔符)
+                if (separator == null) {
+                    throw new RuntimeException("自定义分块需要指定分隔符");
+                }
+                return splitByCustomSeparator(content, separator);
+            } else {
+                throw new RuntimeException("不支持的分块策略: " + bo.getChunkStrategy());
+            }
+        });
+    }
+
+    /**
+     * 转换为预览VO
+     */
+    private List<ChunkPreviewVo> toPreviewVos(List<String> chunks, int from, int to) {
+        List<ChunkPreviewVo> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ChunkPreviewVo vo = new ChunkPreviewVo();
+            vo.setChunkId("chunk_" + i);
+            vo.setContent(chunks.get(i));
+            vo.setIndex(i);
+            result.add(vo);
         }
+        return result;
+    }
+
+    /**
+     * 解析文件内容 (同一文件重复预览时复用解析结果)
+     */
+    private String parseFileContent(String filePath) {
+        return documentTextCache.getText(filePath);
     }
 
     /**
@@ -854,4 +946,14 @@ public class KmDocumentServiceImpl implements IKmDocumentService {
         }
     }
 
+    /**
+     * 估算分块列表占用字节数 (字符按 2 字节计，每个分块另计对象开销)
+     */
+    private static int weighChunks(List<String> chunks) {
+        long bytes = 16;
+        for (String chunk : chunks) {
+            bytes += 40 + (chunk != null ? 2L * chunk.length() : 0);
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
 }
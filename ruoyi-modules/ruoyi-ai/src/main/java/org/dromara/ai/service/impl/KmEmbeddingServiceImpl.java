@@ -6,6 +6,7 @@ import cn.hutool.core.util.StrUtil;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.config.KmChunkingProperties;
 import org.dromara.ai.domain.KmDocumentChunk;
 import org.dromara.ai.domain.KmEmbedding;
 import org.dromara.ai.domain.KmQuestion;
@@ -18,6 +19,7 @@ import org.dromara.ai.mapper.KmDocumentMapper;
 import org.dromara.ai.mapper.KmQuestionChunkMapMapper;
 import org.dromara.ai.mapper.KmQuestionMapper;
 import org.dromara.ai.service.IKmEmbeddingService;
+import org.dromara.ai.util.BatchUtils;
 import org.dromara.ai.util.StatusMetaUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,6 +45,7 @@ public class KmEmbeddingServiceImpl implements IKmEmbeddingService {
     private final KmQuestionMapper questionMapper;
     private final KmDocumentMapper documentMapper;
     private final KmQuestionChunkMapMapper questionChunkMapMapper;
+    private final KmChunkingProperties chunkingProperties;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -161,13 +164,14 @@ public class KmEmbeddingServiceImpl implements IKmEmbeddingService {
             }
         }
 
-        // 批量插入
+        // 批量插入 (按配置行数分批，避免单条SQL参数过多)
+        int batchSize = chunkingProperties.getInsertBatchSize();
         if (!allChunkEntities.isEmpty()) {
-            chunkMapper.insertBatch(allChunkEntities);
+            BatchUtils.consumeInBatches(allChunkEntities, batchSize, chunkMapper::insertBatch);
             log.info("Stored {} chunk entities for document {}", allChunkEntities.size(), documentId);
         }
         if (!embeddings.isEmpty()) {
-            embeddingMapper.insertBatch(embeddings);
+            BatchUtils.consumeInBatches(embeddings, batchSize, embeddingMapper::insertBatch);
             log.info("Embedded {} child/standalone chunks for document {}", embeddings.size(), documentId);
         }
     }
@@ -188,6 +192,9 @@ public class KmEmbeddingServiceImpl implements IKmEmbeddingService {
         List<KmEmbedding> embeddings = new ArrayList<>();
         LocalDateTime now = LocalDateTime.now();
         Date nowDate = new Date();
+        // 文档标题作为缺省切片标题，循环外只查询一次
+        KmDocument document = documentMapper.selectById(documentId);
+        String defaultTitle = document != null ? document.getOriginalFilename() : null;
 
         for (int i = 0; i < chunks.size(); i++) {
             ChunkResult chunkResult = chunks.get(i);
@@ -206,10 +213,8 @@ public class KmEmbeddingServiceImpl implements IKmEmbeddingService {
             KmDocumentChunk chunk = new KmDocumentChunk();
             chunk.setId(chunkId);
             chunk.setDocumentId(documentId);
-            KmDocument document = documentMapper.selectById(documentId);
             chunk.setKbId(kbId);
-            chunk.setTitle(chunkResult.getTitle() != null ? chunkResult.getTitle()
-                    : (document != null ? document.getOriginalFilename() : null));
+            chunk.setTitle(chunkResult.getTitle() != null ? chunkResult.getTitle() : defaultTitle);
             chunk.setContent(answer);
             chunk.setCreateTime(now);
             chunk.setChunkType(KmDocumentChunk.ChunkType.STANDALONE);
@@ -288,23 +293,14 @@ public class KmEmbeddingServiceImpl implements IKmEmbeddingService {
             }
         }
 
-        // 批量插入
-        if (CollUtil.isNotEmpty(chunkEntities)) {
-            chunkMapper.insertBatch(chunkEntities);
-        }
+        // 批量插入 (问题走 JDBC batch 以保留审计字段自动填充，其余为分批多值 INSERT)
+        int batchSize = chunkingProperties.getInsertBatchSize();
+        BatchUtils.consumeInBatches(chunkEntities, batchSize, chunkMapper::insertBatch);
         if (CollUtil.isNotEmpty(questions)) {
-            for (KmQuestion question : questions) {
-                questionMapper.insert(question);
-            }
-        }
-        if (CollUtil.isNotEmpty(questionChunkMaps)) {
-            for (KmQuestionChunkMap map : questionChunkMaps) {
-                questionChunkMapMapper.insert(map);
-            }
-        }
-        if (CollUtil.isNotEmpty(embeddings)) {
-            embeddingMapper.insertBatch(embeddings);
+            questionMapper.insert(questions, batchSize);
         }
+        BatchUtils.consumeInBatches(questionChunkMaps, batchSize, questionChunkMapMapper::insertBatch);
+        BatchUtils.consumeInBatches(embeddings, batchSize, embeddingMapper::insertBatch);
 
         log.info("QA embedding completed: documentId={}, chunks={}, questions={}, embeddings={}",
                 documentId, chunkEntities.size(), questions.size(), embeddings.size());
@@ -27,6 +27,7 @@ import org.dromara.ai.service.IKmEmbeddingService;
 import org.dromara.ai.service.IKmEtlService;
 import org.dromara.ai.service.etl.DatasetProcessType;
 import org.dromara.ai.service.etl.EtlHandler;
+import org.dromara.ai.service.etl.WebCrawler;
 import org.dromara.ai.mapper.KmQuestionMapper;
 import org.dromara.ai.mapper.KmQuestionChunkMapMapper;
 import org.dromara.ai.domain.KmQuestionChunkMap;
@@ -69,6 +70,7 @@ public class KmEtlServiceImpl implements IKmEtlService {
     private final KmQuestionMapper questionMapper;
     private final KmQuestionChunkMapMapper questionChunkMapMapper;
     private final IKmEmbeddingService embeddingService;
+    private final WebCrawler webCrawler;
 
     @Autowired
     @Lazy
@@ -88,7 +90,8 @@ public class KmEtlServiceImpl implements IKmEtlService {
             List<EtlHandler> etlHandlers,
             KmQuestionMapper questionMapper,
             KmQuestionChunkMapMapper questionChunkMapMapper,
-            IKmEmbeddingService embeddingService) {
+            IKmEmbeddingService embeddingService,
+            WebCrawler webCrawler) {
         this.documentMapper = documentMapper;
         this.chunkMapper = chunkMapper;
         this.embeddingMapper = embeddingMapper;
@@ -99,6 +102,7 @@ public class KmEtlServiceImpl implements IKmEtlService {
         this.questionMapper = questionMapper;
         this.questionChunkMapMapper = questionChunkMapMapper;
         this.embeddingService = embeddingService;
+        this.webCrawler = webCrawler;
     }
 
     @Override
@@ -243,6 +247,63 @@ public class KmEtlServiceImpl implements IKmEtlService {
         }
     }
 
+    @Override
+    @Async
+    public void crawlWebLinksAsync(List<Long> seedDocumentIds, int maxDepth, int maxPages) {
+        List<Long> docIds = new ArrayList<>(seedDocumentIds);
+        try {
+            List<KmDocument> seeds = documentMapper.selectByIds(seedDocumentIds);
+            if (CollUtil.isNotEmpty(seeds)) {
+                KmDocument seed = seeds.get(0);
+                List<String> seedUrls = seeds.stream().map(KmDocument::getUrl).filter(StringUtils::isNotBlank).toList();
+                List<String> discovered = webCrawler.discover(seedUrls, maxDepth, maxPages);
+
+                // 数据集中已有的链接不重复收录
+                Set<String> existing = documentMapper.selectList(new LambdaQueryWrapper<KmDocument>()
+                        .select(KmDocument::getUrl)
+                        .eq(KmDocument::getDatasetId, seed.getDatasetId())
+                        .isNotNull(KmDocument::getUrl))
+                        .stream()
+                        .map(doc -> WebCrawler.normalizeUrl(doc.getUrl()))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+
+                List<KmDocument> newDocs = new ArrayList<>();
+                for (String url : discovered) {
+                    if (existing.contains(url)) {
+                        continue;
+                    }
+                    KmDocument document = new KmDocument();
+                    document.setDatasetId(seed.getDatasetId());
+                    document.setKbId(seed.getKbId());
+                    document.setUrl(url);
+                    document.setOriginalFilename(url);
+                    document.setFileType("url");
+                    document.setEmbeddingStatus(1); // 1 = 生成中
+                    document.setStatusMeta(StatusMetaUtils.updateStateTime(null, StatusMetaUtils.TASK_EMBEDDING,
+                            StatusMetaUtils.STATUS_PENDING));
+                    // 异步线程无登录上下文，沿用种子文档的创建人
+                    document.setCreateDept(seed.getCreateDept());
+                    document.setCreateBy(seed.getCreateBy());
+                    document.setUpdateBy(seed.getCreateBy());
+                    newDocs.add(document);
+                }
+                if (!newDocs.isEmpty()) {
+                    documentMapper.insertBatch(newDocs);
+                    newDocs.forEach(doc -> docIds.add(doc.getId()));
+                }
+                log.info("Web link crawl discovered {} new pages from {} seeds", newDocs.size(), seedUrls.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to discover web links, process seeds only: {}", seedDocumentIds, e);
+        }
+
+        // 各文档独立处理，同站点抓取由 WebCrawler 统一限流
+        for (Long docId : docIds) {
+            self.processDocumentAsync(docId, null);
+        }
+    }
+
     @Override
     @Async
     public void processEmbeddingAsync(Long documentId, EmbeddingOption option) {
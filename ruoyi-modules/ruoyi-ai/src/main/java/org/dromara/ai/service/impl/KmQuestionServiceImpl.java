@@ -9,6 +9,7 @@ import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.config.KmChunkingProperties;
 import org.dromara.ai.domain.*;
 import org.dromara.ai.domain.bo.KmQuestionBo;
 import org.dromara.ai.domain.vo.KmQuestionVo;
@@ -16,6 +17,7 @@ import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.ai.mapper.*;
 import org.dromara.ai.service.IKmQuestionService;
+import org.dromara.ai.util.BatchUtils;
 import org.dromara.ai.util.ModelBuilder;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.springframework.context.annotation.Lazy;
@@ -28,7 +30,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import cn.hutool.json.JSONUtil;
 import cn.hutool.json.JSONObject;
 import java.util.Map;
@@ -55,6 +59,7 @@ public class KmQuestionServiceImpl implements IKmQuestionService {
     private final KmModelMapper modelMapper;
     private final KmModelProviderMapper providerMapper;
     private final ModelBuilder modelBuilder;
+    private final KmChunkingProperties chunkingProperties;
 
     @Autowired
     @Lazy
@@ -570,14 +575,15 @@ public class KmQuestionServiceImpl implements IKmQuestionService {
             return true;
         }
 
-        for (Long id : ids) {
-            try {
-                deleteById(id);
-            } catch (Exception e) {
-                log.error("批量删除问题失败, id={}", id, e);
-                // 继续处理下一个
+        // 按批次集合删除：向量 -> 关联 -> 问题，每批固定3~4条SQL
+        BatchUtils.consumeInBatches(ids, chunkingProperties.getInsertBatchSize(), batchIds -> {
+            List<Long> mapIds = chunkMapMapper.selectIdsByQuestionIds(batchIds);
+            if (CollUtil.isNotEmpty(mapIds)) {
+                embeddingMapper.deleteBySourceIds(mapIds, KmEmbedding.SourceType.QUESTION);
             }
-        }
+            chunkMapMapper.deleteByQuestionIds(batchIds);
+            baseMapper.deleteByIds(batchIds);
+        });
         return true;
     }
 
@@ -588,28 +594,25 @@ public class KmQuestionServiceImpl implements IKmQuestionService {
             return true;
         }
 
+        Date now = new Date();
+        List<KmQuestion> questions = new ArrayList<>(contents.size());
         for (String content : contents) {
             if (StrUtil.isBlank(content)) {
                 continue;
             }
-
-            try {
-                // 创建独立问题（不关联特定分块）
-                KmQuestion q = new KmQuestion();
-                q.setId(IdUtil.getSnowflakeNextId());
-                q.setKbId(kbId);
-                q.setContent(content.length() > 500 ? content.substring(0, 500) : content);
-                q.setHitNum(0);
-                q.setSourceType("MANUAL");
-                q.setCreateTime(new Date());
-                baseMapper.insert(q);
-
-                // 不创建向量嵌入（没有关联分块的问题不向量化）
-                log.debug("创建独立问题（无分块关联），不创建向量: questionId={}", q.getId());
-            } catch (Exception e) {
-                log.error("批量添加问题失败, content={}", content, e);
-                // 继续处理下一个
-            }
+            // 创建独立问题（不关联特定分块，不创建向量嵌入）
+            KmQuestion q = new KmQuestion();
+            q.setId(IdUtil.getSnowflakeNextId());
+            q.setKbId(kbId);
+            q.setContent(content.length() > 500 ? content.substring(0, 500) : content);
+            q.setHitNum(0);
+            q.setSourceType("MANUAL");
+            q.setCreateTime(now);
+            questions.add(q);
+        }
+        if (CollUtil.isNotEmpty(questions)) {
+            baseMapper.insert(questions, chunkingProperties.getInsertBatchSize());
+            log.debug("批量创建独立问题（无分块关联）: kbId={}, count={}", kbId, questions.size());
         }
         return true;
     }
@@ -649,61 +652,57 @@ public class KmQuestionServiceImpl implements IKmQuestionService {
             throw new RuntimeException("问题不存在: " + questionId);
         }
 
-        // 预先计算向量（避免重复计算）
-        float[] vector = null;
-        String vectorStr = null;
-
-        int successCount = 0;
-        for (Long chunkId : chunkIds) {
-            try {
-                // 检查分块是否存在
-                KmDocumentChunk chunk = chunkMapper.selectById(chunkId);
-                if (chunk == null) {
-                    log.warn("分块不存在，跳过关联: chunkId={}", chunkId);
-                    continue;
-                }
-
-                // 检查是否已关联
-                Long count = chunkMapMapper.selectCount(new LambdaQueryWrapper<KmQuestionChunkMap>()
-                        .eq(KmQuestionChunkMap::getChunkId, chunkId)
-                        .eq(KmQuestionChunkMap::getQuestionId, questionId));
+        List<Long> distinctChunkIds = chunkIds.stream().distinct().toList();
+        int batchSize = chunkingProperties.getInsertBatchSize();
 
-                if (count > 0) {
-                    log.debug("问题已关联到分块，跳过: questionId={}, chunkId={}", questionId, chunkId);
-                    continue;
-                }
+        // 集合查询：存在的分块 + 已存在的关联，过滤出待新增的分块
+        Set<Long> existingChunkIds = new HashSet<>();
+        Set<Long> linkedChunkIds = new HashSet<>();
+        BatchUtils.consumeInBatches(distinctChunkIds, batchSize, batchIds -> {
+            chunkMapper.selectByIds(batchIds).forEach(chunk -> existingChunkIds.add(chunk.getId()));
+            linkedChunkIds.addAll(chunkMapMapper.selectLinkedChunkIds(questionId, batchIds));
+        });
 
-                // 创建关联
-                KmQuestionChunkMap map = new KmQuestionChunkMap();
-                map.setId(IdUtil.getSnowflakeNextId());
-                map.setQuestionId(questionId);
-                map.setChunkId(chunkId);
-                chunkMapMapper.insert(map);
-
-                // 创建对应的embedding记录
-                if (vector == null) {
-                    vector = embeddingModel.embed(question.getContent()).content().vector();
-                    vectorStr = Arrays.toString(vector);
-                }
+        List<KmQuestionChunkMap> maps = new ArrayList<>();
+        for (Long chunkId : distinctChunkIds) {
+            if (!existingChunkIds.contains(chunkId)) {
+                log.warn("分块不存在，跳过关联: chunkId={}", chunkId);
+                continue;
+            }
+            if (linkedChunkIds.contains(chunkId)) {
+                log.debug("问题已关联到分块，跳过: questionId={}, chunkId={}", questionId, chunkId);
+                continue;
+            }
+            KmQuestionChunkMap map = new KmQuestionChunkMap();
+            map.setId(IdUtil.getSnowflakeNextId());
+            map.setQuestionId(questionId);
+            map.setChunkId(chunkId);
+            maps.add(map);
+        }
 
+        if (CollUtil.isNotEmpty(maps)) {
+            // 同一问题的向量只计算一次，每条关联记录一份向量（source_id 为关联记录ID）
+            float[] vector = embeddingModel.embed(question.getContent()).content().vector();
+            String vectorStr = Arrays.toString(vector);
+            LocalDateTime now = LocalDateTime.now();
+            List<KmEmbedding> embeddings = new ArrayList<>(maps.size());
+            for (KmQuestionChunkMap map : maps) {
                 KmEmbedding embedding = new KmEmbedding();
+                embedding.setId(IdUtil.getSnowflakeNextId());
                 embedding.setKbId(question.getKbId());
-                embedding.setSourceId(map.getId()); // 使用关联记录ID
+                embedding.setSourceId(map.getId());
                 embedding.setSourceType(KmEmbedding.SourceType.QUESTION);
                 embedding.setEmbedding(vector);
                 embedding.setEmbeddingString(vectorStr);
                 embedding.setTextContent(question.getContent());
-                embedding.setCreateTime(LocalDateTime.now());
-                embeddingMapper.insertOne(embedding);
-
-                successCount++;
-            } catch (Exception e) {
-                log.error("关联问题到分块失败: questionId={}, chunkId={}", questionId, chunkId, e);
-                // 继续处理下一个
+                embedding.setCreateTime(now);
+                embeddings.add(embedding);
             }
+            BatchUtils.consumeInBatches(maps, batchSize, chunkMapMapper::insertBatch);
+            BatchUtils.consumeInBatches(embeddings, batchSize, embeddingMapper::insertBatch);
         }
 
-        log.info("批量关联完成: questionId={}, 成功关联数={}/{}", questionId, successCount, chunkIds.size());
+        log.info("批量关联完成: questionId={}, 成功关联数={}/{}", questionId, maps.size(), chunkIds.size());
         return true;
     }
 }
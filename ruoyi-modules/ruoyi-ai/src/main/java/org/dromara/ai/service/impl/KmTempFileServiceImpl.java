@@ -8,6 +8,7 @@ import org.dromara.ai.domain.KmTempFile;
 import org.dromara.ai.domain.vo.TempFileVo;
 import org.dromara.ai.mapper.KmTempFileMapper;
 import org.dromara.ai.service.IKmTempFileService;
+import org.dromara.ai.service.etl.DocumentTextCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -107,6 +108,8 @@ public class KmTempFileServiceImpl implements IKmTempFileService {
                     file.delete();
                     log.debug("Deleted temp file: {}", tempFile.getTempPath());
                 }
+                // 删除预览时落盘的解析文本
+                DocumentTextCache.deleteSpill(tempFile.getTempPath());
 
                 // 删除数据库记录
                 tempFileMapper.deleteById(tempFile.getId());
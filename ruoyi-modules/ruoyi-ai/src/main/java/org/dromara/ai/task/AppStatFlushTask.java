@@ -0,0 +1,65 @@
+package org.dromara.ai.task;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.ai.service.IKmAppStatService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 应用用量汇总刷新定时任务
+ * <p>
+ * 使用公共的 scheduledExecutorService 定时执行，不依赖 @EnableScheduling (仅 snail-job 开启时才生效)
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppStatFlushTask implements ApplicationRunner {
+
+    /**
+     * 刷新间隔 (秒)
+     */
+    public static final long FLUSH_INTERVAL_SECONDS = 60L;
+
+    private final IKmAppStatService appStatService;
+
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    private ScheduledFuture<?> flushFuture;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        flushFuture = scheduledExecutorService.scheduleWithFixedDelay(this::flushUsage,
+            FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 每分钟将内存中的对话用量刷入汇总表
+     */
+    public void flushUsage() {
+        try {
+            appStatService.flush();
+        } catch (Exception e) {
+            log.error("App usage flush failed", e);
+        }
+    }
+
+    /**
+     * 停止定时刷新 (停机前的最后一次刷新由服务自身完成)
+     */
+    @PreDestroy
+    public void destroy() {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.dromara.ai.util;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 批量写入工具类
+ * 按固定行数切分集合后逐批执行，避免多值 INSERT / IN 条件超出数据库单条SQL参数上限
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public class BatchUtils {
+
+    /**
+     * 分批执行
+     *
+     * @param list      待处理数据
+     * @param batchSize 单批行数 (<=0 时不切分)
+     * @param consumer  单批处理逻辑
+     */
+    public static <T> void consumeInBatches(List<T> list, int batchSize, Consumer<List<T>> consumer) {
+        if (CollUtil.isEmpty(list)) {
+            return;
+        }
+        if (batchSize <= 0 || list.size() <= batchSize) {
+            consumer.accept(list);
+            return;
+        }
+        for (List<T> batch : ListUtil.partition(list, batchSize)) {
+            consumer.accept(batch);
+        }
+    }
+}
@@ -102,7 +102,11 @@ public class WorkflowExecutor {
 
         try {
             // 4. 执行工作流
-            finalResponse = langGraphEngine.execute(config, chatWorkflowState, emitter);
+            WorkflowState finalState = langGraphEngine.executeForState(config, chatWorkflowState, emitter);
+            finalResponse = finalState.getFinalResponse();
+            Object tokens = finalState.getGlobalState().get(WorkflowState.KEY_TOTAL_TOKENS);
+            long totalTokens = tokens instanceof Number ? ((Number) tokens).longValue() : 0L;
+            long durationMs = System.currentTimeMillis() - startTime;
 
             // 5. 标记实例完成（调试模式：跳过）
             if (!debug) {
@@ -114,9 +118,7 @@ public class WorkflowExecutor {
             doneData.put("sessionId", sessionId.toString());
 
             if (showExecutionInfo) {
-                long durationMs = System.currentTimeMillis() - startTime;
-                Integer totalTokens = (Integer) chatWorkflowState.data().get("totalTokens");
-                doneData.put("totalTokens", totalTokens != null ? totalTokens : 0);
+                doneData.put("totalTokens", totalTokens);
                 doneData.put("durationMs", durationMs);
             }
 
@@ -126,14 +128,9 @@ public class WorkflowExecutor {
             Map<String, Object> result = new HashMap<>();
             result.put("instanceId", instanceId);
             result.put("finalResponse", finalResponse != null ? finalResponse : "");
-
-            // 调试模式：返回额外的统计信息
-            if (showExecutionInfo) {
-                long durationMs = System.currentTimeMillis() - startTime;
-                Integer totalTokens = (Integer) chatWorkflowState.data().get("totalTokens");
-                result.put("totalTokens", totalTokens != null ? totalTokens : 0);
-                result.put("durationMs", durationMs);
-            }
+            // 统计信息（用于应用用量统计）
+            result.put("totalTokens", totalTokens);
+            result.put("durationMs", durationMs);
 
             return result;
 
@@ -34,6 +34,7 @@ public class WorkflowState extends AgentState implements Serializable {
     public static final String KEY_HISTORY_CONTEXT = "historyContext";
     public static final String KEY_DEBUG = "debug";
     public static final String KEY_SHOW_EXECUTION_INFO = "showExecutionInfo";
+    public static final String KEY_TOTAL_TOKENS = "totalTokens";
 
     public static final String KEY_NODE_OUTPUTS = "nodeOutputs";
     public static final String KEY_ERROR = "error";
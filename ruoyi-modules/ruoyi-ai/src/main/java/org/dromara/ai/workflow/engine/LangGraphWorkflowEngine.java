@@ -106,6 +106,14 @@ public class LangGraphWorkflowEngine implements WorkflowEngine {
     @Override
     public String execute(WorkflowConfig config, WorkflowState chatWorkflowState, SseEmitter emitter)
             throws Exception {
+        return executeForState(config, chatWorkflowState, emitter).getFinalResponse();
+    }
+
+    /**
+     * 执行工作流并返回最终状态（供调用方读取累计 token 等全局信息）
+     */
+    public WorkflowState executeForState(WorkflowConfig config, WorkflowState chatWorkflowState, SseEmitter emitter)
+            throws Exception {
         log.info("使用 LangGraph 引擎执行工作流");
 
         try {
@@ -124,8 +132,8 @@ public class LangGraphWorkflowEngine implements WorkflowEngine {
                 throw new RuntimeException(errorMessage);
             }
 
-            // 5. 返回最终响应
-            return finalState.getFinalResponse();
+            // 5. 返回最终状态
+            return finalState;
         } catch (Exception e) {
             log.error("LangGraph 工作流执行失败", e);
             throw e;
@@ -395,6 +403,7 @@ public class LangGraphWorkflowEngine implements WorkflowEngine {
             Map<String, Object> nodeOutputs = new HashMap<>(state.getNodeOutputs());
             nodeOutputs.put(nodeConfig.getId(), output.getOutputs());
             Map<String, Object> globalState = context.getGlobalState();
+            accumulateTokens(globalState, context.getTokenUsage());
 
             // 更新节点执行记录（调试模式：不写数据库）
             if (!isDebug) {
@@ -466,6 +475,19 @@ public class LangGraphWorkflowEngine implements WorkflowEngine {
         }
     }
 
+    /**
+     * 将节点 token 用量累加到全局状态
+     */
+    private void accumulateTokens(Map<String, Object> globalState, Map<String, Object> tokenUsage) {
+        if (globalState == null || tokenUsage == null
+                || !(tokenUsage.get("totalTokenCount") instanceof Number nodeTokens)) {
+            return;
+        }
+        Object total = globalState.get(WorkflowState.KEY_TOTAL_TOKENS);
+        long current = total instanceof Number ? ((Number) total).longValue() : 0L;
+        globalState.put(WorkflowState.KEY_TOTAL_TOKENS, current + nodeTokens.longValue());
+    }
+
     /**
      * 从条件表达式中提取期望值
      * 例如：从 "intent == 'greeting'" 中提取 "greeting"
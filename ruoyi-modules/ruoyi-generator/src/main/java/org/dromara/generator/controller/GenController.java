@@ -2,7 +2,6 @@ package org.dromara.generator.controller;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import cn.hutool.core.convert.Convert;
-import cn.hutool.core.io.IoUtil;
 import com.baomidou.lock.annotation.Lock4j;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -151,8 +150,8 @@ public class GenController extends BaseController {
     @Log(title = "代码生成", businessType = BusinessType.GENCODE)
     @GetMapping("/download/{tableId}")
     public void download(HttpServletResponse response, @PathVariable("tableId") Long tableId) throws IOException {
-        byte[] data = genTableService.downloadCode(tableId);
-        genCode(response, data);
+        genCode(response);
+        genTableService.downloadCode(tableId, response.getOutputStream());
     }
 
     /**
@@ -182,6 +181,20 @@ public class GenController extends BaseController {
         return R.ok();
     }
 
+    /**
+     * 批量同步数据库 (表结构未变化的表跳过)
+     *
+     * @param tableIds 表ID串
+     */
+    @SaCheckPermission("tool:gen:edit")
+    @Log(title = "代码生成", businessType = BusinessType.UPDATE)
+    @Lock4j
+    @GetMapping("/batchSynchDb/{tableIds}")
+    public R<Void> batchSynchDb(@PathVariable Long[] tableIds) {
+        int count = genTableService.batchSynchDb(tableIds);
+        return R.ok("同步完成，结构变化的表数量：" + count);
+    }
+
     /**
      * 批量生成代码
      *
@@ -192,21 +205,19 @@ public class GenController extends BaseController {
     @GetMapping("/batchGenCode")
     public void batchGenCode(HttpServletResponse response, String tableIdStr) throws IOException {
         String[] tableIds = Convert.toStrArray(tableIdStr);
-        byte[] data = genTableService.downloadCode(tableIds);
-        genCode(response, data);
+        genCode(response);
+        genTableService.downloadCode(tableIds, response.getOutputStream());
     }
 
     /**
-     * 生成zip文件
+     * 设置zip文件响应头 (内容边生成边写出，不设置 Content-Length)
      */
-    private void genCode(HttpServletResponse response, byte[] data) throws IOException {
+    private void genCode(HttpServletResponse response) {
         response.reset();
         response.addHeader("Access-Control-Allow-Origin", "*");
         response.addHeader("Access-Control-Expose-Headers", "Content-Disposition");
         response.setHeader("Content-Disposition", "attachment; filename=\"ruoyi.zip\"");
-        response.addHeader("Content-Length", "" + data.length);
         response.setContentType("application/octet-stream; charset=UTF-8");
-        IoUtil.write(response.getOutputStream(), false, data);
     }
 
     /**
@@ -134,6 +134,11 @@ public class GenTable extends BaseEntity {
      */
     private String remark;
 
+    /**
+     * 表结构指纹 (同步时结构未变化则跳过)
+     */
+    private String columnHash;
+
     /**
      * 树编码字段
      */
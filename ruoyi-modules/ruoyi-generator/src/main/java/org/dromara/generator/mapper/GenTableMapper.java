@@ -3,8 +3,10 @@ package org.dromara.generator.mapper;
 import com.baomidou.dynamic.datasource.annotation.DS;
 import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
+import org.apache.ibatis.annotations.Param;
 import org.dromara.generator.domain.GenTable;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,6 +32,14 @@ public interface GenTableMapper extends BaseMapperPlus<GenTable, GenTable> {
      */
     GenTable selectGenTableById(Long id);
 
+    /**
+     * 批量查询表ID业务信息 (含列信息)
+     *
+     * @param tableIds 业务ID集合
+     * @return 业务信息集合
+     */
+    List<GenTable> selectGenTableByIds(@Param("tableIds") Collection<Long> tableIds);
+
     /**
      * 查询表名称业务信息
      *
@@ -1,7 +1,6 @@
 package org.dromara.generator.service;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.lang.Dict;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.dynamic.datasource.annotation.DS;
@@ -11,15 +10,13 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.anyline.metadata.Column;
 import org.anyline.metadata.Table;
 import org.anyline.proxy.ServiceProxy;
-import org.apache.velocity.Template;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
-import org.dromara.common.core.constant.Constants;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StreamUtils;
@@ -34,18 +31,25 @@ import org.dromara.generator.domain.GenTableColumn;
 import org.dromara.generator.mapper.GenTableColumnMapper;
 import org.dromara.generator.mapper.GenTableMapper;
 import org.dromara.generator.util.GenUtils;
+import org.dromara.generator.util.TableColumnLoader;
 import org.dromara.generator.util.VelocityInitializer;
 import org.dromara.generator.util.VelocityUtils;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -64,6 +68,16 @@ public class GenTableServiceImpl implements IGenTableService {
 
     private static final String[] TABLE_IGNORE = new String[]{"sj_", "flow_", "gen_"};
 
+    /**
+     * 批量生成代码时的并行渲染线程数
+     */
+    private static final int RENDER_PARALLELISM = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * 代码渲染线程池 (限制并发数，批量生成大量表时不占满 CPU)
+     */
+    private final ExecutorService renderExecutor = createRenderExecutor();
+
     /**
      * 查询业务字段列表
      *
@@ -256,24 +270,30 @@ public class GenTableServiceImpl implements IGenTableService {
     @Override
     public void importGenTable(List<GenTable> tableList, String dataName) {
         try {
+            // 所有表的列信息一次读取
+            Map<String, List<GenTableColumn>> columnMap = SpringUtils.getAopProxy(this)
+                .selectDbTableColumnsByNames(StreamUtils.toList(tableList, GenTable::getTableName), dataName);
+            List<GenTableColumn> saveColumns = new ArrayList<>();
             for (GenTable table : tableList) {
                 String tableName = table.getTableName();
                 GenUtils.initTable(table);
                 table.setDataName(dataName);
+                List<GenTableColumn> genTableColumns = columnMap.getOrDefault(tableName, Collections.emptyList());
+                if (CollUtil.isNotEmpty(genTableColumns)) {
+                    table.setColumnHash(TableColumnLoader.fingerprint(genTableColumns));
+                }
                 int row = baseMapper.insert(table);
                 if (row > 0) {
                     // 保存列信息
-                    List<GenTableColumn> genTableColumns = SpringUtils.getAopProxy(this).selectDbTableColumnsByName(tableName, dataName);
-                    List<GenTableColumn> saveColumns = new ArrayList<>();
                     for (GenTableColumn column : genTableColumns) {
                         GenUtils.initColumnField(column, table);
                         saveColumns.add(column);
                     }
-                    if (CollUtil.isNotEmpty(saveColumns)) {
-                        genTableColumnMapper.insertBatch(saveColumns);
-                    }
                 }
             }
+            if (CollUtil.isNotEmpty(saveColumns)) {
+                genTableColumnMapper.insertBatch(saveColumns);
+            }
         } catch (Exception e) {
             throw new ServiceException("导入失败：" + e.getMessage());
         }
@@ -289,24 +309,20 @@ public class GenTableServiceImpl implements IGenTableService {
     @DS("#dataName")
     @Override
     public List<GenTableColumn> selectDbTableColumnsByName(String tableName, String dataName) {
-        Table<?> table = ServiceProxy.metadata().table(tableName);
-        if (ObjectUtil.isNull(table)) {
-            return new ArrayList<>();
-        }
-        LinkedHashMap<String, Column> columns = table.getColumns();
-        List<GenTableColumn> tableColumns = new ArrayList<>();
-        columns.forEach((columnName, column) -> {
-            GenTableColumn tableColumn = new GenTableColumn();
-            tableColumn.setIsPk(column.isPrimaryKey() ? "1" : "0");
-            tableColumn.setColumnName(column.getName());
-            tableColumn.setColumnComment(column.getComment());
-            tableColumn.setColumnType(column.getOriginType().toLowerCase());
-            tableColumn.setSort(column.getPosition());
-            tableColumn.setIsRequired(column.isNullable() ? "0" : "1");
-            tableColumn.setIsIncrement(column.isAutoIncrement() ? "1" : "0");
-            tableColumns.add(tableColumn);
-        });
-        return tableColumns;
+        return TableColumnLoader.loadColumns(List.of(tableName)).getOrDefault(tableName, new ArrayList<>());
+    }
+
+    /**
+     * 根据表名称批量查询列信息
+     *
+     * @param tableNames 表名称集合
+     * @param dataName   数据源名称
+     * @return key 为表名称，value 为列信息
+     */
+    @DS("#dataName")
+    @Override
+    public Map<String, List<GenTableColumn>> selectDbTableColumnsByNames(Collection<String> tableNames, String dataName) {
+        return TableColumnLoader.loadColumns(tableNames);
     }
 
     /**
@@ -327,7 +343,6 @@ public class GenTableServiceImpl implements IGenTableService {
         table.setMenuIds(menuIds);
         // 设置主键列信息
         setPkColumn(table);
-        VelocityInitializer.initVelocity();
 
         VelocityContext context = VelocityUtils.prepareContext(table);
 
@@ -336,8 +351,7 @@ public class GenTableServiceImpl implements IGenTableService {
         for (String template : templates) {
             // 渲染模板
             StringWriter sw = new StringWriter();
-            Template tpl = Velocity.getTemplate(template, Constants.UTF8);
-            tpl.merge(context, sw);
+            VelocityInitializer.getTemplate(template).merge(context, sw);
             dataMap.put(template, sw.toString());
         }
         return dataMap;
@@ -347,15 +361,11 @@ public class GenTableServiceImpl implements IGenTableService {
      * 生成代码（下载方式）
      *
      * @param tableId 表名称
-     * @return 数据
+     * @param out     zip 输出流
      */
     @Override
-    public byte[] downloadCode(Long tableId) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ZipOutputStream zip = new ZipOutputStream(outputStream);
-        generatorCode(tableId, zip);
-        IoUtil.close(zip);
-        return outputStream.toByteArray();
+    public void downloadCode(Long tableId, OutputStream out) {
+        writeZip(List.of(tableId), out);
     }
 
     /**
@@ -370,8 +380,6 @@ public class GenTableServiceImpl implements IGenTableService {
         // 设置主键列信息
         setPkColumn(table);
 
-        VelocityInitializer.initVelocity();
-
         VelocityContext context = VelocityUtils.prepareContext(table);
 
         // 获取模板列表
@@ -380,8 +388,7 @@ public class GenTableServiceImpl implements IGenTableService {
             if (!StringUtils.containsAny(template, "sql.vm", "api.ts.vm", "types.ts.vm", "index.vue.vm", "index-tree.vue.vm")) {
                 // 渲染模板
                 StringWriter sw = new StringWriter();
-                Template tpl = Velocity.getTemplate(template, Constants.UTF8);
-                tpl.merge(context, sw);
+                VelocityInitializer.getTemplate(template).merge(context, sw);
                 try {
                     String path = getGenPath(table, template);
                     FileUtils.writeUtf8String(sw.toString(), path);
@@ -400,21 +407,90 @@ public class GenTableServiceImpl implements IGenTableService {
     @DSTransactional
     @Override
     public void synchDb(Long tableId) {
-        GenTable table = baseMapper.selectGenTableById(tableId);
-        List<GenTableColumn> tableColumns = table.getColumns();
-        Map<String, GenTableColumn> tableColumnMap = StreamUtils.toIdentityMap(tableColumns, GenTableColumn::getColumnName);
+        syncTables(List.of(tableId), true);
+    }
 
-        List<GenTableColumn> dbTableColumns = SpringUtils.getAopProxy(this).selectDbTableColumnsByName(table.getTableName(), table.getDataName());
-        if (CollUtil.isEmpty(dbTableColumns)) {
-            throw new ServiceException("同步数据失败，原表结构不存在");
-        }
-        List<String> dbTableColumnNames = StreamUtils.toList(dbTableColumns, GenTableColumn::getColumnName);
+    /**
+     * 批量同步数据库 (表结构指纹未变化的表跳过)
+     *
+     * @param tableIds 表ID数组
+     * @return 实际同步的表数量
+     */
+    @DSTransactional
+    @Override
+    public int batchSynchDb(Long[] tableIds) {
+        return syncTables(Arrays.asList(tableIds), false);
+    }
 
+    /**
+     * 同步表结构
+     * <p>
+     * 每个数据源只读取一次元数据，在内存中与已保存的列对比，新增/变化的列与删除的列分别批量写入。
+     *
+     * @param tableIds 表ID集合
+     * @param force    是否忽略结构指纹强制同步 (单表同步时原表不存在直接报错)
+     * @return 实际同步的表数量
+     */
+    private int syncTables(Collection<Long> tableIds, boolean force) {
+        List<GenTable> tables = baseMapper.selectGenTableByIds(tableIds);
+        if (CollUtil.isEmpty(tables)) {
+            throw new ServiceException("同步数据失败，业务表不存在");
+        }
         List<GenTableColumn> saveColumns = new ArrayList<>();
-        dbTableColumns.forEach(column -> {
+        List<Long> delIds = new ArrayList<>();
+        List<GenTable> hashList = new ArrayList<>();
+        StreamUtils.groupByKey(tables, GenTable::getDataName).forEach((dataName, group) -> {
+            Map<String, List<GenTableColumn>> dbColumnMap = SpringUtils.getAopProxy(this)
+                .selectDbTableColumnsByNames(StreamUtils.toList(group, GenTable::getTableName), dataName);
+            for (GenTable table : group) {
+                List<GenTableColumn> dbTableColumns = dbColumnMap.get(table.getTableName());
+                if (CollUtil.isEmpty(dbTableColumns)) {
+                    if (force) {
+                        throw new ServiceException("同步数据失败，原表结构不存在");
+                    }
+                    log.warn("同步表结构跳过，原表结构不存在：{}", table.getTableName());
+                    continue;
+                }
+                String columnHash = TableColumnLoader.fingerprint(dbTableColumns);
+                if (!force && StringUtils.equals(columnHash, table.getColumnHash())) {
+                    continue;
+                }
+                diffColumns(table, dbTableColumns, saveColumns, delIds);
+                GenTable hash = new GenTable();
+                hash.setTableId(table.getTableId());
+                hash.setColumnHash(columnHash);
+                hashList.add(hash);
+            }
+        });
+        if (CollUtil.isNotEmpty(saveColumns)) {
+            genTableColumnMapper.insertOrUpdateBatch(saveColumns);
+        }
+        if (CollUtil.isNotEmpty(delIds)) {
+            genTableColumnMapper.deleteByIds(delIds);
+        }
+        if (CollUtil.isNotEmpty(hashList)) {
+            baseMapper.updateBatchById(hashList);
+        }
+        return hashList.size();
+    }
+
+    /**
+     * 对比数据库列与已保存的列
+     *
+     * @param table          业务表 (含已保存的列)
+     * @param dbTableColumns 数据库列信息
+     * @param saveColumns    新增或发生变化的列
+     * @param delIds         数据库中已不存在的列ID
+     */
+    private void diffColumns(GenTable table, List<GenTableColumn> dbTableColumns, List<GenTableColumn> saveColumns, List<Long> delIds) {
+        List<GenTableColumn> tableColumns = table.getColumns();
+        Map<String, GenTableColumn> tableColumnMap = StreamUtils.toIdentityMap(tableColumns, GenTableColumn::getColumnName);
+        Set<String> dbTableColumnNames = StreamUtils.toSet(dbTableColumns, GenTableColumn::getColumnName);
+
+        for (GenTableColumn column : dbTableColumns) {
             GenUtils.initColumnField(column, table);
-            if (tableColumnMap.containsKey(column.getColumnName())) {
-                GenTableColumn prevColumn = tableColumnMap.get(column.getColumnName());
+            GenTableColumn prevColumn = tableColumnMap.get(column.getColumnName());
+            if (ObjectUtil.isNotNull(prevColumn)) {
                 column.setColumnId(prevColumn.getColumnId());
                 if (column.isList()) {
                     // 如果是列表，继续保留查询方式/字典类型选项
@@ -428,74 +504,149 @@ public class GenTableServiceImpl implements IGenTableService {
                     column.setIsRequired(prevColumn.getIsRequired());
                     column.setHtmlType(prevColumn.getHtmlType());
                 }
+                if (isSameColumn(prevColumn, column)) {
+                    continue;
+                }
             }
             saveColumns.add(column);
-        });
-        if (CollUtil.isNotEmpty(saveColumns)) {
-            genTableColumnMapper.insertOrUpdateBatch(saveColumns);
         }
-        List<GenTableColumn> delColumns = StreamUtils.filter(tableColumns, column -> !dbTableColumnNames.contains(column.getColumnName()));
-        if (CollUtil.isNotEmpty(delColumns)) {
-            List<Long> ids = StreamUtils.toList(delColumns, GenTableColumn::getColumnId);
-            if (CollUtil.isNotEmpty(ids)) {
-                genTableColumnMapper.deleteByIds(ids);
+        for (GenTableColumn column : tableColumns) {
+            if (ObjectUtil.isNotNull(column.getColumnId()) && !dbTableColumnNames.contains(column.getColumnName())) {
+                delIds.add(column.getColumnId());
             }
         }
     }
 
+    /**
+     * 判断列同步后是否与已保存的一致
+     */
+    private static boolean isSameColumn(GenTableColumn prev, GenTableColumn column) {
+        return Objects.equals(prev.getColumnComment(), column.getColumnComment())
+            && Objects.equals(prev.getColumnType(), column.getColumnType())
+            && Objects.equals(prev.getJavaType(), column.getJavaType())
+            && Objects.equals(prev.getJavaField(), column.getJavaField())
+            && Objects.equals(prev.getIsPk(), column.getIsPk())
+            && Objects.equals(prev.getIsIncrement(), column.getIsIncrement())
+            && Objects.equals(prev.getIsRequired(), column.getIsRequired())
+            && Objects.equals(prev.getIsInsert(), column.getIsInsert())
+            && Objects.equals(prev.getIsEdit(), column.getIsEdit())
+            && Objects.equals(prev.getIsList(), column.getIsList())
+            && Objects.equals(prev.getIsQuery(), column.getIsQuery())
+            && Objects.equals(prev.getQueryType(), column.getQueryType())
+            && Objects.equals(prev.getHtmlType(), column.getHtmlType())
+            && Objects.equals(prev.getDictType(), column.getDictType())
+            && Objects.equals(prev.getSort(), column.getSort());
+    }
+
     /**
      * 批量生成代码（下载方式）
      *
      * @param tableIds 表ID数组
-     * @return 数据
+     * @param out      zip 输出流
      */
     @Override
-    public byte[] downloadCode(String[] tableIds) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ZipOutputStream zip = new ZipOutputStream(outputStream);
-        for (String tableId : tableIds) {
-            generatorCode(Long.parseLong(tableId), zip);
-        }
-        IoUtil.close(zip);
-        return outputStream.toByteArray();
+    public void downloadCode(String[] tableIds, OutputStream out) {
+        writeZip(Arrays.stream(tableIds).map(Long::parseLong).toList(), out);
     }
 
     /**
-     * 查询表信息并生成代码
+     * 查询表信息并生成代码，直接写入 zip 输出流
+     * <p>
+     * 表信息 (含列) 一次查询，每张表的模板在线程池中并行渲染，按提交顺序写出；
+     * 同时在途的表数量有上限，内存中只保留少量表的渲染结果。
      */
-    private void generatorCode(Long tableId, ZipOutputStream zip) {
-        // 查询表信息
-        GenTable table = baseMapper.selectGenTableById(tableId);
-        List<Long> menuIds = new ArrayList<>();
-        for (int i = 0; i < 6; i++) {
-            menuIds.add(identifierGenerator.nextId(null).longValue());
+    private void writeZip(List<Long> tableIds, OutputStream out) {
+        Set<Long> ids = new LinkedHashSet<>(tableIds);
+        Map<Long, GenTable> tableMap = StreamUtils.toIdentityMap(baseMapper.selectGenTableByIds(ids), GenTable::getTableId);
+        // 模板列表依赖数据库类型 (需获取连接)，同一模板类型只获取一次
+        Map<String, List<String>> templateMap = new HashMap<>();
+        Deque<CompletableFuture<Map<String, String>>> pending = new ArrayDeque<>();
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        try {
+            for (Long tableId : ids) {
+                GenTable table = tableMap.get(tableId);
+                if (ObjectUtil.isNull(table)) {
+                    continue;
+                }
+                List<Long> menuIds = new ArrayList<>();
+                for (int i = 0; i < 6; i++) {
+                    menuIds.add(identifierGenerator.nextId(null).longValue());
+                }
+                table.setMenuIds(menuIds);
+                // 设置主键列信息
+                setPkColumn(table);
+                List<String> templates = templateMap.computeIfAbsent(table.getTplCategory(), VelocityUtils::getTemplateList);
+                pending.add(CompletableFuture.supplyAsync(() -> renderTemplates(table, templates), renderExecutor));
+                if (pending.size() >= RENDER_PARALLELISM * 2) {
+                    writeEntries(zip, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeEntries(zip, pending.poll());
+            }
+            zip.finish();
+            zip.flush();
+        } catch (IOException e) {
+            throw new ServiceException("生成代码失败：" + e.getMessage());
+        } finally {
+            // 异常中断时取消尚未渲染的表
+            pending.forEach(future -> future.cancel(true));
         }
-        table.setMenuIds(menuIds);
-        // 设置主键列信息
-        setPkColumn(table);
-
-        VelocityInitializer.initVelocity();
+    }
 
+    /**
+     * 渲染单张表的全部模板
+     *
+     * @return 文件名与文件内容
+     */
+    private Map<String, String> renderTemplates(GenTable table, List<String> templates) {
         VelocityContext context = VelocityUtils.prepareContext(table);
-
-        // 获取模板列表
-        List<String> templates = VelocityUtils.getTemplateList(table.getTplCategory());
+        Map<String, String> files = new LinkedHashMap<>();
         for (String template : templates) {
-            // 渲染模板
             StringWriter sw = new StringWriter();
-            Template tpl = Velocity.getTemplate(template, Constants.UTF8);
-            tpl.merge(context, sw);
+            VelocityInitializer.getTemplate(template).merge(context, sw);
+            files.put(VelocityUtils.getFileName(template, table), sw.toString());
+        }
+        return files;
+    }
+
+    /**
+     * 等待单张表渲染完成并写入 zip
+     */
+    private void writeEntries(ZipOutputStream zip, CompletableFuture<Map<String, String>> future) throws IOException {
+        Map<String, String> files;
+        try {
+            files = future.join();
+        } catch (CompletionException e) {
+            log.error("渲染模板失败", e.getCause());
+            throw new ServiceException("渲染模板失败：" + e.getCause().getMessage());
+        }
+        for (Map.Entry<String, String> file : files.entrySet()) {
             try {
-                // 添加到zip
-                zip.putNextEntry(new ZipEntry(VelocityUtils.getFileName(template, table)));
-                IoUtil.write(zip, StandardCharsets.UTF_8, false, sw.toString());
-                IoUtil.close(sw);
-                zip.flush();
-                zip.closeEntry();
-            } catch (IOException e) {
-                log.error("渲染模板失败，表名：" + table.getTableName(), e);
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+            } catch (ZipException e) {
+                // 不同表生成同名文件时跳过重复项
+                log.error("添加压缩文件失败，文件名：" + file.getKey(), e);
+                continue;
             }
+            zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+
+    @PreDestroy
+    public void shutdownRenderExecutor() {
+        renderExecutor.shutdownNow();
+    }
+
+    private static ExecutorService createRenderExecutor() {
+        BasicThreadFactory.Builder builder = new BasicThreadFactory.Builder().daemon(true);
+        if (SpringUtils.isVirtual()) {
+            builder.namingPattern("virtual-gen-render-%d").wrappedFactory(new VirtualThreadTaskExecutor().getVirtualThreadFactory());
+        } else {
+            builder.namingPattern("gen-render-%d");
         }
+        return Executors.newFixedThreadPool(RENDER_PARALLELISM, builder.build());
     }
 
     /**
@@ -5,6 +5,8 @@ import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.generator.domain.GenTable;
 import org.dromara.generator.domain.GenTableColumn;
 
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -94,6 +96,15 @@ public interface IGenTableService {
      */
     List<GenTableColumn> selectDbTableColumnsByName(String tableName, String dataName);
 
+    /**
+     * 根据表名称批量查询列信息 (同一数据源只读取一次元数据)
+     *
+     * @param tableNames 表名称集合
+     * @param dataName   数据源名称
+     * @return key 为表名称，value 为列信息
+     */
+    Map<String, List<GenTableColumn>> selectDbTableColumnsByNames(Collection<String> tableNames, String dataName);
+
     /**
      * 预览代码
      *
@@ -106,9 +117,9 @@ public interface IGenTableService {
      * 生成代码（下载方式）
      *
      * @param tableId 表名称
-     * @return 数据
+     * @param out     zip 输出流
      */
-    byte[] downloadCode(Long tableId);
+    void downloadCode(Long tableId, OutputStream out);
 
     /**
      * 生成代码（自定义路径）
@@ -124,13 +135,21 @@ public interface IGenTableService {
      */
     void synchDb(Long tableId);
 
+    /**
+     * 批量同步数据库 (表结构指纹未变化的表跳过)
+     *
+     * @param tableIds 表ID数组
+     * @return 实际同步的表数量
+     */
+    int batchSynchDb(Long[] tableIds);
+
     /**
      * 批量生成代码（下载方式）
      *
      * @param tableIds 表ID数组
-     * @return 数据
+     * @param out      zip 输出流
      */
-    byte[] downloadCode(String[] tableIds);
+    void downloadCode(String[] tableIds, OutputStream out);
 
     /**
      * 修改保存参数校验
@@ -0,0 +1,163 @@
+package org.dromara.generator.util;
+
+import cn.hutool.crypto.SecureUtil;
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.exception.ServiceException;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.generator.domain.GenTableColumn;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * 表结构批量加载
+ * <p>
+ * 通过 JDBC 元数据一次读取当前数据源 schema 下所有表的列与主键，按表名分组返回，
+ * 替代逐表查询元数据；同时提供列结构指纹，用于跳过结构未变化的表。
+ * 需在 {@code @DS} 切换后的上下文中调用。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TableColumnLoader {
+
+    /**
+     * postgres 自增类型对应的实际存储类型
+     */
+    private static final Map<String, String> SERIAL_TYPES = Map.of(
+        "smallserial", "int2",
+        "serial", "int4",
+        "bigserial", "int8"
+    );
+
+    /**
+     * 批量加载表的列信息
+     *
+     * @param tableNames 表名称集合
+     * @return key 为传入的表名称，value 为按位置排序的列信息 (表不存在时不包含)
+     */
+    public static Map<String, List<GenTableColumn>> loadColumns(Collection<String> tableNames) {
+        if (tableNames == null || tableNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        // 不同数据库元数据中表名大小写不一致，统一按小写匹配
+        Map<String, String> nameMap = new HashMap<>(tableNames.size() * 4 / 3 + 1);
+        tableNames.forEach(name -> nameMap.put(name.toLowerCase(), name));
+        DynamicRoutingDataSource dataSource = SpringUtils.getBean(DynamicRoutingDataSource.class);
+        try (Connection conn = dataSource.determineDataSource().getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            String catalog = conn.getCatalog();
+            String schema = conn.getSchema();
+            // 单表时按表名过滤，多表时整个 schema 一次读取
+            String tablePattern = nameMap.size() == 1 ? tableNames.iterator().next() : null;
+            Map<String, List<GenTableColumn>> result = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getColumns(catalog, schema, tablePattern, null)) {
+                while (rs.next()) {
+                    String tableName = nameMap.get(rs.getString("TABLE_NAME").toLowerCase());
+                    if (tableName == null) {
+                        continue;
+                    }
+                    GenTableColumn column = new GenTableColumn();
+                    column.setColumnName(rs.getString("COLUMN_NAME"));
+                    column.setColumnComment(rs.getString("REMARKS"));
+                    column.setColumnType(normalizeType(rs.getString("TYPE_NAME")));
+                    column.setSort(rs.getInt("ORDINAL_POSITION"));
+                    column.setIsRequired(rs.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls ? "1" : "0");
+                    column.setIsIncrement("YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT")) ? "1" : "0");
+                    column.setIsPk("0");
+                    result.computeIfAbsent(tableName, k -> new ArrayList<>()).add(column);
+                }
+            }
+            markPrimaryKeys(metaData, catalog, schema, result);
+            result.values().forEach(columns -> columns.sort(Comparator.comparing(GenTableColumn::getSort)));
+            return result;
+        } catch (SQLException e) {
+            throw new ServiceException("读取表结构失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 计算列结构指纹 (列名、类型、注释、位置、可空、自增、主键)
+     *
+     * @param columns 数据库列信息 (未经 {@link GenUtils#initColumnField} 处理)
+     * @return 指纹
+     */
+    public static String fingerprint(List<GenTableColumn> columns) {
+        StringBuilder sb = new StringBuilder();
+        for (GenTableColumn column : columns) {
+            sb.append(column.getColumnName()).append('|')
+                .append(column.getColumnType()).append('|')
+                .append(StringUtils.blankToDefault(column.getColumnComment(), StringUtils.EMPTY)).append('|')
+                .append(column.getSort()).append('|')
+                .append(column.getIsRequired())
+                .append(column.getIsIncrement())
+                .append(column.getIsPk()).append('\n');
+        }
+        return SecureUtil.md5(sb.toString());
+    }
+
+    /**
+     * 标记主键列，驱动支持时整个 schema 一次读取，否则逐表读取
+     */
+    private static void markPrimaryKeys(DatabaseMetaData metaData, String catalog, String schema,
+                                        Map<String, List<GenTableColumn>> result) throws SQLException {
+        if (result.isEmpty()) {
+            return;
+        }
+        Map<String, String> nameMap = new HashMap<>(result.size() * 4 / 3 + 1);
+        result.keySet().forEach(name -> nameMap.put(name.toLowerCase(), name));
+        Map<String, Set<String>> pkMap = new HashMap<>();
+        try {
+            readPrimaryKeys(metaData, catalog, schema, result.size() == 1 ? result.keySet().iterator().next() : null, nameMap, pkMap);
+        } catch (SQLException e) {
+            // 部分驱动 (如 mysql) 不支持不指定表名
+            log.debug("批量读取主键失败，改为逐表读取：{}", e.getMessage());
+            pkMap.clear();
+            for (String tableName : result.keySet()) {
+                readPrimaryKeys(metaData, catalog, schema, tableName, nameMap, pkMap);
+            }
+        }
+        result.forEach((tableName, columns) -> {
+            Set<String> pks = pkMap.getOrDefault(tableName, Collections.emptySet());
+            for (GenTableColumn column : columns) {
+                if (pks.contains(column.getColumnName())) {
+                    column.setIsPk("1");
+                }
+            }
+        });
+    }
+
+    private static void readPrimaryKeys(DatabaseMetaData metaData, String catalog, String schema, String table,
+                                        Map<String, String> nameMap, Map<String, Set<String>> pkMap) throws SQLException {
+        try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, table)) {
+            while (rs.next()) {
+                String tableName = nameMap.get(rs.getString("TABLE_NAME").toLowerCase());
+                if (tableName != null) {
+                    pkMap.computeIfAbsent(tableName, k -> new HashSet<>()).add(rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+    }
+
+    /**
+     * 统一列类型写法 (小写，去掉长度与 unsigned 等修饰，postgres 自增类型还原为整数类型)
+     */
+    private static String normalizeType(String typeName) {
+        String type = StringUtils.trim(StringUtils.defaultString(typeName)).toLowerCase();
+        int end = StringUtils.indexOfAny(type, '(', ' ');
+        if (end > 0) {
+            type = type.substring(0, end);
+        }
+        return SERIAL_TYPES.getOrDefault(type, type);
+    }
+
+}
@@ -2,34 +2,66 @@ package org.dromara.generator.util;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.apache.velocity.Template;
 import org.apache.velocity.app.Velocity;
 import org.dromara.common.core.constant.Constants;
 
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * VelocityEngine工厂
+ * <p>
+ * 引擎只初始化一次，模板首次使用时解析并缓存，之后各线程共享同一份已编译模板 (Template 渲染线程安全)。
  *
  * @author ruoyi
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class VelocityInitializer {
 
+    private static final Map<String, Template> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
+    private static volatile boolean initialized;
+
     /**
      * 初始化vm方法
      */
     public static void initVelocity() {
-        Properties p = new Properties();
-        try {
-            // 加载classpath目录下的vm文件
-            p.setProperty("resource.loader.file.class", "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
-            // 定义字符集
-            p.setProperty(Velocity.INPUT_ENCODING, Constants.UTF8);
-            // 初始化Velocity引擎，指定配置Properties
-            Velocity.init(p);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        if (initialized) {
+            return;
         }
+        synchronized (VelocityInitializer.class) {
+            if (initialized) {
+                return;
+            }
+            Properties p = new Properties();
+            try {
+                // 加载classpath目录下的vm文件
+                p.setProperty("resource.loader.file.class", "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
+                // 模板打包在 jar 中不会变化，缓存解析结果且不检查修改
+                p.setProperty("resource.loader.file.cache", "true");
+                p.setProperty("resource.loader.file.modification_check_interval", "-1");
+                // 定义字符集
+                p.setProperty(Velocity.INPUT_ENCODING, Constants.UTF8);
+                // 初始化Velocity引擎，指定配置Properties
+                Velocity.init(p);
+                initialized = true;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * 获取已编译模板 (首次使用时解析)
+     *
+     * @param name 模板路径
+     * @return 模板
+     */
+    public static Template getTemplate(String name) {
+        initVelocity();
+        return TEMPLATE_CACHE.computeIfAbsent(name, key -> Velocity.getTemplate(key, Constants.UTF8));
     }
 
 }
@@ -1,10 +1,13 @@
 package org.dromara.system.controller.monitor;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.domain.R;
 import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.manager.PlusSpringCacheManager;
 import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.RedisConnectionUtils;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,6 +27,7 @@ import java.util.*;
 public class CacheController {
 
     private final RedissonConnectionFactory connectionFactory;
+    private final CacheManager cacheManager;
 
     /**
      * 获取缓存监控列表
@@ -53,6 +57,24 @@ public class CacheController {
         }
     }
 
+    /**
+     * 获取本地一级缓存统计 (按缓存名称)
+     */
+    @SaCheckPermission("monitor:cache:list")
+    @GetMapping("/local")
+    public R<List<LocalCacheStatsVo>> getLocalStats() {
+        List<LocalCacheStatsVo> list = new ArrayList<>();
+        if (cacheManager instanceof PlusSpringCacheManager manager) {
+            manager.getLocalCaches().forEach((name, cache) -> {
+                CacheStats stats = cache.getLocalStats();
+                list.add(new LocalCacheStatsVo(name, cache.getLocalSize(), stats.hitCount(), stats.missCount(),
+                    stats.hitRate(), stats.evictionCount(), stats.loadSuccessCount(), stats.loadFailureCount()));
+            });
+            list.sort(Comparator.comparing(LocalCacheStatsVo::name));
+        }
+        return R.ok(list);
+    }
+
     /**
      * 缓存监控列表信息
      *
@@ -62,4 +84,19 @@ public class CacheController {
      */
     public record CacheListInfoVo(Properties info, Long dbSize, List<Map<String, String>> commandStats) {}
 
+    /**
+     * 本地一级缓存统计信息
+     *
+     * @param name          缓存名称
+     * @param size          条目数
+     * @param hitCount      命中次数
+     * @param missCount     未命中次数
+     * @param hitRate       命中率
+     * @param evictionCount 淘汰次数
+     * @param loadSuccess   加载(含后台刷新)成功次数
+     * @param loadFailure   加载失败次数
+     */
+    public record LocalCacheStatsVo(String name, long size, long hitCount, long missCount, double hitRate,
+                                    long evictionCount, long loadSuccess, long loadFailure) {}
+
 }
@@ -17,8 +17,6 @@ import org.dromara.system.service.ISysOperLogService;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 操作日志记录
  *
@@ -30,6 +28,11 @@ import java.util.List;
 @RequestMapping("/monitor/operlog")
 public class SysOperlogController extends BaseController {
 
+    /**
+     * 分批导出每批行数
+     */
+    private static final int EXPORT_BATCH_SIZE = 2000;
+
     private final ISysOperLogService operLogService;
 
     /**
@@ -48,8 +51,8 @@ public class SysOperlogController extends BaseController {
     @SaCheckPermission("monitor:operlog:export")
     @PostMapping("/export")
     public void export(SysOperLogBo operLog, HttpServletResponse response) {
-        List<SysOperLogVo> list = operLogService.selectOperLogList(operLog);
-        ExcelUtil.exportExcel(list, "操作日志", SysOperLogVo.class, response);
+        ExcelUtil.exportExcelByBatch("操作日志", SysOperLogVo.class, response,
+            last -> operLogService.selectOperLogBatch(operLog, last == null ? null : last.getOperId(), EXPORT_BATCH_SIZE));
     }
 
     /**
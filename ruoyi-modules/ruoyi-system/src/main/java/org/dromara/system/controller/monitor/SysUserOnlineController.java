@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -46,15 +47,18 @@ public class SysUserOnlineController extends BaseController {
     public TableDataInfo<SysUserOnline> list(String ipaddr, String userName) {
         // 获取所有未过期的 token
         Collection<String> keys = RedisUtils.keys(CacheConstants.ONLINE_TOKEN_KEY + "*");
-        List<UserOnlineDTO> userOnlineDTOList = new ArrayList<>();
+        List<String> onlineKeys = new ArrayList<>();
         for (String key : keys) {
             String token = StringUtils.substringAfterLast(key, ":");
             // 如果已经过期则跳过
             if (StpUtil.stpLogic.getTokenActiveTimeoutByToken(token) < -1) {
                 continue;
             }
-            userOnlineDTOList.add(RedisUtils.getCacheObject(CacheConstants.ONLINE_TOKEN_KEY + token));
+            onlineKeys.add(CacheConstants.ONLINE_TOKEN_KEY + token);
         }
+        // 在线用户信息批量读取，单次网络往返
+        Map<String, UserOnlineDTO> onlineUsers = RedisUtils.getCacheObjects(onlineKeys);
+        List<UserOnlineDTO> userOnlineDTOList = new ArrayList<>(onlineUsers.values());
         if (StringUtils.isNotEmpty(ipaddr) && StringUtils.isNotEmpty(userName)) {
             userOnlineDTOList = StreamUtils.filter(userOnlineDTOList, userOnline ->
                 StringUtils.equals(ipaddr, userOnline.getIpaddr()) &&
@@ -99,10 +103,12 @@ public class SysUserOnlineController extends BaseController {
     public TableDataInfo<SysUserOnline> getInfo() {
         // 获取指定账号 id 的 token 集合
         List<String> tokenIds = StpUtil.getTokenValueListByLoginId(StpUtil.getLoginIdAsString());
-        List<UserOnlineDTO> userOnlineDTOList = tokenIds.stream()
+        List<String> onlineKeys = tokenIds.stream()
             .filter(token -> StpUtil.stpLogic.getTokenActiveTimeoutByToken(token) >= -1)
-            .map(token -> (UserOnlineDTO) RedisUtils.getCacheObject(CacheConstants.ONLINE_TOKEN_KEY + token))
+            .map(token -> CacheConstants.ONLINE_TOKEN_KEY + token)
             .collect(Collectors.toList());
+        Map<String, UserOnlineDTO> onlineUsers = RedisUtils.getCacheObjects(onlineKeys);
+        List<UserOnlineDTO> userOnlineDTOList = new ArrayList<>(onlineUsers.values());
         //复制和处理 SysUserOnline 对象列表
         Collections.reverse(userOnlineDTOList);
         userOnlineDTOList.removeAll(Collections.singleton(null));
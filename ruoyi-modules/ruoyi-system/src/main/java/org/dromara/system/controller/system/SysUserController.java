@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.constant.SystemConstants;
 import org.dromara.common.core.domain.R;
 import org.dromara.common.core.domain.model.LoginUser;
+import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.encrypt.annotation.ApiEncrypt;
@@ -22,6 +23,7 @@ import org.dromara.common.log.enums.BusinessType;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.mybatis.helper.DataPermissionHelper;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.common.web.core.BaseController;
 import org.dromara.common.core.annotation.DemoBlock;
@@ -51,6 +53,11 @@ import java.util.List;
 @RequestMapping("/system/user")
 public class SysUserController extends BaseController {
 
+    /**
+     * 分批导出每批行数
+     */
+    private static final int EXPORT_BATCH_SIZE = 2000;
+
     private final ISysUserService userService;
     private final ISysRoleService roleService;
     private final ISysPostService postService;
@@ -72,8 +79,8 @@ public class SysUserController extends BaseController {
     @SaCheckPermission("system:user:export")
     @PostMapping("/export")
     public void export(SysUserBo user, HttpServletResponse response) {
-        List<SysUserExportVo> list = userService.selectUserExportList(user);
-        ExcelUtil.exportExcel(list, "用户数据", SysUserExportVo.class, response);
+        ExcelUtil.exportExcelByBatch("用户数据", SysUserExportVo.class, response,
+            last -> userService.selectUserExportBatch(user, last == null ? null : last.getUserId(), EXPORT_BATCH_SIZE));
     }
 
     /**
@@ -99,6 +106,22 @@ public class SysUserController extends BaseController {
         ExcelUtil.exportExcel(new ArrayList<>(), "用户数据", SysUserImportVo.class, response);
     }
 
+    /**
+     * 下载导入错误报告
+     *
+     * @param reportId 错误报告编号
+     */
+    @SaCheckPermission("system:user:import")
+    @PostMapping("/importError/{reportId}")
+    public void importError(@PathVariable String reportId, HttpServletResponse response) {
+        List<SysUserImportErrorVo> list = RedisUtils.getCacheObject(
+            SysUserImportListener.errorReportKey(LoginHelper.getUserId(), reportId));
+        if (list == null) {
+            throw new ServiceException("错误报告不存在或已过期");
+        }
+        ExcelUtil.exportExcel(list, "用户导入错误报告", SysUserImportErrorVo.class, response);
+    }
+
     /**
      * 获取用户信息
      *
@@ -0,0 +1,36 @@
+package org.dromara.system.domain;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+/**
+ * 部门层级闭包 sys_dept_closure
+ * <p>
+ * 每个部门与其自身及所有上级部门各占一行，子树查询走 ancestor_id 索引，替代 ancestors 字符串匹配
+ * <p>
+ * 主键为 (ancestor_id, descendant_id) 联合主键，不声明 @TableId，不支持 ById 系列操作，
+ * 读写均通过 {@link org.dromara.system.mapper.SysDeptClosureMapper} 中按部门ID的语句完成
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Data
+@TableName("sys_dept_closure")
+public class SysDeptClosure {
+
+    /**
+     * 上级部门ID（含自身）
+     */
+    private Long ancestorId;
+
+    /**
+     * 下级部门ID
+     */
+    private Long descendantId;
+
+    /**
+     * 层级距离（自身为0）
+     */
+    private Integer depth;
+
+}
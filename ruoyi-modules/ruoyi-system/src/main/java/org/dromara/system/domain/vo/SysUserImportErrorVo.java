@@ -0,0 +1,36 @@
+package org.dromara.system.domain.vo;
+
+import cn.idev.excel.annotation.ExcelProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+
+/**
+ * 用户导入错误报告VO (原始数据 + 行号 + 错误原因)
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class SysUserImportErrorVo extends SysUserImportVo {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 行号
+     */
+    @ExcelProperty(value = "行号")
+    private Integer rowNum;
+
+    /**
+     * 错误原因
+     */
+    @ExcelProperty(value = "错误原因")
+    private String errorMsg;
+
+}
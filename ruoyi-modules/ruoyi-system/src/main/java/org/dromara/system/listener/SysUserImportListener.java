@@ -1,7 +1,7 @@
 package org.dromara.system.listener;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.crypto.digest.BCrypt;
 import cn.hutool.http.HtmlUtil;
 import cn.idev.excel.context.AnalysisContext;
@@ -9,29 +9,54 @@ import cn.idev.excel.event.AnalysisEventListener;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.constant.CacheConstants;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.ValidatorUtils;
 import org.dromara.common.excel.core.ExcelListener;
 import org.dromara.common.excel.core.ExcelResult;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.bo.SysUserBo;
+import org.dromara.system.domain.vo.SysUserImportErrorVo;
 import org.dromara.system.domain.vo.SysUserImportVo;
 import org.dromara.system.domain.vo.SysUserVo;
 import org.dromara.system.service.ISysConfigService;
 import org.dromara.system.service.ISysUserService;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * 系统用户自定义导入
+ * <p>
+ * 解析出的数据按批处理：批内并行校验，按账号批量查询已存在用户并批量校验数据权限，
+ * 新增与更新分别批量写入 (批量失败时逐条重试以定位失败行)，失败行汇总为可下载的错误报告。
  *
  * @author Lion Li
  */
 @Slf4j
 public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo> implements ExcelListener<SysUserImportVo> {
 
+    /**
+     * 每批处理行数
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * 回执中最多展示的明细条数 (完整明细见错误报告)
+     */
+    private static final int MAX_MSG_LINES = 100;
+
+    /**
+     * 错误报告保留时间
+     */
+    private static final Duration ERROR_REPORT_TTL = Duration.ofMinutes(30);
+
     private final ISysUserService userService;
 
     private final String password;
@@ -45,6 +70,10 @@ public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo
     private final StringBuilder successMsg = new StringBuilder();
     private final StringBuilder failureMsg = new StringBuilder();
 
+    private final List<ImportRow> buffer = new ArrayList<>(BATCH_SIZE);
+    private final Set<String> importedUserNames = new HashSet<>();
+    private final List<SysUserImportErrorVo> errorList = new ArrayList<>();
+
     public SysUserImportListener(Boolean isUpdateSupport) {
         String initPassword = SpringUtils.getBean(ISysConfigService.class).selectConfigByKey("sys.user.initPassword");
         this.userService = SpringUtils.getBean(ISysUserService.class);
@@ -55,47 +84,149 @@ public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo
 
     @Override
     public void invoke(SysUserImportVo userVo, AnalysisContext context) {
-        SysUserVo sysUser = this.userService.selectUserByUserName(userVo.getUserName());
-        try {
-            // 验证是否存在这个用户
-            if (ObjectUtil.isNull(sysUser)) {
-                SysUserBo user = BeanUtil.toBean(userVo, SysUserBo.class);
-                ValidatorUtils.validate(user);
+        buffer.add(new ImportRow(context.readRowHolder().getRowIndex() + 1, userVo));
+        if (buffer.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        flush();
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<ImportRow> rows = new ArrayList<>(buffer);
+        buffer.clear();
+        List<ImportRow> valid = validate(rows);
+
+        // 批量查询已存在的账号
+        Map<String, SysUserVo> existing = StreamUtils.toIdentityMap(
+            userService.selectUserByUserNames(StreamUtils.toSet(valid, row -> row.user.getUserName())),
+            SysUserVo::getUserName);
+        List<ImportRow> inserts = new ArrayList<>();
+        List<ImportRow> updates = new ArrayList<>();
+        for (ImportRow row : valid) {
+            SysUserBo user = row.user;
+            if (!importedUserNames.add(user.getUserName())) {
+                fail(row, "账号 " + HtmlUtil.cleanHtmlTag(user.getUserName()) + " 在文件中重复");
+                continue;
+            }
+            SysUserVo sysUser = existing.get(user.getUserName());
+            if (sysUser == null) {
                 user.setPassword(password);
                 user.setCreateBy(operUserId);
-                userService.insertUser(user);
-                successNum++;
-                successMsg.append("<br/>").append(successNum).append("、账号 ").append(user.getUserName()).append(" 导入成功");
+                inserts.add(row);
             } else if (isUpdateSupport) {
-                Long userId = sysUser.getUserId();
-                SysUserBo user = BeanUtil.toBean(userVo, SysUserBo.class);
-                user.setUserId(userId);
-                ValidatorUtils.validate(user);
-                userService.checkUserAllowed(user.getUserId());
-                userService.checkUserDataScope(user.getUserId());
+                user.setUserId(sysUser.getUserId());
                 user.setUpdateBy(operUserId);
-                userService.updateUser(user);
-                successNum++;
-                successMsg.append("<br/>").append(successNum).append("、账号 ").append(user.getUserName()).append(" 更新成功");
+                try {
+                    userService.checkUserAllowed(user.getUserId());
+                    updates.add(row);
+                } catch (Exception e) {
+                    fail(row, e);
+                }
+            } else {
+                fail(row, "账号 " + sysUser.getUserName() + " 已存在");
+            }
+        }
+        if (!updates.isEmpty()) {
+            // 批量校验数据权限
+            Set<Long> allowed = userService.selectUserIdsInDataScope(StreamUtils.toList(updates, row -> row.user.getUserId()));
+            updates.removeIf(row -> {
+                if (allowed.contains(row.user.getUserId())) {
+                    return false;
+                }
+                fail(row, new ServiceException("没有权限访问用户数据！"));
+                return true;
+            });
+        }
+        write(inserts, userService::insertUserBatch, userService::insertUser, " 导入成功");
+        write(updates, userService::updateUserBatch, userService::updateUser, " 更新成功");
+    }
+
+    /**
+     * 批内并行校验 (校验无状态，失败行在当前线程汇总)
+     *
+     * @return 校验通过的行
+     */
+    private List<ImportRow> validate(List<ImportRow> rows) {
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        rows.parallelStream().forEach(row -> {
+            // 校验消息国际化依赖当前请求的语言
+            LocaleContext previous = LocaleContextHolder.getLocaleContext();
+            LocaleContextHolder.setLocaleContext(localeContext);
+            try {
+                SysUserBo user = BeanUtil.toBean(row.vo, SysUserBo.class);
+                ValidatorUtils.validate(user);
+                row.user = user;
+            } catch (Exception e) {
+                row.error = e;
+            } finally {
+                LocaleContextHolder.setLocaleContext(previous);
+            }
+        });
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (row.error != null) {
+                fail(row, row.error);
             } else {
-                failureNum++;
-                failureMsg.append("<br/>").append(failureNum).append("、账号 ").append(sysUser.getUserName()).append(" 已存在");
+                valid.add(row);
             }
+        }
+        return valid;
+    }
+
+    private void write(List<ImportRow> rows, Consumer<List<SysUserBo>> batchWriter, Consumer<SysUserBo> writer, String action) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            batchWriter.accept(StreamUtils.toList(rows, row -> row.user));
+            rows.forEach(row -> success(row, action));
         } catch (Exception e) {
-            failureNum++;
-            String msg = "<br/>" + failureNum + "、账号 " + HtmlUtil.cleanHtmlTag(userVo.getUserName()) + " 导入失败：";
-            String message = e.getMessage();
-            if (e instanceof ConstraintViolationException cvException) {
-                message = StreamUtils.join(cvException.getConstraintViolations(), ConstraintViolation::getMessage, ", ");
+            // 批量写入失败时逐条写入，定位具体失败的行
+            log.warn("批量写入用户失败，改为逐条处理: {}", e.getMessage());
+            for (ImportRow row : rows) {
+                try {
+                    writer.accept(row.user);
+                    success(row, action);
+                } catch (Exception ex) {
+                    fail(row, ex);
+                }
             }
-            failureMsg.append(msg).append(message);
-            log.error(msg, e);
         }
     }
 
-    @Override
-    public void doAfterAllAnalysed(AnalysisContext context) {
+    private void success(ImportRow row, String action) {
+        successNum++;
+        if (successNum <= MAX_MSG_LINES) {
+            successMsg.append("<br/>").append(successNum).append("、账号 ").append(row.user.getUserName()).append(action);
+        }
+    }
 
+    private void fail(ImportRow row, Exception e) {
+        String message = e.getMessage();
+        if (e instanceof ConstraintViolationException cvException) {
+            message = StreamUtils.join(cvException.getConstraintViolations(), ConstraintViolation::getMessage, ", ");
+        }
+        String msg = "账号 " + HtmlUtil.cleanHtmlTag(row.vo.getUserName()) + " 导入失败：";
+        log.error("第{}行{}", row.rowNum, msg, e);
+        fail(row, msg + message);
+    }
+
+    private void fail(ImportRow row, String message) {
+        failureNum++;
+        if (failureNum <= MAX_MSG_LINES) {
+            failureMsg.append("<br/>").append(failureNum).append("、").append(message);
+        }
+        SysUserImportErrorVo error = BeanUtil.toBean(row.vo, SysUserImportErrorVo.class);
+        error.setRowNum(row.rowNum);
+        error.setErrorMsg(message);
+        errorList.add(error);
     }
 
     @Override
@@ -105,9 +236,16 @@ public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo
             @Override
             public String getAnalysis() {
                 if (failureNum > 0) {
+                    if (failureNum > MAX_MSG_LINES) {
+                        failureMsg.append("<br/>...");
+                    }
                     failureMsg.insert(0, "很抱歉，导入失败！共 " + failureNum + " 条数据格式不正确，错误如下：");
+                    failureMsg.append("<br/>错误报告编号：").append(saveErrorReport());
                     throw new ServiceException(failureMsg.toString());
                 } else {
+                    if (successNum > MAX_MSG_LINES) {
+                        successMsg.append("<br/>...");
+                    }
                     successMsg.insert(0, "恭喜您，数据已全部导入成功！共 " + successNum + " 条，数据如下：");
                 }
                 return successMsg.toString();
@@ -124,4 +262,41 @@ public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo
             }
         };
     }
+
+    /**
+     * 保存错误报告 (按操作人隔离)
+     *
+     * @return 错误报告编号
+     */
+    private String saveErrorReport() {
+        String reportId = IdUtil.fastSimpleUUID();
+        RedisUtils.setCacheObject(errorReportKey(operUserId, reportId), errorList, ERROR_REPORT_TTL);
+        return reportId;
+    }
+
+    /**
+     * 错误报告缓存 key
+     *
+     * @param userId   导入操作人
+     * @param reportId 错误报告编号
+     */
+    public static String errorReportKey(Long userId, String reportId) {
+        return CacheConstants.IMPORT_ERROR_KEY + "sys_user:" + userId + ":" + reportId;
+    }
+
+    /**
+     * 导入行
+     */
+    private static final class ImportRow {
+
+        private final int rowNum;
+        private final SysUserImportVo vo;
+        private SysUserBo user;
+        private Exception error;
+
+        private ImportRow(int rowNum, SysUserImportVo vo) {
+            this.rowNum = rowNum;
+            this.vo = vo;
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package org.dromara.system.mapper;
+
+import org.apache.ibatis.annotations.Param;
+import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
+import org.dromara.system.domain.SysDeptClosure;
+
+/**
+ * 部门层级闭包 数据层
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public interface SysDeptClosureMapper extends BaseMapperPlus<SysDeptClosure, SysDeptClosure> {
+
+    /**
+     * 新增部门时写入层级关系：复制父部门的所有上级并加上自身
+     *
+     * @param deptId   新部门ID
+     * @param parentId 父部门ID
+     * @return 写入行数
+     */
+    int insertNode(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 移动子树：先断开子树与原上级的关系，再挂到新父部门下
+     *
+     * @param deptId   被移动的部门ID
+     * @param parentId 新父部门ID
+     */
+    default void moveSubtree(Long deptId, Long parentId) {
+        deleteSubtreeAncestors(deptId);
+        insertSubtreeAncestors(deptId, parentId);
+    }
+
+    /**
+     * 删除子树内各节点与子树外上级的关系
+     *
+     * @param deptId 子树根部门ID
+     * @return 删除行数
+     */
+    int deleteSubtreeAncestors(@Param("deptId") Long deptId);
+
+    /**
+     * 为子树内各节点写入新父部门及其上级的关系
+     *
+     * @param deptId   子树根部门ID
+     * @param parentId 新父部门ID
+     * @return 写入行数
+     */
+    int insertSubtreeAncestors(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 删除部门的层级关系
+     *
+     * @param deptId 部门ID
+     * @return 删除行数
+     */
+    int deleteByDescendantId(@Param("deptId") Long deptId);
+
+}
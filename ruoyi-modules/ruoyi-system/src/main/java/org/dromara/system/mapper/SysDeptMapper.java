@@ -7,7 +7,6 @@ import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.mybatis.annotation.DataColumn;
 import org.dromara.common.mybatis.annotation.DataPermission;
 import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
-import org.dromara.common.mybatis.helper.DataBaseHelper;
 import org.dromara.system.domain.SysDept;
 import org.dromara.system.domain.vo.SysDeptVo;
 
@@ -105,7 +104,19 @@ public interface SysDeptMapper extends BaseMapperPlus<SysDept, SysDeptVo> {
     default List<SysDept> selectListByParentId(Long parentId) {
         return this.selectList(new LambdaQueryWrapper<SysDept>()
             .select(SysDept::getDeptId)
-            .apply(DataBaseHelper.findInSet(parentId, "ancestors")));
+            .inSql(SysDept::getDeptId, buildChildSql(parentId)));
+    }
+
+    /**
+     * 构建查询某个部门所有子部门ID（不含自身）的 SQL 语句
+     *
+     * <p>基于部门层级闭包表 sys_dept_closure，走 ancestor_id 索引</p>
+     *
+     * @param parentId 父部门ID
+     * @return 查询子部门ID的 SQL 语句字符串
+     */
+    default String buildChildSql(Long parentId) {
+        return "select descendant_id from sys_dept_closure where ancestor_id = %d and depth > 0".formatted(parentId);
     }
 
     /**
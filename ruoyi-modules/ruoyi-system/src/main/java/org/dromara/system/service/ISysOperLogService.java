@@ -38,6 +38,16 @@ public interface ISysOperLogService {
      */
     List<SysOperLogVo> selectOperLogList(SysOperLogBo operLog);
 
+    /**
+     * 按键集分页查询系统操作日志 (按操作ID倒序，用于分批导出)
+     *
+     * @param operLog    操作日志对象
+     * @param lastOperId 上一批最后一条日志ID，首批为 null
+     * @param size       批大小
+     * @return 操作日志集合
+     */
+    List<SysOperLogVo> selectOperLogBatch(SysOperLogBo operLog, Long lastOperId, int size);
+
     /**
      * 批量删除系统操作日志
      *
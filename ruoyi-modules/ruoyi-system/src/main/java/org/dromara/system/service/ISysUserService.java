@@ -6,7 +6,9 @@ import org.dromara.system.domain.bo.SysUserBo;
 import org.dromara.system.domain.vo.SysUserExportVo;
 import org.dromara.system.domain.vo.SysUserVo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户 业务层
@@ -33,6 +35,16 @@ public interface ISysUserService {
      */
     List<SysUserExportVo> selectUserExportList(SysUserBo user);
 
+    /**
+     * 按键集分页查询导出用户 (按用户ID正序，用于分批导出)
+     *
+     * @param user       用户信息
+     * @param lastUserId 上一批最后一个用户ID，首批为 null
+     * @param size       批大小
+     * @return 用户信息集合信息
+     */
+    List<SysUserExportVo> selectUserExportBatch(SysUserBo user, Long lastUserId, int size);
+
     /**
      * 根据条件分页查询已分配用户角色列表
      *
@@ -59,6 +71,14 @@ public interface ISysUserService {
      */
     SysUserVo selectUserByUserName(String userName);
 
+    /**
+     * 通过用户名批量查询用户
+     *
+     * @param userNames 用户名集合
+     * @return 用户对象信息集合
+     */
+    List<SysUserVo> selectUserByUserNames(Collection<String> userNames);
+
     /**
      * 通过手机号查询用户
      *
@@ -138,6 +158,14 @@ public interface ISysUserService {
      */
     void checkUserDataScope(Long userId);
 
+    /**
+     * 筛选有数据权限的用户ID (批量校验)
+     *
+     * @param userIds 用户ID集合
+     * @return 有权限的用户ID集合
+     */
+    Set<Long> selectUserIdsInDataScope(Collection<Long> userIds);
+
     /**
      * 新增用户信息
      *
@@ -146,6 +174,13 @@ public interface ISysUserService {
      */
     int insertUser(SysUserBo user);
 
+    /**
+     * 批量新增用户信息 (仅用户基础信息，不处理角色与岗位)
+     *
+     * @param users 用户信息集合
+     */
+    void insertUserBatch(List<SysUserBo> users);
+
     /**
      * 注册用户信息
      *
@@ -162,6 +197,13 @@ public interface ISysUserService {
      */
     int updateUser(SysUserBo user);
 
+    /**
+     * 批量修改用户信息 (仅用户基础信息，不处理角色与岗位)
+     *
+     * @param users 用户信息集合
+     */
+    void updateUserBatch(List<SysUserBo> users);
+
     /**
      * 用户授权角色
      *
@@ -8,9 +8,9 @@ import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.constant.CacheNames;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.system.domain.SysRoleDept;
-import org.dromara.system.mapper.SysDeptMapper;
 import org.dromara.system.mapper.SysRoleDeptMapper;
 import org.dromara.system.service.ISysDataScopeService;
+import org.dromara.system.support.OrgSnapshotManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -29,7 +29,7 @@ import java.util.List;
 public class SysDataScopeServiceImpl implements ISysDataScopeService {
 
     private final SysRoleDeptMapper roleDeptMapper;
-    private final SysDeptMapper deptMapper;
+    private final OrgSnapshotManager orgSnapshotManager;
 
     /**
      * 获取角色自定义权限
@@ -65,7 +65,7 @@ public class SysDataScopeServiceImpl implements ISysDataScopeService {
         if (ObjectUtil.isNull(deptId)) {
             return "-1";
         }
-        List<Long> deptIds = deptMapper.selectDeptAndChildById(deptId);
+        List<Long> deptIds = orgSnapshotManager.selectDeptAndChildIds(deptId);
         return CollUtil.isNotEmpty(deptIds) ? StreamUtils.join(deptIds, Convert::toStr) : "-1";
     }
 
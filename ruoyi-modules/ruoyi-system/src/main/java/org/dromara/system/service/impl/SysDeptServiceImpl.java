@@ -13,12 +13,14 @@ import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.constant.CacheNames;
 import org.dromara.common.core.constant.SystemConstants;
 import org.dromara.common.core.domain.dto.DeptDTO;
+import org.dromara.common.core.domain.model.LoginUser;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.service.DeptService;
 import org.dromara.common.core.utils.*;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
-import org.dromara.common.mybatis.helper.DataBaseHelper;
+import org.dromara.common.mybatis.enums.DataScopeType;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
 import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.SysDept;
@@ -26,10 +28,13 @@ import org.dromara.system.domain.SysRole;
 import org.dromara.system.domain.SysUser;
 import org.dromara.system.domain.bo.SysDeptBo;
 import org.dromara.system.domain.vo.SysDeptVo;
+import org.dromara.system.mapper.SysDeptClosureMapper;
 import org.dromara.system.mapper.SysDeptMapper;
 import org.dromara.system.mapper.SysRoleMapper;
 import org.dromara.system.mapper.SysUserMapper;
 import org.dromara.system.service.ISysDeptService;
+import org.dromara.system.support.OrgSnapshot;
+import org.dromara.system.support.OrgSnapshotManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -50,6 +55,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
     private final SysDeptMapper baseMapper;
     private final SysRoleMapper roleMapper;
     private final SysUserMapper userMapper;
+    private final SysDeptClosureMapper deptClosureMapper;
+    private final OrgSnapshotManager orgSnapshotManager;
 
     /**
      * 分页查询部门管理数据
@@ -84,11 +91,37 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      */
     @Override
     public List<Tree<Long>> selectDeptTreeList(SysDeptBo bo) {
+        // 无筛选条件且不受数据权限限制时直接使用组织架构快照中的完整部门树
+        if (isUnfiltered(bo) && hasAllDeptScope()) {
+            return orgSnapshotManager.current().deptTree();
+        }
         LambdaQueryWrapper<SysDept> lqw = buildQueryWrapper(bo);
         List<SysDeptVo> depts = baseMapper.selectDeptList(lqw);
         return buildDeptTreeSelect(depts);
     }
 
+    private boolean isUnfiltered(SysDeptBo bo) {
+        Map<String, Object> params = bo.getParams();
+        return ObjectUtil.isNull(bo.getDeptId())
+            && ObjectUtil.isNull(bo.getParentId())
+            && ObjectUtil.isNull(bo.getBelongDeptId())
+            && StringUtils.isAllBlank(bo.getDeptName(), bo.getDeptCategory(), bo.getStatus())
+            && (params.get("beginTime") == null || params.get("endTime") == null);
+    }
+
+    /**
+     * 当前用户是否可查看全部部门 (超级管理员或拥有全部数据权限的角色)
+     */
+    private boolean hasAllDeptScope() {
+        LoginUser loginUser = LoginHelper.getLoginUser();
+        if (ObjectUtil.isNull(loginUser)) {
+            return false;
+        }
+        return LoginHelper.isSuperAdmin(loginUser.getUserId())
+            || CollUtil.isNotEmpty(loginUser.getRoles()) && loginUser.getRoles().stream()
+            .anyMatch(role -> DataScopeType.ALL.getCode().equals(role.getDataScope()));
+    }
+
     private LambdaQueryWrapper<SysDept> buildQueryWrapper(SysDeptBo bo) {
         Map<String, Object> params = bo.getParams();
         LambdaQueryWrapper<SysDept> lqw = Wrappers.lambdaQuery();
@@ -107,7 +140,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         if (ObjectUtil.isNotNull(bo.getBelongDeptId())) {
             //部门树搜索
             lqw.and(x -> {
-                List<Long> deptIds = baseMapper.selectDeptAndChildById(bo.getBelongDeptId());
+                List<Long> deptIds = orgSnapshotManager.selectDeptAndChildIds(bo.getBelongDeptId());
                 x.in(SysDept::getDeptId, deptIds);
             });
         }
@@ -186,7 +219,13 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
     @Override
     public String selectDeptNameByIds(String deptIds) {
         List<String> list = new ArrayList<>();
+        OrgSnapshot snapshot = orgSnapshotManager.current();
         for (Long id : StringUtils.splitTo(deptIds, Convert::toLong)) {
+            OrgSnapshot.DeptNode node = snapshot.getDept(id);
+            if (ObjectUtil.isNotNull(node)) {
+                list.add(node.deptName());
+                continue;
+            }
             SysDeptVo vo = SpringUtils.getAopProxy(this).selectDeptById(id);
             if (ObjectUtil.isNotNull(vo)) {
                 list.add(vo.getDeptName());
@@ -203,6 +242,10 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      */
     @Override
     public Long selectDeptLeaderById(Long deptId) {
+        OrgSnapshot.DeptNode node = orgSnapshotManager.current().getDept(deptId);
+        if (ObjectUtil.isNotNull(node)) {
+            return node.leader();
+        }
         SysDeptVo vo = SpringUtils.getAopProxy(this).selectDeptById(deptId);
         return vo.getLeader();
     }
@@ -230,7 +273,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
     public long selectNormalChildrenDeptById(Long deptId) {
         return baseMapper.selectCount(new LambdaQueryWrapper<SysDept>()
             .eq(SysDept::getStatus, SystemConstants.NORMAL)
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            .inSql(SysDept::getDeptId, baseMapper.buildChildSql(deptId)));
     }
 
     /**
@@ -298,6 +341,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      */
     @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, allEntries = true)
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int insertDept(SysDeptBo bo) {
         SysDept info = baseMapper.selectById(bo.getParentId());
         // 如果父节点不为正常状态,则不允许新增子节点
@@ -306,7 +350,12 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         }
         SysDept dept = MapstructUtils.convert(bo, SysDept.class);
         dept.setAncestors(info.getAncestors() + StringUtils.SEPARATOR + dept.getParentId());
-        return baseMapper.insert(dept);
+        int rows = baseMapper.insert(dept);
+        deptClosureMapper.insertNode(dept.getDeptId(), dept.getParentId());
+        // 数据权限过滤条件依赖部门层级
+        DataPermissionHelper.clearFilterCache();
+        orgSnapshotManager.publishDeptChanged();
+        return rows;
     }
 
     /**
@@ -336,6 +385,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
                 String oldAncestors = oldDept.getAncestors();
                 dept.setAncestors(newAncestors);
                 updateDeptChildren(dept.getDeptId(), newAncestors, oldAncestors);
+                deptClosureMapper.moveSubtree(dept.getDeptId(), newParentDept.getDeptId());
             }
         } else {
             dept.setAncestors(oldDept.getAncestors());
@@ -348,6 +398,9 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
             // 如果该部门是启用状态，则启用该部门的所有上级部门
             updateParentDeptStatusNormal(dept);
         }
+        // 数据权限过滤条件依赖部门层级
+        DataPermissionHelper.clearFilterCache();
+        orgSnapshotManager.publishDeptChanged();
         return result;
     }
 
@@ -373,7 +426,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      */
     private void updateDeptChildren(Long deptId, String newAncestors, String oldAncestors) {
         List<SysDept> children = baseMapper.selectList(new LambdaQueryWrapper<SysDept>()
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            .inSql(SysDept::getDeptId, baseMapper.buildChildSql(deptId)));
         List<SysDept> list = new ArrayList<>();
         for (SysDept child : children) {
             SysDept dept = new SysDept();
@@ -399,8 +452,14 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, key = "#deptId")
     })
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int deleteDeptById(Long deptId) {
-        return baseMapper.deleteById(deptId);
+        int rows = baseMapper.deleteById(deptId);
+        deptClosureMapper.deleteByDescendantId(deptId);
+        // 数据权限过滤条件依赖部门层级
+        DataPermissionHelper.clearFilterCache();
+        orgSnapshotManager.publishDeptChanged();
+        return rows;
     }
 
 
@@ -415,12 +474,27 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         if (CollUtil.isEmpty(deptIds)) {
             return Collections.emptyMap();
         }
+        Map<Long, String> result = new HashMap<>(deptIds.size());
+        List<Long> missIds = new ArrayList<>();
+        OrgSnapshot snapshot = orgSnapshotManager.current();
+        for (Long deptId : deptIds) {
+            OrgSnapshot.DeptNode node = snapshot.getDept(deptId);
+            if (ObjectUtil.isNotNull(node)) {
+                result.put(deptId, node.deptName());
+            } else {
+                missIds.add(deptId);
+            }
+        }
+        if (CollUtil.isEmpty(missIds)) {
+            return result;
+        }
         List<SysDept> list = baseMapper.selectList(
             new LambdaQueryWrapper<SysDept>()
                 .select(SysDept::getDeptId, SysDept::getDeptName)
-                .in(SysDept::getDeptId, deptIds)
+                .in(SysDept::getDeptId, missIds)
         );
-        return StreamUtils.toMap(list, SysDept::getDeptId, SysDept::getDeptName);
+        result.putAll(StreamUtils.toMap(list, SysDept::getDeptId, SysDept::getDeptName));
+        return result;
     }
 
 }
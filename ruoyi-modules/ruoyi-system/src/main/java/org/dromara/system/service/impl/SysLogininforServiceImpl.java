@@ -5,6 +5,8 @@ import cn.hutool.http.useragent.UserAgent;
 import cn.hutool.http.useragent.UserAgentUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,14 +26,11 @@ import org.dromara.system.domain.vo.SysLogininforVo;
 import org.dromara.system.mapper.SysLogininforMapper;
 import org.dromara.system.service.ISysClientService;
 import org.dromara.system.service.ISysLogininforService;
+import org.dromara.system.support.LogBatchWriter;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * 系统访问日志情况信息 服务层处理
@@ -43,16 +42,35 @@ import java.util.Map;
 @Service
 public class SysLogininforServiceImpl implements ISysLogininforService {
 
+    private static final int LOG_QUEUE_CAPACITY = 10000;
+    private static final int LOG_BATCH_SIZE = 500;
+    private static final long LOG_FLUSH_INTERVAL_MS = 1000L;
+
     private final SysLogininforMapper baseMapper;
 
     private final ISysClientService clientService;
 
+    private final LogBatchWriter<PendingLogininfor> logWriter =
+        new LogBatchWriter<>("logininfor", LOG_QUEUE_CAPACITY, LOG_BATCH_SIZE, LOG_FLUSH_INTERVAL_MS, this::saveLogininforBatch);
+
+    @PostConstruct
+    public void startLogWriter() {
+        logWriter.start();
+    }
+
+    /**
+     * 停机前写完缓冲的登录日志
+     */
+    @PreDestroy
+    public void stopLogWriter() {
+        logWriter.stop();
+    }
+
     /**
-     * 记录登录信息
+     * 记录登录信息 (在登录线程解析请求信息后提交到缓冲队列批量写入，登录失败积压时优先保留)
      *
      * @param logininforEvent 登录事件
      */
-    @Async
     @EventListener
     public void recordLogininfor(LogininforEvent logininforEvent) {
         HttpServletRequest request = logininforEvent.getRequest();
@@ -64,40 +82,53 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
         if (StringUtils.isNotBlank(clientId)) {
             client = clientService.queryByClientId(clientId);
         }
-
-        String address = AddressUtils.getRealAddressByIP(ip);
-        StringBuilder s = new StringBuilder();
-        s.append(getBlock(ip));
-        s.append(address);
-        s.append(getBlock(logininforEvent.getUsername()));
-        s.append(getBlock(logininforEvent.getStatus()));
-        s.append(getBlock(logininforEvent.getMessage()));
-        // 打印信息到日志
-        log.info(s.toString(), logininforEvent.getArgs());
         // 获取客户端操作系统
         String os = userAgent.getOs().getName();
         // 获取客户端浏览器
         String browser = userAgent.getBrowser().getName();
         // 封装对象
-        SysLogininforBo logininfor = new SysLogininforBo();
+        SysLogininfor logininfor = new SysLogininfor();
         logininfor.setUserName(logininforEvent.getUsername());
         if (ObjectUtil.isNotNull(client)) {
             logininfor.setClientKey(client.getClientKey());
             logininfor.setDeviceType(client.getDeviceType());
         }
         logininfor.setIpaddr(ip);
-        logininfor.setLoginLocation(address);
         logininfor.setBrowser(browser);
         logininfor.setOs(os);
         logininfor.setMsg(logininforEvent.getMessage());
+        logininfor.setLoginTime(new Date());
         // 日志状态
         if (StringUtils.equalsAny(logininforEvent.getStatus(), Constants.LOGIN_SUCCESS, Constants.LOGOUT, Constants.REGISTER)) {
             logininfor.setStatus(Constants.SUCCESS);
         } else if (Constants.LOGIN_FAIL.equals(logininforEvent.getStatus())) {
             logininfor.setStatus(Constants.FAIL);
         }
-        // 插入数据
-        insertLogininfor(logininfor);
+        PendingLogininfor pending = new PendingLogininfor(logininfor, logininforEvent.getStatus(), logininforEvent.getArgs());
+        logWriter.offer(pending, Constants.FAIL.equals(logininfor.getStatus()));
+    }
+
+    /**
+     * 批量写入登录日志 (同一批内相同 IP 只查询一次登录地点)
+     */
+    private void saveLogininforBatch(List<PendingLogininfor> list) {
+        Map<String, String> locations = new HashMap<>();
+        List<SysLogininfor> rows = new ArrayList<>(list.size());
+        for (PendingLogininfor pending : list) {
+            SysLogininfor logininfor = pending.logininfor();
+            String address = locations.computeIfAbsent(logininfor.getIpaddr(), AddressUtils::getRealAddressByIP);
+            logininfor.setLoginLocation(address);
+            StringBuilder s = new StringBuilder();
+            s.append(getBlock(logininfor.getIpaddr()));
+            s.append(address);
+            s.append(getBlock(logininfor.getUserName()));
+            s.append(getBlock(pending.status()));
+            s.append(getBlock(logininfor.getMsg()));
+            // 打印信息到日志
+            log.info(s.toString(), pending.args());
+            rows.add(logininfor);
+        }
+        baseMapper.insertBatch(rows);
     }
 
     private String getBlock(Object msg) {
@@ -178,4 +209,10 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
     public void cleanLogininfor() {
         baseMapper.delete(new LambdaQueryWrapper<>());
     }
+
+    /**
+     * 待写入的登录日志 (登录地点在写入线程查询)
+     */
+    private record PendingLogininfor(SysLogininfor logininfor, String status, Object[] args) {
+    }
 }
@@ -3,10 +3,13 @@ package org.dromara.system.service.impl;
 import cn.hutool.core.util.ArrayUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.ip.AddressUtils;
+import org.dromara.common.log.enums.BusinessStatus;
 import org.dromara.common.log.event.OperLogEvent;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
@@ -15,14 +18,11 @@ import org.dromara.system.domain.bo.SysOperLogBo;
 import org.dromara.system.domain.vo.SysOperLogVo;
 import org.dromara.system.mapper.SysOperLogMapper;
 import org.dromara.system.service.ISysOperLogService;
+import org.dromara.system.support.LogBatchWriter;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * 操作日志 服务层处理
@@ -33,20 +33,51 @@ import java.util.Map;
 @Service
 public class SysOperLogServiceImpl implements ISysOperLogService {
 
+    private static final int LOG_QUEUE_CAPACITY = 10000;
+    private static final int LOG_BATCH_SIZE = 500;
+    private static final long LOG_FLUSH_INTERVAL_MS = 1000L;
+
     private final SysOperLogMapper baseMapper;
 
+    private final LogBatchWriter<SysOperLog> logWriter =
+        new LogBatchWriter<>("operlog", LOG_QUEUE_CAPACITY, LOG_BATCH_SIZE, LOG_FLUSH_INTERVAL_MS, this::saveOperLogBatch);
+
+    @PostConstruct
+    public void startLogWriter() {
+        logWriter.start();
+    }
+
     /**
-     * 操作日志记录
+     * 停机前写完缓冲的操作日志
+     */
+    @PreDestroy
+    public void stopLogWriter() {
+        logWriter.stop();
+    }
+
+    /**
+     * 操作日志记录 (提交到缓冲队列后批量写入，失败的操作积压时优先保留)
      *
      * @param operLogEvent 操作日志事件
      */
-    @Async
     @EventListener
     public void recordOper(OperLogEvent operLogEvent) {
-        SysOperLogBo operLog = MapstructUtils.convert(operLogEvent, SysOperLogBo.class);
-        // 远程查询操作地点
-        operLog.setOperLocation(AddressUtils.getRealAddressByIP(operLog.getOperIp()));
-        insertOperlog(operLog);
+        SysOperLogBo bo = MapstructUtils.convert(operLogEvent, SysOperLogBo.class);
+        SysOperLog operLog = MapstructUtils.convert(bo, SysOperLog.class);
+        operLog.setOperTime(new Date());
+        logWriter.offer(operLog, !Objects.equals(BusinessStatus.SUCCESS.ordinal(), operLog.getStatus()));
+    }
+
+    /**
+     * 批量写入操作日志 (同一批内相同 IP 只查询一次操作地点)
+     */
+    private void saveOperLogBatch(List<SysOperLog> list) {
+        Map<String, String> locations = new HashMap<>();
+        for (SysOperLog operLog : list) {
+            // 远程查询操作地点
+            operLog.setOperLocation(locations.computeIfAbsent(operLog.getOperIp(), AddressUtils::getRealAddressByIP));
+        }
+        baseMapper.insertBatch(list);
     }
 
     /**
@@ -109,6 +140,23 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
         return baseMapper.selectVoList(lqw.orderByDesc(SysOperLog::getOperId));
     }
 
+    /**
+     * 按键集分页查询系统操作日志 (按操作ID倒序，用于分批导出)
+     *
+     * @param operLog    操作日志对象
+     * @param lastOperId 上一批最后一条日志ID，首批为 null
+     * @param size       批大小
+     * @return 操作日志集合
+     */
+    @Override
+    public List<SysOperLogVo> selectOperLogBatch(SysOperLogBo operLog, Long lastOperId, int size) {
+        LambdaQueryWrapper<SysOperLog> lqw = buildQueryWrapper(operLog)
+            .lt(lastOperId != null, SysOperLog::getOperId, lastOperId)
+            .orderByDesc(SysOperLog::getOperId)
+            .last("limit " + size);
+        return baseMapper.selectVoList(lqw);
+    }
+
     /**
      * 批量删除系统操作日志
      *
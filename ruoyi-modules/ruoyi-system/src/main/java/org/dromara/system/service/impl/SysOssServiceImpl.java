@@ -21,6 +21,7 @@ import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.oss.core.OssClient;
+import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.oss.entity.UploadResult;
 import org.dromara.common.oss.enums.AccessPolicyType;
 import org.dromara.common.oss.factory.OssFactory;
@@ -80,9 +81,7 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     @Override
     public List<SysOssVo> listByIds(Collection<Long> ossIds) {
         List<SysOssVo> list = new ArrayList<>();
-        SysOssServiceImpl ossService = SpringUtils.getAopProxy(this);
-        for (Long id : ossIds) {
-            SysOssVo vo = ossService.getById(id);
+        for (SysOssVo vo : getByIds(ossIds)) {
             if (ObjectUtil.isNotNull(vo)) {
                 try {
                     list.add(this.matchingUrl(vo));
@@ -104,9 +103,7 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     @Override
     public String selectUrlByIds(String ossIds) {
         List<String> list = new ArrayList<>();
-        SysOssServiceImpl ossService = SpringUtils.getAopProxy(this);
-        for (Long id : StringUtils.splitTo(ossIds, Convert::toLong)) {
-            SysOssVo vo = ossService.getById(id);
+        for (SysOssVo vo : getByIds(StringUtils.splitTo(ossIds, Convert::toLong))) {
             if (ObjectUtil.isNotNull(vo)) {
                 try {
                     list.add(this.matchingUrl(vo).getUrl());
@@ -122,8 +119,7 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     @Override
     public List<OssDTO> selectByIds(String ossIds) {
         List<OssDTO> list = new ArrayList<>();
-        for (Long id : StringUtils.splitTo(ossIds, Convert::toLong)) {
-            SysOssVo vo = SpringUtils.getAopProxy(this).getById(id);
+        for (SysOssVo vo : getByIds(StringUtils.splitTo(ossIds, Convert::toLong))) {
             if (ObjectUtil.isNotNull(vo)) {
                 try {
                     vo.setUrl(this.matchingUrl(vo).getUrl());
@@ -137,6 +133,24 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
         return list;
     }
 
+    /**
+     * 批量获取 OSS 对象 (与 {@link #getById} 共用缓存，缓存未命中的合并为一次查询)
+     *
+     * @param ossIds OSS对象ID集合
+     * @return 按传入顺序排列的 OSS 对象 (不存在的忽略)
+     */
+    private List<SysOssVo> getByIds(Collection<Long> ossIds) {
+        Map<Long, SysOssVo> cached = CacheUtils.getAll(CacheNames.SYS_OSS, ossIds);
+        List<Long> misses = StreamUtils.filter(ossIds, id -> id != null && !cached.containsKey(id));
+        if (!misses.isEmpty()) {
+            for (SysOssVo vo : baseMapper.selectVoByIds(misses)) {
+                CacheUtils.put(CacheNames.SYS_OSS, vo.getOssId(), vo);
+                cached.put(vo.getOssId(), vo);
+            }
+        }
+        return StreamUtils.toList(ossIds, cached::get);
+    }
+
     private LambdaQueryWrapper<SysOss> buildQueryWrapper(SysOssBo bo) {
         Map<String, Object> params = bo.getParams();
         LambdaQueryWrapper<SysOss> lqw = Wrappers.lambdaQuery();
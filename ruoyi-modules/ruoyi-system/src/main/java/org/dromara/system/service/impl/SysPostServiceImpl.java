@@ -18,10 +18,10 @@ import org.dromara.system.domain.SysPost;
 import org.dromara.system.domain.SysUserPost;
 import org.dromara.system.domain.bo.SysPostBo;
 import org.dromara.system.domain.vo.SysPostVo;
-import org.dromara.system.mapper.SysDeptMapper;
 import org.dromara.system.mapper.SysPostMapper;
 import org.dromara.system.mapper.SysUserPostMapper;
 import org.dromara.system.service.ISysPostService;
+import org.dromara.system.support.OrgSnapshotManager;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
@@ -38,8 +38,8 @@ import java.util.Map;
 public class SysPostServiceImpl implements ISysPostService, PostService {
 
     private final SysPostMapper baseMapper;
-    private final SysDeptMapper deptMapper;
     private final SysUserPostMapper userPostMapper;
+    private final OrgSnapshotManager orgSnapshotManager;
 
     /**
      * 分页查询岗位列表
@@ -98,7 +98,7 @@ public class SysPostServiceImpl implements ISysPostService, PostService {
         } else if (ObjectUtil.isNotNull(bo.getBelongDeptId())) {
             //部门树搜索
             wrapper.and(x -> {
-                List<Long> deptIds = deptMapper.selectDeptAndChildById(bo.getBelongDeptId());
+                List<Long> deptIds = orgSnapshotManager.selectDeptAndChildIds(bo.getBelongDeptId());
                 x.in(SysPost::getDeptId, deptIds);
             });
         }
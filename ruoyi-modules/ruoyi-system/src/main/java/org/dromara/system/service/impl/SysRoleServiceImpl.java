@@ -20,6 +20,7 @@ import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.SysRole;
@@ -354,7 +355,10 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         // 删除角色与部门关联
         roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().eq(SysRoleDept::getRoleId, role.getRoleId()));
         // 新增角色和部门信息（数据权限）
-        return insertRoleDept(bo);
+        int rows = insertRoleDept(bo);
+        // 数据权限过滤条件依赖部门层级与角色数据范围
+        DataPermissionHelper.clearFilterCache();
+        return rows;
     }
 
     /**
@@ -413,6 +417,8 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         roleMenuMapper.delete(new LambdaQueryWrapper<SysRoleMenu>().eq(SysRoleMenu::getRoleId, roleId));
         // 删除角色与部门关联
         roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().eq(SysRoleDept::getRoleId, roleId));
+        // 数据权限过滤条件依赖部门层级与角色数据范围
+        DataPermissionHelper.clearFilterCache();
         return baseMapper.deleteById(roleId);
     }
 
@@ -438,6 +444,8 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         roleMenuMapper.delete(new LambdaQueryWrapper<SysRoleMenu>().in(SysRoleMenu::getRoleId, roleIds));
         // 删除角色与部门关联
         roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().in(SysRoleDept::getRoleId, roleIds));
+        // 数据权限过滤条件依赖部门层级与角色数据范围
+        DataPermissionHelper.clearFilterCache();
         return baseMapper.deleteByIds(roleIds);
     }
 
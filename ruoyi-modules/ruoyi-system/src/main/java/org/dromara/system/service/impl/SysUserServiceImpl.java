@@ -13,7 +13,6 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.dromara.common.core.constant.CacheNames;
 import org.dromara.common.core.constant.SystemConstants;
 import org.dromara.common.core.domain.dto.UserDTO;
 import org.dromara.common.core.exception.ServiceException;
@@ -32,8 +31,8 @@ import org.dromara.system.domain.vo.SysUserExportVo;
 import org.dromara.system.domain.vo.SysUserVo;
 import org.dromara.system.mapper.*;
 import org.dromara.system.service.ISysUserService;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.dromara.system.support.OrgSnapshot;
+import org.dromara.system.support.OrgSnapshotManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -50,11 +49,11 @@ import java.util.*;
 public class SysUserServiceImpl implements ISysUserService, UserService {
 
     private final SysUserMapper baseMapper;
-    private final SysDeptMapper deptMapper;
     private final SysRoleMapper roleMapper;
     private final SysPostMapper postMapper;
     private final SysUserRoleMapper userRoleMapper;
     private final SysUserPostMapper userPostMapper;
+    private final OrgSnapshotManager orgSnapshotManager;
 
     @Override
     public TableDataInfo<SysUserVo> selectPageUserList(SysUserBo user, PageQuery pageQuery) {
@@ -70,6 +69,27 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
      */
     @Override
     public List<SysUserExportVo> selectUserExportList(SysUserBo user) {
+        return baseMapper.selectUserExportList(buildExportWrapper(user).orderByAsc("u.user_id"));
+    }
+
+    /**
+     * 按键集分页查询导出用户 (按用户ID正序，用于分批导出)
+     *
+     * @param user       用户信息
+     * @param lastUserId 上一批最后一个用户ID，首批为 null
+     * @param size       批大小
+     * @return 用户信息集合信息
+     */
+    @Override
+    public List<SysUserExportVo> selectUserExportBatch(SysUserBo user, Long lastUserId, int size) {
+        QueryWrapper<SysUser> wrapper = buildExportWrapper(user)
+            .gt(lastUserId != null, "u.user_id", lastUserId)
+            .orderByAsc("u.user_id")
+            .last("limit " + size);
+        return baseMapper.selectUserExportList(wrapper);
+    }
+
+    private QueryWrapper<SysUser> buildExportWrapper(SysUserBo user) {
         Map<String, Object> params = user.getParams();
         QueryWrapper<SysUser> wrapper = Wrappers.query();
         wrapper.eq("u.del_flag", SystemConstants.NORMAL)
@@ -80,10 +100,10 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
             .between(params.get("beginTime") != null && params.get("endTime") != null,
                 "u.create_time", params.get("beginTime"), params.get("endTime"))
             .and(ObjectUtil.isNotNull(user.getDeptId()), w -> {
-                List<Long> deptIds = deptMapper.selectDeptAndChildById(user.getDeptId());
+                List<Long> deptIds = orgSnapshotManager.selectDeptAndChildIds(user.getDeptId());
                 w.in("u.dept_id", deptIds);
-            }).orderByAsc("u.user_id");
-        return baseMapper.selectUserExportList(wrapper);
+            });
+        return wrapper;
     }
 
     private Wrapper<SysUser> buildQueryWrapper(SysUserBo user) {
@@ -99,7 +119,7 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
             .between(params.get("beginTime") != null && params.get("endTime") != null,
                 SysUser::getCreateTime, params.get("beginTime"), params.get("endTime"))
             .and(ObjectUtil.isNotNull(user.getDeptId()), w -> {
-                List<Long> ids = deptMapper.selectDeptAndChildById(user.getDeptId());
+                List<Long> ids = orgSnapshotManager.selectDeptAndChildIds(user.getDeptId());
                 w.in(SysUser::getDeptId, ids);
             }).orderByAsc(SysUser::getUserId);
         if (StringUtils.isNotBlank(user.getExcludeUserIds())) {
@@ -158,6 +178,20 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         return baseMapper.selectVoOne(new LambdaQueryWrapper<SysUser>().eq(SysUser::getUserName, userName));
     }
 
+    /**
+     * 通过用户名批量查询用户
+     *
+     * @param userNames 用户名集合
+     * @return 用户对象信息集合
+     */
+    @Override
+    public List<SysUserVo> selectUserByUserNames(Collection<String> userNames) {
+        if (CollUtil.isEmpty(userNames)) {
+            return new ArrayList<>();
+        }
+        return baseMapper.selectVoList(new LambdaQueryWrapper<SysUser>().in(SysUser::getUserName, userNames));
+    }
+
     /**
      * 通过手机号查询用户
      *
@@ -301,6 +335,23 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         }
     }
 
+    /**
+     * 筛选有数据权限的用户ID (批量校验)
+     *
+     * @param userIds 用户ID集合
+     * @return 有权限的用户ID集合
+     */
+    @Override
+    public Set<Long> selectUserIdsInDataScope(Collection<Long> userIds) {
+        if (CollUtil.isEmpty(userIds)) {
+            return new HashSet<>();
+        }
+        if (LoginHelper.isSuperAdmin()) {
+            return new HashSet<>(userIds);
+        }
+        return new HashSet<>(baseMapper.selectUserIdsInScope(userIds));
+    }
+
     /**
      * 新增保存用户信息
      *
@@ -318,9 +369,29 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         insertUserPost(user, false);
         // 新增用户与角色管理
         insertUserRole(user, false);
+        orgSnapshotManager.publishUserChanged(List.of(sysUser.getUserId()));
         return rows;
     }
 
+    /**
+     * 批量新增用户信息 (仅用户基础信息，不处理角色与岗位)
+     *
+     * @param users 用户信息集合
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void insertUserBatch(List<SysUserBo> users) {
+        if (CollUtil.isEmpty(users)) {
+            return;
+        }
+        List<SysUser> list = MapstructUtils.convert(users, SysUser.class);
+        baseMapper.insertBatch(list);
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setUserId(list.get(i).getUserId());
+        }
+        orgSnapshotManager.publishUserChanged(StreamUtils.toList(list, SysUser::getUserId));
+    }
+
     /**
      * 注册用户信息
      *
@@ -332,7 +403,11 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         user.setCreateBy(0L);
         user.setUpdateBy(0L);
         SysUser sysUser = MapstructUtils.convert(user, SysUser.class);
-        return baseMapper.insert(sysUser) > 0;
+        boolean flag = baseMapper.insert(sysUser) > 0;
+        if (flag) {
+            orgSnapshotManager.publishUserChanged(List.of(sysUser.getUserId()));
+        }
+        return flag;
     }
 
     /**
@@ -342,7 +417,6 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
      * @return 结果
      */
     @Override
-    @CacheEvict(cacheNames = CacheNames.SYS_NICKNAME, key = "#user.userId")
     @Transactional(rollbackFor = Exception.class)
     public int updateUser(SysUserBo user) {
         // 新增用户与角色管理
@@ -355,9 +429,26 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         if (flag < 1) {
             throw new ServiceException("修改用户{}信息失败", user.getUserName());
         }
+        orgSnapshotManager.publishUserChanged(List.of(user.getUserId()));
         return flag;
     }
 
+    /**
+     * 批量修改用户信息 (仅用户基础信息，不处理角色与岗位)
+     *
+     * @param users 用户信息集合
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void updateUserBatch(List<SysUserBo> users) {
+        if (CollUtil.isEmpty(users)) {
+            return;
+        }
+        List<SysUser> list = MapstructUtils.convert(users, SysUser.class);
+        baseMapper.updateBatchById(list);
+        orgSnapshotManager.publishUserChanged(StreamUtils.toList(list, SysUser::getUserId));
+    }
+
     /**
      * 用户授权角色
      *
@@ -391,16 +482,19 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
      * @param user 用户信息
      * @return 结果
      */
-    @CacheEvict(cacheNames = CacheNames.SYS_NICKNAME, key = "#user.userId")
     @Override
     public int updateUserProfile(SysUserBo user) {
-        return baseMapper.update(null,
+        int rows = baseMapper.update(null,
             new LambdaUpdateWrapper<SysUser>()
                 .set(ObjectUtil.isNotNull(user.getNickName()), SysUser::getNickName, user.getNickName())
                 .set(SysUser::getPhonenumber, user.getPhonenumber())
                 .set(SysUser::getEmail, user.getEmail())
                 .set(SysUser::getSex, user.getSex())
                 .eq(SysUser::getUserId, user.getUserId()));
+        if (ObjectUtil.isNotNull(user.getNickName())) {
+            orgSnapshotManager.publishUserChanged(List.of(user.getUserId()));
+        }
+        return rows;
     }
 
     /**
@@ -535,6 +629,7 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         if (flag < 1) {
             throw new ServiceException("删除用户失败!");
         }
+        orgSnapshotManager.publishUserChanged(List.of(userId));
         return flag;
     }
 
@@ -561,6 +656,7 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         if (flag < 1) {
             throw new ServiceException("删除用户失败!");
         }
+        orgSnapshotManager.publishUserChanged(ids);
         return flag;
     }
 
@@ -584,9 +680,12 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
      * @param userId 用户ID
      * @return 用户账户
      */
-    @Cacheable(cacheNames = CacheNames.SYS_USER_NAME, key = "#userId")
     @Override
     public String selectUserNameById(Long userId) {
+        OrgSnapshot.UserNode node = orgSnapshotManager.current().getUser(userId);
+        if (ObjectUtil.isNotNull(node)) {
+            return node.userName();
+        }
         SysUser sysUser = baseMapper.selectOne(new LambdaQueryWrapper<SysUser>()
             .select(SysUser::getUserName).eq(SysUser::getUserId, userId));
         return ObjectUtils.notNullGetter(sysUser, SysUser::getUserName);
@@ -599,8 +698,11 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
      * @return 用户账户
      */
     @Override
-    @Cacheable(cacheNames = CacheNames.SYS_NICKNAME, key = "#userId")
     public String selectNicknameById(Long userId) {
+        OrgSnapshot.UserNode node = orgSnapshotManager.current().getUser(userId);
+        if (ObjectUtil.isNotNull(node)) {
+            return node.nickName();
+        }
         SysUser sysUser = baseMapper.selectOne(new LambdaQueryWrapper<SysUser>()
             .select(SysUser::getNickName).eq(SysUser::getUserId, userId));
         return ObjectUtils.notNullGetter(sysUser, SysUser::getNickName);
@@ -615,8 +717,10 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
     @Override
     public String selectNicknameByIds(String userIds) {
         List<String> list = new ArrayList<>();
+        OrgSnapshot snapshot = orgSnapshotManager.current();
         for (Long id : StringUtils.splitTo(userIds, Convert::toLong)) {
-            String nickname = SpringUtils.getAopProxy(this).selectNicknameById(id);
+            OrgSnapshot.UserNode node = snapshot.getUser(id);
+            String nickname = ObjectUtil.isNotNull(node) ? node.nickName() : SpringUtils.getAopProxy(this).selectNicknameById(id);
             if (StringUtils.isNotBlank(nickname)) {
                 list.add(nickname);
             }
@@ -749,6 +853,59 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         return this.selectListByIds(new ArrayList<>(userIds));
     }
 
+    /**
+     * 通过角色ID查询用户ID，按角色分组
+     *
+     * @param roleIds 角色ids
+     * @return 角色ID与用户ID映射
+     */
+    @Override
+    public Map<Long, List<Long>> selectUserIdsGroupByRoleIds(List<Long> roleIds) {
+        if (CollUtil.isEmpty(roleIds)) {
+            return Collections.emptyMap();
+        }
+        List<SysUserRole> userRoles = userRoleMapper.selectList(
+            new LambdaQueryWrapper<SysUserRole>().in(SysUserRole::getRoleId, roleIds));
+        return StreamUtils.toMap(StreamUtils.groupByKey(userRoles, SysUserRole::getRoleId),
+            (roleId, list) -> StreamUtils.toList(list, SysUserRole::getUserId));
+    }
+
+    /**
+     * 通过部门ID查询正常状态的用户ID，按部门分组
+     *
+     * @param deptIds 部门ids
+     * @return 部门ID与用户ID映射
+     */
+    @Override
+    public Map<Long, List<Long>> selectUserIdsGroupByDeptIds(List<Long> deptIds) {
+        if (CollUtil.isEmpty(deptIds)) {
+            return Collections.emptyMap();
+        }
+        List<SysUser> list = baseMapper.selectList(new LambdaQueryWrapper<SysUser>()
+            .select(SysUser::getUserId, SysUser::getDeptId)
+            .eq(SysUser::getStatus, SystemConstants.NORMAL)
+            .in(SysUser::getDeptId, deptIds));
+        return StreamUtils.toMap(StreamUtils.groupByKey(list, SysUser::getDeptId),
+            (deptId, users) -> StreamUtils.toList(users, SysUser::getUserId));
+    }
+
+    /**
+     * 通过岗位ID查询用户ID，按岗位分组
+     *
+     * @param postIds 岗位ids
+     * @return 岗位ID与用户ID映射
+     */
+    @Override
+    public Map<Long, List<Long>> selectUserIdsGroupByPostIds(List<Long> postIds) {
+        if (CollUtil.isEmpty(postIds)) {
+            return Collections.emptyMap();
+        }
+        List<SysUserPost> userPosts = userPostMapper.selectList(
+            new LambdaQueryWrapper<SysUserPost>().in(SysUserPost::getPostId, postIds));
+        return StreamUtils.toMap(StreamUtils.groupByKey(userPosts, SysUserPost::getPostId),
+            (postId, list) -> StreamUtils.toList(list, SysUserPost::getUserId));
+    }
+
     /**
      * 根据用户 ID 列表查询用户名称映射关系
      *
@@ -0,0 +1,191 @@
+package org.dromara.system.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 日志批量写入器
+ * <p>
+ * 日志先进入有界队列，由单个后台线程按条数或时间间隔攒批后一次写入。
+ * 队列积压超过高水位时只接收重要日志 (如失败的操作、登录失败)，队列满时直接丢弃，均计入统计；
+ * 停机时写完队列中剩余的日志。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+public class LogBatchWriter<E> {
+
+    /**
+     * 丢弃告警最小间隔 (毫秒)
+     */
+    private static final long WARN_INTERVAL_MS = 10_000L;
+
+    /**
+     * 停机等待后台线程退出的时间 (毫秒)
+     */
+    private static final long STOP_TIMEOUT_MS = 5_000L;
+
+    private final String name;
+    private final BlockingQueue<E> queue;
+    private final int highWatermark;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Consumer<List<E>> writer;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong sampled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile long lastWarnAt;
+    private Thread worker;
+
+    /**
+     * @param name            名称 (用于线程名与日志)
+     * @param capacity        队列容量
+     * @param batchSize       单批最大条数
+     * @param flushIntervalMs 攒批最长等待时间 (毫秒)
+     * @param writer          批量写入函数
+     */
+    public LogBatchWriter(String name, int capacity, int batchSize, long flushIntervalMs, Consumer<List<E>> writer) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.highWatermark = capacity * 4 / 5;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.writer = writer;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "log-writer-" + name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 停止并写完队列中剩余的日志
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<E> rest = new ArrayList<>(queue.size());
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            write(rest.subList(i, Math.min(i + batchSize, rest.size())));
+        }
+        log.info("日志写入器[{}]已停止: 写入 {}, 失败 {}, 降级丢弃 {}, 队列满丢弃 {}",
+            name, written.get(), failed.get(), sampled.get(), dropped.get());
+    }
+
+    /**
+     * 提交日志 (不阻塞调用方)
+     *
+     * @param event     日志
+     * @param important 是否重要日志，积压时优先保留
+     * @return 是否已接收
+     */
+    public boolean offer(E event, boolean important) {
+        if (!running) {
+            // 未启动或已停止时同步写入，避免丢失
+            write(List.of(event));
+            return true;
+        }
+        if (!important && queue.size() >= highWatermark) {
+            sampled.incrementAndGet();
+            warnOverload();
+            return false;
+        }
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+            warnOverload();
+            return false;
+        }
+        return true;
+    }
+
+    private void run() {
+        List<E> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                // 停机中断，剩余日志由 stop 写入
+                break;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    /**
+     * 等待首条日志后继续攒批，直到达到批大小或超过等待时间
+     */
+    private void fill(List<E> batch) throws InterruptedException {
+        E first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return;
+            }
+            E next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<E> batch) {
+        try {
+            writer.accept(batch);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("日志写入器[{}]批量写入失败, size: {}", name, batch.size(), e);
+        }
+    }
+
+    private void warnOverload() {
+        long now = System.currentTimeMillis();
+        if (now - lastWarnAt < WARN_INTERVAL_MS) {
+            return;
+        }
+        lastWarnAt = now;
+        log.warn("日志写入器[{}]积压: 队列 {}, 累计降级丢弃 {}, 队列满丢弃 {}",
+            name, queue.size(), sampled.get(), dropped.get());
+    }
+}
@@ -0,0 +1,178 @@
+package org.dromara.system.support;
+
+import cn.hutool.core.lang.tree.Tree;
+import org.dromara.common.core.constant.SystemConstants;
+import org.dromara.common.core.utils.TreeBuildUtils;
+
+import java.util.*;
+
+/**
+ * 组织架构快照 (不可变)
+ * <p>
+ * 持有全部未删除部门及用户的精简信息、部门子节点索引与预构建的完整部门树，
+ * 变更时整体替换为新版本，读取方无需加锁。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public final class OrgSnapshot {
+
+    public static final OrgSnapshot EMPTY = new OrgSnapshot(0L, Collections.emptyMap(), Collections.emptyMap());
+
+    private final long version;
+    private final Map<Long, DeptNode> depts;
+    private final Map<Long, UserNode> users;
+    private final Map<Long, List<Long>> children;
+    private final List<Tree<Long>> deptTree;
+
+    private OrgSnapshot(long version, Map<Long, DeptNode> depts, Map<Long, UserNode> users) {
+        this.version = version;
+        this.depts = depts;
+        this.users = users;
+        this.children = buildChildren(depts);
+        this.deptTree = Collections.unmodifiableList(buildDeptTree(depts));
+    }
+
+    private OrgSnapshot(long version, OrgSnapshot base, Map<Long, UserNode> users) {
+        // 仅用户变化时复用部门索引与部门树
+        this.version = version;
+        this.depts = base.depts;
+        this.users = users;
+        this.children = base.children;
+        this.deptTree = base.deptTree;
+    }
+
+    /**
+     * 全量构建快照
+     */
+    public static OrgSnapshot of(long version, Collection<DeptNode> deptList, Collection<UserNode> userList) {
+        return new OrgSnapshot(version, toDeptMap(deptList), toUserMap(userList));
+    }
+
+    /**
+     * 替换全部部门，生成新版本快照 (部门数量远小于用户，部门变更时整体重建部门索引)
+     */
+    public OrgSnapshot withDepts(Collection<DeptNode> deptList) {
+        return new OrgSnapshot(version + 1, toDeptMap(deptList), users);
+    }
+
+    /**
+     * 替换指定用户，生成新版本快照
+     *
+     * @param userIds 发生变更的用户ID
+     * @param loaded  变更用户的最新数据 (不存在的视为已删除)
+     */
+    public OrgSnapshot withUsers(Collection<Long> userIds, Collection<UserNode> loaded) {
+        Map<Long, UserNode> map = new HashMap<>(users);
+        userIds.forEach(map::remove);
+        loaded.forEach(user -> map.put(user.userId(), user));
+        return new OrgSnapshot(version + 1, this, Collections.unmodifiableMap(map));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public DeptNode getDept(Long deptId) {
+        return deptId == null ? null : depts.get(deptId);
+    }
+
+    public UserNode getUser(Long userId) {
+        return userId == null ? null : users.get(userId);
+    }
+
+    /**
+     * 完整部门树 (包含停用部门，停用部门标记 disabled)
+     * <p>
+     * 树节点为可变的 Map，每次返回深拷贝，调用方修改不影响快照
+     */
+    public List<Tree<Long>> deptTree() {
+        return copyTree(deptTree, null);
+    }
+
+    /**
+     * 查询部门及其所有子部门ID (含自身)
+     *
+     * @param deptId 部门ID
+     * @return 部门ID集合，部门不存在时返回空集合
+     */
+    public List<Long> selectDeptAndChildIds(Long deptId) {
+        if (!depts.containsKey(deptId)) {
+            return new ArrayList<>();
+        }
+        List<Long> result = new ArrayList<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(deptId);
+        while (!stack.isEmpty()) {
+            Long id = stack.pop();
+            result.add(id);
+            for (Long child : children.getOrDefault(id, Collections.emptyList())) {
+                stack.push(child);
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, DeptNode> toDeptMap(Collection<DeptNode> deptList) {
+        Map<Long, DeptNode> map = new HashMap<>(Math.max(16, deptList.size() * 4 / 3 + 1));
+        deptList.forEach(dept -> map.put(dept.deptId(), dept));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<Long, UserNode> toUserMap(Collection<UserNode> userList) {
+        Map<Long, UserNode> map = new HashMap<>(Math.max(16, userList.size() * 4 / 3 + 1));
+        userList.forEach(user -> map.put(user.userId(), user));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<Long, List<Long>> buildChildren(Map<Long, DeptNode> depts) {
+        Map<Long, List<Long>> map = new HashMap<>();
+        for (DeptNode dept : depts.values()) {
+            if (dept.parentId() != null) {
+                map.computeIfAbsent(dept.parentId(), k -> new ArrayList<>()).add(dept.deptId());
+            }
+        }
+        return map;
+    }
+
+    private static List<Tree<Long>> buildDeptTree(Map<Long, DeptNode> depts) {
+        return TreeBuildUtils.buildMultiRoot(
+            new ArrayList<>(depts.values()),
+            DeptNode::deptId,
+            DeptNode::parentId,
+            (node, treeNode) -> treeNode
+                .setId(node.deptId())
+                .setParentId(node.parentId())
+                .setName(node.deptName())
+                .setWeight(node.orderNum())
+                .putExtra("disabled", SystemConstants.DISABLE.equals(node.status()))
+        );
+    }
+
+    private static List<Tree<Long>> copyTree(List<Tree<Long>> nodes, Tree<Long> parent) {
+        List<Tree<Long>> result = new ArrayList<>(nodes.size());
+        for (Tree<Long> node : nodes) {
+            Tree<Long> copy = new Tree<>(node.getConfig());
+            copy.putAll(node);
+            copy.setParent(parent);
+            List<Tree<Long>> children = node.getChildren();
+            if (children != null) {
+                copy.setChildren(copyTree(children, copy));
+            }
+            result.add(copy);
+        }
+        return result;
+    }
+
+    /**
+     * 部门节点
+     */
+    public record DeptNode(Long deptId, Long parentId, String deptName, Integer orderNum, String status, Long leader) {
+    }
+
+    /**
+     * 用户节点
+     */
+    public record UserNode(Long userId, String userName, String nickName, Long deptId) {
+    }
+}
@@ -0,0 +1,207 @@
+package org.dromara.system.support;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.system.domain.SysDept;
+import org.dromara.system.domain.SysUser;
+import org.dromara.system.mapper.SysDeptMapper;
+import org.dromara.system.mapper.SysUserMapper;
+import org.dromara.system.support.OrgSnapshot.DeptNode;
+import org.dromara.system.support.OrgSnapshot.UserNode;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 组织架构快照管理
+ * <p>
+ * 每个节点在内存中持有一份 {@link OrgSnapshot}，部门、用户变更后通过 Redis 发布变更事件，
+ * 各节点收到后只重新加载变更的部分 (部门整体 / 指定用户) 并替换快照版本。
+ * 为防止节点错过事件，快照超过 {@link #FULL_RELOAD_INTERVAL_MS} 未全量刷新时在后台重建。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class OrgSnapshotManager implements ApplicationRunner {
+
+    /**
+     * 组织架构变更通知主题
+     */
+    public static final String CHANGE_TOPIC = "global:org_snapshot:changed";
+
+    private static final String DEPT_EVENT = "D";
+    private static final String USER_EVENT = "U";
+
+    private static final long FULL_RELOAD_INTERVAL_MS = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * 当前节点标识，忽略自身发布的事件 (本节点已在发布时同步更新)
+     */
+    private static final String NODE_ID = IdUtil.fastSimpleUUID();
+
+    private final SysDeptMapper deptMapper;
+    private final SysUserMapper userMapper;
+
+    private final Object lock = new Object();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile OrgSnapshot snapshot;
+    private volatile long loadedAt;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        RedisUtils.subscribe(CHANGE_TOPIC, String.class, this::onMessage);
+        try {
+            reloadAll();
+            log.info("初始化组织架构快照成功, version={}", snapshot.version());
+        } catch (Exception e) {
+            log.warn("初始化组织架构快照失败, 将在首次使用时重试", e);
+        }
+    }
+
+    /**
+     * 获取当前快照 (首次使用时同步加载)
+     */
+    public OrgSnapshot current() {
+        OrgSnapshot s = snapshot;
+        if (s == null) {
+            synchronized (lock) {
+                if (snapshot == null) {
+                    reloadAll();
+                }
+                return snapshot;
+            }
+        }
+        if (System.currentTimeMillis() - loadedAt > FULL_RELOAD_INTERVAL_MS && reloading.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    reloadAll();
+                } catch (Exception e) {
+                    log.warn("刷新组织架构快照失败", e);
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        }
+        return s;
+    }
+
+    /**
+     * 查询部门及其所有子部门ID (含自身)，快照中不存在时回退查询数据库
+     *
+     * @param deptId 部门ID
+     * @return 部门ID集合
+     */
+    public List<Long> selectDeptAndChildIds(Long deptId) {
+        List<Long> deptIds = current().selectDeptAndChildIds(deptId);
+        if (CollUtil.isEmpty(deptIds)) {
+            return deptMapper.selectDeptAndChildById(deptId);
+        }
+        return deptIds;
+    }
+
+    /**
+     * 通知部门变更 (存在事务时在提交后执行)
+     */
+    public void publishDeptChanged() {
+        publish(DEPT_EVENT);
+    }
+
+    /**
+     * 通知用户变更 (存在事务时在提交后执行)
+     *
+     * @param userIds 变更的用户ID
+     */
+    public void publishUserChanged(Collection<Long> userIds) {
+        if (CollUtil.isEmpty(userIds)) {
+            return;
+        }
+        publish(USER_EVENT + ":" + StringUtils.joinComma(userIds));
+    }
+
+    private void publish(String event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublish(event);
+                }
+            });
+        } else {
+            doPublish(event);
+        }
+    }
+
+    private void doPublish(String event) {
+        apply(event);
+        RedisUtils.publish(CHANGE_TOPIC, NODE_ID + "|" + event);
+    }
+
+    private void onMessage(String message) {
+        String node = StringUtils.substringBefore(message, "|");
+        if (NODE_ID.equals(node)) {
+            return;
+        }
+        try {
+            apply(StringUtils.substringAfter(message, "|"));
+        } catch (Exception e) {
+            log.warn("应用组织架构变更失败: {}", message, e);
+        }
+    }
+
+    private void apply(String event) {
+        synchronized (lock) {
+            // 快照尚未加载时无需处理，首次加载即为最新数据
+            if (snapshot == null) {
+                return;
+            }
+            if (DEPT_EVENT.equals(event)) {
+                snapshot = snapshot.withDepts(loadDepts());
+            } else if (event.startsWith(USER_EVENT + ":")) {
+                List<Long> userIds = StringUtils.splitTo(event.substring(USER_EVENT.length() + 1), Convert::toLong);
+                snapshot = snapshot.withUsers(userIds, loadUsers(userIds));
+            }
+        }
+    }
+
+    private void reloadAll() {
+        synchronized (lock) {
+            long version = snapshot == null ? 1L : snapshot.version() + 1;
+            snapshot = OrgSnapshot.of(version, loadDepts(), loadUsers(null));
+            loadedAt = System.currentTimeMillis();
+        }
+    }
+
+    private List<DeptNode> loadDepts() {
+        List<SysDept> list = DataPermissionHelper.ignore(() -> deptMapper.selectList(new LambdaQueryWrapper<SysDept>()
+            .select(SysDept::getDeptId, SysDept::getParentId, SysDept::getDeptName,
+                SysDept::getOrderNum, SysDept::getStatus, SysDept::getLeader)));
+        return StreamUtils.toList(list, d -> new DeptNode(d.getDeptId(), d.getParentId(), d.getDeptName(),
+            d.getOrderNum(), d.getStatus(), d.getLeader()));
+    }
+
+    private List<UserNode> loadUsers(List<Long> userIds) {
+        List<SysUser> list = DataPermissionHelper.ignore(() -> userMapper.selectList(new LambdaQueryWrapper<SysUser>()
+            .select(SysUser::getUserId, SysUser::getUserName, SysUser::getNickName, SysUser::getDeptId)
+            .in(userIds != null, SysUser::getUserId, userIds)));
+        return StreamUtils.toList(list, u -> new UserNode(u.getUserId(), u.getUserName(), u.getNickName(), u.getDeptId()));
+    }
+}
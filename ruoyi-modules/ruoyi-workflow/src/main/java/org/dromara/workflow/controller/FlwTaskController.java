@@ -35,6 +35,11 @@ import java.util.List;
 @RequestMapping("/workflow/task")
 public class FlwTaskController extends BaseController {
 
+    /**
+     * 游标查询单次最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final IFlwTaskService flwTaskService;
 
     /**
@@ -73,6 +78,20 @@ public class FlwTaskController extends BaseController {
         return flwTaskService.pageByTaskWait(flowTaskBo, pageQuery);
     }
 
+    /**
+     * 按游标查询当前用户的待办任务 (不统计总数，适合移动端下拉加载)
+     *
+     * @param flowTaskBo 参数
+     * @param lastTaskId 上一页最后一条任务ID，为空时查询第一页
+     * @param pageSize   条数
+     */
+    @GetMapping("/listTaskWaitByCursor")
+    public R<List<FlowTaskVo>> listTaskWaitByCursor(FlowTaskBo flowTaskBo, Long lastTaskId,
+                                                     @RequestParam(defaultValue = "10") Integer pageSize) {
+        int size = Math.min(Math.max(pageSize, 1), MAX_CURSOR_PAGE_SIZE);
+        return R.ok(flwTaskService.listTaskWaitByCursor(flowTaskBo, lastTaskId, size));
+    }
+
     /**
      * 查询当前用户的已办任务
      *
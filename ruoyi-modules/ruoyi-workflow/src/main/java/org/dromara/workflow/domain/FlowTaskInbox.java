@@ -0,0 +1,145 @@
+package org.dromara.workflow.domain;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 待办收件箱对象 flow_task_inbox
+ * <p>
+ * 每个待办任务按办理人 (角色、部门、岗位已展开为用户) 各存一行，冗余任务、实例、定义与业务信息，
+ * 随流程流转按实例重建，待办列表直接按办理人索引查询。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@Data
+@TableName("flow_task_inbox")
+public class FlowTaskInbox implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键
+     */
+    @TableId(value = "id")
+    private Long id;
+
+    /**
+     * 办理人ID
+     */
+    private Long userId;
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 流程实例ID
+     */
+    private Long instanceId;
+
+    /**
+     * 流程定义ID
+     */
+    private Long definitionId;
+
+    /**
+     * 节点编码
+     */
+    private String nodeCode;
+
+    /**
+     * 节点名称
+     */
+    private String nodeName;
+
+    /**
+     * 节点类型
+     */
+    private Integer nodeType;
+
+    /**
+     * 流程定义名称
+     */
+    private String flowName;
+
+    /**
+     * 流程定义编码
+     */
+    private String flowCode;
+
+    /**
+     * 流程分类
+     */
+    private String category;
+
+    /**
+     * 审批表单是否自定义
+     */
+    private String formCustom;
+
+    /**
+     * 审批表单路径
+     */
+    private String formPath;
+
+    /**
+     * 流程版本号
+     */
+    private String version;
+
+    /**
+     * 业务ID
+     */
+    private String businessId;
+
+    /**
+     * 流程状态
+     */
+    private String flowStatus;
+
+    /**
+     * 流程发起人
+     */
+    private String createBy;
+
+    /**
+     * 业务编码
+     */
+    private String businessCode;
+
+    /**
+     * 业务标题
+     */
+    private String businessTitle;
+
+    /**
+     * 办理人类型 (1审批人 2转办人 3委托人)
+     */
+    private String assigneeType;
+
+    /**
+     * 任务创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 任务更新时间
+     */
+    private Date updateTime;
+
+    /**
+     * 原始办理人标识 (可能为角色、部门、岗位，重建时展开)
+     */
+    @TableField(exist = false)
+    private String processedBy;
+
+}
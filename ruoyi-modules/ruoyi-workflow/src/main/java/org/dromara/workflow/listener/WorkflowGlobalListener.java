@@ -27,6 +27,7 @@ import org.dromara.workflow.handler.FlowProcessEventHandler;
 import org.dromara.workflow.service.IFlwCommonService;
 import org.dromara.workflow.service.IFlwInstanceService;
 import org.dromara.workflow.service.IFlwNodeExtService;
+import org.dromara.workflow.service.IFlwTaskInboxService;
 import org.dromara.workflow.service.IFlwTaskService;
 import org.springframework.stereotype.Component;
 
@@ -52,6 +53,7 @@ public class WorkflowGlobalListener implements GlobalListener {
     private final IFlwCommonService flwCommonService;
     private final IFlwNodeExtService nodeExtService;
     private final UserService userService;
+    private final IFlwTaskInboxService flwTaskInboxService;
 
     /**
      * 创建监听器，任务创建时执行
@@ -116,6 +118,8 @@ public class WorkflowGlobalListener implements GlobalListener {
                 flowTask.setPermissionList(List.of(instance.getCreateBy()));
             }
         }
+        // 新任务的办理人在事务提交前写入待办收件箱
+        flwTaskInboxService.markDirty(instance.getId());
     }
 
     /**
@@ -132,6 +136,7 @@ public class WorkflowGlobalListener implements GlobalListener {
         Map<String, Object> params = new HashMap<>();
         FlowParams flowParams = listenerVariable.getFlowParams();
         Map<String, Object> variable = new HashMap<>();
+        flwTaskInboxService.markDirty(instance.getId());
         if (ObjectUtil.isNotNull(flowParams)) {
             // 历史任务扩展(通常为附件)
             params.put("hisTaskExt", flowParams.getHisTaskExt());
@@ -0,0 +1,76 @@
+package org.dromara.workflow.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.apache.ibatis.annotations.Param;
+import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
+import org.dromara.workflow.domain.FlowTaskInbox;
+import org.dromara.workflow.domain.bo.FlowTaskBo;
+import org.dromara.workflow.domain.vo.FlowTaskVo;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 待办收件箱Mapper接口
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public interface FlwTaskInboxMapper extends BaseMapperPlus<FlowTaskInbox, FlowTaskInbox> {
+
+    /**
+     * 分页查询待办收件箱
+     *
+     * @param page         分页
+     * @param queryWrapper 条件
+     * @return 结果
+     */
+    Page<FlowTaskVo> selectInboxPage(@Param("page") Page<FlowTaskVo> page, @Param(Constants.WRAPPER) Wrapper<FlowTaskBo> queryWrapper);
+
+    /**
+     * 查询待办收件箱 (游标分页，条件中自带 limit)
+     *
+     * @param queryWrapper 条件
+     * @return 结果
+     */
+    List<FlowTaskVo> selectInboxList(@Param(Constants.WRAPPER) Wrapper<FlowTaskBo> queryWrapper);
+
+    /**
+     * 从任务、办理人、实例、定义与业务扩展表查询收件箱源数据 (办理人未展开)
+     *
+     * @param instanceIds 流程实例ID
+     * @return 收件箱行
+     */
+    List<FlowTaskInbox> selectSourceByInstanceIds(@Param("instanceIds") Collection<Long> instanceIds);
+
+    /**
+     * 按实例ID顺序查询存在待办任务的实例 (全量重建时分批使用)
+     *
+     * @param lastInstanceId 上一批最后的实例ID
+     * @param size           批大小
+     * @return 实例ID
+     */
+    List<Long> selectRunningInstanceIds(@Param("lastInstanceId") Long lastInstanceId, @Param("size") int size);
+
+    /**
+     * 清空收件箱
+     *
+     * @return 删除行数
+     */
+    int deleteAll();
+
+    /**
+     * 按实例ID删除收件箱行
+     *
+     * @param instanceIds 流程实例ID
+     * @return 删除行数
+     */
+    default int deleteByInstIds(Collection<Long> instanceIds) {
+        return this.delete(new LambdaQueryWrapper<FlowTaskInbox>()
+            .in(FlowTaskInbox::getInstanceId, instanceIds));
+    }
+
+}
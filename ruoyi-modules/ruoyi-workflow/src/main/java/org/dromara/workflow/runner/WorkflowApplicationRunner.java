@@ -0,0 +1,35 @@
+package org.dromara.workflow.runner;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.service.IFlwTaskInboxService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 初始化 workflow 模块对应业务数据
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@ConditionalOnEnable
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class WorkflowApplicationRunner implements ApplicationRunner {
+
+    private final IFlwTaskInboxService flwTaskInboxService;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        try {
+            flwTaskInboxService.initIfEmpty();
+        } catch (Exception e) {
+            // 收件箱表未创建等情况不影响启动
+            log.error("初始化待办收件箱失败: {}", e.getMessage());
+        }
+    }
+
+}
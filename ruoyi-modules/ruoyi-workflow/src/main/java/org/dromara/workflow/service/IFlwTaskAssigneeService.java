@@ -2,7 +2,9 @@ package org.dromara.workflow.service;
 
 import org.dromara.common.core.domain.dto.UserDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 流程设计器-获取办理人
@@ -21,4 +23,13 @@ public interface IFlwTaskAssigneeService {
      */
     List<UserDTO> fetchUsersByStorageIds(String storageIds);
 
+    /**
+     * 批量解析多组存储标识符，所有组按类型合并查询，每种类型只查询一次
+     * 用于列表、流程图等需要同时解析大量任务办理人的场景
+     *
+     * @param storageIdGroups 多组存储标识符字符串（每组逗号分隔）
+     * @return key 为原始存储标识符字符串，value 为该组对应的用户列表（去重）
+     */
+    Map<String, List<UserDTO>> fetchUsersByStorageIdGroups(Collection<String> storageIdGroups);
+
 }
@@ -0,0 +1,39 @@
+package org.dromara.workflow.service;
+
+import java.util.Collection;
+
+/**
+ * 待办收件箱 服务层
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+public interface IFlwTaskInboxService {
+
+    /**
+     * 标记流程实例的待办需要重建 (在事务提交前统一重建，无事务时立即重建)
+     *
+     * @param instanceId 流程实例ID
+     */
+    void markDirty(Long instanceId);
+
+    /**
+     * 标记流程实例的待办需要重建
+     *
+     * @param instanceIds 流程实例ID
+     */
+    void markDirty(Collection<Long> instanceIds);
+
+    /**
+     * 按流程实例重建待办收件箱
+     *
+     * @param instanceIds 流程实例ID
+     */
+    void rebuild(Collection<Long> instanceIds);
+
+    /**
+     * 收件箱为空时全量重建 (首次部署或清空后)
+     */
+    void initIfEmpty();
+
+}
@@ -55,6 +55,16 @@ public interface IFlwTaskService {
      */
     TableDataInfo<FlowTaskVo> pageByTaskWait(FlowTaskBo flowTaskBo, PageQuery pageQuery);
 
+    /**
+     * 按游标查询当前用户的待办任务
+     *
+     * @param flowTaskBo 参数
+     * @param lastTaskId 上一页最后一条任务ID，为空时查询第一页
+     * @param size       条数
+     * @return 结果
+     */
+    List<FlowTaskVo> listTaskWaitByCursor(FlowTaskBo flowTaskBo, Long lastTaskId, int size);
+
     /**
      * 查询所有待办任务
      *
@@ -46,6 +46,7 @@ import org.dromara.workflow.handler.FlowProcessEventHandler;
 import org.dromara.workflow.mapper.FlwCategoryMapper;
 import org.dromara.workflow.mapper.FlwInstanceMapper;
 import org.dromara.workflow.service.IFlwInstanceService;
+import org.dromara.workflow.service.IFlwTaskInboxService;
 import org.dromara.workflow.service.IFlwTaskService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -73,6 +74,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
     private final IFlwTaskService flwTaskService;
     private final FlwInstanceMapper flwInstanceMapper;
     private final FlwCategoryMapper flwCategoryMapper;
+    private final IFlwTaskInboxService flwTaskInboxService;
 
     /**
      * 分页查询正在运行的流程实例
@@ -187,7 +189,9 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
             log.warn("未找到对应的流程实例信息，无法执行删除操作。");
             return false;
         }
-        return insService.remove(StreamUtils.toList(flowInstances, FlowInstance::getId));
+        List<Long> instanceIds = StreamUtils.toList(flowInstances, FlowInstance::getId);
+        flwTaskInboxService.markDirty(instanceIds);
+        return insService.remove(instanceIds);
     }
 
     /**
@@ -222,6 +226,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
                 flowProcessEventHandler.processDeleteHandler(definition.getFlowCode(), instance.getBusinessId());
             });
             // 删除实例
+            flwTaskInboxService.markDirty(instanceIds);
             boolean remove = insService.remove(instanceIds);
             if (!remove) {
                 log.warn("删除流程实例失败!");
@@ -269,6 +274,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
                 FlowEngine.userService().deleteByTaskIds(StreamUtils.toList(flowTaskList, FlowTask::getId));
             }
             FlowEngine.taskService().deleteByInsIds(instanceIds);
+            flwTaskInboxService.markDirty(instanceIds);
             FlowEngine.hisTaskService().deleteByInsIds(instanceIds);
             FlowEngine.insService().removeByIds(instanceIds);
         } catch (Exception e) {
@@ -305,6 +311,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
                 .handler(userIdStr)
                 .ignore(true);
             taskService.revoke(instance.getId(), flowParams);
+            flwTaskInboxService.markDirty(instance.getId());
         } catch (Exception e) {
             log.error("撤销失败: {}", e.getMessage(), e);
             throw new ServiceException(e.getMessage());
@@ -393,6 +400,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
         wrapper.set(FlowInstance::getFlowStatus, status);
         wrapper.eq(FlowInstance::getId, instanceId);
         flowInstanceMapper.update(wrapper);
+        flwTaskInboxService.markDirty(instanceId);
     }
 
     /**
@@ -491,6 +499,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
                 .hisStatus(TaskStatusEnum.INVALID.getStatus())
                 .ignore(true);
             taskService.terminationByInsId(bo.getId(), flowParams);
+            flwTaskInboxService.markDirty(bo.getId());
             return true;
         } catch (Exception e) {
             log.error(e.getMessage(), e);
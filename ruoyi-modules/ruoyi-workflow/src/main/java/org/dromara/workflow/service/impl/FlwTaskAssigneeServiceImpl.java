@@ -30,6 +30,7 @@ import org.dromara.workflow.service.IFlwTaskAssigneeService;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -146,18 +147,35 @@ public class FlwTaskAssigneeServiceImpl implements IFlwTaskAssigneeService, Hand
      *
      * @param type      任务分配人枚举
      * @param groupName 权限分组
+     * @param deptNames 当前页所有分组涉及的部门名称
      * @return 权限分组名称
      */
-    private String getGroupName(TaskAssigneeEnum type, String groupName) {
+    private String getGroupName(TaskAssigneeEnum type, String groupName, Map<Long, String> deptNames) {
         if (StringUtils.isEmpty(groupName)) {
             return DEFAULT_GROUP_NAME;
         }
         if (type.needsDeptService()) {
-            return deptService.selectDeptNameByIds(groupName);
+            return StringUtils.joinComma(StringUtils.splitTo(groupName, deptId -> deptNames.get(Convert.toLong(deptId))));
         }
         return DEFAULT_GROUP_NAME;
     }
 
+    /**
+     * 批量查询当前页所有权限分组涉及的部门名称
+     */
+    private Map<Long, String> fetchGroupDeptNames(TaskAssigneeDTO dto, TaskAssigneeEnum type) {
+        if (!type.needsDeptService() || CollUtil.isEmpty(dto.getList())) {
+            return Collections.emptyMap();
+        }
+        Set<Long> deptIds = new LinkedHashSet<>();
+        for (TaskAssigneeDTO.TaskHandler handler : dto.getList()) {
+            if (StringUtils.isNotEmpty(handler.getGroupName())) {
+                deptIds.addAll(StringUtils.splitTo(handler.getGroupName(), Convert::toLong));
+            }
+        }
+        return deptService.selectDeptNamesByIds(new ArrayList<>(deptIds));
+    }
+
     /**
      * 构建部门树状结构
      */
@@ -172,11 +190,12 @@ public class FlwTaskAssigneeServiceImpl implements IFlwTaskAssigneeService, Hand
      * 构建任务办理人数据
      */
     private HandlerFunDto<TaskAssigneeDTO.TaskHandler> buildHandlerData(TaskAssigneeDTO dto, TaskAssigneeEnum type) {
+        Map<Long, String> deptNames = this.fetchGroupDeptNames(dto, type);
         return new HandlerFunDto<>(dto.getList(), dto.getTotal())
             .setStorageId(assignee -> type.getCode() + assignee.getStorageId())
             .setHandlerCode(assignee -> StringUtils.blankToDefault(assignee.getHandlerCode(), "无"))
             .setHandlerName(assignee -> StringUtils.blankToDefault(assignee.getHandlerName(), "无"))
-            .setGroupName(assignee -> this.getGroupName(type, assignee.getGroupName()))
+            .setGroupName(assignee -> this.getGroupName(type, assignee.getGroupName(), deptNames))
             .setCreateTime(assignee -> DateUtils.parseDateToStr(FormatsType.YYYY_MM_DD_HH_MM_SS, assignee.getCreateTime()));
     }
 
@@ -193,40 +212,87 @@ public class FlwTaskAssigneeServiceImpl implements IFlwTaskAssigneeService, Hand
         if (StringUtils.isEmpty(storageIds)) {
             return List.of();
         }
-        Map<TaskAssigneeEnum, List<String>> typeIdMap = new EnumMap<>(TaskAssigneeEnum.class);
-        for (String storageId : storageIds.split(StringUtils.SEPARATOR)) {
-            Pair<TaskAssigneeEnum, String> parsed = this.parseStorageId(storageId);
-            if (parsed != null) {
-                typeIdMap.computeIfAbsent(parsed.getKey(), k -> new ArrayList<>()).add(parsed.getValue());
+        return this.fetchUsersByStorageIdGroups(List.of(storageIds)).getOrDefault(storageIds, List.of());
+    }
+
+    /**
+     * 批量解析多组存储标识符，所有组的标识按类型合并后每种类型只查询一次，
+     * 再统一查询一次用户信息，最后按组拆分结果
+     *
+     * @param storageIdGroups 多组存储标识符字符串（每组逗号分隔，如每个任务的办理人）
+     * @return key 为原始存储标识符字符串，value 为该组对应的用户列表（去重，非法格式的标识将被跳过）
+     */
+    @Override
+    public Map<String, List<UserDTO>> fetchUsersByStorageIdGroups(Collection<String> storageIdGroups) {
+        if (CollUtil.isEmpty(storageIdGroups)) {
+            return Collections.emptyMap();
+        }
+        // 解析每组标识，同时按类型汇总所有组的 ID
+        Map<String, List<Pair<TaskAssigneeEnum, Long>>> parsedGroups = new LinkedHashMap<>();
+        Map<TaskAssigneeEnum, Set<Long>> typeIdMap = new EnumMap<>(TaskAssigneeEnum.class);
+        for (String group : storageIdGroups) {
+            if (StringUtils.isEmpty(group) || parsedGroups.containsKey(group)) {
+                continue;
+            }
+            List<Pair<TaskAssigneeEnum, Long>> parsedList = new ArrayList<>();
+            for (String storageId : group.split(StringUtils.SEPARATOR)) {
+                Pair<TaskAssigneeEnum, String> parsed = this.parseStorageId(storageId);
+                if (parsed == null || parsed.getKey() == TaskAssigneeEnum.SPEL) {
+                    continue;
+                }
+                Long id = Convert.toLong(parsed.getValue(), null);
+                if (id == null) {
+                    continue;
+                }
+                parsedList.add(Pair.of(parsed.getKey(), id));
+                typeIdMap.computeIfAbsent(parsed.getKey(), k -> new LinkedHashSet<>()).add(id);
             }
+            parsedGroups.put(group, parsedList);
         }
-        return typeIdMap.entrySet().stream()
-            .flatMap(entry -> this.getUsersByType(entry.getKey(), entry.getValue()).stream())
-            .distinct()
-            .toList();
+
+        // 每种类型查询一次，展开为用户ID
+        Map<TaskAssigneeEnum, Map<Long, List<Long>>> expandMap = new EnumMap<>(TaskAssigneeEnum.class);
+        Set<Long> userIds = new LinkedHashSet<>();
+        typeIdMap.forEach((type, ids) -> {
+            Map<Long, List<Long>> expanded = this.getUserIdsByType(type, new ArrayList<>(ids));
+            expanded.values().forEach(userIds::addAll);
+            expandMap.put(type, expanded);
+        });
+        Map<Long, UserDTO> userMap = StreamUtils.toIdentityMap(
+            userService.selectListByIds(new ArrayList<>(userIds)), UserDTO::getUserId);
+
+        // 按组组装用户列表，保持标识顺序并按用户去重
+        Map<String, List<UserDTO>> result = new LinkedHashMap<>(parsedGroups.size());
+        parsedGroups.forEach((group, parsedList) -> {
+            Map<Long, UserDTO> users = new LinkedHashMap<>();
+            for (Pair<TaskAssigneeEnum, Long> parsed : parsedList) {
+                List<Long> ids = expandMap.get(parsed.getKey()).getOrDefault(parsed.getValue(), Collections.emptyList());
+                for (Long userId : ids) {
+                    UserDTO user = userMap.get(userId);
+                    if (user != null) {
+                        users.putIfAbsent(userId, user);
+                    }
+                }
+            }
+            result.put(group, new ArrayList<>(users.values()));
+        });
+        return result;
     }
 
     /**
-     * 根据指定的任务分配类型（TaskAssigneeEnum）和 ID 列表，获取对应的用户信息列表
+     * 根据指定的任务分配类型（TaskAssigneeEnum）和 ID 列表，获取每个 ID 对应的用户ID
      *
-     * @param type 任务分配类型，表示用户、角色、部门或其他（TaskAssigneeEnum 枚举值）
+     * @param type 任务分配类型，表示用户、角色、部门或岗位（TaskAssigneeEnum 枚举值）
      * @param ids  与指定分配类型关联的 ID 列表（例如用户ID、角色ID、部门ID等）
-     * @return 返回包含用户信息的列表。如果类型为用户（USER），则通过用户ID列表查询；
-     * 如果类型为角色（ROLE），则通过角色ID列表查询；
-     * 如果类型为部门（DEPT），则通过部门ID列表查询；
-     * 如果类型为岗位（POST）或无法识别的类型，则返回空列表
+     * @return 返回 Map，其中 key 为传入的 ID，value 为对应的用户ID列表（用户状态由调用方统一过滤）
      */
-    private List<UserDTO> getUsersByType(TaskAssigneeEnum type, List<String> ids) {
-        if (type == TaskAssigneeEnum.SPEL) {
-            return new ArrayList<>();
-        }
-        List<Long> longIds = StreamUtils.toList(ids, Convert::toLong);
+    private Map<Long, List<Long>> getUserIdsByType(TaskAssigneeEnum type, List<Long> ids) {
         return switch (type) {
-            case USER -> userService.selectListByIds(longIds);
-            case ROLE -> userService.selectUsersByRoleIds(longIds);
-            case DEPT -> userService.selectUsersByDeptIds(longIds);
-            case POST -> userService.selectUsersByPostIds(longIds);
-            default -> new ArrayList<>();
+            case USER -> StreamUtils.toMap(ids, Function.identity(), Collections::singletonList);
+            case ROLE -> userService.selectUserIdsGroupByRoleIds(ids);
+            case DEPT -> userService.selectUserIdsGroupByDeptIds(ids);
+            case POST -> userService.selectUserIdsGroupByPostIds(ids);
+            default -> Collections.emptyMap();
         };
     }
 
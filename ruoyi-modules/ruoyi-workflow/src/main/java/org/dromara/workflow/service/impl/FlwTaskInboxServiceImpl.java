@@ -0,0 +1,156 @@
+package org.dromara.workflow.service.impl;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.domain.dto.UserDTO;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.domain.FlowTaskInbox;
+import org.dromara.workflow.mapper.FlwTaskInboxMapper;
+import org.dromara.workflow.service.IFlwTaskAssigneeService;
+import org.dromara.workflow.service.IFlwTaskInboxService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 待办收件箱 服务层实现
+ * <p>
+ * 流程流转过程中只记录受影响的实例，在事务提交前按实例删除后重新生成收件箱行，
+ * 此时任务与办理人已全部落库，不依赖引擎内部各监听器的执行顺序。
+ *
+ * @author Mahone
+ * @date 2026-03-02
+ */
+@ConditionalOnEnable
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FlwTaskInboxServiceImpl implements IFlwTaskInboxService {
+
+    /**
+     * 全量重建每批实例数
+     */
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    /**
+     * 当前事务内待重建实例集合的资源 key
+     */
+    private static final Object DIRTY_KEY = new Object();
+
+    private final FlwTaskInboxMapper inboxMapper;
+    private final IFlwTaskAssigneeService flwTaskAssigneeService;
+
+    @Override
+    public void markDirty(Long instanceId) {
+        if (instanceId != null) {
+            markDirty(Collections.singletonList(instanceId));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void markDirty(Collection<Long> instanceIds) {
+        if (CollUtil.isEmpty(instanceIds)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild(instanceIds);
+            return;
+        }
+        Set<Long> dirty = (Set<Long>) TransactionSynchronizationManager.getResource(DIRTY_KEY);
+        if (dirty == null) {
+            Set<Long> pending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(DIRTY_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    rebuild(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DIRTY_KEY);
+                }
+            });
+            dirty = pending;
+        }
+        dirty.addAll(instanceIds);
+    }
+
+    @Override
+    public void rebuild(Collection<Long> instanceIds) {
+        if (CollUtil.isEmpty(instanceIds)) {
+            return;
+        }
+        List<FlowTaskInbox> rows = expandAssignees(inboxMapper.selectSourceByInstanceIds(instanceIds));
+        inboxMapper.deleteByInstIds(instanceIds);
+        if (CollUtil.isNotEmpty(rows)) {
+            inboxMapper.insertBatch(rows);
+        }
+    }
+
+    @Override
+    public void initIfEmpty() {
+        if (inboxMapper.exists(Wrappers.emptyWrapper())) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int instances = 0;
+        Long lastInstanceId = 0L;
+        List<Long> instanceIds;
+        while (CollUtil.isNotEmpty(instanceIds = inboxMapper.selectRunningInstanceIds(lastInstanceId, REBUILD_BATCH_SIZE))) {
+            rebuild(instanceIds);
+            instances += instanceIds.size();
+            lastInstanceId = instanceIds.get(instanceIds.size() - 1);
+        }
+        log.info("待办收件箱初始化完成，实例数: {}，耗时: {}ms", instances, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 将角色、部门、岗位等办理人展开为用户，同一任务同一用户只保留一行
+     */
+    private List<FlowTaskInbox> expandAssignees(List<FlowTaskInbox> sources) {
+        if (CollUtil.isEmpty(sources)) {
+            return Collections.emptyList();
+        }
+        // 非用户ID的办理人 (角色、部门、岗位等) 在整批数据中合并解析
+        Set<String> storageIdGroups = new HashSet<>();
+        for (FlowTaskInbox source : sources) {
+            String processedBy = source.getProcessedBy();
+            if (StringUtils.isNotBlank(processedBy) && !StringUtils.isNumeric(processedBy)) {
+                storageIdGroups.add(processedBy);
+            }
+        }
+        Map<String, List<UserDTO>> resolved = flwTaskAssigneeService.fetchUsersByStorageIdGroups(storageIdGroups);
+        Map<String, FlowTaskInbox> rows = new LinkedHashMap<>();
+        for (FlowTaskInbox source : sources) {
+            for (Long userId : resolveUserIds(source.getProcessedBy(), resolved)) {
+                rows.computeIfAbsent(source.getTaskId() + StringUtils.SEPARATOR + userId, k -> {
+                    FlowTaskInbox row = BeanUtil.toBean(source, FlowTaskInbox.class);
+                    row.setUserId(userId);
+                    row.setProcessedBy(null);
+                    return row;
+                });
+            }
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private List<Long> resolveUserIds(String processedBy, Map<String, List<UserDTO>> resolved) {
+        if (StringUtils.isBlank(processedBy)) {
+            return Collections.emptyList();
+        }
+        if (StringUtils.isNumeric(processedBy)) {
+            return Collections.singletonList(Long.valueOf(processedBy));
+        }
+        return StreamUtils.toList(resolved.getOrDefault(processedBy, Collections.emptyList()), UserDTO::getUserId);
+    }
+
+}
@@ -45,6 +45,7 @@ import org.dromara.workflow.common.constant.FlowConstant;
 import org.dromara.workflow.common.enums.TaskAssigneeType;
 import org.dromara.workflow.common.enums.TaskStatusEnum;
 import org.dromara.workflow.domain.FlowInstanceBizExt;
+import org.dromara.workflow.domain.FlowTaskInbox;
 import org.dromara.workflow.domain.bo.*;
 import org.dromara.workflow.domain.vo.FlowCopyVo;
 import org.dromara.workflow.domain.vo.FlowHisTaskVo;
@@ -52,10 +53,12 @@ import org.dromara.workflow.domain.vo.FlowTaskVo;
 import org.dromara.workflow.domain.vo.NodeExtVo;
 import org.dromara.workflow.mapper.FlwCategoryMapper;
 import org.dromara.workflow.mapper.FlwInstanceBizExtMapper;
+import org.dromara.workflow.mapper.FlwTaskInboxMapper;
 import org.dromara.workflow.mapper.FlwTaskMapper;
 import org.dromara.workflow.service.IFlwCommonService;
 import org.dromara.workflow.service.IFlwNodeExtService;
 import org.dromara.workflow.service.IFlwTaskAssigneeService;
+import org.dromara.workflow.service.IFlwTaskInboxService;
 import org.dromara.workflow.service.IFlwTaskService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -93,6 +96,8 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     private final IFlwCommonService flwCommonService;
     private final IFlwNodeExtService flwNodeExtService;
     private final FlwInstanceBizExtMapper flwInstanceBizExtMapper;
+    private final FlwTaskInboxMapper flwTaskInboxMapper;
+    private final IFlwTaskInboxService flwTaskInboxService;
 
     /**
      * 启动任务
@@ -188,6 +193,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
         bizExt.setInstanceId(instance.getId());
         bizExt.setBusinessId(instance.getBusinessId());
         flwInstanceBizExtMapper.saveOrUpdateByInstanceId(bizExt);
+        flwTaskInboxService.markDirty(instance.getId());
     }
 
     /**
@@ -219,6 +225,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
                 throw new ServiceException("流程任务不存在或任务已审批！");
             }
             Instance ins = insService.getById(flowTask.getInstanceId());
+            flwTaskInboxService.markDirty(ins.getId());
             // 检查流程状态是否为草稿、已撤销或已退回状态，若是则执行流程提交监听
             if (BusinessStatusEnum.isDraftOrCancelOrBack(ins.getFlowStatus())) {
                 variables.put(FlowConstant.SUBMIT, true);
@@ -355,22 +362,59 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     }
 
     /**
-     * 查询当前用户的待办任务
+     * 查询当前用户的待办任务 (读取待办收件箱)
      *
      * @param flowTaskBo 参数
      * @param pageQuery  分页
      */
     @Override
     public TableDataInfo<FlowTaskVo> pageByTaskWait(FlowTaskBo flowTaskBo, PageQuery pageQuery) {
-        QueryWrapper<FlowTaskBo> queryWrapper = buildQueryWrapper(flowTaskBo);
-        queryWrapper.eq("t.node_type", NodeType.BETWEEN.getKey());
-        queryWrapper.in("t.processed_by", LoginHelper.getUserIdStr());
-        queryWrapper.in("t.flow_status", BusinessStatusEnum.WAITING.getStatus());
-        Page<FlowTaskVo> page = flwTaskMapper.getListRunTask(pageQuery.build(), queryWrapper);
+        QueryWrapper<FlowTaskBo> queryWrapper = buildInboxWrapper(flowTaskBo);
+        queryWrapper.orderByDesc("t.create_time").orderByDesc("t.task_id");
+        Page<FlowTaskVo> page = flwTaskInboxMapper.selectInboxPage(pageQuery.build(), queryWrapper);
         this.wrapAssigneeInfo(page.getRecords());
         return TableDataInfo.build(page);
     }
 
+    /**
+     * 按游标查询当前用户的待办任务 (不统计总数)
+     *
+     * @param flowTaskBo 参数
+     * @param lastTaskId 上一页最后一条任务ID，为空时查询第一页
+     * @param size       条数
+     */
+    @Override
+    public List<FlowTaskVo> listTaskWaitByCursor(FlowTaskBo flowTaskBo, Long lastTaskId, int size) {
+        QueryWrapper<FlowTaskBo> queryWrapper = buildInboxWrapper(flowTaskBo);
+        if (ObjectUtil.isNotNull(lastTaskId)) {
+            FlowTaskInbox last = flwTaskInboxMapper.selectOne(new LambdaQueryWrapper<FlowTaskInbox>()
+                .select(FlowTaskInbox::getCreateTime)
+                .eq(FlowTaskInbox::getTaskId, lastTaskId)
+                .last("limit 1"));
+            if (ObjectUtil.isNull(last)) {
+                return new ArrayList<>();
+            }
+            Date lastTime = last.getCreateTime();
+            queryWrapper.and(w -> w.lt("t.create_time", lastTime)
+                .or(o -> o.eq("t.create_time", lastTime).lt("t.task_id", lastTaskId)));
+        }
+        queryWrapper.orderByDesc("t.create_time").orderByDesc("t.task_id");
+        queryWrapper.last("limit " + size);
+        List<FlowTaskVo> list = flwTaskInboxMapper.selectInboxList(queryWrapper);
+        this.wrapAssigneeInfo(list);
+        return list;
+    }
+
+    /**
+     * 构建当前用户待办收件箱查询条件
+     */
+    private QueryWrapper<FlowTaskBo> buildInboxWrapper(FlowTaskBo flowTaskBo) {
+        QueryWrapper<FlowTaskBo> wrapper = buildFilterWrapper(flowTaskBo);
+        wrapper.eq("t.user_id", LoginHelper.getUserId());
+        wrapper.eq("t.flow_status", BusinessStatusEnum.WAITING.getStatus());
+        return wrapper;
+    }
+
     /**
      * 查询当前用户的已办任务
      *
@@ -447,6 +491,12 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     }
 
     private QueryWrapper<FlowTaskBo> buildQueryWrapper(FlowTaskBo flowTaskBo) {
+        QueryWrapper<FlowTaskBo> wrapper = buildFilterWrapper(flowTaskBo);
+        wrapper.orderByDesc("t.create_time").orderByDesc("t.update_time");
+        return wrapper;
+    }
+
+    private QueryWrapper<FlowTaskBo> buildFilterWrapper(FlowTaskBo flowTaskBo) {
         QueryWrapper<FlowTaskBo> wrapper = Wrappers.query();
         wrapper.like(StringUtils.isNotBlank(flowTaskBo.getNodeName()), "t.node_name", flowTaskBo.getNodeName());
         wrapper.like(StringUtils.isNotBlank(flowTaskBo.getFlowName()), "t.flow_name", flowTaskBo.getFlowName());
@@ -456,7 +506,6 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
             List<Long> categoryIds = flwCategoryMapper.selectCategoryIdsByParentId(Convert.toLong(flowTaskBo.getCategory()));
             wrapper.in("t.category", StreamUtils.toList(categoryIds, Convert::toStr));
         }
-        wrapper.orderByDesc("t.create_time").orderByDesc("t.update_time");
         return wrapper;
     }
 
@@ -479,6 +528,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
             }
             Instance inst = insService.getById(task.getInstanceId());
             BusinessStatusEnum.checkBackStatus(inst.getFlowStatus());
+            flwTaskInboxService.markDirty(inst.getId());
             Long definitionId = task.getDefinitionId();
             String applyNodeCode = flwCommonService.applyNodeCode(definitionId);
 
@@ -558,6 +608,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
                 .flowStatus(BusinessStatusEnum.TERMINATION.getStatus())
                 .hisStatus(TaskStatusEnum.TERMINATION.getStatus());
             taskService.termination(taskId, flowParams);
+            flwTaskInboxService.markDirty(task.getInstanceId());
             return true;
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -644,15 +695,19 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
             List<Task> buildNextTaskList = StreamUtils.toList(nextNodeList, node -> taskService.addTask(node, instance, definition, FlowParams.build()));
             //办理人变量替换
             ExpressionUtil.evalVariable(buildNextTaskList, FlowParams.build().variable(mergeVariable));
+            // 所有下一节点的办理人合并解析
+            Map<String, String> nodePermissions = new HashMap<>();
+            for (Task nextTask : buildNextTaskList) {
+                if (CollUtil.isNotEmpty(nextTask.getPermissionList())) {
+                    nodePermissions.putIfAbsent(nextTask.getNodeCode(), StringUtils.joinComma(nextTask.getPermissionList()));
+                }
+            }
+            Map<String, List<UserDTO>> nodeUsers = flwTaskAssigneeService.fetchUsersByStorageIdGroups(nodePermissions.values());
             for (FlowNode flowNode : nextFlowNodes) {
-                StreamUtils.findFirst(buildNextTaskList, t -> t.getNodeCode().equals(flowNode.getNodeCode()))
-                    .ifPresent(first -> {
-                        List<UserDTO> users;
-                        if (CollUtil.isNotEmpty(first.getPermissionList())
-                            && CollUtil.isNotEmpty(users = flwTaskAssigneeService.fetchUsersByStorageIds(StringUtils.joinComma(first.getPermissionList())))) {
-                            flowNode.setPermissionFlag(StreamUtils.join(users, e -> Convert.toStr(e.getUserId())));
-                        }
-                    });
+                List<UserDTO> users = nodeUsers.get(nodePermissions.get(flowNode.getNodeCode()));
+                if (CollUtil.isNotEmpty(users)) {
+                    flowNode.setPermissionFlag(StreamUtils.join(users, e -> Convert.toStr(e.getUserId())));
+                }
             }
         }
         return nextFlowNodes;
@@ -743,6 +798,8 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
                 throw new ServiceException(task.getNodeName() + "不是会签节点！");
             }
         }
+        // 办理人变更，提交前重建该实例的待办
+        flwTaskInboxService.markDirty(task.getInstanceId());
         // 设置任务状态并执行对应的任务操作
         switch (taskOperation) {
             //委派任务
@@ -797,6 +854,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
                 if (CollUtil.isNotEmpty(userList)) {
                     FlowEngine.userService().saveBatch(userList);
                 }
+                flwTaskInboxService.markDirty(StreamUtils.toSet(flowTasks, FlowTask::getInstanceId));
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -0,0 +1,46 @@
+-- 工作流待办收件箱
+-- 日期: 2026-03-02
+-- 描述: 每个待办任务按办理人 (角色/部门/岗位展开为用户) 各存一行，冗余实例、定义与业务信息，
+--       我的待办按 user_id 索引查询，不再对 flow_task/flow_user 等表做 distinct 派生表查询。
+--       表由流程流转按实例自动维护；应用启动时若表为空会自动全量初始化，无需手动回填
+
+DROP TABLE IF EXISTS flow_task_inbox CASCADE;
+CREATE TABLE flow_task_inbox (
+    id             BIGINT        NOT NULL,
+    user_id        BIGINT        NOT NULL,
+    task_id        BIGINT        NOT NULL,
+    instance_id    BIGINT        NOT NULL,
+    definition_id  BIGINT        DEFAULT NULL,
+    node_code      VARCHAR(100)  DEFAULT NULL,
+    node_name      VARCHAR(100)  DEFAULT NULL,
+    node_type      SMALLINT      DEFAULT NULL,
+    flow_name      VARCHAR(100)  DEFAULT NULL,
+    flow_code      VARCHAR(40)   DEFAULT NULL,
+    category       VARCHAR(100)  DEFAULT NULL,
+    form_custom    CHAR(1)       DEFAULT NULL,
+    form_path      VARCHAR(100)  DEFAULT NULL,
+    version        VARCHAR(20)   DEFAULT NULL,
+    business_id    VARCHAR(40)   DEFAULT NULL,
+    flow_status    VARCHAR(20)   DEFAULT NULL,
+    create_by      VARCHAR(64)   DEFAULT NULL,
+    business_code  VARCHAR(255)  DEFAULT NULL,
+    business_title VARCHAR(1000) DEFAULT NULL,
+    assignee_type  CHAR(1)       DEFAULT NULL,
+    create_time    TIMESTAMP     DEFAULT NULL,
+    update_time    TIMESTAMP     DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_flow_task_inbox UNIQUE (task_id, user_id)
+);
+
+CREATE INDEX idx_flow_task_inbox_user ON flow_task_inbox (user_id, flow_status, create_time DESC, task_id DESC);
+CREATE INDEX idx_flow_task_inbox_instance ON flow_task_inbox (instance_id);
+
+COMMENT ON TABLE flow_task_inbox IS '工作流待办收件箱';
+COMMENT ON COLUMN flow_task_inbox.user_id IS '办理人ID（已展开为用户）';
+COMMENT ON COLUMN flow_task_inbox.task_id IS '待办任务ID';
+COMMENT ON COLUMN flow_task_inbox.instance_id IS '流程实例ID';
+COMMENT ON COLUMN flow_task_inbox.flow_status IS '流程实例状态';
+COMMENT ON COLUMN flow_task_inbox.create_by IS '流程发起人';
+COMMENT ON COLUMN flow_task_inbox.assignee_type IS '办理人类型（1审批人 2转办人 3委托人）';
+COMMENT ON COLUMN flow_task_inbox.create_time IS '任务创建时间';
+COMMENT ON COLUMN flow_task_inbox.update_time IS '任务更新时间';